@@ -0,0 +1,57 @@
+package liquibase.benchmark;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.FileSystemResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses synthetic changelogs in each supported format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ChangeLogParserBenchmark {
+
+    @Param({"xml", "yaml", "json", "sql"})
+    public String format;
+
+    @Param({"1000", "10000", "100000"})
+    public int changeSetCount;
+
+    private File directory;
+    private String fileName;
+    private ResourceAccessor resourceAccessor;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("liquibase-benchmark").toFile();
+        fileName = SyntheticChangeLogs.write(directory, format, changeSetCount);
+        resourceAccessor = new FileSystemResourceAccessor(directory);
+    }
+
+    @TearDown
+    public void tearDown() {
+        new File(directory, fileName).delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public DatabaseChangeLog parse() throws Exception {
+        return liquibase.Scope.child(Collections.singletonMap(liquibase.Scope.Attr.resourceAccessor.name(), resourceAccessor), () -> {
+            ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(fileName, resourceAccessor);
+            return parser.parse(fileName, new ChangeLogParameters(), resourceAccessor);
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package liquibase.benchmark;
+
+import liquibase.change.CheckSum;
+import liquibase.changelog.ChangeSet;
+import liquibase.util.MD5Util;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the checksums of changeSets, and of plain text of different lengths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CheckSumBenchmark {
+
+    private static final int CHANGE_SET_COUNT = 300;
+
+    @State(Scope.Benchmark)
+    public static class ChangeSets {
+        private List<ChangeSet> changeSets;
+
+        @Setup
+        public void setup() {
+            changeSets = SyntheticChangeLogs.createChangeSets(CHANGE_SET_COUNT);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Text {
+        @Param({"100", "10000", "1000000"})
+        public int textLength;
+
+        private String text;
+
+        @Setup
+        public void setup() {
+            StringBuilder builder = new StringBuilder(textLength);
+            while (builder.length() < textLength) {
+                builder.append("insert into person (id, name, address) values (").append(builder.length()).append(", 'name', 'street');\r\n");
+            }
+            builder.setLength(textLength);
+            text = builder.toString();
+        }
+    }
+
+    /**
+     * Generates the checksum of every synthetic changeSet. The result is averaged over {@value #CHANGE_SET_COUNT} changeSets.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CHANGE_SET_COUNT)
+    public void changeSetCheckSum(ChangeSets state, Blackhole blackhole) {
+        for (ChangeSet changeSet : state.changeSets) {
+            changeSet.clearCheckSum();
+            blackhole.consume(changeSet.generateCheckSum());
+        }
+    }
+
+    @Benchmark
+    public CheckSum computeCheckSum(Text state) {
+        return CheckSum.compute(state.text);
+    }
+
+    @Benchmark
+    public String computeMD5(Text state) {
+        return MD5Util.computeMD5(state.text);
+    }
+}
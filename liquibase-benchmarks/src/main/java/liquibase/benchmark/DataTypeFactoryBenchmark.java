@@ -0,0 +1,89 @@
+package liquibase.benchmark;
+
+import liquibase.database.Database;
+import liquibase.datatype.DataTypeFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves a mix of data type descriptions as found in changelogs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataTypeFactoryBenchmark {
+
+    private static final String[] DESCRIPTIONS = {
+            "int",
+            "bigint",
+            "BIGINT UNSIGNED",
+            "varchar(255)",
+            "VARCHAR(100 BYTE)",
+            "nvarchar(max)",
+            "decimal(10,2)",
+            "number(19, 0)",
+            "boolean",
+            "datetime",
+            "timestamp with time zone",
+            "clob",
+            "blob",
+            "uuid",
+            "java.sql.Types.VARCHAR(50)",
+            "java.sql.Types.TIMESTAMP",
+            "double precision",
+            "char(1)",
+            "[varchar](20)",
+            "my_custom_type",
+    };
+
+    private static final int CHANGELOG_COLUMN_COUNT = 100000;
+
+    @Param({"postgresql", "mysql", "oracle", "mssql", "h2"})
+    public String databaseShortName;
+
+    private Database database;
+    private String[] changeLogColumns;
+
+    @Setup
+    public void setup() throws Exception {
+        database = OfflineDatabases.open(databaseShortName);
+
+        // column types of a large changelog: few distinct types, with sizes varying per column
+        changeLogColumns = new String[CHANGELOG_COLUMN_COUNT];
+        for (int i = 0; i < changeLogColumns.length; i++) {
+            if ((i % 4) == 0) {
+                changeLogColumns[i] = "varchar(" + (((i / 4) % 500) + 1) + ")";
+            } else {
+                changeLogColumns[i] = DESCRIPTIONS[i % DESCRIPTIONS.length];
+            }
+        }
+    }
+
+    /**
+     * Resolves every description once. The result is averaged per description.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void fromDescription(Blackhole blackhole) {
+        for (String description : DESCRIPTIONS) {
+            blackhole.consume(DataTypeFactory.getInstance().fromDescription(description, database));
+        }
+    }
+
+    /**
+     * Resolves the column types of a changelog with 100,000 columns, as done when generating SQL for it.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fromDescriptionChangeLog(Blackhole blackhole) {
+        for (String column : changeLogColumns) {
+            blackhole.consume(DataTypeFactory.getInstance().fromDescription(column, database));
+        }
+    }
+}
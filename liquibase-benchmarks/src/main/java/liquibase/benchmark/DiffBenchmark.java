@@ -0,0 +1,49 @@
+package liquibase.benchmark;
+
+import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
+import liquibase.database.core.MockDatabase;
+import liquibase.diff.DiffResult;
+import liquibase.diff.compare.CompareControl;
+import liquibase.diff.core.StandardDiffGenerator;
+import liquibase.snapshot.DatabaseSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares two synthetic snapshots which differ in every tenth table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DiffBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int tableCount;
+
+    @Param({"1", "4"})
+    public int diffThreads;
+
+    private DatabaseSnapshot referenceSnapshot;
+    private DatabaseSnapshot comparisonSnapshot;
+    private CompareControl compareControl;
+
+    @Setup
+    public void setup() throws Exception {
+        referenceSnapshot = new SyntheticSnapshot(new MockDatabase(), tableCount, 10, 0);
+        comparisonSnapshot = new SyntheticSnapshot(new MockDatabase(), tableCount, 10, 10);
+        CatalogAndSchema schema = new CatalogAndSchema(SyntheticSnapshot.CATALOG_NAME, SyntheticSnapshot.SCHEMA_NAME);
+        compareControl = new CompareControl(new CompareControl.SchemaComparison[]{new CompareControl.SchemaComparison(schema, schema)}, (String) null);
+    }
+
+    @Benchmark
+    public DiffResult compare() throws Exception {
+        return liquibase.Scope.child(Collections.singletonMap(GlobalConfiguration.DIFF_THREADS.getKey(), diffThreads), () ->
+                new StandardDiffGenerator().compare(referenceSnapshot, comparisonSnapshot, compareControl));
+    }
+}
@@ -0,0 +1,80 @@
+package liquibase.benchmark;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.change.core.LoadDataColumnConfig;
+import liquibase.database.Database;
+import liquibase.resource.FileSystemResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a generated CSV file with {@link LoadDataChange} and turns its rows into statements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoadDataBenchmark {
+
+    private static final String FILE_NAME = "data.csv";
+
+    @Param({"1000", "10000", "100000"})
+    public int rowCount;
+
+    @Param({"postgresql", "mysql"})
+    public String databaseShortName;
+
+    private File directory;
+    private ResourceAccessor resourceAccessor;
+    private Database database;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("liquibase-benchmark").toFile();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(directory, FILE_NAME)), StandardCharsets.UTF_8))) {
+            writer.write("id,name,amount,created,active\n");
+            for (int i = 0; i < rowCount; i++) {
+                writer.write(i + ",\"name " + i + ", with comma\"," + (i * 1.5) + ",2022-01-" + ((i % 28) + 1 < 10 ? "0" : "") + ((i % 28) + 1) + " 12:00:00," + (i % 2 == 0) + "\n");
+            }
+        }
+        resourceAccessor = new FileSystemResourceAccessor(directory);
+        database = OfflineDatabases.open(databaseShortName);
+    }
+
+    @TearDown
+    public void tearDown() {
+        new File(directory, FILE_NAME).delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public SqlStatement[] generateStatements() throws Exception {
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("person");
+        change.setFile(FILE_NAME);
+        change.addColumn(column("id", "NUMERIC"));
+        change.addColumn(column("name", "STRING"));
+        change.addColumn(column("amount", "NUMERIC"));
+        change.addColumn(column("created", "DATE"));
+        change.addColumn(column("active", "BOOLEAN"));
+
+        return liquibase.Scope.child(Collections.singletonMap(liquibase.Scope.Attr.resourceAccessor.name(), resourceAccessor),
+                () -> change.generateStatements(database));
+    }
+
+    private static LoadDataColumnConfig column(String name, String type) {
+        LoadDataColumnConfig column = new LoadDataColumnConfig();
+        column.setName(name);
+        column.setType(type);
+        return column;
+    }
+}
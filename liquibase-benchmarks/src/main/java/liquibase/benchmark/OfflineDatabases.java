@@ -0,0 +1,23 @@
+package liquibase.benchmark;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.resource.ClassLoaderResourceAccessor;
+
+/**
+ * Creates databases backed by an offline connection, so SQL can be generated without a running database.
+ */
+public class OfflineDatabases {
+
+    private OfflineDatabases() {
+    }
+
+    /**
+     * @param shortName the short name of the database, such as "postgresql" or "mysql"
+     */
+    public static Database open(String shortName) throws DatabaseException {
+        return DatabaseFactory.getInstance().findCorrectDatabaseImplementation(
+                DatabaseFactory.getInstance().openConnection("offline:" + shortName, null, null, null, new ClassLoaderResourceAccessor()));
+    }
+}
@@ -0,0 +1,63 @@
+package liquibase.benchmark;
+
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.filter.ShouldRunChangeSetFilter;
+import liquibase.database.core.MockDatabase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which changeSets of a synthetic changelog should run against a history in which most of them have already run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ShouldRunChangeSetFilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int changeSetCount;
+
+    private List<ChangeSet> changeSets;
+    private HistoryDatabase database;
+
+    @Setup
+    public void setup() {
+        changeSets = SyntheticChangeLogs.createChangeSets(changeSetCount);
+        // the last tenth of the changelog has not been executed yet
+        List<RanChangeSet> ranChangeSets = SyntheticChangeLogs.createRanChangeSets(changeSets.subList(0, changeSetCount - (changeSetCount / 10)));
+        Collections.shuffle(ranChangeSets);
+        database = new HistoryDatabase(ranChangeSets);
+    }
+
+    /**
+     * Builds the filter from the history, then checks every changeSet of the changelog against it.
+     */
+    @Benchmark
+    public void filterChangeLog(Blackhole blackhole) throws Exception {
+        ShouldRunChangeSetFilter filter = new ShouldRunChangeSetFilter(database);
+        for (ChangeSet changeSet : changeSets) {
+            blackhole.consume(filter.accepts(changeSet));
+        }
+    }
+
+    private static class HistoryDatabase extends MockDatabase {
+        private final List<RanChangeSet> ranChangeSets;
+
+        private HistoryDatabase(List<RanChangeSet> ranChangeSets) {
+            this.ranChangeSets = ranChangeSets;
+        }
+
+        @Override
+        public List<RanChangeSet> getRanChangeSetList() {
+            return ranChangeSets;
+        }
+    }
+}
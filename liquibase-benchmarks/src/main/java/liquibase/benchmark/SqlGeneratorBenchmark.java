@@ -0,0 +1,101 @@
+package liquibase.benchmark;
+
+import liquibase.change.AddColumnConfig;
+import liquibase.database.Database;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.NotNullConstraint;
+import liquibase.statement.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates SQL for common statements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SqlGeneratorBenchmark {
+
+    @Param({"postgresql", "mysql", "oracle", "mssql", "h2"})
+    public String databaseShortName;
+
+    private Database database;
+    private CreateTableStatement createTable;
+    private AddColumnStatement addColumn;
+    private CreateIndexStatement createIndex;
+    private InsertStatement insert;
+    private UpdateStatement update;
+    private DeleteStatement delete;
+    private SelectFromDatabaseChangeLogStatement selectFromDatabaseChangeLog;
+
+    @Setup
+    public void setup() throws Exception {
+        database = OfflineDatabases.open(databaseShortName);
+
+        createTable = new CreateTableStatement(null, null, "person")
+                .addPrimaryKeyColumn("id", DataTypeFactory.getInstance().fromDescription("bigint", database), null, "pk_person", null)
+                .addColumn("name", DataTypeFactory.getInstance().fromDescription("varchar(255)", database), new NotNullConstraint[]{new NotNullConstraint()})
+                .addColumn("created", DataTypeFactory.getInstance().fromDescription("datetime", database))
+                .addColumn("balance", DataTypeFactory.getInstance().fromDescription("decimal(10,2)", database));
+
+        addColumn = new AddColumnStatement(null, null, "person", "address", "varchar(1000)", null);
+
+        AddColumnConfig indexColumn = new AddColumnConfig();
+        indexColumn.setName("name");
+        createIndex = new CreateIndexStatement("idx_person_name", null, null, "person", false, null, indexColumn);
+
+        insert = new InsertStatement(null, null, "person")
+                .addColumnValue("id", 1)
+                .addColumnValue("name", "John Doe")
+                .addColumnValue("balance", 10.5);
+
+        update = new UpdateStatement(null, null, "person")
+                .addNewColumnValue("name", "Jane Doe")
+                .setWhereClause("id = 1");
+
+        delete = new DeleteStatement(null, null, "person").setWhere("id = 1");
+
+        selectFromDatabaseChangeLog = new SelectFromDatabaseChangeLogStatement("FILENAME", "AUTHOR", "ID", "MD5SUM", "DATEEXECUTED", "ORDEREXECUTED");
+    }
+
+    @Benchmark
+    public Sql[] createTable() {
+        return SqlGeneratorFactory.getInstance().generateSql(createTable, database);
+    }
+
+    @Benchmark
+    public Sql[] addColumn() {
+        return SqlGeneratorFactory.getInstance().generateSql(addColumn, database);
+    }
+
+    @Benchmark
+    public Sql[] createIndex() {
+        return SqlGeneratorFactory.getInstance().generateSql(createIndex, database);
+    }
+
+    @Benchmark
+    public Sql[] insert() {
+        return SqlGeneratorFactory.getInstance().generateSql(insert, database);
+    }
+
+    @Benchmark
+    public Sql[] update() {
+        return SqlGeneratorFactory.getInstance().generateSql(update, database);
+    }
+
+    @Benchmark
+    public Sql[] delete() {
+        return SqlGeneratorFactory.getInstance().generateSql(delete, database);
+    }
+
+    @Benchmark
+    public Sql[] selectFromDatabaseChangeLog() {
+        return SqlGeneratorFactory.getInstance().generateSql(selectFromDatabaseChangeLog, database);
+    }
+}
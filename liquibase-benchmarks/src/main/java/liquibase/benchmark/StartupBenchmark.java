@@ -0,0 +1,102 @@
+package liquibase.benchmark;
+
+import liquibase.change.Change;
+import liquibase.change.ChangeFactory;
+import liquibase.changelog.ChangeLogHistoryService;
+import liquibase.command.CommandFactory;
+import liquibase.command.CommandStep;
+import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.DatabaseFactory;
+import liquibase.datatype.DataTypeFactory;
+import liquibase.datatype.LiquibaseDataType;
+import liquibase.diff.DiffGenerator;
+import liquibase.diff.compare.DatabaseObjectComparator;
+import liquibase.diff.compare.DatabaseObjectComparatorFactory;
+import liquibase.diff.output.changelog.ChangeGenerator;
+import liquibase.diff.output.changelog.ChangeGeneratorFactory;
+import liquibase.executor.Executor;
+import liquibase.lockservice.LockService;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.NamespaceDetails;
+import liquibase.parser.SnapshotParser;
+import liquibase.precondition.Precondition;
+import liquibase.precondition.PreconditionFactory;
+import liquibase.serializer.ChangeLogSerializer;
+import liquibase.serializer.SnapshotSerializer;
+import liquibase.servicelocator.ServiceLocator;
+import liquibase.snapshot.SnapshotGenerator;
+import liquibase.snapshot.SnapshotGeneratorFactory;
+import liquibase.sqlgenerator.SqlGenerator;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.structure.DatabaseObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent finding services before any SQL runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Class<?>[] SERVICE_TYPES = {
+            Change.class,
+            ChangeGenerator.class,
+            ChangeLogHistoryService.class,
+            ChangeLogParser.class,
+            ChangeLogSerializer.class,
+            CommandStep.class,
+            Database.class,
+            DatabaseConnection.class,
+            DatabaseObject.class,
+            DatabaseObjectComparator.class,
+            DiffGenerator.class,
+            Executor.class,
+            LiquibaseDataType.class,
+            LockService.class,
+            NamespaceDetails.class,
+            Precondition.class,
+            SnapshotGenerator.class,
+            SnapshotParser.class,
+            SnapshotSerializer.class,
+            SqlGenerator.class,
+    };
+
+    /**
+     * Creates the factories used by an update in a new JVM, as the CLI does on every invocation.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void createFactories(Blackhole blackhole) {
+        blackhole.consume(SqlGeneratorFactory.getInstance());
+        blackhole.consume(SnapshotGeneratorFactory.getInstance());
+        blackhole.consume(DataTypeFactory.getInstance());
+        blackhole.consume(ChangeGeneratorFactory.getInstance());
+        blackhole.consume(DatabaseObjectComparatorFactory.getInstance());
+        blackhole.consume(PreconditionFactory.getInstance());
+        blackhole.consume(DatabaseFactory.getInstance().getImplementedDatabases());
+        blackhole.consume(liquibase.Scope.getCurrentScope().getSingleton(ChangeFactory.class).getDefinedChanges());
+        blackhole.consume(liquibase.Scope.getCurrentScope().getSingleton(CommandFactory.class).getCommands(false));
+    }
+
+    /**
+     * Finds the core services again, as done when factories are reset or commands run repeatedly in one JVM.
+     */
+    @Benchmark
+    public void findInstances(Blackhole blackhole) {
+        ServiceLocator serviceLocator = liquibase.Scope.getCurrentScope().getServiceLocator();
+        for (Class<?> type : SERVICE_TYPES) {
+            blackhole.consume(serviceLocator.findInstances(type));
+        }
+    }
+}
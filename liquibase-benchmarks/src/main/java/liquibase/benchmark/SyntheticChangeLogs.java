@@ -0,0 +1,237 @@
+package liquibase.benchmark;
+
+import liquibase.change.AddColumnConfig;
+import liquibase.change.Change;
+import liquibase.change.ColumnConfig;
+import liquibase.change.core.AddColumnChange;
+import liquibase.change.core.CreateTableChange;
+import liquibase.change.core.InsertDataChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.RanChangeSet;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Generates changelogs of a given size for the benchmarks. Every changeSet creates a table, adds a column to it or inserts a row,
+ * so the parsers see a realistic mix of changes.
+ */
+public class SyntheticChangeLogs {
+
+    public static final String CHANGELOG_PATH = "com/example/changelog";
+    public static final String AUTHOR = "benchmark";
+
+    private SyntheticChangeLogs() {
+    }
+
+    /**
+     * Writes a changelog with the given number of changeSets in the given format ("xml", "yaml", "json" or "sql")
+     * to the given directory and returns its file name.
+     */
+    public static String write(File directory, String format, int changeSetCount) throws IOException {
+        String fileName = "changelog-" + changeSetCount + "." + format;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(directory, fileName)), StandardCharsets.UTF_8))) {
+            switch (format) {
+                case "xml":
+                    writeXml(writer, changeSetCount);
+                    break;
+                case "yaml":
+                    writeYaml(writer, changeSetCount);
+                    break;
+                case "json":
+                    writeJson(writer, changeSetCount);
+                    break;
+                case "sql":
+                    writeSql(writer, changeSetCount);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown changelog format " + format);
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Returns the changeSets of a synthetic changelog without going through a parser.
+     */
+    public static List<ChangeSet> createChangeSets(int changeSetCount) {
+        DatabaseChangeLog changeLog = new DatabaseChangeLog(CHANGELOG_PATH);
+        List<ChangeSet> changeSets = new ArrayList<>(changeSetCount);
+        for (int i = 0; i < changeSetCount; i++) {
+            ChangeSet changeSet = new ChangeSet(String.valueOf(i), AUTHOR, false, false, CHANGELOG_PATH, null, null, changeLog);
+            changeSet.addChange(createChange(i));
+            changeLog.addChangeSet(changeSet);
+            changeSets.add(changeSet);
+        }
+        return changeSets;
+    }
+
+    /**
+     * Returns the history rows of the given changeSets as if they had all been executed.
+     */
+    public static List<RanChangeSet> createRanChangeSets(List<ChangeSet> changeSets) {
+        List<RanChangeSet> ranChangeSets = new ArrayList<>(changeSets.size());
+        Date dateExecuted = new Date();
+        int orderExecuted = 0;
+        for (ChangeSet changeSet : changeSets) {
+            RanChangeSet ranChangeSet = new RanChangeSet(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor(),
+                    changeSet.generateCheckSum(), dateExecuted, null, ChangeSet.ExecType.EXECUTED, changeSet.getDescription(),
+                    null, null, null, null);
+            ranChangeSet.setOrderExecuted(++orderExecuted);
+            ranChangeSets.add(ranChangeSet);
+        }
+        return ranChangeSets;
+    }
+
+    private static Change createChange(int i) {
+        switch (i % 3) {
+            case 0:
+                CreateTableChange createTable = new CreateTableChange();
+                createTable.setTableName(tableName(i));
+                createTable.addColumn(new ColumnConfig().setName("id").setType("int"));
+                createTable.addColumn(new ColumnConfig().setName("name").setType("varchar(255)"));
+                return createTable;
+            case 1:
+                AddColumnChange addColumn = new AddColumnChange();
+                addColumn.setTableName(tableName(i));
+                AddColumnConfig column = new AddColumnConfig();
+                column.setName("created");
+                column.setType("datetime");
+                addColumn.addColumn(column);
+                return addColumn;
+            default:
+                InsertDataChange insert = new InsertDataChange();
+                insert.setTableName(tableName(i));
+                insert.addColumn(new ColumnConfig().setName("id").setValueNumeric(i));
+                insert.addColumn(new ColumnConfig().setName("name").setValue("row " + i));
+                return insert;
+        }
+    }
+
+    private static String tableName(int i) {
+        return "table_" + (i / 3);
+    }
+
+    private static void writeXml(Writer writer, int changeSetCount) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<databaseChangeLog xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\"\n");
+        writer.write("        xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+        writer.write("        xsi:schemaLocation=\"http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd\">\n");
+        for (int i = 0; i < changeSetCount; i++) {
+            writer.write("    <changeSet id=\"" + i + "\" author=\"" + AUTHOR + "\">\n");
+            switch (i % 3) {
+                case 0:
+                    writer.write("        <createTable tableName=\"" + tableName(i) + "\">\n");
+                    writer.write("            <column name=\"id\" type=\"int\"/>\n");
+                    writer.write("            <column name=\"name\" type=\"varchar(255)\"/>\n");
+                    writer.write("        </createTable>\n");
+                    break;
+                case 1:
+                    writer.write("        <addColumn tableName=\"" + tableName(i) + "\">\n");
+                    writer.write("            <column name=\"created\" type=\"datetime\"/>\n");
+                    writer.write("        </addColumn>\n");
+                    break;
+                default:
+                    writer.write("        <insert tableName=\"" + tableName(i) + "\">\n");
+                    writer.write("            <column name=\"id\" valueNumeric=\"" + i + "\"/>\n");
+                    writer.write("            <column name=\"name\" value=\"row " + i + "\"/>\n");
+                    writer.write("        </insert>\n");
+                    break;
+            }
+            writer.write("    </changeSet>\n");
+        }
+        writer.write("</databaseChangeLog>\n");
+    }
+
+    private static void writeYaml(Writer writer, int changeSetCount) throws IOException {
+        writer.write("databaseChangeLog:\n");
+        for (int i = 0; i < changeSetCount; i++) {
+            writer.write("  - changeSet:\n");
+            writer.write("      id: \"" + i + "\"\n");
+            writer.write("      author: " + AUTHOR + "\n");
+            writer.write("      changes:\n");
+            switch (i % 3) {
+                case 0:
+                    writer.write("        - createTable:\n");
+                    writer.write("            tableName: " + tableName(i) + "\n");
+                    writer.write("            columns:\n");
+                    writer.write("              - column:\n");
+                    writer.write("                  name: id\n");
+                    writer.write("                  type: int\n");
+                    writer.write("              - column:\n");
+                    writer.write("                  name: name\n");
+                    writer.write("                  type: varchar(255)\n");
+                    break;
+                case 1:
+                    writer.write("        - addColumn:\n");
+                    writer.write("            tableName: " + tableName(i) + "\n");
+                    writer.write("            columns:\n");
+                    writer.write("              - column:\n");
+                    writer.write("                  name: created\n");
+                    writer.write("                  type: datetime\n");
+                    break;
+                default:
+                    writer.write("        - insert:\n");
+                    writer.write("            tableName: " + tableName(i) + "\n");
+                    writer.write("            columns:\n");
+                    writer.write("              - column:\n");
+                    writer.write("                  name: id\n");
+                    writer.write("                  valueNumeric: " + i + "\n");
+                    writer.write("              - column:\n");
+                    writer.write("                  name: name\n");
+                    writer.write("                  value: row " + i + "\n");
+                    break;
+            }
+        }
+    }
+
+    private static void writeJson(Writer writer, int changeSetCount) throws IOException {
+        writer.write("{\"databaseChangeLog\": [\n");
+        for (int i = 0; i < changeSetCount; i++) {
+            writer.write("  {\"changeSet\": {\"id\": \"" + i + "\", \"author\": \"" + AUTHOR + "\", \"changes\": [\n");
+            switch (i % 3) {
+                case 0:
+                    writer.write("    {\"createTable\": {\"tableName\": \"" + tableName(i) + "\", \"columns\": [\n");
+                    writer.write("      {\"column\": {\"name\": \"id\", \"type\": \"int\"}},\n");
+                    writer.write("      {\"column\": {\"name\": \"name\", \"type\": \"varchar(255)\"}}\n");
+                    writer.write("    ]}}\n");
+                    break;
+                case 1:
+                    writer.write("    {\"addColumn\": {\"tableName\": \"" + tableName(i) + "\", \"columns\": [\n");
+                    writer.write("      {\"column\": {\"name\": \"created\", \"type\": \"datetime\"}}\n");
+                    writer.write("    ]}}\n");
+                    break;
+                default:
+                    writer.write("    {\"insert\": {\"tableName\": \"" + tableName(i) + "\", \"columns\": [\n");
+                    writer.write("      {\"column\": {\"name\": \"id\", \"valueNumeric\": " + i + "}},\n");
+                    writer.write("      {\"column\": {\"name\": \"name\", \"value\": \"row " + i + "\"}}\n");
+                    writer.write("    ]}}\n");
+                    break;
+            }
+            writer.write("  ]}}" + ((i < changeSetCount - 1) ? "," : "") + "\n");
+        }
+        writer.write("]}\n");
+    }
+
+    private static void writeSql(Writer writer, int changeSetCount) throws IOException {
+        writer.write("--liquibase formatted sql\n\n");
+        for (int i = 0; i < changeSetCount; i++) {
+            writer.write("--changeset " + AUTHOR + ":" + i + "\n");
+            switch (i % 3) {
+                case 0:
+                    writer.write("CREATE TABLE " + tableName(i) + " (id INT, name VARCHAR(255));\n\n");
+                    break;
+                case 1:
+                    writer.write("ALTER TABLE " + tableName(i) + " ADD created DATETIME;\n\n");
+                    break;
+                default:
+                    writer.write("INSERT INTO " + tableName(i) + " (id, name) VALUES (" + i + ", 'row " + i + "');\n\n");
+                    break;
+            }
+        }
+    }
+}
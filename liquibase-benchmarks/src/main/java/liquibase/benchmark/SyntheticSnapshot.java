@@ -0,0 +1,120 @@
+package liquibase.benchmark;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.snapshot.*;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.*;
+
+import java.util.Collections;
+import java.util.TreeSet;
+
+/**
+ * Snapshot of a generated schema, built without a database. Every table has an id primary key, a few typed columns and
+ * an index. Tables and columns can be left out or changed so two snapshots differ in a known way.
+ */
+public class SyntheticSnapshot extends DatabaseSnapshot {
+
+    public static final String CATALOG_NAME = "BENCHMARK";
+    public static final String SCHEMA_NAME = "PUBLIC";
+
+    private static final String[] COLUMN_TYPES = {"varchar(255)", "int", "decimal(10,2)", "datetime", "boolean"};
+
+    /**
+     * @param tableCount        number of tables in the schema
+     * @param columnsPerTable   number of columns besides the id column
+     * @param changeEvery       every changeEvery-th table is missing and the type of a column in the following table differs. 0 to change nothing
+     */
+    public SyntheticSnapshot(Database database, int tableCount, int columnsPerTable, int changeEvery) throws DatabaseException, InvalidExampleException {
+        super(null, database);
+        init(new DatabaseObject[]{createSchema(tableCount, columnsPerTable, changeEvery)});
+    }
+
+    @Override
+    protected SnapshotGeneratorChain createGeneratorChain(Class<? extends DatabaseObject> databaseObjectType, Database database) {
+        return new SnapshotGeneratorChain(new TreeSet<>(Collections.singleton(new ExistingObjectSnapshotGenerator())));
+    }
+
+    private static Schema createSchema(int tableCount, int columnsPerTable, int changeEvery) {
+        Schema schema = new Schema(new Catalog(CATALOG_NAME), SCHEMA_NAME);
+        for (int t = 0; t < tableCount; t++) {
+            boolean changed = (changeEvery > 0) && ((t % changeEvery) == 1);
+            if ((changeEvery > 0) && ((t % changeEvery) == 0)) {
+                continue;
+            }
+
+            Table table = new Table();
+            table.setName("TABLE_" + t);
+            table.setSchema(schema);
+
+            Column id = createColumn(table, "ID", "bigint");
+            PrimaryKey primaryKey = new PrimaryKey();
+            primaryKey.setName("PK_TABLE_" + t);
+            primaryKey.setTable(table);
+            primaryKey.addColumn(0, id);
+            table.setPrimaryKey(primaryKey);
+
+            Column indexed = null;
+            for (int c = 0; c < columnsPerTable; c++) {
+                String type = COLUMN_TYPES[c % COLUMN_TYPES.length];
+                if (changed && (c == 0)) {
+                    type = "varchar(1000)";
+                }
+                Column column = createColumn(table, "COLUMN_" + c, type);
+                if (indexed == null) {
+                    indexed = column;
+                }
+            }
+
+            if (indexed != null) {
+                Index index = new Index("IDX_TABLE_" + t);
+                index.setRelation(table);
+                index.addColumn(indexed);
+                table.getIndexes().add(index);
+            }
+
+            schema.addDatabaseObject(table);
+        }
+        return schema;
+    }
+
+    private static Column createColumn(Table table, String name, String type) {
+        Column column = new Column(name);
+        column.setRelation(table);
+        column.setType(new DataType(type));
+        column.setNullable(!"ID".equals(name));
+        table.addColumn(column);
+        return column;
+    }
+
+    /**
+     * "Snapshots" objects by returning the generated object itself, which is always the example passed in.
+     */
+    private static class ExistingObjectSnapshotGenerator implements SnapshotGenerator, Comparable<SnapshotGenerator> {
+
+        @Override
+        public int getPriority(Class<? extends DatabaseObject> objectType, Database database) {
+            return PRIORITY_DEFAULT;
+        }
+
+        @Override
+        public <T extends DatabaseObject> T snapshot(T example, DatabaseSnapshot snapshot, SnapshotGeneratorChain chain) {
+            return example;
+        }
+
+        @Override
+        public Class<? extends DatabaseObject>[] addsTo() {
+            return null;
+        }
+
+        @Override
+        public Class<? extends SnapshotGenerator>[] replaces() {
+            return null;
+        }
+
+        @Override
+        public int compareTo(SnapshotGenerator o) {
+            return toString().compareTo(o.toString());
+        }
+    }
+}
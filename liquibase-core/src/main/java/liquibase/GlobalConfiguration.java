@@ -21,6 +21,7 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Charset> FILE_ENCODING;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_WAIT_TIME;
     public static final ConfigurationDefinition<Long> CHANGELOGLOCK_POLL_RATE;
+    public static final ConfigurationDefinition<Boolean> CHANGELOGLOCK_NATIVE_WAIT;
     public static final ConfigurationDefinition<Boolean> CONVERT_DATA_TYPES;
     public static final ConfigurationDefinition<Boolean> GENERATE_CHANGESET_CREATED_VALUES;
     public static final ConfigurationDefinition<Boolean> AUTO_REORG;
@@ -31,6 +32,16 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Boolean> SHOULD_SNAPSHOT_DATA;
     public static final ConfigurationDefinition<Boolean> PRESERVE_SCHEMA_CASE;
     public static final ConfigurationDefinition<Boolean> SHOW_BANNER;
+    public static final ConfigurationDefinition<String> CHECKSUM_MANIFEST_FILE;
+    public static final ConfigurationDefinition<Integer> CHECKSUM_THREADS;
+    public static final ConfigurationDefinition<Integer> SNAPSHOT_THREADS;
+    public static final ConfigurationDefinition<Integer> DIFF_THREADS;
+    public static final ConfigurationDefinition<Boolean> LOAD_DATA_STREAMING;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_BATCH_SIZE;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_COMMIT_INTERVAL;
+    public static final ConfigurationDefinition<Boolean> LOAD_DATA_BULK_LOAD;
+    public static final ConfigurationDefinition<Integer> CHANGELOG_SYNC_BATCH_SIZE;
+    public static final ConfigurationDefinition<Boolean> INCREMENTAL_CHANGELOG_HISTORY;
 
     public static final ConfigurationDefinition<DuplicateFileMode> DUPLICATE_FILE_MODE;
 
@@ -68,10 +79,15 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
 
         CHANGELOGLOCK_POLL_RATE = builder.define("changelogLockPollRate", Long.class)
                 .addAliasKey("liquibase.changeLogLockPollRate")
-                .setDescription("Number of seconds wait between checks to the changelog lock when it is locked")
+                .setDescription("Maximum number of seconds to wait between checks to the changelog lock when it is locked. Checks start more often and back off up to this interval.")
                 .setDefaultValue(10L)
                 .build();
 
+        CHANGELOGLOCK_NATIVE_WAIT = builder.define("changelogLockNativeWait", Boolean.class)
+                .setDescription("If true, processes waiting for the changelog lock on PostgreSQL or MySQL block on an advisory or named lock of the database held by the lock owner, so they notice a released changelog lock right away. Disable it when connections go through a pooler which does not keep session locks, such as PgBouncer in transaction mode.")
+                .setDefaultValue(true)
+                .build();
+
         LIQUIBASE_TABLESPACE_NAME = builder.define("liquibaseTablespaceName", String.class)
                 .addAliasKey("liquibase.liquibaseTableSpaceName")
                 .addAliasKey("liquibase.databaseChangeLogTablespaceName")
@@ -210,6 +226,55 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
         SEARCH_PATH = builder.define("searchPath", String.class)
                 .setDescription("Complete list of Location(s) to search for files such as changelog files in. Multiple paths can be specified by separating them with commas.")
                 .build();
+
+        CHECKSUM_MANIFEST_FILE = builder.define("checksumManifestFile", String.class)
+                .setDescription("File to store the checksums of files referenced by sqlFile and loadData in, along with their size and modification time. Files which have not changed since their checksum was stored are not read again to validate or update. If not set, checksums are only remembered until the JVM exits.")
+                .build();
+
+        CHECKSUM_THREADS = builder.define("checksumThreads", Integer.class)
+                .setDescription("Number of threads used to generate the checksums of already executed changesets before the changelog is validated. Values less than 2 generate each checksum when its changeset is validated.")
+                .setDefaultValue(1)
+                .build();
+
+        SNAPSHOT_THREADS = builder.define("snapshotThreads", Integer.class)
+                .setDescription("Number of schemas to snapshot at the same time when a snapshot covers several schemas. Every thread after the first uses its own additional read-only connection, opened with the same url and credentials as the main connection. Values less than 2 snapshot the schemas one after another over the main connection.")
+                .setDefaultValue(1)
+                .build();
+
+        DIFF_THREADS = builder.define("diffThreads", Integer.class)
+                .setDescription("Number of threads used to compare the objects of two snapshots in a diff. The objects are compared in chunks, split by object type. Values less than 2 compare them one after another.")
+                .setDefaultValue(1)
+                .build();
+
+        LOAD_DATA_STREAMING = builder.define("loadDataStreaming", Boolean.class)
+                .setDescription("If true, loadData reads its CSV file while inserting the rows, binding them to a single prepared statement which is executed in batches of loadDataBatchSize rows, so the memory needed does not depend on the size of the file. Only applies to loadData changes which can use prepared statements and are run against a database, not to update-sql.")
+                .setDefaultValue(false)
+                .build();
+
+        LOAD_DATA_BATCH_SIZE = builder.define("loadDataBatchSize", Integer.class)
+                .setDescription("Number of rows loadData and loadUpdateData send to the database in one JDBC batch, unless the change sets its own batchSize")
+                .setDefaultValue(1000)
+                .build();
+
+        LOAD_DATA_COMMIT_INTERVAL = builder.define("loadDataCommitInterval", Integer.class)
+                .setDescription("If greater than 0, loadData and loadUpdateData commit after every JDBC batch once at least this many rows were executed since the last commit, unless the change sets its own commitInterval. Rows committed this way are not rolled back if the changeset fails later.")
+                .setDefaultValue(0)
+                .build();
+
+        LOAD_DATA_BULK_LOAD = builder.define("loadDataBulkLoad", Boolean.class)
+                .setDescription("If true, loadData uses the native bulk load mechanism of the database when one is available, such as COPY on PostgreSQL or LOAD DATA LOCAL INFILE on MySQL, instead of INSERT statements. Only applies to loadData changes run against a database whose columns hold plain values: changes with computed, sequence, blob or clob columns use INSERT statements as before, and so do files with a value the loader cannot write, such as a date which is not in ISO format.")
+                .setDefaultValue(false)
+                .build();
+
+        CHANGELOG_SYNC_BATCH_SIZE = builder.define("changelogSyncBatchSize", Integer.class)
+                .setDescription("Number of changesets changelog-sync and changelog-sync-to-tag mark as executed in one JDBC batch and commit together. Values less than 2 write and commit every changeset on its own.")
+                .setDefaultValue(1000)
+                .build();
+
+        INCREMENTAL_CHANGELOG_HISTORY = builder.define("incrementalChangelogHistory", Boolean.class)
+                .setDescription("If true, the rows read from the DATABASECHANGELOG table are kept for the database connection, and later reads only fetch the rows with a higher ORDEREXECUTED. The whole table is read again when its row count does not match or after this process updated existing rows, such as by tag or clear-checksums. Only enable this if no other process or connection updates existing rows of the table, since such changes are not seen as long as the row count stays the same.")
+                .setDefaultValue(false)
+                .build();
     }
 
     public enum DuplicateFileMode {
@@ -33,6 +33,7 @@ import liquibase.logging.core.BufferedLogService;
 import liquibase.logging.core.CompositeLogService;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.parser.core.xml.XMLChangeLogSAXParser;
 import liquibase.resource.InputStreamList;
 import liquibase.resource.ResourceAccessor;
@@ -377,7 +378,7 @@ public class Liquibase implements AutoCloseable {
             if (parser instanceof XMLChangeLogSAXParser) {
                 ((XMLChangeLogSAXParser) parser).setShouldWarnOnMismatchedXsdVersion(shouldWarnOnMismatchedXsdVersion);
             }
-            databaseChangeLog = parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+            databaseChangeLog = ParsedChangeLogCache.parse(parser, changeLogFile, changeLogParameters, resourceAccessor);
         }
 
         return databaseChangeLog;
@@ -1504,9 +1505,12 @@ public class Liquibase implements AutoCloseable {
 
                     ChangeLogIterator runChangeLogIterator = buildChangeLogIterator(tag, changeLog, contexts, labelExpression);
                     CompositeLogService compositeLogService = new CompositeLogService(true, bufferLog);
+                    ChangeLogSyncVisitor changeLogSyncVisitor = new ChangeLogSyncVisitor(database, changeLogSyncListener,
+                            GlobalConfiguration.CHANGELOG_SYNC_BATCH_SIZE.getCurrentValue());
                     Scope.child(Scope.Attr.logService.name(), compositeLogService, () -> {
-                        runChangeLogIterator.run(new ChangeLogSyncVisitor(database, changeLogSyncListener),
+                        runChangeLogIterator.run(changeLogSyncVisitor,
                                 new RuntimeEnvironment(database, contexts, labelExpression));
+                        changeLogSyncVisitor.flush();
                     });
                     hubUpdater.postUpdateHub(changeLogSyncOperation, bufferLog);
                 }
@@ -24,6 +24,8 @@ import liquibase.util.StringUtil;
 import java.lang.reflect.Constructor;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * This scope object is used to hold configuration and other parameters within a call without needing complex method signatures.
@@ -59,47 +61,69 @@ public class Scope {
         osgiPlatform
     }
 
-    private static ScopeManager scopeManager;
+    private static volatile ScopeManager scopeManager;
 
     private Scope parent;
-    private SmartMap values = new SmartMap();
+    private final SmartMap values;
     private String scopeId;
 
     private LiquibaseListener listener;
 
     public static Scope getCurrentScope() {
         if (scopeManager == null) {
-            scopeManager = new SingletonScopeManager();
+            synchronized (Scope.class) {
+                if (scopeManager == null) {
+                    scopeManager = new SingletonScopeManager();
+                }
+            }
+        }
+        Scope currentScope = scopeManager.getCurrentScope();
+        if (currentScope == null) {
+            synchronized (Scope.class) {
+                if (scopeManager.getCurrentScope() == null) {
+                    createRootScope();
+                }
+            }
+            currentScope = scopeManager.getCurrentScope();
         }
-        if (scopeManager.getCurrentScope() == null) {
-            Scope rootScope = new Scope();
-            scopeManager.setCurrentScope(rootScope);
+        return currentScope;
+    }
 
-            rootScope.values.put(Attr.logService.name(), new JavaLogService());
-            rootScope.values.put(Attr.resourceAccessor.name(), new ClassLoaderResourceAccessor());
-            rootScope.values.put(Attr.serviceLocator.name(), new StandardServiceLocator());
+    private static void createRootScope() {
+        Scope rootScope = new Scope();
+        scopeManager.setCurrentScope(rootScope);
 
-            rootScope.values.put(Attr.ui.name(), new ConsoleUIService());
-            rootScope.getSingleton(LiquibaseConfiguration.class).init(rootScope);
+        rootScope.values.put(Attr.logService.name(), new JavaLogService());
+        rootScope.values.put(Attr.resourceAccessor.name(), new ClassLoaderResourceAccessor());
+        rootScope.values.put(Attr.serviceLocator.name(), new StandardServiceLocator());
 
-            LogService overrideLogService = rootScope.getSingleton(LogServiceFactory.class).getDefaultLogService();
-            if (overrideLogService == null) {
-                throw new UnexpectedLiquibaseException("Cannot find default log service");
-            }
-            rootScope.values.put(Attr.logService.name(), overrideLogService);
+        rootScope.values.put(Attr.ui.name(), new ConsoleUIService());
+        rootScope.getSingleton(LiquibaseConfiguration.class).init(rootScope);
 
-            //check for higher-priority serviceLocator
-            ServiceLocator serviceLocator = rootScope.getServiceLocator();
-            for (ServiceLocator possibleLocator : serviceLocator.findInstances(ServiceLocator.class)) {
-                if (possibleLocator.getPriority() > serviceLocator.getPriority()) {
-                    serviceLocator = possibleLocator;
-                }
-            }
+        LogService overrideLogService = rootScope.getSingleton(LogServiceFactory.class).getDefaultLogService();
+        if (overrideLogService == null) {
+            throw new UnexpectedLiquibaseException("Cannot find default log service");
+        }
+        rootScope.values.put(Attr.logService.name(), overrideLogService);
 
-            rootScope.values.put(Attr.serviceLocator.name(), serviceLocator);
-            rootScope.values.put(Attr.osgiPlatform.name(), Activator.OSGIContainerChecker.isOsgiPlatform());
+        //check for higher-priority serviceLocator
+        ServiceLocator serviceLocator = rootScope.getServiceLocator();
+        for (ServiceLocator possibleLocator : serviceLocator.findInstances(ServiceLocator.class)) {
+            if (possibleLocator.getPriority() > serviceLocator.getPriority()) {
+                serviceLocator = possibleLocator;
+            }
         }
-        return scopeManager.getCurrentScope();
+
+        rootScope.values.put(Attr.serviceLocator.name(), serviceLocator);
+        rootScope.values.put(Attr.osgiPlatform.name(), Activator.OSGIContainerChecker.isOsgiPlatform());
+    }
+
+    /**
+     * Returns the {@link ScopeManager} tracking the current scope.
+     */
+    public static ScopeManager getScopeManager() {
+        getCurrentScope();
+        return scopeManager;
     }
 
     public static void setScopeManager(ScopeManager scopeManager) {
@@ -126,6 +150,8 @@ public class Scope {
      * Defaults serviceLocator to {@link StandardServiceLocator}
      */
     private Scope() {
+        //singletons are added to the root scope while other threads read it
+        values = new SmartMap(new ConcurrentSkipListMap<>());
     }
 
     /**
@@ -137,6 +163,7 @@ public class Scope {
             throw new UnexpectedLiquibaseException("Cannot pass a null parent to a new Scope. Use Scope.child to correctly create a nested scope");
         }
         this.parent = parent;
+        this.values = new SmartMap();
         if (scopeValues != null) {
             for (Map.Entry<String, Object> entry : scopeValues.entrySet()) {
                 values.put(entry.getKey(), entry.getValue());
@@ -276,11 +303,15 @@ public class Scope {
      * Returns null if key is not defined in this or any parent scopes.
      */
     public <T> T get(String key, Class<T> type) {
-        T value = values.get(key, type);
-        if (value == null && parent != null) {
-            value = parent.get(key, type);
+        Scope scope = this;
+        while (scope != null) {
+            T value = scope.values.get(key, type);
+            if (value != null) {
+                return value;
+            }
+            scope = scope.parent;
         }
-        return value;
+        return null;
     }
 
     /**
@@ -305,7 +336,8 @@ public class Scope {
 
     /**
      * Looks up the singleton object of the given type. If the singleton has not been created yet, it will be instantiated.
-     * The singleton is a singleton based on the root scope and the same object will be returned for all child scopes of the root.
+     * The singleton is a singleton based on the root scope and the same object will be returned for all child scopes of the root,
+     * on all threads.
      */
     public <T extends SingletonObject> T getSingleton(Class<T> type) {
         if (getParent() != null) {
@@ -314,7 +346,14 @@ public class Scope {
 
         String key = type.getName();
         T singleton = get(key, type);
-        if (singleton == null) {
+        if (singleton != null) {
+            return singleton;
+        }
+        synchronized (values) {
+            singleton = get(key, type);
+            if (singleton != null) {
+                return singleton;
+            }
             try {
                 try {
                     Constructor<T> constructor = type.getDeclaredConstructor(Scope.class);
@@ -330,8 +369,16 @@ public class Scope {
             }
 
             values.put(key, singleton);
+            return singleton;
         }
-        return singleton;
+    }
+
+    /**
+     * Returns a task which runs the given task with this scope as the current scope, for handing work to other threads.
+     * Depending on the {@link ScopeManager}, other threads do not see this scope otherwise.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return scopeManager.wrap(this, task);
     }
 
     public Logger getLog(Class clazz) {
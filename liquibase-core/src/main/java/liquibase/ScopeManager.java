@@ -1,5 +1,7 @@
 package liquibase;
 
+import java.util.concurrent.Callable;
+
 public abstract class ScopeManager {
 
     public abstract Scope getCurrentScope();
@@ -7,4 +9,12 @@ public abstract class ScopeManager {
     protected abstract void setCurrentScope(Scope scope);
 
     protected abstract Scope init(Scope scope) throws Exception;
+
+    /**
+     * Returns a task which runs the given task in the given scope, whichever thread it runs on.
+     * The default implementation returns the task unchanged, for managers which share the current scope between all threads.
+     */
+    protected <T> Callable<T> wrap(Scope scope, Callable<T> task) {
+        return task;
+    }
 }
@@ -2,10 +2,10 @@ package liquibase;
 
 public class SingletonScopeManager extends ScopeManager {
 
-    private Scope currentScope;
+    private volatile Scope currentScope;
 
     @Override
-    public synchronized Scope getCurrentScope() {
+    public Scope getCurrentScope() {
         return currentScope;
     }
 
@@ -15,7 +15,7 @@ public class SingletonScopeManager extends ScopeManager {
     }
 
     @Override
-    protected synchronized void setCurrentScope(Scope scope) {
+    protected void setCurrentScope(Scope scope) {
         this.currentScope = scope;
     }
 }
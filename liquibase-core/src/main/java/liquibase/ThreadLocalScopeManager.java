@@ -0,0 +1,68 @@
+package liquibase;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link ScopeManager} which keeps the current scope per thread, so several Liquibase runs can use their own scopes
+ * at the same time in one JVM.
+ * <p>
+ * Threads start out in the root scope, which is shared by all threads together with the singletons it holds.
+ * Work handed to other threads runs in the scope of the thread handing it over when wrapped with
+ * {@link Scope#wrap(Callable)}. A thread only holds on to a scope while it is in a child scope, so thread pools and
+ * virtual threads do not keep old scopes alive.
+ * <p>
+ * Use with {@link Scope#setScopeManager(ScopeManager)}.
+ */
+public class ThreadLocalScopeManager extends ScopeManager {
+
+    private final ThreadLocal<Scope> threadScope = new ThreadLocal<>();
+    private volatile Scope rootScope;
+
+    @Override
+    public Scope getCurrentScope() {
+        Scope scope = threadScope.get();
+        if (scope == null) {
+            return rootScope;
+        }
+        return scope;
+    }
+
+    @Override
+    protected Scope init(Scope scope) throws Exception {
+        Scope root = scope;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        rootScope = root;
+        return scope;
+    }
+
+    @Override
+    protected void setCurrentScope(Scope scope) {
+        if ((scope != null) && (scope.getParent() == null)) {
+            rootScope = scope;
+            threadScope.remove();
+        } else if (scope == null) {
+            threadScope.remove();
+        } else {
+            threadScope.set(scope);
+        }
+    }
+
+    @Override
+    protected <T> Callable<T> wrap(Scope scope, Callable<T> task) {
+        return () -> {
+            Scope previousScope = threadScope.get();
+            setCurrentScope(scope);
+            try {
+                return task.call();
+            } finally {
+                if (previousScope == null) {
+                    threadScope.remove();
+                } else {
+                    threadScope.set(previousScope);
+                }
+            }
+        };
+    }
+}
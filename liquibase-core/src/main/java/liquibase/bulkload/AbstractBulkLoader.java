@@ -0,0 +1,267 @@
+package liquibase.bulkload;
+
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.BulkLoadStatement;
+import liquibase.statement.DatabaseFunction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Convenience base class for {@link BulkLoader}s. Turns the rows of a {@link BulkLoadStatement} into a stream of text
+ * which is produced while the database reads it, so the rows are never held in memory all at once.
+ */
+public abstract class AbstractBulkLoader implements BulkLoader {
+
+    /**
+     * Returns true if the given class can be loaded by the class loader of the JDBC driver of the given connection.
+     */
+    protected static boolean isDriverClassAvailable(Database database, String className) {
+        if (!(database.getConnection() instanceof JdbcConnection)) {
+            return false;
+        }
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        if (connection == null) {
+            return false;
+        }
+        try {
+            Class.forName(className, false, connection.getClass().getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Supports all values except computed ones, which {@link #toText(ColumnConfig, Object)} cannot write.
+     */
+    @Override
+    public boolean supportsValue(ColumnConfig column) {
+        return !(column.getValueObject() instanceof DatabaseFunction);
+    }
+
+    /**
+     * Returns the escaped names of the given columns of the table of the statement, separated by commas.
+     */
+    protected String getColumnList(BulkLoadStatement statement, List<String> columnNames) {
+        StringBuilder columnList = new StringBuilder();
+        for (String columnName : columnNames) {
+            if (columnList.length() > 0) {
+                columnList.append(", ");
+            }
+            columnList.append(statement.getDatabase().escapeColumnName(statement.getCatalogName(),
+                    statement.getSchemaName(), statement.getTableName(), columnName));
+        }
+        return columnList.toString();
+    }
+
+    /**
+     * Returns the text to load for the given value. The default implementation writes numbers in plain notation
+     * and dates in JDBC escape format, and does not allow computed values.
+     */
+    protected String toText(ColumnConfig column, Object value) throws DatabaseException {
+        if (value instanceof ColumnConfig.ValueNumeric) {
+            value = ((ColumnConfig.ValueNumeric) value).getDelegate();
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof DatabaseFunction) {
+            throw new DatabaseException("Cannot bulk load the computed value " + value + " of column " + column.getName());
+        }
+        if ((value instanceof Date) && !(value instanceof java.sql.Date) && !(value instanceof java.sql.Time)
+                && !(value instanceof Timestamp)) {
+            return new Timestamp(((Date) value).getTime()).toString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Appends a row in the text format of PostgreSQL COPY and MySQL LOAD DATA: values separated by tabs, backslash
+     * escapes for special characters and \N for null.
+     */
+    protected void appendTextRow(StringBuilder buffer, List<? extends ColumnConfig> row) throws DatabaseException {
+        boolean first = true;
+        for (ColumnConfig column : row) {
+            if (!first) {
+                buffer.append('\t');
+            }
+            first = false;
+
+            Object value = column.getValueObject();
+            if (value == null) {
+                buffer.append("\\N");
+                continue;
+            }
+            String text = toText(column, value);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\':
+                        buffer.append("\\\\");
+                        break;
+                    case '\t':
+                        buffer.append("\\t");
+                        break;
+                    case '\n':
+                        buffer.append("\\n");
+                        break;
+                    case '\r':
+                        buffer.append("\\r");
+                        break;
+                    default:
+                        buffer.append(c);
+                }
+            }
+        }
+        buffer.append('\n');
+    }
+
+    /**
+     * Appends a row as comma separated values. Values are enclosed in double quotes, and null is an empty unquoted value.
+     */
+    protected void appendCsvRow(StringBuilder buffer, List<? extends ColumnConfig> row) throws DatabaseException {
+        boolean first = true;
+        for (ColumnConfig column : row) {
+            if (!first) {
+                buffer.append(',');
+            }
+            first = false;
+
+            Object value = column.getValueObject();
+            if (value == null) {
+                continue;
+            }
+            buffer.append('"').append(toText(column, value).replace("\"", "\"\"")).append('"');
+        }
+        buffer.append('\n');
+    }
+
+    /**
+     * Appends a row to a buffer in the format a loader sends to the database.
+     */
+    @FunctionalInterface
+    public interface RowFormat {
+        void append(StringBuilder buffer, List<? extends ColumnConfig> row) throws DatabaseException;
+    }
+
+    /**
+     * UTF-8 encoded stream of the rows of a {@link BulkLoadStatement} in a {@link RowFormat}, one row at a time.
+     * <p>
+     * Errors reading the rows are thrown as IOExceptions, which drivers tend to wrap in their own exceptions.
+     * Use {@link #getFailure()} to find the original error after a failed load.
+     */
+    public static class RowInputStream extends InputStream {
+
+        private final BulkLoadStatement.RowReader rows;
+        private final RowFormat format;
+        private final StringBuilder buffer = new StringBuilder();
+        private List<? extends ColumnConfig> firstRow;
+        private boolean firstRowRead;
+        private byte[] bytes = new byte[0];
+        private int position;
+        private long rowCount;
+        private DatabaseException failure;
+
+        public RowInputStream(BulkLoadStatement statement, RowFormat format) throws DatabaseException {
+            this.rows = statement.openRows();
+            this.format = format;
+        }
+
+        /**
+         * Returns the names of the columns of the rows, or null if there are no rows. Must be called before reading.
+         */
+        public List<String> getColumnNames() throws DatabaseException {
+            if (!firstRowRead) {
+                firstRow = rows.readNextRow();
+                firstRowRead = true;
+            }
+            if (firstRow == null) {
+                return null;
+            }
+            List<String> names = new ArrayList<>(firstRow.size());
+            for (ColumnConfig column : firstRow) {
+                names.add(column.getName());
+            }
+            return names;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Returns the error which stopped the rows from being read, if any.
+         */
+        public DatabaseException getFailure() {
+            return failure;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(len, bytes.length - position);
+            System.arraycopy(bytes, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < bytes.length) {
+                return true;
+            }
+            try {
+                List<? extends ColumnConfig> row;
+                if (!firstRowRead) {
+                    getColumnNames();
+                }
+                if (firstRow != null) {
+                    row = firstRow;
+                    firstRow = null;
+                } else {
+                    row = rows.readNextRow();
+                }
+                if (row == null) {
+                    return false;
+                }
+                buffer.setLength(0);
+                format.append(buffer, row);
+                rowCount++;
+            } catch (DatabaseException e) {
+                failure = e;
+                throw new IOException(e.getMessage(), e);
+            }
+            bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package liquibase.bulkload;
+
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.plugin.Plugin;
+import liquibase.statement.BulkLoadStatement;
+
+/**
+ * Interface for extensions which load rows into a table with a native bulk load mechanism of the database,
+ * such as COPY on PostgreSQL, instead of one INSERT per row. Used by loadData when
+ * {@link liquibase.GlobalConfiguration#LOAD_DATA_BULK_LOAD} is set and all columns hold plain values.
+ * <p>
+ * Implementations are looked up with {@link BulkLoaderFactory}.
+ */
+public interface BulkLoader extends Plugin {
+
+    /**
+     * Priority of this loader for the given database, or {@link #PRIORITY_NOT_APPLICABLE} if it cannot load into it,
+     * for example because the JDBC driver does not offer the needed API. The loader with the highest priority is used.
+     */
+    int getPriority(Database database);
+
+    /**
+     * Returns true if this loader can write the value of the given column. If any row holds a value it cannot write,
+     * for example a date which turned into a computed value, the rows are inserted with INSERT statements instead.
+     */
+    boolean supportsValue(ColumnConfig column);
+
+    /**
+     * Loads the rows of the given statement over the given connection.
+     *
+     * @return the number of rows loaded
+     */
+    long load(BulkLoadStatement statement, JdbcConnection connection) throws DatabaseException;
+}
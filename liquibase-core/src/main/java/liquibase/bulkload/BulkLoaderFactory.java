@@ -0,0 +1,30 @@
+package liquibase.bulkload;
+
+import liquibase.database.Database;
+import liquibase.plugin.AbstractPluginFactory;
+
+/**
+ * Singleton for finding the {@link BulkLoader} of a database.
+ */
+public class BulkLoaderFactory extends AbstractPluginFactory<BulkLoader> {
+
+    private BulkLoaderFactory() {
+    }
+
+    @Override
+    protected Class<BulkLoader> getPluginClass() {
+        return BulkLoader.class;
+    }
+
+    @Override
+    protected int getPriority(BulkLoader obj, Object... args) {
+        return obj.getPriority((Database) args[0]);
+    }
+
+    /**
+     * Returns the loader to use for the given database, or null if the database cannot be bulk loaded.
+     */
+    public BulkLoader getBulkLoader(Database database) {
+        return getPlugin(database);
+    }
+}
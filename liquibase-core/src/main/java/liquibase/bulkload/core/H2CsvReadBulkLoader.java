@@ -0,0 +1,89 @@
+package liquibase.bulkload.core;
+
+import liquibase.Scope;
+import liquibase.bulkload.AbstractBulkLoader;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.listener.SqlListener;
+import liquibase.statement.BulkLoadStatement;
+import liquibase.util.JdbcUtil;
+import liquibase.util.StreamUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Loads rows into an embedded H2 database with a single <code>INSERT ... SELECT * FROM CSVREAD(...)</code>.
+ * The rows are written to a temporary file first, because CSVREAD reads from the file system of the database.
+ * Databases accessed over tcp or ssl are not supported, since they cannot see the local file.
+ */
+public class H2CsvReadBulkLoader extends AbstractBulkLoader {
+
+    @Override
+    public int getPriority(Database database) {
+        if (!(database instanceof H2Database) || (database.getConnection() == null)) {
+            return PRIORITY_NOT_APPLICABLE;
+        }
+        String url = database.getConnection().getURL();
+        if ((url == null) || url.startsWith("jdbc:h2:tcp:") || url.startsWith("jdbc:h2:ssl:")) {
+            return PRIORITY_NOT_APPLICABLE;
+        }
+        return PRIORITY_SPECIALIZED;
+    }
+
+    @Override
+    public long load(BulkLoadStatement statement, JdbcConnection connection) throws DatabaseException {
+        File file = null;
+        Statement stmt = null;
+        try (RowInputStream rows = new RowInputStream(statement, this::appendCsvRow)) {
+            List<String> columnNames = rows.getColumnNames();
+            if (columnNames == null) {
+                return 0;
+            }
+
+            file = File.createTempFile("liquibase-bulk-load", ".csv");
+            try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                StreamUtil.copy(rows, out);
+            } catch (IOException e) {
+                if (rows.getFailure() != null) {
+                    throw rows.getFailure();
+                }
+                throw e;
+            }
+
+            StringBuilder headers = new StringBuilder();
+            for (int i = 1; i <= columnNames.size(); i++) {
+                if (i > 1) {
+                    headers.append(',');
+                }
+                headers.append('C').append(i);
+            }
+            String sql = "INSERT INTO " + statement.getDatabase().escapeTableName(statement.getCatalogName(),
+                    statement.getSchemaName(), statement.getTableName())
+                    + " (" + getColumnList(statement, columnNames) + ") SELECT * FROM CSVREAD('"
+                    + file.getAbsolutePath().replace("'", "''") + "', '" + headers + "', 'charset=UTF-8')";
+            for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
+                listener.writeSqlWillRun(sql);
+            }
+
+            stmt = connection.createStatement();
+            return stmt.executeUpdate(sql);
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        } catch (IOException e) {
+            throw new DatabaseException(e.getMessage(), e);
+        } finally {
+            JdbcUtil.closeStatement(stmt);
+            if ((file != null) && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+}
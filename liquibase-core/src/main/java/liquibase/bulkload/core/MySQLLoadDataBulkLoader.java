@@ -0,0 +1,96 @@
+package liquibase.bulkload.core;
+
+import liquibase.Scope;
+import liquibase.bulkload.AbstractBulkLoader;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.listener.SqlListener;
+import liquibase.statement.BulkLoadStatement;
+import liquibase.util.JdbcUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Loads rows into MySQL and MariaDB with <code>LOAD DATA LOCAL INFILE</code>, streaming the rows through the
+ * <code>setLocalInfileInputStream</code> method of the statements of MySQL Connector/J and older MariaDB drivers.
+ * The connection must allow local infile, for example with <code>allowLoadLocalInfile=true</code> in the url,
+ * and the server must have <code>local_infile</code> enabled.
+ * <p>
+ * Note that MySQL reports values which do not fit their column as warnings rather than errors in LOAD DATA LOCAL.
+ */
+public class MySQLLoadDataBulkLoader extends AbstractBulkLoader {
+
+    private static final String[] STATEMENT_CLASSES = {"com.mysql.cj.jdbc.JdbcStatement", "org.mariadb.jdbc.MariaDbStatement"};
+
+    @Override
+    public int getPriority(Database database) {
+        if (database instanceof MySQLDatabase) {
+            for (String statementClass : STATEMENT_CLASSES) {
+                if (isDriverClassAvailable(database, statementClass)) {
+                    return PRIORITY_SPECIALIZED;
+                }
+            }
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    protected String toText(ColumnConfig column, Object value) throws DatabaseException {
+        if (value instanceof Boolean) {
+            return ((Boolean) value) ? "1" : "0";
+        }
+        return super.toText(column, value);
+    }
+
+    @Override
+    public long load(BulkLoadStatement statement, JdbcConnection connection) throws DatabaseException {
+        Statement stmt = null;
+        try (RowInputStream rows = new RowInputStream(statement, this::appendTextRow)) {
+            List<String> columnNames = rows.getColumnNames();
+            if (columnNames == null) {
+                return 0;
+            }
+
+            // the defaults of LOAD DATA match the text format: tab separated, backslash escapes, \N for null
+            String sql = "LOAD DATA LOCAL INFILE 'liquibase-bulk-load' INTO TABLE "
+                    + statement.getDatabase().escapeTableName(statement.getCatalogName(), statement.getSchemaName(), statement.getTableName())
+                    + " CHARACTER SET utf8mb4 (" + getColumnList(statement, columnNames) + ")";
+            for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
+                listener.writeSqlWillRun(sql);
+            }
+
+            try {
+                stmt = connection.createStatement();
+                Method setLocalInfileInputStream = stmt.getClass().getMethod("setLocalInfileInputStream", InputStream.class);
+                setLocalInfileInputStream.invoke(stmt, rows);
+                stmt.executeUpdate(sql);
+                if (rows.getFailure() != null) {
+                    throw rows.getFailure();
+                }
+                return rows.getRowCount();
+            } catch (SQLException e) {
+                if (rows.getFailure() != null) {
+                    throw rows.getFailure();
+                }
+                throw new DatabaseException(e);
+            } catch (InvocationTargetException e) {
+                throw new DatabaseException(e.getCause().getMessage(), e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new DatabaseException("Cannot stream LOAD DATA LOCAL INFILE with the MySQL driver: " + e.getMessage(), e);
+            }
+        } catch (IOException e) {
+            throw new DatabaseException(e.getMessage(), e);
+        } finally {
+            JdbcUtil.closeStatement(stmt);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package liquibase.bulkload.core;
+
+import liquibase.Scope;
+import liquibase.bulkload.AbstractBulkLoader;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.listener.SqlListener;
+import liquibase.statement.BulkLoadStatement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Loads rows into PostgreSQL with <code>COPY ... FROM STDIN</code> through the CopyManager API of the PostgreSQL JDBC driver.
+ * The driver is accessed by reflection, so it only needs to be on the classpath at runtime.
+ */
+public class PostgresCopyBulkLoader extends AbstractBulkLoader {
+
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+
+    @Override
+    public int getPriority(Database database) {
+        if ((database instanceof PostgresDatabase) && isDriverClassAvailable(database, PG_CONNECTION_CLASS)) {
+            return PRIORITY_SPECIALIZED;
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public long load(BulkLoadStatement statement, JdbcConnection connection) throws DatabaseException {
+        try (RowInputStream rows = new RowInputStream(statement, this::appendTextRow)) {
+            List<String> columnNames = rows.getColumnNames();
+            if (columnNames == null) {
+                return 0;
+            }
+
+            String sql = "COPY " + statement.getDatabase().escapeTableName(statement.getCatalogName(),
+                    statement.getSchemaName(), statement.getTableName())
+                    + " (" + getColumnList(statement, columnNames) + ") FROM STDIN";
+            for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
+                listener.writeSqlWillRun(sql);
+            }
+
+            try {
+                Connection underlyingConnection = connection.getUnderlyingConnection();
+                Class<?> pgConnectionClass = Class.forName(PG_CONNECTION_CLASS, true, underlyingConnection.getClass().getClassLoader());
+                Method getCopyApi = pgConnectionClass.getMethod("getCopyAPI");
+                Object copyManager = getCopyApi.invoke(underlyingConnection.unwrap(pgConnectionClass));
+                Method copyIn = getCopyApi.getReturnType().getMethod("copyIn", String.class, InputStream.class);
+                return (Long) copyIn.invoke(copyManager, sql, rows);
+            } catch (InvocationTargetException e) {
+                if (rows.getFailure() != null) {
+                    throw rows.getFailure();
+                }
+                throw new DatabaseException(e.getCause().getMessage(), e.getCause());
+            } catch (ReflectiveOperationException | SQLException e) {
+                throw new DatabaseException("Cannot use the COPY API of the PostgreSQL driver: " + e.getMessage(), e);
+            }
+        } catch (IOException e) {
+            throw new DatabaseException(e.getMessage(), e);
+        }
+    }
+}
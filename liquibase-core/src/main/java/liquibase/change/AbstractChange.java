@@ -18,6 +18,7 @@ import liquibase.util.StringUtil;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -463,10 +464,16 @@ public abstract class AbstractChange extends AbstractPlugin implements Change {
 
     /**
      * Implementation generates checksum by serializing the change with {@link StringChangeLogSerializer}
+     * straight into a {@link CheckSumWriter}.
      */
     @Override
     public CheckSum generateCheckSum() {
-        return CheckSum.compute(new StringChangeLogSerializer().serialize(this, false));
+        try (CheckSumWriter writer = new CheckSumWriter()) {
+            new StringChangeLogSerializer().serialize(this, writer);
+            return writer.getCheckSum();
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
     }
 
     /*
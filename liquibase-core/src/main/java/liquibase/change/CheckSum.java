@@ -1,12 +1,11 @@
 package liquibase.change;
 
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.util.MD5Util;
-import liquibase.util.StringUtil;
 
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.text.Normalizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,7 +32,7 @@ public final class CheckSum {
      * @param checksum Generated checksum (format depends on version)
      * @param version  The version of the Liquibase checksum generator used
      */
-    private CheckSum(String checksum, int version) {
+    CheckSum(String checksum, int version) {
         this.storedCheckSum = checksum;
         this.version = version;
     }
@@ -68,13 +67,13 @@ public final class CheckSum {
      * Compute a storedCheckSum of the given string.
      */
     public static CheckSum compute(String valueToChecksum) {
-        return new CheckSum(MD5Util.computeMD5(
-                //remove "Unknown" unicode char 65533
-                Normalizer.normalize(
-                    StringUtil.standardizeLineEndings(valueToChecksum)
-                            .replace("\uFFFD", "")
-                        , Normalizer.Form.NFC)
-        ), getCurrentVersion());
+        //standardizes line endings, removes "Unknown" unicode char 65533 and normalizes to NFC
+        try (CheckSumWriter writer = new CheckSumWriter()) {
+            writer.write(valueToChecksum);
+            return writer.getCheckSum();
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
     }
 
     /**
@@ -0,0 +1,110 @@
+package liquibase.change;
+
+import liquibase.util.MD5Writer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.Normalizer;
+
+/**
+ * Writer which computes a {@link CheckSum} of the text written to it without keeping the text in memory.
+ * The result is the same as {@link CheckSum#compute(String)} of the concatenated text: line endings are standardized,
+ * "unknown" characters (U+FFFD) are removed and the text is normalized to NFC.
+ * <p>
+ * Only runs of text containing characters from U+0300 up are buffered for normalization, because characters below that
+ * can never combine with what precedes them.
+ */
+public class CheckSumWriter extends Writer {
+
+    private static final char FIRST_COMBINING_CHARACTER = '\u0300';
+    private static final char UNKNOWN_CHARACTER = '\uFFFD';
+
+    private final MD5Writer md5Writer = new MD5Writer();
+    private final StringBuilder segment = new StringBuilder();
+    private char heldCharacter;
+    private boolean hasHeldCharacter;
+    private boolean previousWasCarriageReturn;
+    private CheckSum checkSum;
+
+    @Override
+    public void write(int c) throws IOException {
+        process((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            process(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            process(str.charAt(i));
+        }
+    }
+
+    /**
+     * Finishes the computation and returns the checksum of everything written. Further writes are not allowed.
+     */
+    public CheckSum getCheckSum() throws IOException {
+        if (checkSum == null) {
+            if (segment.length() > 0) {
+                flushSegment();
+            } else if (hasHeldCharacter) {
+                md5Writer.write(heldCharacter);
+                hasHeldCharacter = false;
+            }
+            checkSum = new CheckSum(md5Writer.getMD5(), CheckSum.getCurrentVersion());
+        }
+        return checkSum;
+    }
+
+    @Override
+    public void flush() {
+        //text is held back until it is known not to combine with what follows
+    }
+
+    @Override
+    public void close() {
+        md5Writer.close();
+    }
+
+    private void process(char c) throws IOException {
+        if (c == '\r') {
+            previousWasCarriageReturn = true;
+            c = '\n';
+        } else if (c == '\n' && previousWasCarriageReturn) {
+            previousWasCarriageReturn = false;
+            return;
+        } else {
+            previousWasCarriageReturn = false;
+        }
+
+        if (c == UNKNOWN_CHARACTER) {
+            return;
+        }
+
+        if (c < FIRST_COMBINING_CHARACTER) {
+            if (segment.length() > 0) {
+                flushSegment();
+            } else if (hasHeldCharacter) {
+                md5Writer.write(heldCharacter);
+            }
+            heldCharacter = c;
+            hasHeldCharacter = true;
+        } else {
+            if (hasHeldCharacter) {
+                segment.append(heldCharacter);
+                hasHeldCharacter = false;
+            }
+            segment.append(c);
+        }
+    }
+
+    private void flushSegment() throws IOException {
+        md5Writer.write(Normalizer.normalize(segment, Normalizer.Form.NFC));
+        segment.setLength(0);
+    }
+}
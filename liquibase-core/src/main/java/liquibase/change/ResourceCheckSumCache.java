@@ -0,0 +1,284 @@
+package liquibase.change;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.resource.InputStreamList;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.StringUtil;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the checksums of files referenced by changes such as sqlFile and loadData, so an unchanged file does not have
+ * to be read again every time its change's checksum is generated.
+ * <p>
+ * Entries are keyed by the resolved URI of the file and a "variant" describing how the content was normalized before hashing.
+ * They are only used while the file's size and modification time are unchanged. Only files on the local file system or inside
+ * a local jar are cached. Files modified in the last couple of seconds are not cached because a later change in the same
+ * second would keep the same modification time.
+ * <p>
+ * At most {@link #MAX_ENTRIES} checksums are kept, dropping the least recently used ones first.
+ * <p>
+ * When {@link GlobalConfiguration#CHECKSUM_MANIFEST_FILE} is set, entries are also appended to that file and read back on startup.
+ * The file is rewritten with one line per entry when it is read with outdated lines, and again once
+ * {@link #MAX_STALE_MANIFEST_LINES} lines have been replaced by later ones.
+ */
+public class ResourceCheckSumCache {
+
+    private static final long RACY_MODIFICATION_MILLIS = 2000;
+    private static final char SEPARATOR = '\t';
+    static final int MAX_ENTRIES = 10000;
+    static final int MAX_STALE_MANIFEST_LINES = 1000;
+
+    private static final Map<String, Entry> entries = Collections.synchronizedMap(new LeastRecentlyUsedMap<>(MAX_ENTRIES));
+    private static final Map<String, Manifest> manifests = new ConcurrentHashMap<>();
+
+    private ResourceCheckSumCache() {
+    }
+
+    /**
+     * Computes the checksum of a file's content.
+     */
+    public interface ContentCheckSum {
+        CheckSum compute(InputStream stream) throws IOException;
+    }
+
+    /**
+     * Returns the checksum of the given file, using a cached value if the file has not changed since it was computed.
+     *
+     * @param variant     identifies how the content is normalized by <code>computer</code>. Must change whenever the result would.
+     * @return the checksum, or null if the file cannot be found or is ambiguous. Callers should fall back to reading the file themselves
+     * so the usual error is reported.
+     */
+    public static CheckSum getCheckSum(String relativeTo, String path, String variant, ContentCheckSum computer) throws IOException {
+        ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
+        String manifestFile = StringUtil.trimToNull(GlobalConfiguration.CHECKSUM_MANIFEST_FILE.getCurrentValue());
+        Manifest manifest = null;
+        if (manifestFile != null) {
+            manifest = manifests.computeIfAbsent(manifestFile, ResourceCheckSumCache::loadManifest);
+        }
+
+        try (InputStreamList streams = resourceAccessor.openStreams(relativeTo, path)) {
+            if ((streams == null) || (streams.size() != 1)) {
+                return null;
+            }
+            URI uri = streams.getURIs().get(0);
+            File file = getLocalFile(uri);
+            if (file == null) {
+                return computer.compute(streams.iterator().next());
+            }
+
+            String key = uri + "\n" + variant + "\n" + CheckSum.getCurrentVersion();
+            long length = file.length();
+            long lastModified = file.lastModified();
+            Entry entry = entries.get(key);
+            if ((entry != null) && (entry.length == length) && (entry.lastModified == lastModified)) {
+                return entry.checkSum;
+            }
+
+            CheckSum checkSum = computer.compute(streams.iterator().next());
+            if ((lastModified > 0) && (System.currentTimeMillis() - lastModified > RACY_MODIFICATION_MILLIS)
+                    && (file.length() == length) && (file.lastModified() == lastModified)) {
+                entry = new Entry(length, lastModified, checkSum);
+                entries.put(key, entry);
+                if (manifest != null) {
+                    manifest.add(key, entry);
+                }
+            }
+            return checkSum;
+        }
+    }
+
+    /**
+     * Forgets all cached checksums. The manifest file, if any, is read again on next use.
+     */
+    public static void clear() {
+        entries.clear();
+        manifests.clear();
+    }
+
+    private static File getLocalFile(URI uri) {
+        try {
+            if ("file".equals(uri.getScheme())) {
+                return new File(uri);
+            }
+            if ("jar".equals(uri.getScheme())) {
+                String jarPath = uri.getRawSchemeSpecificPart();
+                int separator = jarPath.indexOf("!/");
+                if ((separator > 0) && jarPath.startsWith("file:")) {
+                    return new File(new URI(jarPath.substring(0, separator)));
+                }
+            }
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(ResourceCheckSumCache.class).fine("Cannot resolve " + uri + " to a local file: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static Manifest loadManifest(String manifestFile) {
+        Manifest manifest = new Manifest(new File(manifestFile));
+        if (!manifest.file.exists()) {
+            return manifest;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifest.file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                manifest.lines++;
+                String[] parts = line.split(String.valueOf(SEPARATOR), 4);
+                if (parts.length != 4) {
+                    continue;
+                }
+                try {
+                    manifest.put(unescape(parts[3]), new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]), CheckSum.parse(parts[2])));
+                } catch (RuntimeException e) {
+                    //skip damaged lines, the file will simply be read again
+                }
+            }
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(ResourceCheckSumCache.class).fine("Cannot read checksum manifest " + manifest.file.getAbsolutePath() + ": " + e.getMessage(), e);
+            return manifest;
+        }
+
+        entries.putAll(manifest.entries);
+        if (manifest.lines > manifest.entries.size()) {
+            manifest.rewrite();
+        }
+        return manifest;
+    }
+
+    private static String escape(String key) {
+        return key.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder key = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c == '\\') && (i + 1 < value.length())) {
+                char next = value.charAt(++i);
+                if (next == 'n') {
+                    key.append('\n');
+                } else if (next == 'r') {
+                    key.append('\r');
+                } else if (next == 't') {
+                    key.append('\t');
+                } else {
+                    key.append(next);
+                }
+            } else {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * The entries of a manifest file, in the order they were last written, and the number of lines in the file.
+     */
+    private static class Manifest {
+        private final File file;
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private int lines;
+
+        private Manifest(File file) {
+            this.file = file;
+        }
+
+        private void put(String key, Entry entry) {
+            entries.remove(key);
+            entries.put(key, entry);
+            if (entries.size() > MAX_ENTRIES) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+
+        private synchronized void add(String key, Entry entry) {
+            put(key, entry);
+            if (lines - entries.size() >= MAX_STALE_MANIFEST_LINES) {
+                rewrite();
+                return;
+            }
+
+            File parent = file.getAbsoluteFile().getParentFile();
+            if ((parent != null) && !parent.exists()) {
+                parent.mkdirs();
+            }
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)) {
+                writeLine(writer, key, entry);
+                lines++;
+            } catch (IOException e) {
+                Scope.getCurrentScope().getLog(ResourceCheckSumCache.class).fine("Cannot write checksum manifest " + file.getAbsolutePath() + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Replaces the file with one line per entry. The new content is written to a temporary file first and moved
+         * over the old one, so other processes never read a partly written manifest.
+         */
+        private synchronized void rewrite() {
+            File parent = file.getAbsoluteFile().getParentFile();
+            File tempFile = null;
+            try {
+                if ((parent != null) && !parent.exists()) {
+                    parent.mkdirs();
+                }
+                tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+                try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                        writeLine(writer, entry.getKey(), entry.getValue());
+                    }
+                }
+                try {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                lines = entries.size();
+            } catch (IOException e) {
+                Scope.getCurrentScope().getLog(ResourceCheckSumCache.class).fine("Cannot rewrite checksum manifest " + file.getAbsolutePath() + ": " + e.getMessage(), e);
+                if (tempFile != null) {
+                    tempFile.delete();
+                }
+            }
+        }
+
+        private static void writeLine(Writer writer, String key, Entry entry) throws IOException {
+            writer.write(String.valueOf(entry.length) + SEPARATOR + entry.lastModified + SEPARATOR + entry.checkSum + SEPARATOR + escape(key) + "\n");
+        }
+    }
+
+    private static class LeastRecentlyUsedMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private LeastRecentlyUsedMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static class Entry {
+        private final long length;
+        private final long lastModified;
+        private final CheckSum checkSum;
+
+        private Entry(long length, long lastModified, CheckSum checkSum) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.checkSum = checkSum;
+        }
+    }
+}
@@ -2,7 +2,10 @@ package liquibase.change.core;
 
 import com.opencsv.exceptions.CsvMalformedLineException;
 import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
+import liquibase.bulkload.BulkLoader;
+import liquibase.bulkload.BulkLoaderFactory;
 import liquibase.change.*;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.AbstractJdbcDatabase;
@@ -22,9 +25,11 @@ import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
+import liquibase.statement.BulkLoadStatement;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.InsertExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
+import liquibase.statement.StreamingDmlExecutablePreparedStatement;
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.statement.core.InsertSetStatement;
 import liquibase.statement.core.InsertStatement;
@@ -89,6 +94,8 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     private List<LoadDataColumnConfig> columns = new ArrayList<>();
 
     private Boolean usePreparedStatements;
+    private Integer batchSize;
+    private Integer commitInterval;
 
     /**
      * Transform a value read from a CSV file into a string to be written into the database if the column type
@@ -149,6 +156,27 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         this.usePreparedStatements = usePreparedStatements;
     }
 
+    @DatabaseChangeProperty(
+            description = "Number of rows sent to the database in one JDBC batch when prepared statements are used. Default: the loadDataBatchSize configuration")
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @DatabaseChangeProperty(
+            description = "If set, the rows executed so far are committed after every JDBC batch once at least this many rows were executed since the last commit. " +
+                    "Committed rows are not rolled back if the changeset fails later. Default: the loadDataCommitInterval configuration")
+    public Integer getCommitInterval() {
+        return commitInterval;
+    }
+
+    public void setCommitInterval(Integer commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
     @DatabaseChangeProperty(supportsDatabase = ALL,
             description = "Lines staring with this are treated as comment and ignored. Default: " + DEFAULT_COMMENT_PATTERN)
     public String getCommentLineStartsWith() {
@@ -289,192 +317,28 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                 throw new UnexpectedLiquibaseException(e);
             }
 
+            BulkLoader bulkLoader = getBulkLoader(database);
+            if (bulkLoader != null) {
+                return new SqlStatement[]{createBulkLoadStatement(database, bulkLoader)};
+            }
+
+            if (useStreaming(database)) {
+                return new SqlStatement[]{createStreamingStatement(database)};
+            }
+
+            boolean preferPreparedStatements = !isLoggingExecutor(database) && preferPreparedStatements(database);
+
             String[] line;
             // Start at '1' to take into account the header (already processed):
             int lineNumber = 1;
 
-            boolean isCommentingEnabled = StringUtil.isNotEmpty(commentLineStartsWith);
-
             List<LoadDataRowConfig> rows = new ArrayList<>();
             while ((line = reader.readNext()) != null) {
                 lineNumber++;
-                if
-                ((line.length == 0) || ((line.length == 1) && (StringUtil.trimToNull(line[0]) == null)) ||
-                        (isCommentingEnabled && isLineCommented(line))
-                ) {
-                    //nothing interesting on this line
-                    continue;
-                }
-
-                // Ensure each line has the same number of columns defined as does the header.
-                // (Failure could indicate unquoted strings with commas, for example).
-                if (line.length != headers.length) {
-                    throw new UnexpectedLiquibaseException(
-                            "CSV file " + getFile() + " Line " + lineNumber + " has " + line.length +
-                                    " values defined, Header has " + headers.length +
-                                    ". Numbers MUST be equal (check for unquoted string with embedded commas)"
-                    );
-                }
-
-                boolean needsPreparedStatement = false;
-
-                List<LoadDataColumnConfig> columnsFromCsv = new ArrayList<>();
-                for (int i = 0; i < headers.length; i++) {
-                    String value = line[i];
-                    String columnName = headers[i].trim();
-
-                    LoadDataColumnConfig valueConfig = new LoadDataColumnConfig();
-
-                    LoadDataColumnConfig columnConfig = getColumnConfig(i, columnName);
-                    if (columnConfig != null) {
-                        if ("skip".equalsIgnoreCase(columnConfig.getType())) {
-                            continue;
-                        }
-
-                        // don't overwrite header name unless there is actually a value to override it with
-                        if (columnConfig.getName() != null) {
-                            columnName = columnConfig.getName();
-                        }
-
-                        //
-                        // Always set the type for the valueConfig if the value is NULL
-                        //
-                        if ("NULL".equalsIgnoreCase(value)) {
-                            valueConfig.setType(columnConfig.getType());
-                        }
-                        valueConfig.setName(columnName);
-                        valueConfig.setAllowUpdate(columnConfig.getAllowUpdate());
-
-                        if (value.isEmpty()) {
-                            value = columnConfig.getDefaultValue();
-                        }
-                        if (StringUtil.equalsWordNull(value)) {
-                            valueConfig.setValue(null);
-                        } else if (columnConfig.getType() == null) {
-                            // columnConfig did not specify a type
-                            valueConfig.setValue(value);
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.BOOLEAN) {
-                            if (value == null) { // TODO getDefaultValueBoolean should use BooleanUtil.parseBoolean also for consistent behaviour
-                                valueConfig.setValueBoolean(columnConfig.getDefaultValueBoolean());
-                            } else {
-                                valueConfig.setValueBoolean(BooleanUtil.parseBoolean(value));
-                            }
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.NUMERIC) {
-                            if (value != null) {
-                                valueConfig.setValueNumeric(value);
-                            } else {
-                                valueConfig.setValueNumeric(columnConfig.getDefaultValueNumeric());
-                            }
-                        } else if (columnConfig.getType().equalsIgnoreCase("date")
-                                || columnConfig.getType().equalsIgnoreCase("datetime")
-                                || columnConfig.getType().equalsIgnoreCase("time")) {
-                            if ("NULL".equalsIgnoreCase(value) || "".equals(value)) {
-                                valueConfig.setValue(null);
-                            } else {
-                                try {
-                                    // Need the column type for handling 'NOW' or 'TODAY' type column value
-                                    valueConfig.setType(columnConfig.getType());
-                                    if (value != null) {
-                                        valueConfig.setValueDate(value);
-                                    } else {
-                                        valueConfig.setValueDate(columnConfig.getDefaultValueDate());
-                                    }
-                                } catch (DateParseException e) {
-                                    throw new UnexpectedLiquibaseException(e);
-                                }
-                            }
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.STRING) {
-                            valueConfig.setType(columnConfig.getType());
-                            valueConfig.setValue(value == null ? "" : value);
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.COMPUTED) {
-                            if (null != value) {
-                                liquibase.statement.DatabaseFunction function =
-                                        new liquibase.statement.DatabaseFunction(value);
-                                valueConfig.setValueComputed(function);
-                            } else {
-                                valueConfig.setValueComputed(columnConfig.getDefaultValueComputed());
-                            }
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.SEQUENCE) {
-                            if (value == null) {
-                                throw new UnexpectedLiquibaseException(
-                                        "Must set a sequence name in the loadData column defaultValue attribute"
-                                );
-                            }
-                            liquibase.statement.SequenceNextValueFunction function =
-                                    new liquibase.statement.SequenceNextValueFunction(getSchemaName(), value);
-                            valueConfig.setValueComputed(function);
-
-                        } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.BLOB.toString())) {
-                            if ("NULL".equalsIgnoreCase(value)) {
-                                valueConfig.setValue(null);
-                            } else if (BASE64_PATTERN.matcher(value).matches()) {
-                                valueConfig.setType(columnConfig.getType());
-                                valueConfig.setValue(value);
-                                needsPreparedStatement = true;
-                            } else {
-                                valueConfig.setValueBlobFile(value);
-                                needsPreparedStatement = true;
-                            }
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.CLOB) {
-                            valueConfig.setValueClobFile(value);
-                            needsPreparedStatement = true;
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.UUID) {
-                            valueConfig.setType(columnConfig.getType());
-                            if ("NULL".equalsIgnoreCase(value)) {
-                                valueConfig.setValue(null);
-                            } else {
-                                valueConfig.setValue(value);
-                            }
-                        } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.OTHER.toString())) {
-                            valueConfig.setType(columnConfig.getType());
-                            if ("NULL".equalsIgnoreCase(value)) {
-                                valueConfig.setValue(null);
-                            } else {
-                                valueConfig.setValue(value);
-                            }
-                        } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.UNKNOWN) {
-                            // columnConfig did not match a specific type
-                            valueConfig.setValue(value);
-                        } else {
-                            throw new UnexpectedLiquibaseException(
-                                    String.format(coreBundle.getString("loaddata.type.is.not.supported"),
-                                            columnConfig.getType()
-                                    )
-                            );
-                        }
-                    } else {
-                        // No columnConfig found. Assume header column name to be the table column name.
-                        if (columnName.contains("(") || (columnName.contains(")") && (database instanceof
-                                AbstractJdbcDatabase))) {
-                            columnName = ((AbstractJdbcDatabase) database).quoteObject(columnName, Column.class);
-                        }
-
-                        valueConfig.setName(columnName);
-
-                        valueConfig.setValue(getValueToWrite(value));
-                    }
-                    columnsFromCsv.add(valueConfig);
+                LoadDataRowConfig row = createRowConfig(database, headers, line, lineNumber, preferPreparedStatements);
+                if (row != null) {
+                    rows.add(row);
                 }
-                // end of: iterate through all the columns of a CSV line
-
-                // Try to use prepared statements if any of the following conditions apply:
-                // 1. There is no other option than using a prepared statement (e.g. in cases of LOBs) regardless
-                //     of whether the 'usePreparedStatement' is set to false
-                // 2. The database supports batched statements (for improved performance) AND we are not in an
-                //    "SQL" mode (i.e. we generate an SQL file instead of actually modifying the database).
-                // BUT: if the user specifically requests usePreparedStatement=false, then respect that
-                boolean actuallyUsePreparedStatements = false;
-                if (hasPreparedStatementsImplemented()) {
-                    if (usePreparedStatements != null) {
-                        if (!usePreparedStatements && needsPreparedStatement) {
-                            throw new UnexpectedLiquibaseException("loadData is requesting usePreparedStatements=false but prepared statements are required");
-                        }
-                        actuallyUsePreparedStatements = usePreparedStatements;
-                    } else {
-                        actuallyUsePreparedStatements = needsPreparedStatement || (!isLoggingExecutor(database) && preferPreparedStatements(database));
-                    }
-                }
-                rows.add(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
             }
             return generateStatementsFromRows(database, rows);
         } catch (CsvMalformedLineException e) {
@@ -501,6 +365,195 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         }
     }
 
+    /**
+     * Converts a line of the CSV file into the values to insert.
+     *
+     * @param preferPreparedStatements whether to use a prepared statement if the line does not require one and
+     *                                 {@link #getUsePreparedStatements()} is not set
+     * @return the values of the line, or null if the line is empty or a comment
+     */
+    private LoadDataRowConfig createRowConfig(Database database, String[] headers, String[] line, int lineNumber,
+                                              boolean preferPreparedStatements) {
+        boolean isCommentingEnabled = StringUtil.isNotEmpty(commentLineStartsWith);
+        if
+        ((line.length == 0) || ((line.length == 1) && (StringUtil.trimToNull(line[0]) == null)) ||
+                (isCommentingEnabled && isLineCommented(line))
+        ) {
+            //nothing interesting on this line
+            return null;
+        }
+
+        // Ensure each line has the same number of columns defined as does the header.
+        // (Failure could indicate unquoted strings with commas, for example).
+        if (line.length != headers.length) {
+            throw new UnexpectedLiquibaseException(
+                    "CSV file " + getFile() + " Line " + lineNumber + " has " + line.length +
+                            " values defined, Header has " + headers.length +
+                            ". Numbers MUST be equal (check for unquoted string with embedded commas)"
+            );
+        }
+
+        boolean needsPreparedStatement = false;
+
+        List<LoadDataColumnConfig> columnsFromCsv = new ArrayList<>();
+        for (int i = 0; i < headers.length; i++) {
+            String value = line[i];
+            String columnName = headers[i].trim();
+
+            LoadDataColumnConfig valueConfig = new LoadDataColumnConfig();
+
+            LoadDataColumnConfig columnConfig = getColumnConfig(i, columnName);
+            if (columnConfig != null) {
+                if ("skip".equalsIgnoreCase(columnConfig.getType())) {
+                    continue;
+                }
+
+                // don't overwrite header name unless there is actually a value to override it with
+                if (columnConfig.getName() != null) {
+                    columnName = columnConfig.getName();
+                }
+
+                //
+                // Always set the type for the valueConfig if the value is NULL
+                //
+                if ("NULL".equalsIgnoreCase(value)) {
+                    valueConfig.setType(columnConfig.getType());
+                }
+                valueConfig.setName(columnName);
+                valueConfig.setAllowUpdate(columnConfig.getAllowUpdate());
+
+                if (value.isEmpty()) {
+                    value = columnConfig.getDefaultValue();
+                }
+                if (StringUtil.equalsWordNull(value)) {
+                    valueConfig.setValue(null);
+                } else if (columnConfig.getType() == null) {
+                    // columnConfig did not specify a type
+                    valueConfig.setValue(value);
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.BOOLEAN) {
+                    if (value == null) { // TODO getDefaultValueBoolean should use BooleanUtil.parseBoolean also for consistent behaviour
+                        valueConfig.setValueBoolean(columnConfig.getDefaultValueBoolean());
+                    } else {
+                        valueConfig.setValueBoolean(BooleanUtil.parseBoolean(value));
+                    }
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.NUMERIC) {
+                    if (value != null) {
+                        valueConfig.setValueNumeric(value);
+                    } else {
+                        valueConfig.setValueNumeric(columnConfig.getDefaultValueNumeric());
+                    }
+                } else if (columnConfig.getType().equalsIgnoreCase("date")
+                        || columnConfig.getType().equalsIgnoreCase("datetime")
+                        || columnConfig.getType().equalsIgnoreCase("time")) {
+                    if ("NULL".equalsIgnoreCase(value) || "".equals(value)) {
+                        valueConfig.setValue(null);
+                    } else {
+                        try {
+                            // Need the column type for handling 'NOW' or 'TODAY' type column value
+                            valueConfig.setType(columnConfig.getType());
+                            if (value != null) {
+                                valueConfig.setValueDate(value);
+                            } else {
+                                valueConfig.setValueDate(columnConfig.getDefaultValueDate());
+                            }
+                        } catch (DateParseException e) {
+                            throw new UnexpectedLiquibaseException(e);
+                        }
+                    }
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.STRING) {
+                    valueConfig.setType(columnConfig.getType());
+                    valueConfig.setValue(value == null ? "" : value);
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.COMPUTED) {
+                    if (null != value) {
+                        liquibase.statement.DatabaseFunction function =
+                                new liquibase.statement.DatabaseFunction(value);
+                        valueConfig.setValueComputed(function);
+                    } else {
+                        valueConfig.setValueComputed(columnConfig.getDefaultValueComputed());
+                    }
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.SEQUENCE) {
+                    if (value == null) {
+                        throw new UnexpectedLiquibaseException(
+                                "Must set a sequence name in the loadData column defaultValue attribute"
+                        );
+                    }
+                    liquibase.statement.SequenceNextValueFunction function =
+                            new liquibase.statement.SequenceNextValueFunction(getSchemaName(), value);
+                    valueConfig.setValueComputed(function);
+
+                } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.BLOB.toString())) {
+                    if ("NULL".equalsIgnoreCase(value)) {
+                        valueConfig.setValue(null);
+                    } else if (BASE64_PATTERN.matcher(value).matches()) {
+                        valueConfig.setType(columnConfig.getType());
+                        valueConfig.setValue(value);
+                        needsPreparedStatement = true;
+                    } else {
+                        valueConfig.setValueBlobFile(value);
+                        needsPreparedStatement = true;
+                    }
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.CLOB) {
+                    valueConfig.setValueClobFile(value);
+                    needsPreparedStatement = true;
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.UUID) {
+                    valueConfig.setType(columnConfig.getType());
+                    if ("NULL".equalsIgnoreCase(value)) {
+                        valueConfig.setValue(null);
+                    } else {
+                        valueConfig.setValue(value);
+                    }
+                } else if (columnConfig.getType().equalsIgnoreCase(LOAD_DATA_TYPE.OTHER.toString())) {
+                    valueConfig.setType(columnConfig.getType());
+                    if ("NULL".equalsIgnoreCase(value)) {
+                        valueConfig.setValue(null);
+                    } else {
+                        valueConfig.setValue(value);
+                    }
+                } else if (columnConfig.getTypeEnum() == LOAD_DATA_TYPE.UNKNOWN) {
+                    // columnConfig did not match a specific type
+                    valueConfig.setValue(value);
+                } else {
+                    throw new UnexpectedLiquibaseException(
+                            String.format(coreBundle.getString("loaddata.type.is.not.supported"),
+                                    columnConfig.getType()
+                            )
+                    );
+                }
+            } else {
+                // No columnConfig found. Assume header column name to be the table column name.
+                if (columnName.contains("(") || (columnName.contains(")") && (database instanceof
+                        AbstractJdbcDatabase))) {
+                    columnName = ((AbstractJdbcDatabase) database).quoteObject(columnName, Column.class);
+                }
+
+                valueConfig.setName(columnName);
+
+                valueConfig.setValue(getValueToWrite(value));
+            }
+            columnsFromCsv.add(valueConfig);
+        }
+        // end of: iterate through all the columns of a CSV line
+
+        // Try to use prepared statements if any of the following conditions apply:
+        // 1. There is no other option than using a prepared statement (e.g. in cases of LOBs) regardless
+        //     of whether the 'usePreparedStatement' is set to false
+        // 2. The database supports batched statements (for improved performance) AND we are not in an
+        //    "SQL" mode (i.e. we generate an SQL file instead of actually modifying the database).
+        // BUT: if the user specifically requests usePreparedStatement=false, then respect that
+        boolean actuallyUsePreparedStatements = false;
+        if (hasPreparedStatementsImplemented()) {
+            if (usePreparedStatements != null) {
+                if (!usePreparedStatements && needsPreparedStatement) {
+                    throw new UnexpectedLiquibaseException("loadData is requesting usePreparedStatements=false but prepared statements are required");
+                }
+                actuallyUsePreparedStatements = usePreparedStatements;
+            } else {
+                actuallyUsePreparedStatements = needsPreparedStatement || preferPreparedStatements;
+            }
+        }
+        return new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv);
+    }
+
     /**
      * If the loaded data does not require a prepared statement, and the user did not specify whether to use them or not,
      * should we use prepared statements as a default?
@@ -529,6 +582,62 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                 (executorService.getExecutor("logging", database) instanceof LoggingExecutor);
     }
 
+    /**
+     * Whether the rows should be read while they are inserted, see {@link GlobalConfiguration#LOAD_DATA_STREAMING}.
+     * Needs prepared statements and a database to insert into, so update-sql still gets the insert statements.
+     */
+    private boolean useStreaming(Database database) {
+        return Boolean.TRUE.equals(GlobalConfiguration.LOAD_DATA_STREAMING.getCurrentValue())
+                && hasPreparedStatementsImplemented()
+                && !Boolean.FALSE.equals(usePreparedStatements)
+                && !isLoggingExecutor(database);
+    }
+
+    /**
+     * Returns a statement which reads the CSV file again when it is executed and inserts its rows in batches,
+     * without keeping more than one batch in memory.
+     */
+    private StreamingDmlExecutablePreparedStatement createStreamingStatement(Database database) {
+        // we don't do batch updates for Postgres but we still reuse the prepared statement, see LB-744
+        boolean useBatches = supportsBatchUpdates(database) && !(database instanceof PostgresDatabase);
+        ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
+
+        return new StreamingDmlExecutablePreparedStatement(database, getCatalogName(), getSchemaName(), getTableName(),
+                columns, getChangeSet(), resourceAccessor,
+                () -> new CsvRowReader(database, resourceAccessor),
+                ObjectUtil.defaultIfNull(batchSize, ObjectUtil.defaultIfNull(GlobalConfiguration.LOAD_DATA_BATCH_SIZE.getCurrentValue(), 0)),
+                ObjectUtil.defaultIfNull(commitInterval, ObjectUtil.defaultIfNull(GlobalConfiguration.LOAD_DATA_COMMIT_INTERVAL.getCurrentValue(), 0)),
+                useBatches);
+    }
+
+    /**
+     * Returns the loader to insert the rows with when bulk loading is enabled, see
+     * {@link GlobalConfiguration#LOAD_DATA_BULK_LOAD}, or null if the rows need INSERT statements.
+     * Computed, sequence and lob columns always need INSERT statements. Values which only turn out to be computed
+     * while the rows are read are handled by the fallback of the {@link BulkLoadStatement}.
+     */
+    private BulkLoader getBulkLoader(Database database) {
+        if (!Boolean.TRUE.equals(GlobalConfiguration.LOAD_DATA_BULK_LOAD.getCurrentValue())
+                || !hasPreparedStatementsImplemented()
+                || isLoggingExecutor(database)) {
+            return null;
+        }
+        for (LoadDataColumnConfig column : columns) {
+            LOAD_DATA_TYPE type = column.getTypeEnum();
+            if ((type == LOAD_DATA_TYPE.COMPUTED) || (type == LOAD_DATA_TYPE.SEQUENCE) || (type == LOAD_DATA_TYPE.BLOB)
+                    || (type == LOAD_DATA_TYPE.CLOB) || (type == LOAD_DATA_TYPE.OTHER)) {
+                return null;
+            }
+        }
+        return Scope.getCurrentScope().getSingleton(BulkLoaderFactory.class).getBulkLoader(database);
+    }
+
+    private SqlStatement createBulkLoadStatement(Database database, BulkLoader bulkLoader) {
+        ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
+        return new BulkLoadStatement(database, getCatalogName(), getSchemaName(), getTableName(), bulkLoader,
+                () -> new CsvRowReader(database, resourceAccessor), createStreamingStatement(database));
+    }
+
     /**
      * Iterate through the List of LoadDataColumnConfig and ask the database for any column types that we have
      * no data type of.
@@ -787,6 +896,12 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     public CheckSum generateCheckSum() {
         InputStream stream = null;
         try {
+            CheckSum fileCheckSum = ResourceCheckSumCache.getCheckSum(getRelativeTo(), file, "loadData:" + commentLineStartsWith,
+                    contentStream -> CheckSum.compute(new EmptyLineAndCommentSkippingInputStream(contentStream, commentLineStartsWith), /*standardizeLineEndings*/ true));
+            if (fileCheckSum != null) {
+                return CheckSum.compute(getTableName() + ":" + fileCheckSum);
+            }
+
             stream = Scope.getCurrentScope().getResourceAccessor().openStream(getRelativeTo(), file);
             if (stream == null) {
                 throw new UnexpectedLiquibaseException(String.format(
@@ -866,7 +981,7 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                                     database, getCatalogName(), getSchemaName(),
                                     getTableName(), columns,
                                     getChangeSet(), Scope.getCurrentScope().getResourceAccessor(),
-                                    preparedStatements)
+                                    preparedStatements, batchSize, commitInterval)
                     };
                 }
             } else {
@@ -907,6 +1022,77 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         BOOLEAN, NUMERIC, DATE, STRING, COMPUTED, SEQUENCE, BLOB, CLOB, SKIP, UUID, OTHER, UNKNOWN
     }
 
+    /**
+     * Reads the CSV file one line at a time for a {@link StreamingDmlExecutablePreparedStatement} or a {@link BulkLoadStatement}.
+     */
+    private class CsvRowReader implements StreamingDmlExecutablePreparedStatement.RowReader, BulkLoadStatement.RowReader {
+
+        private final Database database;
+        private final ResourceAccessor resourceAccessor;
+        private final CSVReader reader;
+        private final String[] headers;
+        private int lineNumber = 1;
+
+        private CsvRowReader(Database database, ResourceAccessor resourceAccessor) throws DatabaseException {
+            this.database = database;
+            this.resourceAccessor = resourceAccessor;
+            try {
+                this.reader = getCSVReader();
+                if (this.reader == null) {
+                    throw new DatabaseException("Unable to read file " + getFile());
+                }
+                this.headers = reader.readNext();
+            } catch (DatabaseException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DatabaseException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public ExecutablePreparedStatementBase readNext() throws DatabaseException {
+            List<LoadDataColumnConfig> row = readNextRow();
+            if (row == null) {
+                return null;
+            }
+            return createPreparedStatement(database, getCatalogName(), getSchemaName(), getTableName(),
+                    row, getChangeSet(), resourceAccessor);
+        }
+
+        @Override
+        public List<LoadDataColumnConfig> readNextRow() throws DatabaseException {
+            if (headers == null) {
+                return null;
+            }
+            try {
+                String[] line;
+                while ((line = reader.readNext()) != null) {
+                    lineNumber++;
+                    LoadDataRowConfig row = createRowConfig(database, headers, line, lineNumber, true);
+                    if (row != null) {
+                        return row.getColumns();
+                    }
+                }
+                return null;
+            } catch (CsvMalformedLineException e) {
+                throw new DatabaseException("Error parsing " + getRelativeTo() + " on line " + e.getLineNumber() + ": " + e.getMessage(), e);
+            } catch (IOException | UnexpectedLiquibaseException e) {
+                throw new DatabaseException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+
     protected static class LoadDataRowConfig {
 
         private final boolean needsPreparedStatement;
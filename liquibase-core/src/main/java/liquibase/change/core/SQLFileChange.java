@@ -2,9 +2,11 @@ package liquibase.change.core;
 
 import liquibase.Scope;
 import liquibase.change.AbstractSQLChange;
+import liquibase.change.CheckSum;
 import liquibase.change.ChangeMetaData;
 import liquibase.change.DatabaseChange;
 import liquibase.change.DatabaseChangeProperty;
+import liquibase.change.ResourceCheckSumCache;
 import liquibase.changelog.ChangeLogParameters;
 import liquibase.database.Database;
 import liquibase.exception.SetupException;
@@ -115,11 +117,7 @@ public class SQLFileChange extends AbstractSQLChange {
 
         InputStream inputStream;
         try {
-            String relativeTo = null;
-            if (ObjectUtil.defaultIfNull(isRelativeToChangelogFile(), false)) {
-                relativeTo = getChangeSet().getChangeLog().getPhysicalFilePath();
-            }
-            inputStream = Scope.getCurrentScope().getResourceAccessor().openStream(relativeTo, path);
+            inputStream = Scope.getCurrentScope().getResourceAccessor().openStream(getRelativeToPath(), path);
         } catch (IOException e) {
             throw new IOException("Unable to read file '" + path + "'", e);
         }
@@ -130,6 +128,35 @@ public class SQLFileChange extends AbstractSQLChange {
         throw new IOException(FileUtil.getFileNotFoundMessage(path));
     }
 
+    private String getRelativeToPath() {
+        if (ObjectUtil.defaultIfNull(isRelativeToChangelogFile(), false)) {
+            return getChangeSet().getChangeLog().getPhysicalFilePath();
+        }
+        return null;
+    }
+
+    /**
+     * Calculates the checksum the same way as {@link AbstractSQLChange#generateCheckSum()}, but reuses the checksum of an
+     * unchanged file through {@link ResourceCheckSumCache}.
+     */
+    @Override
+    public CheckSum generateCheckSum() {
+        if ((path == null) || (super.getSql() != null)) {
+            return super.generateCheckSum();
+        }
+        try {
+            CheckSum checkSum = ResourceCheckSumCache.getCheckSum(getRelativeToPath(), path,
+                    "sqlFile:" + getEndDelimiter() + ":" + isSplitStatements() + ":" + isStripComments(),
+                    stream -> CheckSum.compute(new NormalizingStream(getEndDelimiter(), isSplitStatements(), isStripComments(), stream), false));
+            if (checkSum != null) {
+                return checkSum;
+            }
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        return super.generateCheckSum();
+    }
+
     @Override
     public ValidationErrors validate(Database database) {
         ValidationErrors validationErrors = new ValidationErrors();
@@ -16,6 +16,8 @@ public abstract class AbstractChangeLogHistoryService implements ChangeLogHistor
 
     private Database database;
     private String deploymentId;
+    private RanChangeSetIndex ranChangeSetIndex;
+    private List<RanChangeSet> indexedRanChangeSets;
 
     public Database getDatabase() {
         return database;
@@ -28,7 +30,7 @@ public abstract class AbstractChangeLogHistoryService implements ChangeLogHistor
 
     @Override
     public void reset() {
-
+        resetRanChangeSetIndex();
     }
 
     public ChangeSet.RunStatus getRunStatus(final ChangeSet changeSet)
@@ -80,12 +82,37 @@ public abstract class AbstractChangeLogHistoryService implements ChangeLogHistor
 
     @Override
     public RanChangeSet getRanChangeSet(final ChangeSet changeSet) throws DatabaseException, DatabaseHistoryException {
-        for (RanChangeSet ranChange : getRanChangeSets()) {
-            if (ranChange.isSameAs(changeSet)) {
-                return ranChange;
-            }
+        return getRanChangeSetIndex().get(changeSet);
+    }
+
+    /**
+     * Returns an index over {@link #getRanChangeSets()}. The index is built on first use and rebuilt whenever
+     * getRanChangeSets() returns a different list instance than the one it was built from, or a list of a different size.
+     * Implementations which return a new list on every call therefore get a new index on every call. Implementations
+     * which change the entries of their list in place must either keep the index up to date through
+     * {@link RanChangeSetIndex#add(RanChangeSet)} and {@link RanChangeSetIndex#remove(RanChangeSet)} or call
+     * {@link #resetRanChangeSetIndex()}.
+     */
+    protected RanChangeSetIndex getRanChangeSetIndex() throws DatabaseException {
+        List<RanChangeSet> ranChangeSets = getRanChangeSets();
+        if ((this.ranChangeSetIndex == null) || (ranChangeSets != this.indexedRanChangeSets)
+                || (this.ranChangeSetIndex.size() != ranChangeSets.size())) {
+            this.ranChangeSetIndex = new RanChangeSetIndex(ranChangeSets);
+            this.indexedRanChangeSets = ranChangeSets;
         }
-        return null;
+        return this.ranChangeSetIndex;
+    }
+
+    /**
+     * Returns the current index without building it, or null if it has not been built yet.
+     */
+    protected RanChangeSetIndex getCachedRanChangeSetIndex() {
+        return this.ranChangeSetIndex;
+    }
+
+    protected void resetRanChangeSetIndex() {
+        this.ranChangeSetIndex = null;
+        this.indexedRanChangeSets = null;
     }
 
     @Override
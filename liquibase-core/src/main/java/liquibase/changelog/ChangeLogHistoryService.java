@@ -42,6 +42,16 @@ public interface ChangeLogHistoryService extends PrioritizedService {
 
     void setExecType(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException;
 
+    /**
+     * Same as calling {@link #setExecType(ChangeSet, ChangeSet.ExecType)} for every changeset in order.
+     * Implementations may write them with fewer round trips and commits, as long as the changesets keep their order.
+     */
+    default void setExecType(List<ChangeSet> changeSets, ChangeSet.ExecType execType) throws DatabaseException {
+        for (ChangeSet changeSet : changeSets) {
+            setExecType(changeSet, execType);
+        }
+    }
+
     void removeFromHistory(ChangeSet changeSet) throws DatabaseException;
 
     int getNextSequenceValue() throws LiquibaseException;
@@ -114,6 +114,10 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     private String filePath = "UNKNOWN CHANGE LOG";
 
+    /**
+     * {@link DatabaseChangeLog#normalizePath(String)} of filePath, computed on first use and cleared when filePath changes
+     */
+    private String normalizedFilePath;
 
     /**
      * A logicalFilePath if defined
@@ -276,6 +280,16 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         return filePath;
     }
 
+    /**
+     * @return {@link #getFilePath()} normalized through {@link DatabaseChangeLog#normalizePath(String)}. The value is cached so repeated lookups do not re-run the path regexes.
+     */
+    public String getNormalizedFilePath() {
+        if (normalizedFilePath == null) {
+            normalizedFilePath = DatabaseChangeLog.normalizePath(filePath);
+        }
+        return normalizedFilePath;
+    }
+
     /**
      * The logical file path defined directly on this node. Return null if not set.
      *
@@ -304,10 +318,19 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         return runWith;
     }
 
+    /**
+     * Forgets the checksum computed by {@link #generateCheckSum()}. Adding changes or sql visitors and setting change
+     * properties through {@link liquibase.change.ChangeParameterMetaData#setValue(Change, Object)} call this automatically.
+     * Code which changes a {@link Change} through its setters after the checksum was generated must call it as well.
+     */
     public void clearCheckSum() {
         this.checkSum = null;
     }
 
+    /**
+     * Returns the checksum of this changeSet's changes and sql visitors. The value is computed once and remembered until
+     * {@link #clearCheckSum()} is called.
+     */
     public CheckSum generateCheckSum() {
         if (checkSum == null) {
             StringBuilder stringToMD5 = new StringBuilder();
@@ -373,6 +396,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                     .replaceFirst("^/", "");
 
         }
+        this.normalizedFilePath = null;
 
         this.setFailOnError(node.getChildValue(null, "failOnError", Boolean.class));
         String onValidationFailString = node.getChildValue(null, "onValidationFail", "HALT");
@@ -871,6 +895,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
         }
         changes.add(change);
         change.setChangeSet(this);
+        clearCheckSum();
     }
 
     public String getId() {
@@ -1162,6 +1187,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
     public void addSqlVisitor(SqlVisitor sqlVisitor) {
         sqlVisitors.add(sqlVisitor);
+        clearCheckSum();
     }
 
     public List<SqlVisitor> getSqlVisitors() {
@@ -1184,6 +1210,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     public void setFilePath(String filePath) {
         this.filePath = filePath;
+        this.normalizedFilePath = null;
     }
 
     public ObjectQuotingStrategy getObjectQuotingStrategy() {
@@ -1,6 +1,7 @@
 package liquibase.changelog;
 
 import liquibase.*;
+import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.changelog.filter.LabelChangeSetFilter;
@@ -12,6 +13,7 @@ import liquibase.exception.*;
 import liquibase.logging.Logger;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParsedNodeException;
 import liquibase.precondition.Conditional;
@@ -53,6 +55,8 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     private ObjectQuotingStrategy objectQuotingStrategy;
 
     private List<ChangeSet> changeSets = new ArrayList<>();
+    private Map<String, List<ChangeSet>> changeSetIndex = new HashMap<>();
+    private int indexedChangeSetCount;
     private ChangeLogParameters changeLogParameters;
 
     private RuntimeEnvironment runtimeEnvironment;
@@ -68,6 +72,8 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     private Labels includeLabels;
     private boolean includeIgnore;
 
+    private IncludedChangeLogPreParser includePreParser;
+
     public DatabaseChangeLog() {
     }
 
@@ -216,25 +222,80 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     }
 
     public ChangeSet getChangeSet(String path, String author, String id) {
+        final String normalizedPath = normalizePath(path);
+        if (normalizedPath == null || author == null || id == null) {
+            return null;
+        }
+        List<ChangeSet> candidates = getChangeSetIndex().get(toChangeSetIndexKey(normalizedPath, author, id));
+        if (candidates == null) {
+            return null;
+        }
+
+        ChangeSet found = null;
+        for (ChangeSet changeSet : candidates) {
+            if (isSameChangeSet(changeSet, normalizedPath, author, id)) {
+                if (found != null) {
+                    //more than one match, so return the first one in changeSets order like a full scan would
+                    return findChangeSet(normalizedPath, author, id);
+                }
+                found = changeSet;
+            }
+        }
+        return found;
+    }
+
+    private ChangeSet findChangeSet(String normalizedPath, String author, String id) {
         for (ChangeSet changeSet : changeSets) {
-            final String normalizedPath = normalizePath(changeSet.getFilePath());
-            if (normalizedPath != null &&
-                    normalizedPath.equalsIgnoreCase(normalizePath(path)) &&
-                    changeSet.getAuthor().equalsIgnoreCase(author) &&
-                    changeSet.getId().equalsIgnoreCase(id) &&
-                    isDbmsMatch(changeSet.getDbmsSet())) {
+            if (isSameChangeSet(changeSet, normalizedPath, author, id)) {
                 return changeSet;
             }
         }
-
         return null;
     }
 
+    private boolean isSameChangeSet(ChangeSet changeSet, String normalizedPath, String author, String id) {
+        final String changeSetPath = changeSet.getNormalizedFilePath();
+        return changeSetPath != null &&
+                changeSetPath.equalsIgnoreCase(normalizedPath) &&
+                changeSet.getAuthor().equalsIgnoreCase(author) &&
+                changeSet.getId().equalsIgnoreCase(id) &&
+                isDbmsMatch(changeSet.getDbmsSet());
+    }
+
+    /**
+     * Returns the path/author/id index over changeSets. It is maintained by {@link #addChangeSet(ChangeSet)} and rebuilt
+     * if changeSets was modified directly through {@link #getChangeSets()}.
+     */
+    private Map<String, List<ChangeSet>> getChangeSetIndex() {
+        if (indexedChangeSetCount != changeSets.size()) {
+            changeSetIndex = new HashMap<>();
+            indexedChangeSetCount = 0;
+            for (ChangeSet changeSet : changeSets) {
+                indexChangeSet(changeSet);
+            }
+        }
+        return changeSetIndex;
+    }
+
+    private void indexChangeSet(ChangeSet changeSet) {
+        indexedChangeSetCount++;
+        final String normalizedPath = changeSet.getNormalizedFilePath();
+        if (normalizedPath == null || changeSet.getAuthor() == null || changeSet.getId() == null) {
+            return;
+        }
+        changeSetIndex.computeIfAbsent(toChangeSetIndexKey(normalizedPath, changeSet.getAuthor(), changeSet.getId()), key -> new ArrayList<>(1)).add(changeSet);
+    }
+
+    private static String toChangeSetIndexKey(String normalizedPath, String author, String id) {
+        return normalizedPath.toLowerCase(Locale.US) + "::" + id.toLowerCase(Locale.US) + "::" + author.toLowerCase(Locale.US);
+    }
+
     public List<ChangeSet> getChangeSets() {
         return changeSets;
     }
 
     public void addChangeSet(ChangeSet changeSet) {
+        getChangeSetIndex();
         if (changeSet.getRunOrder() == null) {
             ListIterator<ChangeSet> it = this.changeSets.listIterator(this.changeSets.size());
             boolean added = false;
@@ -267,6 +328,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         } else {
             throw new UnexpectedLiquibaseException("Unknown runOrder: " + changeSet.getRunOrder());
         }
+        indexChangeSet(changeSet);
     }
 
     @Override
@@ -298,15 +360,16 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
         database.setObjectQuotingStrategy(objectQuotingStrategy);
 
-        ChangeLogIterator logIterator = new ChangeLogIterator(
-                this,
+        ChangeSetFilter[] filters = new ChangeSetFilter[] {
                 new DbmsChangeSetFilter(database),
                 new ContextChangeSetFilter(contexts),
                 new LabelChangeSetFilter(labelExpression)
-        );
+        };
+        ChangeLogIterator logIterator = new ChangeLogIterator(this, filters);
 
         ValidatingVisitor validatingVisitor = new ValidatingVisitor(database.getRanChangeSetList());
         validatingVisitor.validate(database, this);
+        validatingVisitor.generateCheckSums(getAcceptedChangeSets(filters));
         logIterator.run(validatingVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
 
         final Logger log = Scope.getCurrentScope().getLog(getClass());
@@ -319,6 +382,23 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         }
     }
 
+    private List<ChangeSet> getAcceptedChangeSets(ChangeSetFilter... filters) {
+        List<ChangeSet> accepted = new ArrayList<>();
+        for (ChangeSet changeSet : getChangeSets()) {
+            boolean accept = true;
+            for (ChangeSetFilter filter : filters) {
+                if (!filter.accepts(changeSet).isAccepted()) {
+                    accept = false;
+                    break;
+                }
+            }
+            if (accept) {
+                accepted.add(changeSet);
+            }
+        }
+        return accepted;
+    }
+
     public ChangeSet getChangeSet(RanChangeSet ranChangeSet) {
         final ChangeSet changeSet = getChangeSet(ranChangeSet.getChangeLog(), ranChangeSet.getAuthor(), ranChangeSet.getId());
         if (changeSet != null) {
@@ -335,8 +415,45 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         if (objectQuotingStrategy != null) {
             setObjectQuotingStrategy(ObjectQuotingStrategy.valueOf(objectQuotingStrategy));
         }
-        for (ParsedNode childNode : parsedNode.getChildren()) {
-            handleChildNode(childNode, resourceAccessor);
+        IncludedChangeLogPreParser preParser = IncludedChangeLogPreParser.create();
+        if (preParser != null) {
+            this.includePreParser = preParser;
+            preParseIncludes(parsedNode.getChildren(), resourceAccessor);
+        }
+        try {
+            for (ParsedNode childNode : parsedNode.getChildren()) {
+                handleChildNode(childNode, resourceAccessor);
+            }
+        } finally {
+            if (preParser != null) {
+                preParser.cancelRemaining();
+                this.includePreParser = null;
+            }
+        }
+    }
+
+    /**
+     * Starts parsing the files referenced by include nodes so they are ready when {@link #handleChildNode(ParsedNode, ResourceAccessor)} reaches them.
+     * Includes whose file attribute depends on changelog properties are skipped since those may not be defined yet.
+     */
+    private void preParseIncludes(List<ParsedNode> childNodes, ResourceAccessor resourceAccessor) {
+        for (ParsedNode childNode : childNodes) {
+            if (!"include".equals(childNode.getName())) {
+                continue;
+            }
+            try {
+                String path = childNode.getChildValue(null, "file", String.class);
+                if ((path == null) || path.contains("${")) {
+                    continue;
+                }
+                if (".svn".equalsIgnoreCase(path) || "cvs".equalsIgnoreCase(path)) {
+                    continue;
+                }
+                boolean isRelativePath = childNode.getChildValue(null, "relativeToChangelogFile", false);
+                includePreParser.submit(resolveIncludePath(path.replace('\\', '/'), isRelativePath), resourceAccessor);
+            } catch (ParsedNodeException e) {
+                //reported when the include is handled
+            }
         }
     }
 
@@ -590,6 +707,12 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
                         "Could not find directory or directory was empty for includeAll '" + pathName + "'");
             }
 
+            if (includePreParser != null) {
+                for (String path : resources) {
+                    includePreParser.submit(resolveIncludePath(path, false), resourceAccessor);
+                }
+            }
+
             for (String path : resources) {
                 Scope.getCurrentScope().getLog(getClass()).info("Reading resource: " + path);
                 include(path, false, resourceAccessor, includeContexts, labels, ignore, OnUnknownFileFormat.WARN);
@@ -655,9 +778,8 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         String relativeBaseFileName = this.getPhysicalFilePath();
         if (isRelativePath) {
             relativeBaseFileName = CLASSPATH_PATTERN.matcher(relativeBaseFileName).replaceFirst("");
-            fileName = FilenameUtil.concat(FilenameUtil.getDirectory(relativeBaseFileName), fileName);
         }
-        fileName = CLASSPATH_PATTERN.matcher(fileName).replaceFirst("");
+        fileName = resolveIncludePath(fileName, isRelativePath);
         DatabaseChangeLog changeLog;
         try {
             DatabaseChangeLog rootChangeLog = ROOT_CHANGE_LOG.get();
@@ -668,7 +790,11 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             PARENT_CHANGE_LOG.set(this);
             try {
                 ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(fileName, resourceAccessor);
-                changeLog = parser.parse(fileName, changeLogParameters, resourceAccessor);
+                if (includePreParser == null) {
+                    changeLog = ParsedChangeLogCache.parse(parser, fileName, changeLogParameters, resourceAccessor);
+                } else {
+                    changeLog = includePreParser.parse(parser, fileName, changeLogParameters, resourceAccessor);
+                }
                 changeLog.setIncludeContexts(includeContexts);
                 changeLog.setIncludeLabels(labels);
                 changeLog.setIncludeIgnore(ignore != null ? ignore.booleanValue() : false);
@@ -709,6 +835,14 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         return true;
     }
 
+    private String resolveIncludePath(String fileName, boolean isRelativePath) {
+        if (isRelativePath) {
+            String relativeBaseFileName = CLASSPATH_PATTERN.matcher(this.getPhysicalFilePath()).replaceFirst("");
+            fileName = FilenameUtil.concat(FilenameUtil.getDirectory(relativeBaseFileName), fileName);
+        }
+        return CLASSPATH_PATTERN.matcher(fileName).replaceFirst("");
+    }
+
     protected ChangeSet createChangeSet(ParsedNode node, ResourceAccessor resourceAccessor) throws ParsedNodeException {
         ChangeSet changeSet = new ChangeSet(this);
         changeSet.setChangeLogParameters(this.getChangeLogParameters());
@@ -0,0 +1,154 @@
+package liquibase.changelog;
+
+import liquibase.Scope;
+import liquibase.exception.ChangeLogParseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserConfiguration;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
+import liquibase.parser.PreParsingChangeLogParser;
+import liquibase.resource.ResourceAccessor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link PreParsingChangeLogParser#preParse(String, ResourceAccessor)} for files a {@link DatabaseChangeLog} is about to include
+ * on a shared, bounded thread pool. {@link #parse(ChangeLogParser, String, ChangeLogParameters, ResourceAccessor)} is then called
+ * from {@link DatabaseChangeLog#include} in the normal include order, so changelog parameters and changesets are handled exactly
+ * as in a serial parse.
+ */
+class IncludedChangeLogPreParser {
+
+    private static final Map<Integer, ExecutorService> EXECUTOR_SERVICES = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+    private final ParsedChangeLogCache cache;
+    private final Map<String, PreParsedChangeLog> preParsed = new HashMap<>();
+
+    private IncludedChangeLogPreParser(ExecutorService executor, ParsedChangeLogCache cache) {
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns a new pre-parser, or null if {@link ChangeLogParserConfiguration#CHANGELOG_PARSE_THREADS} is less than 2.
+     */
+    static IncludedChangeLogPreParser create() {
+        Integer threads = ChangeLogParserConfiguration.CHANGELOG_PARSE_THREADS.getCurrentValue();
+        if ((threads == null) || (threads < 2)) {
+            return null;
+        }
+        return new IncludedChangeLogPreParser(getExecutorService(threads), ParsedChangeLogCache.getConfiguredCache());
+    }
+
+    /**
+     * Returns the shared pool for the given thread count. Pools are kept per size and never shut down, so a parse still
+     * using the pool for an earlier setting is not affected when another one asks for a different size.
+     */
+    private static ExecutorService getExecutorService(int threads) {
+        return EXECUTOR_SERVICES.computeIfAbsent(threads, size -> {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(size, runnable -> {
+                Thread thread = new Thread(runnable, "liquibase-changelog-parser-" + size + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        });
+    }
+
+    /**
+     * Starts pre-parsing the given file if it has a {@link PreParsingChangeLogParser}. Files without a parser are left alone
+     * so the error is reported when they are included.
+     */
+    void submit(String fileName, ResourceAccessor resourceAccessor) {
+        if (preParsed.containsKey(fileName)) {
+            return;
+        }
+        ChangeLogParser parser;
+        try {
+            parser = ChangeLogParserFactory.getInstance().getParser(fileName, resourceAccessor);
+        } catch (LiquibaseException e) {
+            return;
+        }
+        if (!(parser instanceof PreParsingChangeLogParser)) {
+            return;
+        }
+        PreParsingChangeLogParser<?> preParsingParser = (PreParsingChangeLogParser<?>) parser;
+        preParsed.put(fileName, new PreParsedChangeLog(parser, resourceAccessor,
+                executor.submit(Scope.getCurrentScope().wrap(() -> preParse(preParsingParser, fileName, resourceAccessor)))));
+    }
+
+    private Object preParse(PreParsingChangeLogParser<?> parser, String fileName, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        if (cache == null) {
+            return parser.preParse(fileName, resourceAccessor);
+        }
+        return cache.preParse(parser, fileName, resourceAccessor);
+    }
+
+    /**
+     * Parses the given file, using the pre-parsed result if one was submitted for the same parser and resource accessor.
+     * Any exception thrown while pre-parsing is rethrown here.
+     */
+    DatabaseChangeLog parse(ChangeLogParser parser, String fileName, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        PreParsedChangeLog preParsedChangeLog = preParsed.remove(fileName);
+        if ((preParsedChangeLog == null) || (preParsedChangeLog.parser != parser) || (preParsedChangeLog.resourceAccessor != resourceAccessor)) {
+            if (preParsedChangeLog != null) {
+                preParsedChangeLog.future.cancel(true);
+            }
+            return ParsedChangeLogCache.parse(parser, fileName, changeLogParameters, resourceAccessor);
+        }
+
+        return preParsedChangeLog.parse(fileName, changeLogParameters);
+    }
+
+    /**
+     * Cancels pre-parsing of any file which was not included after all.
+     */
+    void cancelRemaining() {
+        for (PreParsedChangeLog preParsedChangeLog : preParsed.values()) {
+            preParsedChangeLog.future.cancel(true);
+        }
+        preParsed.clear();
+    }
+
+    private static class PreParsedChangeLog {
+        private final ChangeLogParser parser;
+        private final ResourceAccessor resourceAccessor;
+        private final Future<?> future;
+
+        private PreParsedChangeLog(ChangeLogParser parser, ResourceAccessor resourceAccessor, Future<?> future) {
+            this.parser = parser;
+            this.resourceAccessor = resourceAccessor;
+            this.future = future;
+        }
+
+        @SuppressWarnings("unchecked")
+        private DatabaseChangeLog parse(String fileName, ChangeLogParameters changeLogParameters) throws ChangeLogParseException {
+            Object result;
+            try {
+                result = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ChangeLogParseException("Interrupted while parsing " + fileName, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof ChangeLogParseException) {
+                    throw (ChangeLogParseException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new ChangeLogParseException(cause);
+            }
+            Scope.getCurrentScope().getLog(IncludedChangeLogPreParser.class).fine("Using pre-parsed " + fileName);
+            return ((PreParsingChangeLogParser<Object>) parser).parse(fileName, result, changeLogParameters, resourceAccessor);
+        }
+    }
+}
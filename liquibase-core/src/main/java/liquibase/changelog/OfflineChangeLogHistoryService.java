@@ -25,14 +25,32 @@ import liquibase.util.csv.CSVReader;
 import liquibase.util.csv.CSVWriter;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Keeps the change log history in a CSV file instead of the database.
+ * <p>
+ * The history is read into memory once. New change sets are appended to the end of the file. Updates and removals,
+ * which would need the whole file to be rewritten, are appended to a journal next to it instead, and the file is
+ * rewritten once when the history is {@link #close() closed} or {@link #reset() reset}.
+ */
 @LiquibaseService(skip = true)
 @SuppressWarnings("java:S899")
 public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
+    private static final String JOURNAL_APPEND = "APPEND";
+    private static final String JOURNAL_UPDATE = "UPDATE";
+    private static final String JOURNAL_UPDATE_ALL = "UPDATE_ALL";
+    private static final String JOURNAL_REMOVE = "REMOVE";
+    private static final int WRITE_BUFFER_SIZE = 8192;
+
     private final File changeLogFile;
     private boolean executeDmlAgainstDatabase = true;
     /**
@@ -41,6 +59,17 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
     private boolean executeDdlAgainstDatabase = true;
 
     private Integer lastChangeSetSequenceValue;
+
+    private String[] header;
+    private List<String[]> history;
+    private Map<List<String>, List<String[]>> historyByKey;
+    private List<RanChangeSet> ranChangeSets;
+    //kept so getRanChangeSets() returns the same instance until the list is read again, see getRanChangeSetIndex()
+    private List<RanChangeSet> unmodifiableRanChangeSets;
+    private boolean journalPending;
+    private CSVWriter writer;
+    private File writerFile;
+
     private enum Columns {
         ID,
         AUTHOR,
@@ -96,7 +125,32 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
 
     @Override
     public void reset() {
-        // nothing to do.
+        super.reset();
+        try {
+            close();
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Error writing changelog history file " + changeLogFile.getAbsolutePath() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes any pending changes to the history file and releases it. The history is read from the file again the
+     * next time it is used.
+     */
+    public void close() throws DatabaseException {
+        try {
+            closeWriter();
+            if ((history != null) && journalPending) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        } finally {
+            history = null;
+            historyByKey = null;
+            ranChangeSets = null;
+            journalPending = false;
+        }
     }
 
     @Override
@@ -125,13 +179,17 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
                      GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue())
         ) {
             CSVWriter csvWriter = new CSVWriter(writer);
-            String[] columns = new String[Columns.values().length];
-            int i = 0;
-            for (Columns column : Columns.values()) {
-                columns[i++] = column.toString();
-            }
-            csvWriter.writeNext(columns);
+            csvWriter.writeNext(getHeader());
+        }
+    }
+
+    private static String[] getHeader() {
+        String[] columns = new String[Columns.values().length];
+        int i = 0;
+        for (Columns column : Columns.values()) {
+            columns[i++] = column.toString();
         }
+        return columns;
     }
 
     @Override
@@ -139,125 +197,264 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         if (isExecuteDmlAgainstDatabase()) {
             Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", getDatabase()).execute(new UpdateChangeSetChecksumStatement(changeSet));
         }
-        replaceChangeSet(changeSet, new ReplaceChangeSetLogic() {
-            @Override
-            public String[] execute(String[] line) {
-                line[Columns.MD5SUM.ordinal()] = changeSet.generateCheckSum().toString();
-                return line;
-            }
-            });
+        updateChangeSet(getKey(changeSet),
+                Columns.MD5SUM, changeSet.generateCheckSum().toString());
     }
 
     @Override
     public List<RanChangeSet> getRanChangeSets() throws DatabaseException {
-        try (
-                Reader reader = new InputStreamReader(new FileInputStream(this.changeLogFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-        )
-        {
-            CSVReader csvReader = new CSVReader(reader);
-            String[] line = csvReader.readNext();
-
-            if (line == null) { //empty file
-                writeHeader(this.changeLogFile);
-                return new ArrayList<>();
+        loadHistory();
+        if (ranChangeSets == null) {
+            List<RanChangeSet> returnList = new ArrayList<>(history.size());
+            ISODateFormat dateFormat = new ISODateFormat();
+            for (String[] line : history) {
+                returnList.add(toRanChangeSet(line, dateFormat));
+            }
+            ranChangeSets = returnList;
+            unmodifiableRanChangeSets = Collections.unmodifiableList(returnList);
+        }
+        return unmodifiableRanChangeSets;
+    }
+
+    private RanChangeSet toRanChangeSet(String[] line, ISODateFormat dateFormat) throws DatabaseException {
+        try {
+            ContextExpression contexts = new ContextExpression();
+            if (line.length > Columns.CONTEXTS.ordinal()) {
+                contexts = new ContextExpression(line[Columns.CONTEXTS.ordinal()]);
+            }
+            Labels labels = new Labels();
+            if (line.length > Columns.LABELS.ordinal()) {
+                labels = new Labels(line[Columns.LABELS.ordinal()]);
             }
-            if (!"ID".equals(line[Columns.ID.ordinal()])) {
-                throw new DatabaseException("Missing header in file "+this.changeLogFile.getAbsolutePath());
+
+            String deploymentId = null;
+            if (line.length > Columns.DEPLOYMENT_ID.ordinal()) {
+                deploymentId = line[Columns.DEPLOYMENT_ID.ordinal()];
             }
 
-            List<RanChangeSet> returnList = new ArrayList<>();
-            while ((line = csvReader.readNext()) != null) {
-                ContextExpression contexts = new ContextExpression();
-                if (line.length > Columns.CONTEXTS.ordinal()) {
-                    contexts = new ContextExpression(line[Columns.CONTEXTS.ordinal()]);
+            return new RanChangeSet(
+                    line[Columns.FILENAME.ordinal()],
+                    line[Columns.ID.ordinal()],
+                    line[Columns.AUTHOR.ordinal()],
+                    CheckSum.parse(line[Columns.MD5SUM.ordinal()]),
+                    dateFormat.parse(line[Columns.DATEEXECUTED.ordinal()]),
+                    line[Columns.TAG.ordinal()],
+                    ChangeSet.ExecType.valueOf(line[Columns.EXECTYPE.ordinal()]),
+                    line[Columns.DESCRIPTION.ordinal()],
+                    line[Columns.COMMENTS.ordinal()],
+                    contexts,
+                    labels,
+                    deploymentId);
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Reads the history file into memory, unless it already is. A journal left behind by a process which did not
+     * close the history is applied and compacted into the history file.
+     */
+    private void loadHistory() throws DatabaseException {
+        if (history != null) {
+            return;
+        }
+        File journalFile = getJournalFile();
+        File compactedFile = getCompactedFile();
+        try {
+            if (compactedFile.exists()) {
+                if (journalFile.exists()) {
+                    //compaction did not finish, the journal still has all changes
+                    Files.delete(compactedFile.toPath());
+                } else {
+                    Files.move(compactedFile.toPath(), changeLogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 }
-                Labels labels = new Labels();
-                if (line.length > Columns.LABELS.ordinal()) {
-                    labels = new Labels(line[Columns.LABELS.ordinal()]);
+            }
+
+            List<String[]> lines = new ArrayList<>();
+            try (Reader reader = new InputStreamReader(new FileInputStream(this.changeLogFile), getCharset());
+                 CSVReader csvReader = new CSVReader(reader)) {
+                String[] line = csvReader.readNext();
+
+                if (line == null) { //empty file
+                    writeHeader(this.changeLogFile);
+                    line = getHeader();
+                }
+                if (!"ID".equals(line[Columns.ID.ordinal()])) {
+                    throw new DatabaseException("Missing header in file " + this.changeLogFile.getAbsolutePath());
                 }
+                header = line;
 
-                String deploymentId = null;
-                if (line.length > Columns.DEPLOYMENT_ID.ordinal()) {
-                    deploymentId = line[Columns.DEPLOYMENT_ID.ordinal()];
+                while ((line = csvReader.readNext()) != null) {
+                    lines.add(line);
                 }
+            }
 
-                returnList.add(new RanChangeSet(
-                        line[Columns.FILENAME.ordinal()],
-                        line[Columns.ID.ordinal()],
-                        line[Columns.AUTHOR.ordinal()],
-                        CheckSum.parse(line[Columns.MD5SUM.ordinal()]),
-                        new ISODateFormat().parse(line[Columns.DATEEXECUTED.ordinal()]),
-                        line[Columns.TAG.ordinal()],
-                        ChangeSet.ExecType.valueOf(line[Columns.EXECTYPE.ordinal()]),
-                        line[Columns.DESCRIPTION.ordinal()],
-                        line[Columns.COMMENTS.ordinal()],
-                        contexts,
-                        labels,
-                        deploymentId));
+            history = new ArrayList<>(lines.size());
+            historyByKey = new HashMap<>();
+            for (String[] line : lines) {
+                addRow(line);
             }
 
-            return returnList;
+            if (journalFile.exists()) {
+                Scope.getCurrentScope().getLog(getClass()).info("Applying pending changes from " + journalFile.getAbsolutePath());
+                replayJournal(journalFile);
+                compact();
+            }
+        } catch (DatabaseException e) {
+            history = null;
+            historyByKey = null;
+            throw e;
         } catch (Exception e) {
+            history = null;
+            historyByKey = null;
             throw new DatabaseException(e);
         }
     }
 
-    protected void replaceChangeSet(ChangeSet changeSet, ReplaceChangeSetLogic replaceLogic) throws DatabaseException {
-        File oldFile = this.changeLogFile;
-        File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
-
-        try (
-                Reader reader = new InputStreamReader(new FileInputStream(oldFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                Writer writer = new OutputStreamWriter(new FileOutputStream(newFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                CSVReader csvReader = new CSVReader(reader);
-                CSVWriter csvWriter = new CSVWriter(writer);
-        )
-        {
-            String[] line;
-            while ((line = csvReader.readNext()) != null) {
-                if ((changeSet == null) || (line[Columns.ID.ordinal()].equals(changeSet.getId()) && line[Columns.AUTHOR.ordinal()].equals
-                    (changeSet.getAuthor()) && line[Columns.FILENAME.ordinal()].equals(changeSet.getFilePath()))) {
-                    line = replaceLogic.execute(line);
+    private void replayJournal(File journalFile) throws Exception {
+        try (Reader reader = new InputStreamReader(new FileInputStream(journalFile), getCharset());
+             CSVReader csvReader = new CSVReader(reader)) {
+            String[] record;
+            while ((record = csvReader.readNext()) != null) {
+                String operation = record[0];
+                if (JOURNAL_APPEND.equals(operation)) {
+                    addRow(Arrays.copyOfRange(record, 1, record.length));
+                } else if (JOURNAL_UPDATE.equals(operation)) {
+                    updateRows(Arrays.asList(record[1], record[2], record[3]), Arrays.copyOfRange(record, 4, record.length));
+                } else if (JOURNAL_UPDATE_ALL.equals(operation)) {
+                    updateRows(null, Arrays.copyOfRange(record, 1, record.length));
+                } else if (JOURNAL_REMOVE.equals(operation)) {
+                    removeRows(Arrays.asList(record[1], record[2], record[3]));
+                } else {
+                    throw new DatabaseException("Unknown operation '" + operation + "' in " + journalFile.getAbsolutePath());
                 }
-                if (line != null) {
+            }
+        }
+    }
+
+    /**
+     * Writes the history to a new file which then replaces the history file, and removes the journal.
+     * A crash at any point leaves either the journal or a complete new file for {@link #loadHistory()} to recover from.
+     */
+    private void compact() throws DatabaseException {
+        File compactedFile = getCompactedFile();
+        try {
+            closeWriter();
+            try (Writer writer = Files.newBufferedWriter(compactedFile.toPath(), getCharset());
+                 CSVWriter csvWriter = new CSVWriter(writer)) {
+                csvWriter.writeNext(header);
+                for (String[] line : history) {
                     csvWriter.writeNext(line);
                 }
             }
+            Files.deleteIfExists(getJournalFile().toPath());
+            journalPending = false;
+            Files.move(compactedFile.toPath(), changeLogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         } catch (Exception e) {
             throw new DatabaseException(e);
         }
-        oldFile.delete();
-        newFile.renameTo(oldFile);
     }
 
-    protected void appendChangeSet(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
-        File oldFile = this.changeLogFile;
-        File newFile = new File(oldFile.getParentFile(), oldFile.getName()+".new");
-
-        try (
-                Reader reader = new InputStreamReader(new FileInputStream(oldFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                Writer writer = new OutputStreamWriter(new FileOutputStream(newFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                CSVReader csvReader = new CSVReader(reader);
-                CSVWriter csvWriter = new CSVWriter(writer);
-        )
-        {
-            String[] line;
-            while ((line = csvReader.readNext()) != null) {
-                csvWriter.writeNext(line);
+    private File getJournalFile() {
+        return new File(changeLogFile.getParentFile(), changeLogFile.getName() + ".journal");
+    }
+
+    private File getCompactedFile() {
+        return new File(changeLogFile.getParentFile(), changeLogFile.getName() + ".compacted");
+    }
+
+    private Charset getCharset() {
+        return Charset.forName(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+    }
+
+    private static List<String> getKey(ChangeSet changeSet) {
+        return Arrays.asList(changeSet.getId(), changeSet.getAuthor(), changeSet.getFilePath());
+    }
+
+    private static List<String> getKey(String[] line) {
+        return Arrays.asList(line[Columns.ID.ordinal()], line[Columns.AUTHOR.ordinal()], line[Columns.FILENAME.ordinal()]);
+    }
+
+    private void addRow(String[] line) {
+        history.add(line);
+        historyByKey.computeIfAbsent(getKey(line), key -> new ArrayList<>(1)).add(line);
+    }
+
+    /**
+     * Sets the given columns of the rows with the given key, or of all rows if the key is null.
+     *
+     * @param columnValues column names each followed by the new value
+     */
+    private void updateRows(List<String> key, String[] columnValues) {
+        Collection<String[]> lines = (key == null) ? history : historyByKey.get(key);
+        if (lines == null) {
+            return;
+        }
+        for (String[] line : lines) {
+            for (int i = 0; (i + 1) < columnValues.length; i += 2) {
+                line[Columns.valueOf(columnValues[i]).ordinal()] = columnValues[i + 1];
             }
+        }
+        ranChangeSets = null;
+    }
 
-            String tag = "";
-            for (Change change : changeSet.getChanges()) {
-                if (change instanceof TagDatabaseChange) {
-                    TagDatabaseChange tagChange = (TagDatabaseChange) change;
-                    tag = tagChange.getTag();
-                }
+    private void removeRows(List<String> key) {
+        List<String[]> lines = historyByKey.remove(key);
+        if (lines == null) {
+            return;
+        }
+        Set<String[]> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(lines);
+        history.removeIf(removed::contains);
+        ranChangeSets = null;
+    }
+
+    /**
+     * Updates the given columns of the rows of the change set with the given key, or of all rows if the key is null.
+     *
+     * @param columnValues columns each followed by the new value
+     */
+    private void updateChangeSet(List<String> key, Object... columnValues) throws DatabaseException {
+        loadHistory();
+        if ((key == null) ? history.isEmpty() : !historyByKey.containsKey(key)) {
+            return;
+        }
+
+        String[] values = new String[columnValues.length];
+        for (int i = 0; i < columnValues.length; i++) {
+            values[i] = (columnValues[i] == null) ? "" : columnValues[i].toString();
+        }
+
+        List<String> record = new ArrayList<>();
+        if (key == null) {
+            record.add(JOURNAL_UPDATE_ALL);
+        } else {
+            record.add(JOURNAL_UPDATE);
+            record.addAll(key);
+        }
+        record.addAll(Arrays.asList(values));
+        writeJournal(record.toArray(new String[0]));
+
+        updateRows(key, values);
+        resetRanChangeSetIndex();
+    }
+
+    protected void appendChangeSet(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
+        loadHistory();
+
+        String tag = "";
+        for (Change change : changeSet.getChanges()) {
+            if (change instanceof TagDatabaseChange) {
+                TagDatabaseChange tagChange = (TagDatabaseChange) change;
+                tag = tagChange.getTag();
             }
+        }
 
-            String[] newLine = new String[Columns.values().length];
+        String[] newLine = new String[Columns.values().length];
+        try {
             newLine[Columns.ID.ordinal()] = changeSet.getId();
             newLine[Columns.AUTHOR.ordinal()] = changeSet.getAuthor();
-            newLine[Columns.FILENAME.ordinal()] =  changeSet.getFilePath();
+            newLine[Columns.FILENAME.ordinal()] = changeSet.getFilePath();
             newLine[Columns.DATEEXECUTED.ordinal()] = new ISODateFormat().format(new java.sql.Timestamp(new Date().getTime()));
             newLine[Columns.ORDEREXECUTED.ordinal()] = String.valueOf(getNextSequenceValue());
             newLine[Columns.EXECTYPE.ordinal()] = execType.value;
@@ -271,15 +468,98 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
             newLine[Columns.LABELS.ordinal()] = (changeSet.getLabels() == null) ? null : changeSet.getLabels().toString();
 
             newLine[Columns.DEPLOYMENT_ID.ordinal()] = getDeploymentId();
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
 
-            csvWriter.writeNext(newLine);
+        if (journalPending) {
+            //keep the journal in order with the changes already in it
+            String[] record = new String[newLine.length + 1];
+            record[0] = JOURNAL_APPEND;
+            System.arraycopy(newLine, 0, record, 1, newLine.length);
+            writeJournal(record);
+        } else {
+            writeLine(changeLogFile, newLine);
+        }
 
-        } catch (Exception e) {
+        //null values are written as empty values, which is how they are read back from the file
+        for (int i = 0; i < newLine.length; i++) {
+            if (newLine[i] == null) {
+                newLine[i] = "";
+            }
+        }
+        addRow(newLine);
+
+        //the ran change sets and their index only need the new one added, rather than being built again from all rows
+        if (ranChangeSets != null) {
+            RanChangeSet ranChangeSet = toRanChangeSet(newLine, new ISODateFormat());
+            ranChangeSets.add(ranChangeSet);
+            RanChangeSetIndex index = getCachedRanChangeSetIndex();
+            if (index != null) {
+                index.add(ranChangeSet);
+            }
+        }
+    }
+
+    private void writeJournal(String[] record) throws DatabaseException {
+        writeLine(getJournalFile(), record);
+        journalPending = true;
+    }
+
+    /**
+     * Appends a line to the given file. The file is kept open for the next line until another file is written or
+     * the history is closed.
+     */
+    private void writeLine(File file, String[] line) throws DatabaseException {
+        try {
+            if (!file.equals(writerFile)) {
+                closeWriter();
+                writer = new CSVWriter(openAppendWriter(file));
+                writerFile = file;
+            }
+            writer.writeNext(line);
+            writer.flush();
+        } catch (IOException e) {
             throw new DatabaseException(e);
         }
+    }
 
-        oldFile.delete();
-        newFile.renameTo(oldFile);
+    private Writer openAppendWriter(File file) throws IOException {
+        Charset charset = getCharset();
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            channel.position(channel.size());
+            //a file edited by hand may not end with a line separator, which would join the first new line to the last one
+            ByteBuffer lineEnd = charset.encode("\n");
+            long size = channel.size();
+            if (size > 0) {
+                ByteBuffer end = ByteBuffer.allocate(lineEnd.remaining());
+                if ((size < end.capacity()) || (channel.read(end, size - end.capacity()) < end.capacity())
+                        || !((ByteBuffer) end.flip()).equals(lineEnd)) {
+                    channel.write(lineEnd);
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return Channels.newWriter(channel, charset.newEncoder(), WRITE_BUFFER_SIZE);
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                writer = null;
+                writerFile = null;
+            }
+        }
     }
 
     @Override
@@ -292,15 +572,10 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         if (execType.equals(ChangeSet.ExecType.FAILED) || execType.equals(ChangeSet.ExecType.SKIPPED)) {
             return; //do nothing
         } else  if (execType.ranBefore) {
-            replaceChangeSet(changeSet, new ReplaceChangeSetLogic() {
-                @Override
-                public String[] execute(String[] line) {
-                    line[Columns.DATEEXECUTED.ordinal()] = new ISODateFormat().format(new java.sql.Timestamp(new Date().getTime()));
-                    line[Columns.MD5SUM.ordinal()] = changeSet.generateCheckSum().toString();
-                    line[Columns.EXECTYPE.ordinal()] = execType.value;
-                    return line;
-                }
-            });
+            updateChangeSet(getKey(changeSet),
+                    Columns.DATEEXECUTED, new ISODateFormat().format(new java.sql.Timestamp(new Date().getTime())),
+                    Columns.MD5SUM, changeSet.generateCheckSum().toString(),
+                    Columns.EXECTYPE, execType.value);
         } else {
             appendChangeSet(changeSet, execType);
         }
@@ -313,12 +588,17 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
             getDatabase().commit();
         }
 
-        replaceChangeSet(changeSet, new ReplaceChangeSetLogic() {
-            @Override
-            public String[] execute(String[] line) {
-                return null;
-            }
-        });
+        loadHistory();
+        List<String> key = getKey(changeSet);
+        if (historyByKey.containsKey(key)) {
+            List<String> record = new ArrayList<>();
+            record.add(JOURNAL_REMOVE);
+            record.addAll(key);
+            writeJournal(record.toArray(new String[0]));
+
+            removeRows(key);
+            resetRanChangeSetIndex();
+        }
     }
 
     @Override
@@ -326,16 +606,9 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         if (lastChangeSetSequenceValue == null) {
             lastChangeSetSequenceValue = 0;
 
-            try (
-                    Reader reader = new InputStreamReader(new FileInputStream(this.changeLogFile), GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-            )
-            {
-                
-                CSVReader csvReader = new CSVReader(reader);
-                String[] line = csvReader.readNext(); //skip header line
-
-                List<RanChangeSet> returnList = new ArrayList<>();
-                while ((line = csvReader.readNext()) != null) {
+            try {
+                loadHistory();
+                for (String[] line : history) {
                     try {
                         lastChangeSetSequenceValue = Integer.valueOf(line[Columns.ORDEREXECUTED.ordinal()]);
                     } catch (NumberFormatException ignore) {
@@ -362,14 +635,8 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
             last = ranChangeSets.get(ranChangeSets.size() - 1);
         }
 
-        ChangeSet lastChangeSet = new ChangeSet(last.getId(), last.getAuthor(), false, false, last.getChangeLog(), null, null, true, null, null);
-        replaceChangeSet(lastChangeSet, new ReplaceChangeSetLogic() {
-            @Override
-            public String[] execute(String[] line) {
-                line[Columns.TAG.ordinal()] = tagString;
-                return line;
-            }
-        });
+        updateChangeSet(Arrays.asList(last.getId(), last.getAuthor(), last.getChangeLog()),
+                Columns.TAG, tagString);
     }
 
     @Override
@@ -383,24 +650,25 @@ public class OfflineChangeLogHistoryService extends AbstractChangeLogHistoryServ
         return false;
     }
 
-    private interface ReplaceChangeSetLogic {
-        public String[] execute(String[] line);
-    }
-
     @Override
     public void clearAllCheckSums() throws LiquibaseException {
-        replaceChangeSet(null, new ReplaceChangeSetLogic() {
-            @Override
-            public String[] execute(String[] line) {
-                line[Columns.MD5SUM.ordinal()] = null;
-                return line;
-            }
-        });
-
+        updateChangeSet(null, Columns.MD5SUM, null);
     }
 
     @Override
     public void destroy() throws DatabaseException {
+        try {
+            closeWriter();
+            Files.deleteIfExists(getJournalFile().toPath());
+            Files.deleteIfExists(getCompactedFile().toPath());
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        } finally {
+            history = null;
+            historyByKey = null;
+            ranChangeSets = null;
+            journalPending = false;
+        }
         if (changeLogFile.exists() && !changeLogFile.delete()) {
             throw new DatabaseException("Could not delete changelog history file "+changeLogFile.getAbsolutePath());
         }
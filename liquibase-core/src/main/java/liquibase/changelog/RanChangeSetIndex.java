@@ -0,0 +1,159 @@
+package liquibase.changelog;
+
+import java.util.*;
+
+/**
+ * Hash index over a list of {@link RanChangeSet}s so a {@link ChangeSet} can be matched to its DATABASECHANGELOG row
+ * without scanning the whole history.
+ * <p>
+ * The primary index is keyed on the normalized path, id and author, compared case-insensitively just like
+ * {@link RanChangeSet#isSameAs(ChangeSet)}. A secondary index keyed on id and author only returns the candidates
+ * for callers which need to apply their own path comparison, such as the classpath-prefix handling in
+ * {@link liquibase.changelog.filter.ShouldRunChangeSetFilter}.
+ * <p>
+ * When the history contains more than one row for the same changeset, the first one in list order wins, which is what
+ * a linear scan over the list would return.
+ */
+public class RanChangeSetIndex {
+
+    private final Map<Key, RanChangeSet> byPathIdAndAuthor = new HashMap<>();
+    private final Map<Key, List<RanChangeSet>> byIdAndAuthor = new HashMap<>();
+    private int size;
+
+    public RanChangeSetIndex() {
+    }
+
+    public RanChangeSetIndex(Collection<RanChangeSet> ranChangeSets) {
+        if (ranChangeSets != null) {
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                add(ranChangeSet);
+            }
+        }
+    }
+
+    /**
+     * Adds the given ranChangeSet to the end of the index.
+     */
+    public void add(RanChangeSet ranChangeSet) {
+        byIdAndAuthor.computeIfAbsent(toKey(ranChangeSet.getId(), ranChangeSet.getAuthor()), key -> new ArrayList<>()).add(ranChangeSet);
+        byPathIdAndAuthor.putIfAbsent(toKey(ranChangeSet), ranChangeSet);
+        size++;
+    }
+
+    /**
+     * Removes the first entry {@link RanChangeSet#equals(Object) equal} to the given ranChangeSet, mirroring {@link List#remove(Object)}.
+     *
+     * @return true if an entry was removed
+     */
+    public boolean remove(RanChangeSet ranChangeSet) {
+        List<RanChangeSet> candidates = byIdAndAuthor.get(toKey(ranChangeSet.getId(), ranChangeSet.getAuthor()));
+        if (candidates == null) {
+            return false;
+        }
+        Iterator<RanChangeSet> iterator = candidates.iterator();
+        RanChangeSet removed = null;
+        while (iterator.hasNext()) {
+            RanChangeSet candidate = iterator.next();
+            if (candidate.equals(ranChangeSet)) {
+                iterator.remove();
+                removed = candidate;
+                break;
+            }
+        }
+        if (removed == null) {
+            return false;
+        }
+        size--;
+
+        Key key = toKey(removed);
+        if (byPathIdAndAuthor.get(key) == removed) {
+            byPathIdAndAuthor.remove(key);
+            for (RanChangeSet candidate : candidates) {
+                if (toKey(candidate).equals(key)) {
+                    byPathIdAndAuthor.put(key, candidate);
+                    break;
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            byIdAndAuthor.remove(toKey(ranChangeSet.getId(), ranChangeSet.getAuthor()));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ranChangeSet matching the given changeSet's normalized path, id and author, or null if it has not ran.
+     */
+    public RanChangeSet get(ChangeSet changeSet) {
+        return byPathIdAndAuthor.get(toKey(changeSet));
+    }
+
+    /**
+     * Returns all ranChangeSets with the same id and author as the given changeSet, regardless of path, in list order.
+     * Never returns null.
+     */
+    public List<RanChangeSet> getCandidates(ChangeSet changeSet) {
+        List<RanChangeSet> candidates = byIdAndAuthor.get(toKey(changeSet.getId(), changeSet.getAuthor()));
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(candidates);
+    }
+
+    /**
+     * Number of ranChangeSets added to this index, including duplicates.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static Key toKey(RanChangeSet ranChangeSet) {
+        return new Key(DatabaseChangeLog.normalizePath(ranChangeSet.getChangeLog()), ranChangeSet.getId(), ranChangeSet.getAuthor());
+    }
+
+    private static Key toKey(ChangeSet changeSet) {
+        return new Key(changeSet.getNormalizedFilePath(), changeSet.getId(), changeSet.getAuthor());
+    }
+
+    private static Key toKey(String id, String author) {
+        return new Key(null, id, author);
+    }
+
+    private static final class Key {
+        private final String path;
+        private final String id;
+        private final String author;
+        private final int hashCode;
+
+        private Key(String path, String id, String author) {
+            this.path = lower(path);
+            this.id = lower(id);
+            this.author = lower(author);
+            this.hashCode = Objects.hash(this.path, this.id, this.author);
+        }
+
+        private static String lower(String value) {
+            if (value == null) {
+                return null;
+            }
+            return value.toLowerCase(Locale.US);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return Objects.equals(path, that.path) && Objects.equals(id, that.id) && Objects.equals(author, that.author);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
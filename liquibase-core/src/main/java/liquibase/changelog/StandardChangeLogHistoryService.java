@@ -16,6 +16,7 @@ import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
 import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
@@ -36,7 +37,15 @@ import java.util.*;
 
 public class StandardChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
+    /**
+     * Rows last read from the changelog table of each database, see {@link #readRanChangeSets(Database, String)}.
+     * They outlive {@link #reset()}, which drops this service's own list of ran changesets after every command.
+     */
+    private static final Map<Database, HistorySnapshot> HISTORY_SNAPSHOTS = Collections.synchronizedMap(new WeakHashMap<>());
+
     private List<RanChangeSet> ranChangeSetList;
+    //kept so getRanChangeSets() returns the same instance until the list is read again, see getRanChangeSetIndex()
+    private List<RanChangeSet> unmodifiableRanChangeSetList;
     private boolean serviceInitialized;
     private Boolean hasDatabaseChangeLogTable;
     private boolean databaseChecksumsCompatible = true;
@@ -73,6 +82,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     @Override
     public void reset() {
+        super.reset();
         this.ranChangeSetList = null;
         this.serviceInitialized = false;
         this.hasDatabaseChangeLogTable = null;
@@ -290,6 +300,8 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         if (statementsToExecute.size() > 0) {
             //reset the cache if there was a change to the table. Especially catches things like md5 changes which might have been updated but would still be wrong in the cache
             this.ranChangeSetList = null;
+            resetRanChangeSetIndex();
+            forgetReadRanChangeSets();
         }
         serviceInitialized = true;
     }
@@ -311,58 +323,108 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
                 getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
             List<RanChangeSet> ranChangeSets = new ArrayList<>();
             if (hasDatabaseChangeLogTable()) {
-                Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
-                List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
-                for (Map rs : results) {
-                    String storedFileName = rs.get("FILENAME").toString();
-                    String fileName = DatabaseChangeLog.normalizePath(storedFileName);
-                    String author = rs.get("AUTHOR").toString();
-                    String id = rs.get("ID").toString();
-                    String md5sum = ((rs.get("MD5SUM") == null) || !databaseChecksumsCompatible) ? null : rs.get
-                        ("MD5SUM").toString();
-                    String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
-                    String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
-                    Object tmpDateExecuted = rs.get("DATEEXECUTED");
-                    Date dateExecuted = null;
-                    if (tmpDateExecuted instanceof Date) {
-                        dateExecuted = (Date) tmpDateExecuted;
-                    } else if (tmpDateExecuted instanceof LocalDateTime) {
-                        dateExecuted = Date.from(((LocalDateTime) tmpDateExecuted).atZone(ZoneId.systemDefault()).toInstant());
-                    } else {
-                        DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-                        try {
-                            dateExecuted = df.parse((String) tmpDateExecuted);
-                        } catch (ParseException e) {
-                            // Ignore ParseException and assume dateExecuted == null instead of aborting.
-                        }
-                    }
-                    String tmpOrderExecuted = rs.get("ORDEREXECUTED").toString();
-                    Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
-                    String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
-                    String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
-                    ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
-                    Labels labels = new Labels((String) rs.get("LABELS"));
-                    String deploymentId = (String) rs.get("DEPLOYMENT_ID");
-                    String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
-
-                    try {
-                        RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
-                            dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
-                            labels, deploymentId, storedFileName);
-                        ranChangeSet.setOrderExecuted(orderExecuted);
-                        ranChangeSet.setLiquibaseVersion(liquibaseVersion);
-                        ranChangeSets.add(ranChangeSet);
-                    } catch (IllegalArgumentException e) {
-                        Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
-                            execType);
-                        throw e;
-                    }
-                }
+                ranChangeSets.addAll(readRanChangeSets(database, databaseChangeLogTableName));
             }
 
             this.ranChangeSetList = ranChangeSets;
+            this.unmodifiableRanChangeSetList = Collections.unmodifiableList(ranChangeSets);
+        }
+        return unmodifiableRanChangeSetList;
+    }
+
+    /**
+     * Reads the rows of the changelog table. If {@link GlobalConfiguration#INCREMENTAL_CHANGELOG_HISTORY} is set and
+     * the table was read before for this database, only the rows with a higher ORDEREXECUTED than the ones already
+     * read are fetched, which catches both new and re-run changesets. If the row count of the table then does not
+     * match, rows were removed by someone else and the whole table is read again. Updates by someone else which keep
+     * the row count, such as a tag, are not seen, which is why the setting is off by default.
+     */
+    private List<RanChangeSet> readRanChangeSets(Database database, String databaseChangeLogTableName) throws DatabaseException {
+        if (!GlobalConfiguration.INCREMENTAL_CHANGELOG_HISTORY.getCurrentValue()) {
+            Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
+            return toRanChangeSets(queryDatabaseChangeLogTable(database));
+        }
+
+        HistorySnapshot snapshot = HISTORY_SNAPSHOTS.get(database);
+        if ((snapshot != null) && snapshot.tableName.equals(databaseChangeLogTableName)
+            && (snapshot.checksumsCompatible == databaseChecksumsCompatible)) {
+            Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+            Scope.getCurrentScope().getLog(getClass()).fine("Reading new rows from " + databaseChangeLogTableName);
+            List<RanChangeSet> newRanChangeSets = toRanChangeSets(executor.queryForList(new SelectFromDatabaseChangeLogStatement(
+                new SelectFromDatabaseChangeLogStatement.ByOrderExecutedGreaterThan(snapshot.lastOrderExecuted),
+                new ColumnConfig().setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC")));
+            HistorySnapshot updated = snapshot.with(newRanChangeSets);
+            int totalRows = executor.queryForInt(new SelectFromDatabaseChangeLogStatement(new ColumnConfig().setName("COUNT(*)", true)));
+            if (updated.ranChangeSets.size() == totalRows) {
+                HISTORY_SNAPSHOTS.put(database, updated);
+                return updated.ranChangeSets;
+            }
+            Scope.getCurrentScope().getLog(getClass()).fine(databaseChangeLogTableName + " has " + totalRows +
+                " rows instead of the expected " + updated.ranChangeSets.size() + ", reading all of them again");
+        }
+
+        Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
+        List<RanChangeSet> ranChangeSets = toRanChangeSets(queryDatabaseChangeLogTable(database));
+        HISTORY_SNAPSHOTS.put(database, new HistorySnapshot(databaseChangeLogTableName, databaseChecksumsCompatible, ranChangeSets));
+        return ranChangeSets;
+    }
+
+    /**
+     * Drops the rows kept by {@link #readRanChangeSets(Database, String)} after existing rows were changed,
+     * so the next read gets the whole table.
+     */
+    protected void forgetReadRanChangeSets() {
+        HISTORY_SNAPSHOTS.remove(getDatabase());
+    }
+
+    private List<RanChangeSet> toRanChangeSets(List<Map<String, ?>> results) {
+        List<RanChangeSet> ranChangeSets = new ArrayList<>(results.size());
+        for (Map rs : results) {
+            String storedFileName = rs.get("FILENAME").toString();
+            String fileName = DatabaseChangeLog.normalizePath(storedFileName);
+            String author = rs.get("AUTHOR").toString();
+            String id = rs.get("ID").toString();
+            String md5sum = ((rs.get("MD5SUM") == null) || !databaseChecksumsCompatible) ? null : rs.get
+                ("MD5SUM").toString();
+            String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
+            String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
+            Object tmpDateExecuted = rs.get("DATEEXECUTED");
+            Date dateExecuted = null;
+            if (tmpDateExecuted instanceof Date) {
+                dateExecuted = (Date) tmpDateExecuted;
+            } else if (tmpDateExecuted instanceof LocalDateTime) {
+                dateExecuted = Date.from(((LocalDateTime) tmpDateExecuted).atZone(ZoneId.systemDefault()).toInstant());
+            } else {
+                DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+                try {
+                    dateExecuted = df.parse((String) tmpDateExecuted);
+                } catch (ParseException e) {
+                    // Ignore ParseException and assume dateExecuted == null instead of aborting.
+                }
+            }
+            String tmpOrderExecuted = rs.get("ORDEREXECUTED").toString();
+            Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
+            String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
+            String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
+            ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
+            Labels labels = new Labels((String) rs.get("LABELS"));
+            String deploymentId = (String) rs.get("DEPLOYMENT_ID");
+            String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
+
+            try {
+                RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
+                    dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
+                    labels, deploymentId, storedFileName);
+                ranChangeSet.setOrderExecuted(orderExecuted);
+                ranChangeSet.setLiquibaseVersion(liquibaseVersion);
+                ranChangeSets.add(ranChangeSet);
+            } catch (IllegalArgumentException e) {
+                Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
+                    execType);
+                throw e;
+            }
         }
-        return Collections.unmodifiableList(ranChangeSetList);
+        return ranChangeSets;
     }
 
     public List<Map<String, ?>> queryDatabaseChangeLogTable(Database database) throws DatabaseException {
@@ -377,6 +439,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             (changeSet));
 
         getDatabase().commit();
+        forgetReadRanChangeSets();
         reset();
     }
 
@@ -395,10 +458,38 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
         Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(new MarkChangeSetRanStatement(changeSet, execType));
         getDatabase().commit();
-        if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.add(new RanChangeSet(changeSet, execType, null, null));
+        addToRanChangeSetList(changeSet, execType);
+    }
+
+    /**
+     * Writes all changesets in one JDBC batch with a {@link MarkChangeSetRanBatchStatement} and commits once.
+     * Falls back to one statement per changeset when the SQL is not executed over JDBC, for example in update-sql.
+     */
+    @Override
+    public void setExecType(List<ChangeSet> changeSets, ChangeSet.ExecType execType) throws DatabaseException {
+        Database database = getDatabase();
+        Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+        if ((changeSets.size() < 2) || !(executor instanceof JdbcExecutor)) {
+            super.setExecType(changeSets, execType);
+            return;
         }
 
+        executor.execute(new MarkChangeSetRanBatchStatement(database, changeSets, execType));
+        getDatabase().commit();
+        for (ChangeSet changeSet : changeSets) {
+            addToRanChangeSetList(changeSet, execType);
+        }
+    }
+
+    private void addToRanChangeSetList(ChangeSet changeSet, ChangeSet.ExecType execType) {
+        if (this.ranChangeSetList != null) {
+            RanChangeSet ranChangeSet = new RanChangeSet(changeSet, execType, null, null);
+            this.ranChangeSetList.add(ranChangeSet);
+            RanChangeSetIndex index = getCachedRanChangeSetIndex();
+            if (index != null) {
+                index.add(ranChangeSet);
+            }
+        }
     }
 
     @Override
@@ -406,9 +497,15 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         Database database = getDatabase();
         Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(new RemoveChangeSetRanStatusStatement(changeSet));
         getDatabase().commit();
+        forgetReadRanChangeSets();
 
         if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.remove(new RanChangeSet(changeSet));
+            RanChangeSet ranChangeSet = new RanChangeSet(changeSet);
+            this.ranChangeSetList.remove(ranChangeSet);
+            RanChangeSetIndex index = getCachedRanChangeSetIndex();
+            if (index != null) {
+                index.remove(ranChangeSet);
+            }
         }
     }
 
@@ -444,6 +541,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
         executor.execute(new TagDatabaseStatement(tagString));
         getDatabase().commit();
+        forgetReadRanChangeSets();
 
         if (this.ranChangeSetList != null) {
             ranChangeSetList.get(ranChangeSetList.size() - 1).setTag(tagString);
@@ -466,6 +564,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
         updateStatement.addNewColumnValue("MD5SUM", null);
         Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database).execute(updateStatement);
         database.commit();
+        forgetReadRanChangeSets();
     }
 
     @Override
@@ -493,6 +592,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
                 SqlStatement[] sqlStatement = change[0].generateStatements(database);
                 Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor( "jdbc", database).execute(sqlStatement[0]);
             }
+            forgetReadRanChangeSets();
             reset();
         } catch (InvalidExampleException e) {
             throw new UnexpectedLiquibaseException(e);
@@ -506,4 +606,46 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
     protected String getContextsSize() {
         return CONTEXTS_SIZE;
     }
+
+    /**
+     * Immutable copy of the rows read from a changelog table, in the order of the table.
+     */
+    private static class HistorySnapshot {
+
+        private final String tableName;
+        private final boolean checksumsCompatible;
+        private final List<RanChangeSet> ranChangeSets;
+        private final int lastOrderExecuted;
+
+        private HistorySnapshot(String tableName, boolean checksumsCompatible, List<RanChangeSet> ranChangeSets) {
+            this.tableName = tableName;
+            this.checksumsCompatible = checksumsCompatible;
+            this.ranChangeSets = Collections.unmodifiableList(new ArrayList<>(ranChangeSets));
+            int last = 0;
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                if ((ranChangeSet.getOrderExecuted() != null) && (ranChangeSet.getOrderExecuted() > last)) {
+                    last = ranChangeSet.getOrderExecuted();
+                }
+            }
+            this.lastOrderExecuted = last;
+        }
+
+        /**
+         * Returns a snapshot with the given rows added. Rows of changesets which were run again replace their old row.
+         */
+        private HistorySnapshot with(List<RanChangeSet> newRanChangeSets) {
+            if (newRanChangeSets.isEmpty()) {
+                return this;
+            }
+            Set<RanChangeSet> replaced = new HashSet<>(newRanChangeSets);
+            List<RanChangeSet> merged = new ArrayList<>(ranChangeSets.size() + newRanChangeSets.size());
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                if (!replaced.contains(ranChangeSet)) {
+                    merged.add(ranChangeSet);
+                }
+            }
+            merged.addAll(newRanChangeSets);
+            return new HistorySnapshot(tableName, checksumsCompatible, merged);
+        }
+    }
 }
@@ -3,16 +3,18 @@ package liquibase.changelog.filter;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetIndex;
 import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
 
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Method;
+import java.util.*;
 
 public class ShouldRunChangeSetFilter implements ChangeSetFilter {
 
     private final Map<String, RanChangeSet> ranChangeSets;
+    private final RanChangeSetIndex ranChangeSetIndex;
+    private final boolean matchingOverridden;
     private final boolean ignoreClasspathPrefix;
 
     public ShouldRunChangeSetFilter(Database database, boolean ignoreClasspathPrefix) throws DatabaseException {
@@ -46,16 +48,29 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
                 this.ranChangeSets.put(ranChangeSet.toString(), ranChangeSet);
             }
         }
+        this.ranChangeSetIndex = new RanChangeSetIndex(this.ranChangeSets.values());
+        this.matchingOverridden = isMatchingOverridden(getClass());
     }
 
     public ShouldRunChangeSetFilter(Database database) throws DatabaseException {
         this(database, true);
     }
 
+    /**
+     * Only the ran changesets sharing the changeSet's id and author (compared case-insensitively) are passed to
+     * {@link #changeSetsMatch(ChangeSet, RanChangeSet)}. If a subclass overrides changeSetsMatch, idsAreEqual or
+     * authorsAreEqual, every ran changeset is passed to it instead, so it can match changesets the index would not.
+     */
     @Override
     @SuppressWarnings({"RedundantIfStatement"})
     public ChangeSetFilterResult accepts(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : this.ranChangeSets.values()) {
+        Collection<RanChangeSet> candidates;
+        if (matchingOverridden) {
+            candidates = this.ranChangeSets.values();
+        } else {
+            candidates = this.ranChangeSetIndex.getCandidates(changeSet);
+        }
+        for (RanChangeSet ranChangeSet : candidates) {
             if (changeSetsMatch(changeSet, ranChangeSet)) {
                 if (changeSet.shouldAlwaysRun()) {
                     return new ChangeSetFilterResult(true, "Changeset always runs", this.getClass());
@@ -98,12 +113,24 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
     }
 
 
+    private static boolean isMatchingOverridden(Class<?> filterClass) {
+        for (Class<?> type = filterClass; type != ShouldRunChangeSetFilter.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if ((method.getName().equals("changeSetsMatch") || method.getName().equals("idsAreEqual") || method.getName().equals("authorsAreEqual"))
+                        && Arrays.equals(method.getParameterTypes(), new Class<?>[]{ChangeSet.class, RanChangeSet.class})) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private String getPath(RanChangeSet ranChangeSet) {
         return DatabaseChangeLog.normalizePath(ranChangeSet.getChangeLog());
     }
 
     private String getPath(ChangeSet changeSet) {
-        return DatabaseChangeLog.normalizePath(changeSet.getFilePath());
+        return changeSet.getNormalizedFilePath();
     }
 
 }
@@ -1,17 +1,30 @@
 package liquibase.changelog.visitor;
 
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.database.Database;
 import liquibase.exception.LiquibaseException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * Marks the visited changesets as executed without running them.
+ * <p>
+ * With a batch size greater than 1, changesets are collected and written to the changelog table together,
+ * with a commit per batch. {@link #flush()} must then be called after the last changeset to write the rest.
+ * The listener is told about a changeset once it is written.
+ */
 public class ChangeLogSyncVisitor implements ChangeSetVisitor {
 
     private Database database;
     private ChangeLogSyncListener listener;
+    private int batchSize = 1;
+    private final List<ChangeSet> pendingChangeSets = new ArrayList<>();
+    private final List<DatabaseChangeLog> pendingChangeLogs = new ArrayList<>();
 
     public ChangeLogSyncVisitor(Database database) {
         this.database = database;
@@ -22,6 +35,11 @@ public class ChangeLogSyncVisitor implements ChangeSetVisitor {
         this.listener = listener;
     }
 
+    public ChangeLogSyncVisitor(Database database, ChangeLogSyncListener listener, int batchSize) {
+        this(database, listener);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
     @Override
     public Direction getDirection() {
         return ChangeSetVisitor.Direction.FORWARD;
@@ -29,9 +47,35 @@ public class ChangeLogSyncVisitor implements ChangeSetVisitor {
 
     @Override
     public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
-        this.database.markChangeSetExecStatus(changeSet, ChangeSet.ExecType.EXECUTED);
-        if(listener != null) {
-            listener.markedRan(changeSet, databaseChangeLog, database);
+        if (batchSize == 1) {
+            this.database.markChangeSetExecStatus(changeSet, ChangeSet.ExecType.EXECUTED);
+            if(listener != null) {
+                listener.markedRan(changeSet, databaseChangeLog, database);
+            }
+            return;
+        }
+
+        pendingChangeSets.add(changeSet);
+        pendingChangeLogs.add(databaseChangeLog);
+        if (pendingChangeSets.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the changesets which are not written yet.
+     */
+    public void flush() throws LiquibaseException {
+        if (pendingChangeSets.isEmpty()) {
+            return;
+        }
+        ChangeLogHistoryServiceFactory.getInstance().getChangeLogService(database).setExecType(pendingChangeSets, ChangeSet.ExecType.EXECUTED);
+        if (listener != null) {
+            for (int i = 0; i < pendingChangeSets.size(); i++) {
+                listener.markedRan(pendingChangeSets.get(i), pendingChangeLogs.get(i), database);
+            }
         }
+        pendingChangeSets.clear();
+        pendingChangeLogs.clear();
     }
 }
@@ -1,10 +1,12 @@
 package liquibase.changelog.visitor;
 
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.change.Change;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetIndex;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.database.Database;
 import liquibase.exception.*;
@@ -14,9 +16,15 @@ import liquibase.precondition.core.PreconditionContainer;
 import liquibase.util.StringUtil;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 public class ValidatingVisitor implements ChangeSetVisitor {
 
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
     private List<String> invalidMD5Sums = new ArrayList<>();
     private List<FailedPrecondition> failedPreconditions = new ArrayList<>();
     private List<ErrorPrecondition> errorPreconditions = new ArrayList<>();
@@ -29,6 +37,9 @@ public class ValidatingVisitor implements ChangeSetVisitor {
     private Set<String> seenChangeSets = new HashSet<>();
 
     private Map<String, RanChangeSet> ranIndex;
+    private RanChangeSetIndex ranChangeSetIndex;
+    //ran changesets found by generateCheckSums, so visit does not have to look them up again
+    private final Map<ChangeSet, RanChangeSet> foundRanChangeSets = new IdentityHashMap<>();
     private Database database;
 
     //
@@ -42,6 +53,7 @@ public class ValidatingVisitor implements ChangeSetVisitor {
         for(RanChangeSet changeSet:ranChangeSets) {
             ranIndex.put(changeSet.toString(), changeSet);
         }
+        ranChangeSetIndex = new RanChangeSetIndex(ranIndex.values());
     }
 
     public void validate(Database database, DatabaseChangeLog changeLog) {
@@ -79,22 +91,73 @@ public class ValidatingVisitor implements ChangeSetVisitor {
         return ChangeSetVisitor.Direction.FORWARD;
     }
 
+    /**
+     * Generates the checksums of the given changeSets which have already been executed on a shared {@link ForkJoinPool} with
+     * {@link GlobalConfiguration#CHECKSUM_THREADS} threads, so {@link #visit} only has to compare them.
+     * Does nothing if fewer than 2 threads are configured.
+     * Checksums which cannot be generated are skipped here and fail with the usual error in {@link #visit}.
+     */
+    public void generateCheckSums(List<ChangeSet> changeSets) {
+        Integer threads = GlobalConfiguration.CHECKSUM_THREADS.getCurrentValue();
+        if ((ranIndex == null) || (threads == null) || (threads < 2)) {
+            return;
+        }
+
+        Scope scope = Scope.getCurrentScope();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (ChangeSet changeSet : changeSets) {
+            RanChangeSet ranChangeSet = findChangeSet(changeSet);
+            foundRanChangeSets.put(changeSet, ranChangeSet);
+            if (ranChangeSet != null) {
+                tasks.add(scope.wrap(() -> {
+                    try {
+                        changeSet.generateCheckSum();
+                    } catch (RuntimeException e) {
+                        Scope.getCurrentScope().getLog(getClass()).fine("Cannot generate checksum for " + changeSet + " ahead of validation: " + e.getMessage(), e);
+                    }
+                    return null;
+                }));
+            }
+        }
+        if (tasks.size() < 2) {
+            return;
+        }
+
+        getPool(threads).invokeAll(tasks);
+    }
+
+    /**
+     * Returns the shared pool for the given thread count. Pools are kept per size and never shut down, like the pools
+     * used to parse changelogs.
+     */
+    private static ForkJoinPool getPool(int threads) {
+        return POOLS.computeIfAbsent(threads, size -> new ForkJoinPool(size, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("liquibase-checksum-" + size + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, false));
+    }
+
+    /**
+     * Returns the ran changeset with exactly the changeSet's path, id and author, otherwise the one matching them
+     * case-insensitively as {@link RanChangeSet#isSameAs(ChangeSet)} does.
+     */
     private RanChangeSet findChangeSet(ChangeSet changeSet) {
         RanChangeSet result = ranIndex.get(changeSet.toString(false));
         if (result == null) {
-            for (RanChangeSet ranChangeSet : ranIndex.values()) {
-                if (ranChangeSet.isSameAs(changeSet)) {
-                    result = ranChangeSet;
-                    break;
-                }
-            }
+            result = ranChangeSetIndex.get(changeSet);
         }
         return result;
     }
         
     @Override
     public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database, Set<ChangeSetFilterResult> filterResults) throws LiquibaseException {
-        RanChangeSet ranChangeSet = findChangeSet(changeSet);
+        RanChangeSet ranChangeSet;
+        if (foundRanChangeSets.containsKey(changeSet)) {
+            ranChangeSet = foundRanChangeSets.remove(changeSet);
+        } else {
+            ranChangeSet = findChangeSet(changeSet);
+        }
         boolean ran = ranChangeSet != null;
         changeSet.setStoredCheckSum(ran?ranChangeSet.getLastCheckSum():null);
         boolean shouldValidate = !ran || changeSet.shouldRunOnChange() || changeSet.shouldAlwaysRun();
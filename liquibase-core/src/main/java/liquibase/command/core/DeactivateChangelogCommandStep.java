@@ -12,6 +12,7 @@ import liquibase.hub.HubServiceFactory;
 import liquibase.hub.model.HubChangeLog;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.resource.ResourceAccessor;
 
 import java.io.PrintWriter;
@@ -99,7 +100,7 @@ public class DeactivateChangelogCommandStep extends AbstractCommandStep {
         ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
         ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(changeLogFile, resourceAccessor);
         ChangeLogParameters changeLogParameters = new ChangeLogParameters();
-        return parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+        return ParsedChangeLogCache.parse(parser, changeLogFile, changeLogParameters, resourceAccessor);
     }
     @Override
     public void adjustCommandDefinition(CommandDefinition commandDefinition) {
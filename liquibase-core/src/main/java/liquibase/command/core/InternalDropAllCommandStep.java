@@ -21,6 +21,7 @@ import liquibase.logging.Logger;
 import liquibase.logging.core.BufferedLogService;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.resource.ResourceAccessor;
 import liquibase.util.StringUtil;
 
@@ -258,6 +259,6 @@ public class InternalDropAllCommandStep extends AbstractCommandStep {
         ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
         ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(changeLogFile, resourceAccessor);
         ChangeLogParameters changeLogParameters = new ChangeLogParameters();
-        return parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+        return ParsedChangeLogCache.parse(parser, changeLogFile, changeLogParameters, resourceAccessor);
     }
 }
@@ -17,6 +17,7 @@ import liquibase.hub.model.HubChangeLog;
 import liquibase.hub.model.Project;
 import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserFactory;
+import liquibase.parser.ParsedChangeLogCache;
 import liquibase.resource.ResourceAccessor;
 import liquibase.ui.UIService;
 import liquibase.util.StringUtil;
@@ -274,6 +275,6 @@ public class RegisterChangelogCommandStep extends AbstractCommandStep {
         ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
         ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(changeLogFile, resourceAccessor);
         ChangeLogParameters changeLogParameters = new ChangeLogParameters();
-        return parser.parse(changeLogFile, changeLogParameters, resourceAccessor);
+        return ParsedChangeLogCache.parse(parser, changeLogFile, changeLogParameters, resourceAccessor);
     }
 }
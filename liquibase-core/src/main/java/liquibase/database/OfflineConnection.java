@@ -46,6 +46,7 @@ public class OfflineConnection implements DatabaseConnection {
     private String catalog;
     private boolean sendsStringParametersAsUnicode = true;
     private String connectionUserName;
+    private ChangeLogHistoryService changeLogHistoryService;
 
     public OfflineConnection() {}
 
@@ -157,7 +158,8 @@ public class OfflineConnection implements DatabaseConnection {
             }
         }
 
-        ChangeLogHistoryServiceFactory.getInstance().register(createChangeLogHistoryService(database));
+        changeLogHistoryService = createChangeLogHistoryService(database);
+        ChangeLogHistoryServiceFactory.getInstance().register(changeLogHistoryService);
     }
 
     protected ChangeLogHistoryService createChangeLogHistoryService(Database database) {
@@ -198,7 +200,9 @@ public class OfflineConnection implements DatabaseConnection {
 
     @Override
     public void close() throws DatabaseException {
-        //nothing
+        if (changeLogHistoryService instanceof OfflineChangeLogHistoryService) {
+            ((OfflineChangeLogHistoryService) changeLogHistoryService).close();
+        }
     }
 
     @Override
@@ -28,6 +28,14 @@ public final class PreparedStatementFactory {
         return con.prepareStatement(sql);
     }
 
+    /**
+     * Returns the connection the statements are created for, for statements which need more than a
+     * <code>PreparedStatement</code> to execute.
+     */
+    public JdbcConnection getConnection() {
+        return con;
+    }
+
     @Override
     public String toString() {
         return "[con: " + con.toString() + "]";
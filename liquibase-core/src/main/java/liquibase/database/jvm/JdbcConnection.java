@@ -17,6 +17,9 @@ import java.util.regex.Pattern;
  */
 public class JdbcConnection implements DatabaseConnection {
     private java.sql.Connection con;
+    private String openedUrl;
+    private Driver openedDriver;
+    private Properties openedDriverProperties;
     private static final Set<Map.Entry<Pattern, Pattern>> PATTERN_JDBC_BLANK = new HashSet<>();
     private static final Set<Map.Entry<Pattern, Pattern>> PATTERN_JDBC_BLANK_TO_OBFUSCATE = new HashSet<>();
     private static final Set<Map.Entry<Pattern, Pattern>> PATTERN_JDBC_OBFUSCATE = new HashSet<>();
@@ -84,6 +87,9 @@ public class JdbcConnection implements DatabaseConnection {
             if (this.con == null) {
                 throw new DatabaseException(errorMessage + ".  Possibly the wrong driver for the given database URL");
             }
+            this.openedUrl = url;
+            this.openedDriver = driverObject;
+            this.openedDriverProperties = (driverProperties == null) ? null : (Properties) driverProperties.clone();
         } catch (SQLException sqle) {
             if (driverClassName.equals("org.h2.Driver")) {
                 errorMessage += ". Make sure your H2 database is active and accessible by opening a new terminal window, run \"liquibase init start-h2\", and then return to this terminal window to run commands";
@@ -92,6 +98,20 @@ public class JdbcConnection implements DatabaseConnection {
         }
     }
 
+    /**
+     * Opens a new connection to the same database with the url, driver and properties this connection was opened with.
+     *
+     * @return the new connection, or null if this connection wraps a {@link Connection} which was created elsewhere and so cannot be reopened
+     */
+    public JdbcConnection openCopy() throws DatabaseException {
+        if (openedDriver == null) {
+            return null;
+        }
+        JdbcConnection copy = new JdbcConnection();
+        copy.open(openedUrl, openedDriver, openedDriverProperties);
+        return copy;
+    }
+
     @Override
     public void attached(Database database) {
         try {
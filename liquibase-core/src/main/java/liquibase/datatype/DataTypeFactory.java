@@ -15,14 +15,33 @@ import liquibase.structure.core.DataType;
 import liquibase.util.ObjectUtil;
 import liquibase.util.StringUtil;
 
+import java.lang.reflect.Constructor;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 public class DataTypeFactory {
 
     private static DataTypeFactory instance;
 
+    private static final int MAX_CACHED_DESCRIPTIONS = 10000;
+
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("^\\$\\{.*}$");
+    private static final Pattern HAS_PARAMETERS_PATTERN = Pattern.compile(".+\\(.*\\).*");
+    private static final Pattern PARAMETERS_PATTERN = Pattern.compile("\\s*\\(.*\\)");
+    private static final Pattern HAS_EMBEDDED_INFO_PATTERN = Pattern.compile(".+\\{.*");
+    private static final Pattern EMBEDDED_INFO_PATTERN = Pattern.compile("\\s*\\{.*");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+    private static final Pattern HAS_OPENING_PARENTHESIS_PATTERN = Pattern.compile(".+\\s*\\(.*");
+    private static final Pattern UP_TO_OPENING_PARENTHESIS_PATTERN = Pattern.compile(".*?\\(");
+    private static final Pattern FROM_CLOSING_PARENTHESIS_PATTERN = Pattern.compile("\\).*");
+    private static final Pattern HAS_BRACE_PATTERN = Pattern.compile(".*\\{.*");
+    private static final Pattern UP_TO_OPENING_BRACE_PATTERN = Pattern.compile(".*?\\{");
+    private static final Pattern FROM_CLOSING_BRACE_PATTERN = Pattern.compile("\\}.*");
+    private static final Pattern BYTE_PATTERN = Pattern.compile(" BYTE");
+
     private Map<String, List<Class<? extends LiquibaseDataType>>> registry = new ConcurrentHashMap<>();
+    private final Map<DescriptionKey, ParsedDescription> descriptionCache = new ConcurrentHashMap<>();
 
     /**
      * Build the factory registry from all classes in the classpath that implement
@@ -86,6 +105,7 @@ public class DataTypeFactory {
                 classes.add(type.getClass());
                 classes.sort(comparator);
             }
+            descriptionCache.clear();
         } catch (Exception e) {
             throw new UnexpectedLiquibaseException(e);
         }
@@ -97,6 +117,7 @@ public class DataTypeFactory {
      */
     public void unregister(String name) {
         registry.remove(name.toLowerCase(Locale.US));
+        descriptionCache.clear();
     }
 
     /**
@@ -112,30 +133,49 @@ public class DataTypeFactory {
         if (dataTypeDefinition == null) {
             return null;
         }
-        if (dataTypeDefinition.matches("^\\$\\{.*}$")) {
+        if (EXPRESSION_PATTERN.matcher(dataTypeDefinition).matches()) {
             return new UnknownType(dataTypeDefinition);
         }
 
+        // parsing the definition is the expensive part, so the result is kept per definition and type of database
+        DescriptionKey key = new DescriptionKey(dataTypeDefinition, (database == null) ? null : database.getClass());
+        ParsedDescription description = descriptionCache.get(key);
+        if (description != null) {
+            return description.createType();
+        }
+
+        description = parseDescription(dataTypeDefinition, database);
+        // create the type before caching the description, so a description which cannot be applied is not kept
+        LiquibaseDataType liquibaseDataType = description.createType();
+        if (descriptionCache.size() >= MAX_CACHED_DESCRIPTIONS) {
+            descriptionCache.clear();
+        }
+        descriptionCache.put(key, description);
+        return liquibaseDataType;
+    }
+
+    private ParsedDescription parseDescription(String dataTypeDefinition, Database database) {
         String dataTypeName = dataTypeDefinition;
 
         // Remove the first occurrence of (anything within parentheses). This will remove the size information from
         // most data types, e.g. VARCHAR2(255 CHAR) -> VARCHAR2. We will retrieve that length information again later,
         // but for the moment, we are only interested in the "naked" data type name.
-        if (dataTypeName.matches(".+\\(.*\\).*")) {
-            dataTypeName = dataTypeName.replaceFirst("\\s*\\(.*\\)", "");
+        if (HAS_PARAMETERS_PATTERN.matcher(dataTypeName).matches()) {
+            dataTypeName = PARAMETERS_PATTERN.matcher(dataTypeName).replaceFirst("");
         }
 
         // Remove everything { after the first opening curly bracket
         // e.g. int{autoIncrement:true}" -> "int"
-        if (dataTypeName.matches(".+\\{.*")) {
-            dataTypeName = dataTypeName.replaceFirst("\\s*\\{.*", "");
+        if (HAS_EMBEDDED_INFO_PATTERN.matcher(dataTypeName).matches()) {
+            dataTypeName = EMBEDDED_INFO_PATTERN.matcher(dataTypeName).replaceFirst("");
         }
 
         // If the remaining string ends with " identity", then remove the " identity" and remember than we want
         // to set the autoIncrement property later.
         boolean autoIncrement = false;
         if (dataTypeName.toLowerCase(Locale.US).endsWith(" identity")) {
-            dataTypeName = dataTypeName.toLowerCase(Locale.US).replaceFirst(" identity$", "");
+            dataTypeName = dataTypeName.toLowerCase(Locale.US);
+            dataTypeName = dataTypeName.substring(0, dataTypeName.length() - " identity".length());
             autoIncrement = true;
         }
 
@@ -170,7 +210,7 @@ public class DataTypeFactory {
         } else {
             // Heuristic: from what we now have left of the data type name, everything after the first space
             // is counted as additional information.
-            String[] splitTypeName = dataTypeName.trim().split("\\s+", 2);
+            String[] splitTypeName = WHITESPACE_PATTERN.split(dataTypeName.trim(), 2);
             dataTypeName = splitTypeName[0];
             if (splitTypeName.length > 1) {
                 additionalInfo = splitTypeName[1];
@@ -204,16 +244,21 @@ public class DataTypeFactory {
             throw new UnexpectedLiquibaseException("Could not find type for " + liquibaseDataType.toString() +
                     " for DBMS "+database.getShortName());
         }
-        if (liquibaseDataType == null) {
-            liquibaseDataType = new UnknownType(dataTypeName);
+        ParsedDescription description;
+        if ((classes == null) || (liquibaseDataType == null)) {
+            description = new ParsedDescription(dataTypeDefinition, null, (liquibaseDataType == null) ? dataTypeName
+                    : liquibaseDataType.getName(), additionalInfo, autoIncrement);
+        } else {
+            description = new ParsedDescription(dataTypeDefinition, liquibaseDataType.getClass(), null, additionalInfo,
+                    autoIncrement);
         }
-        liquibaseDataType.setAdditionalInformation(additionalInfo);
 
         // Does the type string have the form "some_data_type(additional,info,separated,by,commas)"?
         // If so, process these as additional data type parameters.
-        if (dataTypeDefinition.matches(".+\\s*\\(.*")) {
+        if (HAS_OPENING_PARENTHESIS_PATTERN.matcher(dataTypeDefinition).matches()) {
             // Cut out the part between the first ()
-            String paramStrings = dataTypeDefinition.replaceFirst(".*?\\(", "").replaceFirst("\\).*", "");
+            String paramStrings = FROM_CLOSING_PARENTHESIS_PATTERN.matcher(
+                    UP_TO_OPENING_PARENTHESIS_PATTERN.matcher(dataTypeDefinition).replaceFirst("")).replaceFirst("");
             String[] params = paramStrings.split(",");
 
             for (String param : params) {
@@ -224,19 +269,19 @@ public class DataTypeFactory {
                         // NLS_LENGTH_SEMANTICS=BYTE. If NLS_LENGTH_SEMANTICS=CHAR, we need to trim " CHAR" instead.
     
                         // not sure what else supports it:
-                        param = param.replaceFirst(" BYTE", ""); //only use byte types on oracle,
+                        param = BYTE_PATTERN.matcher(param).replaceFirst(""); //only use byte types on oracle,
                         
                     }
-                    liquibaseDataType.addParameter(param);
+                    description.parameters.add(param);
                 }
             }
         }
 
         // Did the original definition have embedded information in curly braces, e.g.
         // "int{autoIncrement:true}"? If so, we will extract and process it now.
-        if (dataTypeDefinition.matches(".*\\{.*")) {
-            String paramStrings = dataTypeDefinition.replaceFirst(".*?\\{", "")
-                .replaceFirst("\\}.*", "");
+        if (HAS_BRACE_PATTERN.matcher(dataTypeDefinition).matches()) {
+            String paramStrings = FROM_CLOSING_BRACE_PATTERN.matcher(
+                    UP_TO_OPENING_BRACE_PATTERN.matcher(dataTypeDefinition).replaceFirst("")).replaceFirst("");
             String[] params = paramStrings.split(",");
             for (String param : params) {
                 param = StringUtil.trimToNull(param);
@@ -245,25 +290,14 @@ public class DataTypeFactory {
                     if (paramAndValue.length < 2) {
                         throw new UnexpectedLiquibaseException("Data type definition contains unparseable embedded information: `" + dataTypeDefinition + "`");
                     }
-                    ObjectUtil.setProperty(liquibaseDataType, paramAndValue[0], paramAndValue[1]);
+                    description.properties.add(paramAndValue);
                 }
             }
         }
 
-        if (autoIncrement && (liquibaseDataType instanceof IntType)) {
-            ((IntType) liquibaseDataType).setAutoIncrement(true);
-        }
-        if (autoIncrement && (liquibaseDataType instanceof BigIntType)) {
-            ((BigIntType) liquibaseDataType).setAutoIncrement(true);
-        }
-
-        liquibaseDataType.finishInitialization(dataTypeDefinition);
-
-        return liquibaseDataType;
-
+        return description;
     }
 
-
     public LiquibaseDataType fromObject(Object object, Database database) {
         if (object instanceof ColumnConfig.ValueNumeric) {
             object = ((ColumnConfig.ValueNumeric) object).getDelegate();
@@ -292,4 +326,93 @@ public class DataTypeFactory {
     public String getFalseBooleanValue(Database database) {
         return fromDescription("boolean", database).objectToSql(false, database);
     }
+
+    private static final class DescriptionKey {
+        private final String definition;
+        private final Class<?> databaseClass;
+        private final int hashCode;
+
+        private DescriptionKey(String definition, Class<?> databaseClass) {
+            this.definition = definition;
+            this.databaseClass = databaseClass;
+            this.hashCode = (31 * definition.hashCode()) + ((databaseClass == null) ? 0 : databaseClass.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DescriptionKey)) {
+                return false;
+            }
+            DescriptionKey that = (DescriptionKey) o;
+            return (databaseClass == that.databaseClass) && definition.equals(that.definition);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The result of parsing a data type definition for a type of database. Creates a new {@link LiquibaseDataType}
+     * for every use, because data types can be modified by their callers.
+     */
+    private static final class ParsedDescription {
+        private final String definition;
+        private final Constructor<? extends LiquibaseDataType> typeConstructor;
+        private final String unknownTypeName;
+        private final String additionalInformation;
+        private final boolean autoIncrement;
+        private final List<String> parameters = new ArrayList<>();
+        private final List<String[]> properties = new ArrayList<>();
+
+        /**
+         * @param typeClass the registered type to create, or null to create an {@link UnknownType} named unknownTypeName
+         */
+        private ParsedDescription(String definition, Class<? extends LiquibaseDataType> typeClass, String unknownTypeName,
+                                  String additionalInformation, boolean autoIncrement) {
+            this.definition = definition;
+            try {
+                this.typeConstructor = (typeClass == null) ? null : typeClass.getConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new UnexpectedLiquibaseException(e);
+            }
+            this.unknownTypeName = unknownTypeName;
+            this.additionalInformation = additionalInformation;
+            this.autoIncrement = autoIncrement;
+        }
+
+        private LiquibaseDataType createType() {
+            LiquibaseDataType type;
+            if (typeConstructor == null) {
+                type = new UnknownType(unknownTypeName);
+            } else {
+                try {
+                    type = typeConstructor.newInstance();
+                } catch (Exception e) {
+                    throw new UnexpectedLiquibaseException(e);
+                }
+            }
+            type.setAdditionalInformation(additionalInformation);
+            for (String parameter : parameters) {
+                type.addParameter(parameter);
+            }
+            for (String[] property : properties) {
+                ObjectUtil.setProperty(type, property[0], property[1]);
+            }
+
+            if (autoIncrement && (type instanceof IntType)) {
+                ((IntType) type).setAutoIncrement(true);
+            }
+            if (autoIncrement && (type instanceof BigIntType)) {
+                ((BigIntType) type).setAutoIncrement(true);
+            }
+
+            type.finishInitialization(definition);
+            return type;
+        }
+    }
 }
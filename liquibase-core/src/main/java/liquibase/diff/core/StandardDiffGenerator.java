@@ -1,5 +1,8 @@
 package liquibase.diff.core;
 
+import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
 import liquibase.database.Database;
 import liquibase.diff.DiffGenerator;
 import liquibase.diff.DiffResult;
@@ -16,10 +19,16 @@ import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Schema;
 import liquibase.util.StringUtil;
 
-import java.util.Set;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
 
 public class StandardDiffGenerator implements DiffGenerator {
 
+    private static final int MIN_CHUNK_SIZE = 100;
+
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
     @Override
     public int getPriority() {
         return PRIORITY_DEFAULT;
@@ -48,8 +57,13 @@ public class StandardDiffGenerator implements DiffGenerator {
         typesToCompare.retainAll(referenceSnapshot.getSnapshotControl().getTypesToInclude());
         typesToCompare.retainAll(comparisonSnapshot.getSnapshotControl().getTypesToInclude());
 
-        for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
-            compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+        Integer threads = GlobalConfiguration.DIFF_THREADS.getCurrentValue();
+        if ((threads != null) && (threads > 1) && !isCompareObjectTypeOverridden()) {
+            compareObjectTypes(typesToCompare, referenceSnapshot, comparisonSnapshot, diffResult, threads);
+        } else {
+            for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
+                compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+            }
         }
 
         return diffResult;
@@ -65,60 +79,254 @@ public class StandardDiffGenerator implements DiffGenerator {
     }
 
     protected <T extends DatabaseObject> void compareObjectType(Class<T> type, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult) {
+        CompareControl.SchemaComparison[] schemaComparisons = diffResult.getCompareControl().getSchemaComparisons();
+        if (schemaComparisons != null) {
+            SchemaNames referenceSchemaNames = new SchemaNames(referenceSnapshot.getDatabase());
+            SchemaNames comparisonSchemaNames = new SchemaNames(comparisonSnapshot.getDatabase());
+            for (CompareControl.SchemaComparison schemaComparison : schemaComparisons) {
+                ObjectTypeComparison<T> comparison = new ObjectTypeComparison<>(referenceSnapshot, comparisonSnapshot,
+                        diffResult.getCompareControl(), schemaComparison, referenceSchemaNames, comparisonSchemaNames);
+                ComparisonResults results = new ComparisonResults();
+                comparison.compareReferenceObjects(referenceSnapshot.get(type), results);
+                comparison.addMatches(results);
+                comparison.compareComparisonObjects(comparisonSnapshot.get(type), results);
+                results.addTo(diffResult);
+            }
+
+            //todo: add logic for when container is missing or unexpected also
+        }
 
-        Database comparisonDatabase = comparisonSnapshot.getDatabase();
-        Database referenceDatabase = referenceSnapshot.getDatabase();
+    }
 
+    /**
+     * Compares the objects of all given types on a shared {@link ForkJoinPool} with the given number of threads.
+     * The objects of each type are split into chunks which are compared independently, and the results of the chunks
+     * are added to the diffResult on this thread in the order of the types, so the result does not depend on the
+     * order the chunks finish in. The reference objects are compared first, so the matches found for them can be used
+     * when checking the comparison objects.
+     * <p>
+     * Does not call {@link #compareObjectType}, so it is not used for subclasses which override that method.
+     */
+    protected void compareObjectTypes(Set<Class<? extends DatabaseObject>> typesToCompare, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult, int threads) {
         CompareControl.SchemaComparison[] schemaComparisons = diffResult.getCompareControl().getSchemaComparisons();
-        if (schemaComparisons != null) {
+        if (schemaComparisons == null) {
+            return;
+        }
+
+        Scope scope = Scope.getCurrentScope();
+        SchemaNames referenceSchemaNames = new SchemaNames(referenceSnapshot.getDatabase());
+        SchemaNames comparisonSchemaNames = new SchemaNames(comparisonSnapshot.getDatabase());
+        List<ObjectTypeComparison<DatabaseObject>> referenceTaskComparisons = new ArrayList<>();
+        List<Callable<ComparisonResults>> referenceTasks = new ArrayList<>();
+        List<Callable<ComparisonResults>> comparisonTasks = new ArrayList<>();
+        for (Class<? extends DatabaseObject> type : typesToCompare) {
+            List<DatabaseObject> referenceObjects = new ArrayList<>(referenceSnapshot.get(type));
+            List<DatabaseObject> comparisonObjects = new ArrayList<>(comparisonSnapshot.get(type));
+            int chunkSize = Math.max(MIN_CHUNK_SIZE, (Math.max(referenceObjects.size(), comparisonObjects.size()) / (threads * 4)) + 1);
+
             for (CompareControl.SchemaComparison schemaComparison : schemaComparisons) {
-                for (T referenceObject : referenceSnapshot.get(type)) {
-                    Schema referenceObjectSchema = referenceObject.getSchema();
-                    if ((referenceObjectSchema != null) && (referenceObjectSchema.getName() != null)) { //don't filter out null-named schemas. May actually be catalog-level objects that should be included
-                        if (!StringUtil.trimToEmpty(
-                            referenceObjectSchema.toCatalogAndSchema().standardize(referenceDatabase).getSchemaName())
-                            .equalsIgnoreCase(
-                                StringUtil.trimToEmpty(schemaComparison.getReferenceSchema()
-                                .standardize(referenceDatabase).getSchemaName()))) {
-                            continue;
-                        }
-                    }
-                    T comparisonObject = comparisonSnapshot.get(referenceObject);
-                    if (comparisonObject == null) {
-                        diffResult.addMissingObject(referenceObject);
-                    } else {
-                        ObjectDifferences differences = DatabaseObjectComparatorFactory.getInstance().findDifferences(referenceObject, comparisonObject, comparisonDatabase, diffResult.getCompareControl());
-                        if (differences.hasDifferences()) {
-                            diffResult.addChangedObject(referenceObject, differences);
-                        }
+                ObjectTypeComparison<DatabaseObject> comparison = new ObjectTypeComparison<>(referenceSnapshot,
+                        comparisonSnapshot, diffResult.getCompareControl(), schemaComparison, referenceSchemaNames,
+                        comparisonSchemaNames);
+                for (int i = 0; i < referenceObjects.size(); i += chunkSize) {
+                    List<DatabaseObject> chunk = referenceObjects.subList(i, Math.min(i + chunkSize, referenceObjects.size()));
+                    referenceTaskComparisons.add(comparison);
+                    referenceTasks.add(scope.wrap(() -> {
+                        ComparisonResults results = new ComparisonResults();
+                        comparison.compareReferenceObjects(chunk, results);
+                        return results;
+                    }));
+                }
+                for (int i = 0; i < comparisonObjects.size(); i += chunkSize) {
+                    List<DatabaseObject> chunk = comparisonObjects.subList(i, Math.min(i + chunkSize, comparisonObjects.size()));
+                    comparisonTasks.add(scope.wrap(() -> {
+                        ComparisonResults results = new ComparisonResults();
+                        comparison.compareComparisonObjects(chunk, results);
+                        return results;
+                    }));
+                }
+            }
+        }
+
+        ForkJoinPool pool = getPool(threads);
+        List<ComparisonResults> referenceResults = invokeAll(pool, referenceTasks);
+        for (int i = 0; i < referenceResults.size(); i++) {
+            referenceTaskComparisons.get(i).addMatches(referenceResults.get(i));
+            referenceResults.get(i).addTo(diffResult);
+        }
+        for (ComparisonResults results : invokeAll(pool, comparisonTasks)) {
+            results.addTo(diffResult);
+        }
+    }
+
+    /**
+     * Returns the shared pool for the given thread count. Pools are kept per size and never shut down, like the pools
+     * used to parse changelogs.
+     */
+    private static ForkJoinPool getPool(int threads) {
+        return POOLS.computeIfAbsent(threads, size -> new ForkJoinPool(size, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("liquibase-diff-" + size + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, false));
+    }
+
+    private boolean isCompareObjectTypeOverridden() {
+        for (Class<?> type = getClass(); type != StandardDiffGenerator.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.getName().equals("compareObjectType") && Arrays.equals(method.getParameterTypes(),
+                        new Class<?>[]{Class.class, DatabaseSnapshot.class, DatabaseSnapshot.class, DiffResult.class})) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private List<ComparisonResults> invokeAll(ForkJoinPool pool, List<Callable<ComparisonResults>> tasks) {
+        List<ComparisonResults> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<ComparisonResults> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedLiquibaseException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UnexpectedLiquibaseException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Compares the objects of one type for one {@link CompareControl.SchemaComparison}.
+     * Holds no state which changes while comparing, so it can be used by several threads at once.
+     */
+    private static class ObjectTypeComparison<T extends DatabaseObject> {
+        private final DatabaseSnapshot referenceSnapshot;
+        private final DatabaseSnapshot comparisonSnapshot;
+        private final CompareControl compareControl;
+        private final SchemaNames referenceSchemaNames;
+        private final SchemaNames comparisonSchemaNames;
+        private final String referenceSchemaName;
+        private final String schemaComparisonName1;
+        private final String schemaComparisonName2;
+        private final Map<DatabaseObject, DatabaseObject> matchedReferenceObjects = new IdentityHashMap<>();
+
+        private ObjectTypeComparison(DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, CompareControl compareControl,
+                                     CompareControl.SchemaComparison schemaComparison, SchemaNames referenceSchemaNames, SchemaNames comparisonSchemaNames) {
+            this.referenceSnapshot = referenceSnapshot;
+            this.comparisonSnapshot = comparisonSnapshot;
+            this.compareControl = compareControl;
+            this.referenceSchemaNames = referenceSchemaNames;
+            this.comparisonSchemaNames = comparisonSchemaNames;
+
+            Database referenceDatabase = referenceSnapshot.getDatabase();
+            Database comparisonDatabase = comparisonSnapshot.getDatabase();
+            this.referenceSchemaName = StringUtil.trimToEmpty(schemaComparison.getReferenceSchema().standardize(referenceDatabase).getSchemaName());
+            this.schemaComparisonName1 = StringUtil.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
+            this.schemaComparisonName2 = StringUtil.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
+        }
+
+        private void compareReferenceObjects(Collection<? extends T> referenceObjects, ComparisonResults results) {
+            Database comparisonDatabase = comparisonSnapshot.getDatabase();
+            for (T referenceObject : referenceObjects) {
+                Schema referenceObjectSchema = referenceObject.getSchema();
+                if ((referenceObjectSchema != null) && (referenceObjectSchema.getName() != null)) { //don't filter out null-named schemas. May actually be catalog-level objects that should be included
+                    if (!referenceSchemaNames.get(referenceObjectSchema).equalsIgnoreCase(referenceSchemaName)) {
+                        continue;
                     }
                 }
-                //
-                for (T comparisonObject : comparisonSnapshot.get(type)) {
-                    Schema comparisonObjectSchema = comparisonObject.getSchema();
-                    if (comparisonObjectSchema != null) {
-                        String comparisonObjectSchemaName = StringUtil.trimToEmpty(comparisonObjectSchema.toCatalogAndSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName1 = StringUtil.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName2 = StringUtil.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
-
-                        if ("".equals(comparisonObjectSchemaName) && !"".equals(schemaComparisonName1) && !"".equals
-                            (schemaComparisonName2)) {
-                            comparisonObjectSchemaName = StringUtil.trimToEmpty(comparisonObjectSchema.getName());
-                        }
-                        if (!(comparisonObjectSchemaName.equalsIgnoreCase(schemaComparisonName1) || comparisonObjectSchemaName.equals(schemaComparisonName2))) {
-                            continue;
-                        }
+                T comparisonObject = comparisonSnapshot.get(referenceObject);
+                if (comparisonObject == null) {
+                    results.missingObjects.add(referenceObject);
+                } else {
+                    results.matchedReferenceObjects.put(comparisonObject, referenceObject);
+                    ObjectDifferences differences = DatabaseObjectComparatorFactory.getInstance().findDifferences(referenceObject, comparisonObject, comparisonDatabase, compareControl);
+                    if (differences.hasDifferences()) {
+                        results.changedObjects.put(referenceObject, differences);
                     }
+                }
+            }
+        }
 
-                    if (referenceSnapshot.get(comparisonObject) == null) {
-                        diffResult.addUnexpectedObject(comparisonObject);
+        /**
+         * Remembers the matches found by {@link #compareReferenceObjects}. Must be called before
+         * {@link #compareComparisonObjects}, and not while other threads use this comparison.
+         */
+        private void addMatches(ComparisonResults results) {
+            matchedReferenceObjects.putAll(results.matchedReferenceObjects);
+        }
+
+        private void compareComparisonObjects(Collection<? extends T> comparisonObjects, ComparisonResults results) {
+            for (T comparisonObject : comparisonObjects) {
+                Schema comparisonObjectSchema = comparisonObject.getSchema();
+                if (comparisonObjectSchema != null) {
+                    String comparisonObjectSchemaName = comparisonSchemaNames.get(comparisonObjectSchema);
+
+                    if ("".equals(comparisonObjectSchemaName) && !"".equals(schemaComparisonName1) && !"".equals
+                        (schemaComparisonName2)) {
+                        comparisonObjectSchemaName = StringUtil.trimToEmpty(comparisonObjectSchema.getName());
+                    }
+                    if (!(comparisonObjectSchemaName.equalsIgnoreCase(schemaComparisonName1) || comparisonObjectSchemaName.equals(schemaComparisonName2))) {
+                        continue;
                     }
-                    //            }
+                }
+
+                //the reference object this one was found for, if any, is checked first instead of searching the whole snapshot
+                if (referenceSnapshot.get(comparisonObject, matchedReferenceObjects.get(comparisonObject)) == null) {
+                    results.unexpectedObjects.add(comparisonObject);
                 }
             }
+        }
+    }
 
-            //todo: add logic for when container is missing or unexpected also
+    /**
+     * Standardized names of the schemas of the objects of one database. Standardizing a name looks up configuration
+     * values, so it is done once for each schema rather than for every object.
+     */
+    private static class SchemaNames {
+        private final Database database;
+        private final Map<List<String>, String> standardizedNames = new ConcurrentHashMap<>();
+
+        private SchemaNames(Database database) {
+            this.database = database;
         }
 
+        private String get(Schema schema) {
+            CatalogAndSchema catalogAndSchema = schema.toCatalogAndSchema();
+            List<String> key = Arrays.asList(catalogAndSchema.getCatalogName(), catalogAndSchema.getSchemaName());
+            String name = standardizedNames.get(key);
+            if (name == null) {
+                name = StringUtil.trimToEmpty(catalogAndSchema.standardize(database).getSchemaName());
+                standardizedNames.put(key, name);
+            }
+            return name;
+        }
+    }
+
+    /**
+     * Differences found by comparing some of the objects, to be added to the {@link DiffResult} afterwards.
+     */
+    private static class ComparisonResults {
+        private final List<DatabaseObject> missingObjects = new ArrayList<>();
+        private final List<DatabaseObject> unexpectedObjects = new ArrayList<>();
+        private final Map<DatabaseObject, ObjectDifferences> changedObjects = new LinkedHashMap<>();
+        private final Map<DatabaseObject, DatabaseObject> matchedReferenceObjects = new IdentityHashMap<>();
+
+        private void addTo(DiffResult diffResult) {
+            for (DatabaseObject missingObject : missingObjects) {
+                diffResult.addMissingObject(missingObject);
+            }
+            for (Map.Entry<DatabaseObject, ObjectDifferences> changedObject : changedObjects.entrySet()) {
+                diffResult.addChangedObject(changedObject.getKey(), changedObject.getValue());
+            }
+            for (DatabaseObject unexpectedObject : unexpectedObjects) {
+                diffResult.addUnexpectedObject(unexpectedObject);
+            }
+        }
     }
 }
@@ -19,6 +19,7 @@ public class HubConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<String> LIQUIBASE_HUB_URL;
     public static final ConfigurationDefinition<HubMode> LIQUIBASE_HUB_MODE;
     public static final ConfigurationDefinition<Level> LIQUIBASE_HUB_LOGLEVEL;
+    public static final ConfigurationDefinition<Integer> LIQUIBASE_HUB_EVENT_QUEUE_SIZE;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase.hub");
@@ -77,6 +78,11 @@ public class HubConfiguration implements AutoloadedConfigurations {
                     return Level.parse(value.toString());
                 })
                 .build();
+
+        LIQUIBASE_HUB_EVENT_QUEUE_SIZE = builder.define("eventQueueSize", Integer.class)
+                .setDescription("Number of changeset events waiting to be sent to Liquibase Hub in the background before the operation waits for them. Set to 0 to send each event before running the next changeset.")
+                .setDefaultValue(100)
+                .build();
     }
 
     public enum HubMode {
@@ -0,0 +1,106 @@
+package liquibase.hub;
+
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.hub.model.Operation;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the Hub requests made while an operation runs on a background thread, so the operation does not wait for Hub
+ * after every changeset.
+ * <p>
+ * Each operation has its own bounded queue and thread, and its requests are sent in the order they were submitted.
+ * {@link #flush(Operation)} waits until all requests of the operation are sent, and is called before the operation is reported as complete.
+ *
+ * @see HubConfiguration#LIQUIBASE_HUB_EVENT_QUEUE_SIZE
+ */
+public class HubEventSender implements SingletonObject {
+
+    private static final Callable<Void> END_OF_OPERATION = () -> null;
+
+    private final Map<UUID, OperationQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    private HubEventSender() {
+    }
+
+    /**
+     * Queues the request for the given operation, waiting while the queue of the operation is full.
+     * The request is run right away if {@link HubConfiguration#LIQUIBASE_HUB_EVENT_QUEUE_SIZE} is less than 1.
+     * Requests are run in the current scope and must handle their own errors.
+     */
+    public void submit(Operation operation, Runnable request) {
+        Integer queueSize = HubConfiguration.LIQUIBASE_HUB_EVENT_QUEUE_SIZE.getCurrentValue();
+        if ((queueSize == null) || (queueSize < 1) || (operation == null) || (operation.getId() == null)) {
+            request.run();
+            return;
+        }
+
+        Callable<Void> scopedRequest = Scope.getCurrentScope().wrap(() -> {
+            request.run();
+            return null;
+        });
+        OperationQueue queue = queues.computeIfAbsent(operation.getId(), id -> new OperationQueue(queueSize));
+        try {
+            queue.requests.put(scopedRequest);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.run();
+        }
+    }
+
+    /**
+     * Waits until all requests queued for the given operation are sent.
+     */
+    public void flush(Operation operation) {
+        if ((operation == null) || (operation.getId() == null)) {
+            return;
+        }
+        OperationQueue queue = queues.remove(operation.getId());
+        if (queue == null) {
+            return;
+        }
+        try {
+            queue.requests.put(END_OF_OPERATION);
+            queue.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Scope.getCurrentScope().getLog(getClass()).warning("Interrupted while sending events for operation " + operation.getId() + " to Hub");
+        }
+    }
+
+    private class OperationQueue implements Runnable {
+        private final BlockingQueue<Callable<Void>> requests;
+        private final Thread thread;
+
+        private OperationQueue(int size) {
+            this.requests = new ArrayBlockingQueue<>(size);
+            this.thread = new Thread(this, "liquibase-hub-sender-" + threadCount.incrementAndGet());
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                Callable<Void> request;
+                while ((request = requests.take()) != END_OF_OPERATION) {
+                    try {
+                        request.call();
+                    } catch (Exception e) {
+                        Scope.getCurrentScope().getLog(HubEventSender.class).warning("Unable to send request to Hub: " + e.getMessage(), e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
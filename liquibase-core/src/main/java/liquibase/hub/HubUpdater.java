@@ -210,6 +210,10 @@ public class HubUpdater {
      * @param bufferLog       Log output
      */
     public void postUpdateHub(Operation updateOperation, BufferedLogService bufferLog) {
+        //
+        // Changeset events still being sent must arrive before the operation is completed
+        //
+        Scope.getCurrentScope().getSingleton(HubEventSender.class).flush(updateOperation);
         try {
             //
             // If our current Executor is a LoggingExecutor then just return since we will not update Hub
@@ -287,6 +291,7 @@ public class HubUpdater {
     public void postUpdateHubExceptionHandling(Operation operation,
                                                BufferedLogService bufferLog,
                                                String originalExceptionMessage) {
+        Scope.getCurrentScope().getSingleton(HubEventSender.class).flush(operation);
         try {
             //
             // If our current Executor is a LoggingExecutor then just return since we will not update Hub
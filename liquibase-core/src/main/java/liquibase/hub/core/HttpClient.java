@@ -9,6 +9,7 @@ import liquibase.hub.LiquibaseHubRedirectException;
 import liquibase.hub.LiquibaseHubSecurityException;
 import liquibase.hub.model.ListResponse;
 import liquibase.util.LiquibaseUtil;
+import liquibase.util.StreamUtil;
 import liquibase.util.StringUtil;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -19,6 +20,7 @@ import org.yaml.snakeyaml.nodes.NodeTuple;
 import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.representer.Representer;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -33,8 +35,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Sends requests to Hub. Response bodies are always read to the end so the JVM can reuse the connection for the next request.
+ * Requests may be made from several threads, as changeset events are sent in the background.
+ */
 class HttpClient {
 
+    /**
+     * Not thread-safe, so only used while holding its lock
+     */
     private Yaml yaml;
 
     protected HttpClient() {
@@ -143,7 +152,10 @@ class HttpClient {
             String requestBodyDescription = "";
 
             if (requestBodyObject != null) {
-                String requestBody = yaml.dumpAs(requestBodyObject, Tag.MAP, DumperOptions.FlowStyle.FLOW);
+                String requestBody;
+                synchronized (yaml) {
+                    requestBody = yaml.dumpAs(requestBodyObject, Tag.MAP, DumperOptions.FlowStyle.FLOW);
+                }
 
                 //strip out problematic text
                 requestBody = requestBody
@@ -170,6 +182,7 @@ class HttpClient {
 //                    peopleDescription.addPropertyParameters("content", List.class, contentReturnType);
 //                    yaml.addTypeDescription(peopleDescription);
 //                }
+                byte[] responseBody = StreamUtil.readStream(response);
                 int responseCode = connection.getResponseCode();
                 if (responseCode != HttpURLConnection.HTTP_OK) {
                     if (responseCode == HttpURLConnection.HTTP_MOVED_TEMP ||
@@ -192,16 +205,23 @@ class HttpClient {
                     throw new LiquibaseHubException("\nUnexpected content type '" + contentType +
                             "' returned from Hub.  Response code is " + responseCode);
                 }
-                return (T) yaml.loadAs(response, returnType);
+                synchronized (yaml) {
+                    return (T) yaml.loadAs(new ByteArrayInputStream(responseBody), returnType);
+                }
             } catch (IOException e) {
                 if (connection.getResponseCode() == 401) {
+                    drain(connection.getErrorStream());
                     throw new LiquibaseHubSecurityException("Authentication failure for "+connection.getRequestMethod()+" "+connection.getURL().toExternalForm()+"\n"+
                         "Check your Liquibase Hub API Key or other permissions. Learn more https://hub.liquibase.com.");
                 }
                 try {
                     try (InputStream error = connection.getErrorStream()) {
                         if (error != null) {
-                            Object loadedObject = yaml.load(error);
+                            byte[] errorBody = StreamUtil.readStream(error);
+                            Object loadedObject;
+                            synchronized (yaml) {
+                                loadedObject = yaml.load(new ByteArrayInputStream(errorBody));
+                            }
                             if (loadedObject instanceof Map) {
                                 final Map errorDetails = (Map)loadedObject;
 
@@ -231,6 +251,17 @@ class HttpClient {
         }
     }
 
+    private void drain(InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try (InputStream input = stream) {
+            StreamUtil.readStream(input);
+        } catch (IOException e) {
+            //the connection is just not reused
+        }
+    }
+
     public String getHubUrl() {
         return HubConfiguration.LIQUIBASE_HUB_URL.getCurrentValue();
     }
@@ -8,6 +8,7 @@ import liquibase.changelog.visitor.AbstractChangeExecListener;
 import liquibase.changelog.visitor.ChangeExecListener;
 import liquibase.changelog.visitor.ChangeLogSyncListener;
 import liquibase.hub.HubConfiguration;
+import liquibase.hub.HubEventSender;
 import liquibase.database.Database;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.PreconditionErrorException;
@@ -31,6 +32,7 @@ import liquibase.util.StringUtil;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 public class HubChangeExecListener extends AbstractChangeExecListener
@@ -41,10 +43,15 @@ public class HubChangeExecListener extends AbstractChangeExecListener
 
     private final Map<ChangeSet, Date> startDateMap = new HashMap<>();
 
+    /**
+     * Hub changelogs already looked up, by changelog ID
+     */
+    private final Map<String, HubChangeLog> hubChangeLogs = new HashMap<>();
+
     private String rollbackScriptContents;
 
-    private int postCount;
-    private int failedToPostCount;
+    private final AtomicInteger postCount = new AtomicInteger();
+    private final AtomicInteger failedToPostCount = new AtomicInteger();
 
     private ChangeExecListener changeExecListener;
 
@@ -57,12 +64,15 @@ public class HubChangeExecListener extends AbstractChangeExecListener
         this.rollbackScriptContents = rollbackScriptContents;
     }
 
+    /**
+     * Returns the number of events sent to Hub so far. Events may still be queued until the operation is completed.
+     */
     public int getPostCount() {
-        return postCount;
+        return postCount.get();
     }
 
     public int getFailedToPostCount() {
-        return failedToPostCount;
+        return failedToPostCount.get();
     }
 
     @Override
@@ -205,17 +215,9 @@ public class HubChangeExecListener extends AbstractChangeExecListener
             }
             return;
         }
-        HubChangeLog hubChangeLog;
         final HubService hubService = Scope.getCurrentScope().getSingleton(HubServiceFactory.class).getService();
-        try {
-            hubChangeLog = hubService.getHubChangeLog(UUID.fromString(databaseChangeLog.getChangeLogId()));
-            if (hubChangeLog == null) {
-                logger.warning("The changelog '" + databaseChangeLog.getPhysicalFilePath() + "' has not been registered with Hub");
-                return;
-            }
-        }
-        catch (LiquibaseHubException lhe) {
-            logger.warning("The changelog '" + databaseChangeLog.getPhysicalFilePath() + "' has not been registered with Hub");
+        HubChangeLog hubChangeLog = getHubChangeLog(hubService, databaseChangeLog);
+        if (hubChangeLog == null) {
             return;
         }
 
@@ -298,15 +300,48 @@ public class HubChangeExecListener extends AbstractChangeExecListener
         operationChangeEvent.setProject(hubChangeLog.getProject());
         operationChangeEvent.setOperation(operation);
 
+        sendOperationChangeEvent(hubService, operationChangeEvent, changeSet);
+    }
+
+    //
+    // Look up the Hub changelog once per changelog rather than for every changeset
+    //
+    private HubChangeLog getHubChangeLog(HubService hubService, DatabaseChangeLog databaseChangeLog) {
+        HubChangeLog hubChangeLog = hubChangeLogs.get(databaseChangeLog.getChangeLogId());
+        if (hubChangeLog != null) {
+            return hubChangeLog;
+        }
         try {
-            hubService.sendOperationChangeEvent(operationChangeEvent);
-            postCount++;
+            hubChangeLog = hubService.getHubChangeLog(UUID.fromString(databaseChangeLog.getChangeLogId()));
         }
-        catch (LiquibaseException lbe) {
-            logger.warning(lbe.getMessage(), lbe);
-            logger.warning("Unable to send Operation Change Event for operation '" + operation.getId().toString() +
-                    " changeset '" + changeSet.toString(false));
+        catch (LiquibaseHubException lhe) {
+            hubChangeLog = null;
         }
+        if (hubChangeLog == null) {
+            logger.warning("The changelog '" + databaseChangeLog.getPhysicalFilePath() + "' has not been registered with Hub");
+            return null;
+        }
+        hubChangeLogs.put(databaseChangeLog.getChangeLogId(), hubChangeLog);
+        return hubChangeLog;
+    }
+
+    //
+    // Queue the event to be sent in the background, so the next changeset does not wait for Hub
+    //
+    private void sendOperationChangeEvent(HubService hubService, OperationChangeEvent operationChangeEvent, ChangeSet changeSet) {
+        final String changeSetDescription = changeSet.toString(false);
+        Scope.getCurrentScope().getSingleton(HubEventSender.class).submit(operation, () -> {
+            try {
+                hubService.sendOperationChangeEvent(operationChangeEvent);
+                postCount.incrementAndGet();
+            }
+            catch (LiquibaseException lbe) {
+                logger.warning(lbe.getMessage(), lbe);
+                logger.warning("Unable to send Operation Change Event for operation '" + operation.getId().toString() +
+                        " changeset '" + changeSetDescription);
+                failedToPostCount.incrementAndGet();
+            }
+        });
     }
 
     private String getCurrentLog() {
@@ -355,17 +390,9 @@ public class HubChangeExecListener extends AbstractChangeExecListener
             }
             return;
         }
-        HubChangeLog hubChangeLog;
         final HubService hubService = Scope.getCurrentScope().getSingleton(HubServiceFactory.class).getService();
-        try {
-            hubChangeLog = hubService.getHubChangeLog(UUID.fromString(databaseChangeLog.getChangeLogId()));
-            if (hubChangeLog == null) {
-                logger.warning("The changelog '" + databaseChangeLog.getPhysicalFilePath() + "' has not been registered with Hub");
-                return;
-            }
-        }
-        catch (LiquibaseHubException lhe) {
-            logger.warning("The changelog '" + databaseChangeLog.getPhysicalFilePath() + "' has not been registered with Hub");
+        HubChangeLog hubChangeLog = getHubChangeLog(hubService, databaseChangeLog);
+        if (hubChangeLog == null) {
             return;
         }
 
@@ -436,15 +463,6 @@ public class HubChangeExecListener extends AbstractChangeExecListener
 
         operationChangeEvent.setProject(hubChangeLog.getProject());
         operationChangeEvent.setOperation(operation);
-        try {
-            hubService.sendOperationChangeEvent(operationChangeEvent);
-            postCount++;
-        }
-        catch (LiquibaseException lbe) {
-            logger.warning(lbe.getMessage(), lbe);
-            logger.warning("Unable to send Operation Change Event for operation '" + operation.getId().toString() +
-                    " changeset '" + changeSet.toString(false));
-            failedToPostCount++;
-        }
+        sendOperationChangeEvent(hubService, operationChangeEvent, changeSet);
     }
 }
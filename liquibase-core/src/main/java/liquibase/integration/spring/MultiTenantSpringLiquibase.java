@@ -4,8 +4,11 @@
 package liquibase.integration.spring;
 
 import liquibase.Scope;
+import liquibase.SingletonScopeManager;
+import liquibase.ThreadLocalScopeManager;
 import liquibase.exception.LiquibaseException;
 import liquibase.logging.Logger;
+import liquibase.parser.ParsedChangeLogCache;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.core.io.ResourceLoader;
@@ -16,6 +19,11 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A wrapper of Liquibase suitable in multi-tenant environments where multiple
@@ -36,6 +44,9 @@ import java.util.Map;
  * &lt;/bean&gt;
  * </pre>
  * 
+ * Changelog files are only parsed once for all tenants. Set {@link #setParallelism(int)} to migrate several tenants
+ * at the same time, and {@link #setFailFast(boolean)} to choose what happens to the other tenants when one fails.
+ * 
  * @see SpringLiquibase
  * 
  * @author ladislav.gazo
@@ -76,6 +87,12 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
     private boolean shouldRun = true;
 
     private File rollbackFile;
+
+	/** Defines how many tenants are migrated at the same time. */
+	private int parallelism = 1;
+
+	/** Defines whether tenants not started yet are skipped once a tenant fails. */
+	private boolean failFast = true;
 	
 
 	@Override
@@ -131,32 +148,127 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
 	}
 
 	private void runOnAllDataSources() throws LiquibaseException {
-		Logger log = Scope.getCurrentScope().getLog(getClass());
-
+		List<TenantMigration> migrations = new ArrayList<>();
 		for(DataSource aDataSource : dataSources) {
-            log.info("Initializing Liquibase for data source " + aDataSource);
-            SpringLiquibase liquibase = getSpringLiquibase(aDataSource);
-			liquibase.afterPropertiesSet();
-            log.info("Liquibase ran for data source " + aDataSource);
-        }
+			migrations.add(new TenantMigration("data source " + aDataSource, getSpringLiquibase(aDataSource)));
+		}
+		runMigrations(migrations);
 	}
 	
 	private void runOnAllSchemas() throws LiquibaseException {
-		Logger log = Scope.getCurrentScope().getLog(getClass());
-
+		List<TenantMigration> migrations = new ArrayList<>();
 		for(String schema : schemas) {
 			if("default".equals(schema)) {
 				schema = null;
 			}
-            log.info("Initializing Liquibase for schema " + schema);
-            SpringLiquibase liquibase = getSpringLiquibase(dataSource);
+			SpringLiquibase liquibase = getSpringLiquibase(dataSource);
 			liquibase.setDefaultSchema(schema);
-			liquibase.afterPropertiesSet();
-            log.info("Liquibase ran for schema " + schema);
-        }
+			migrations.add(new TenantMigration("schema " + schema, liquibase));
+		}
+		runMigrations(migrations);
+	}
+
+	private void runMigrations(List<TenantMigration> migrations) throws LiquibaseException {
+		Logger log = Scope.getCurrentScope().getLog(getClass());
+
+		int maxThreads = Math.max(1, Math.min(parallelism, migrations.size()));
+		if ((maxThreads > 1) && !(Scope.getScopeManager() instanceof ThreadLocalScopeManager)) {
+			//the scopes of the tenants would get mixed up, and the scope manager is shared with the rest of the application
+			log.warning("Migrating tenants one at a time: a parallelism of " + parallelism + " needs the application to call "
+					+ "Scope.setScopeManager(new ThreadLocalScopeManager()) before Liquibase runs, but the scope manager is "
+					+ Scope.getScopeManager().getClass().getName());
+			maxThreads = 1;
+		}
+		int threads = maxThreads;
+
+		long started = System.currentTimeMillis();
+		try {
+			Scope.child(ParsedChangeLogCache.SHARED_CACHE_SCOPE_KEY, ParsedChangeLogCache.createShared(), () -> {
+				if (threads == 1) {
+					for (TenantMigration migration : migrations) {
+						migration.run();
+						if (failFast && (migration.failure != null)) {
+							break;
+						}
+					}
+				} else {
+					runConcurrently(migrations, threads);
+				}
+			});
+		} catch (LiquibaseException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new LiquibaseException(e);
+		}
+
+		int ran = 0;
+		List<TenantMigration> failed = new ArrayList<>();
+		for (TenantMigration migration : migrations) {
+			if (migration.ran) {
+				ran++;
+			}
+			if (migration.failure != null) {
+				failed.add(migration);
+			}
+		}
+		log.info("Liquibase ran for " + ran + " of " + migrations.size() + " tenants in " + (System.currentTimeMillis() - started) + "ms"
+				+ (failed.isEmpty() ? "" : ", " + failed.size() + " failed"));
+
+		if (failed.isEmpty()) {
+			return;
+		}
+		Exception firstFailure = failed.get(0).failure;
+		if (failed.size() == 1) {
+			if (firstFailure instanceof LiquibaseException) {
+				throw (LiquibaseException) firstFailure;
+			}
+			if (firstFailure instanceof RuntimeException) {
+				throw (RuntimeException) firstFailure;
+			}
+		}
+		StringBuilder message = new StringBuilder("Liquibase failed for " + failed.size() + " of " + migrations.size() + " tenants:");
+		for (TenantMigration migration : failed) {
+			message.append(System.lineSeparator()).append("  ").append(migration.tenant).append(": ").append(migration.failure.getMessage());
+		}
+		LiquibaseException exception = new LiquibaseException(message.toString(), firstFailure);
+		for (TenantMigration migration : failed.subList(1, failed.size())) {
+			exception.addSuppressed(migration.failure);
+		}
+		throw exception;
+	}
+
+	private void runConcurrently(List<TenantMigration> migrations, int threads) throws LiquibaseException {
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "liquibase-tenant-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			Scope scope = Scope.getCurrentScope();
+			AtomicBoolean stopped = new AtomicBoolean();
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (TenantMigration migration : migrations) {
+				tasks.add(scope.wrap(() -> {
+					if (!stopped.get()) {
+						migration.run();
+						if (failFast && (migration.failure != null)) {
+							stopped.set(true);
+						}
+					}
+					return null;
+				}));
+			}
+			executor.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new LiquibaseException("Interrupted while running Liquibase for all tenants", e);
+		} finally {
+			executor.shutdownNow();
+		}
 	}
 
-	private SpringLiquibase getSpringLiquibase(DataSource dataSource) {
+	protected SpringLiquibase getSpringLiquibase(DataSource dataSource) {
 		SpringLiquibase liquibase = new SpringLiquibase();
 		liquibase.setChangeLog(changeLog);
 		liquibase.setChangeLogParameters(parameters);
@@ -309,5 +421,65 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
 		this.dataSource = dataSource;
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets how many tenants are migrated at the same time. Defaults to 1, which migrates them one after another.
+	 * Each concurrent migration uses its own connection.
+	 * <p>
+	 * Values above 1 need a {@link ThreadLocalScopeManager}, which the application has to set with
+	 * {@link Scope#setScopeManager(liquibase.ScopeManager)} before Liquibase runs. With any other scope manager,
+	 * such as the default {@link SingletonScopeManager}, a warning is logged and the tenants are migrated one after another.
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public boolean isFailFast() {
+		return failFast;
+	}
+
+	/**
+	 * When true, which is the default, no more tenants are started once a tenant fails, and migrations already
+	 * running are allowed to finish. When false, all tenants are migrated.
+	 * Either way, failures are reported together once all started migrations are done.
+	 */
+	public void setFailFast(boolean failFast) {
+		this.failFast = failFast;
+	}
+
+	/**
+	 * A {@link SpringLiquibase} run for one tenant, with its outcome.
+	 */
+	private static class TenantMigration {
+		private final String tenant;
+		private final SpringLiquibase liquibase;
+		private boolean ran;
+		private Exception failure;
+
+		private TenantMigration(String tenant, SpringLiquibase liquibase) {
+			this.tenant = tenant;
+			this.liquibase = liquibase;
+		}
+
+		private void run() {
+			Logger log = Scope.getCurrentScope().getLog(MultiTenantSpringLiquibase.class);
+
+			log.info("Initializing Liquibase for " + tenant);
+			long started = System.currentTimeMillis();
+			try {
+				liquibase.afterPropertiesSet();
+				log.info("Liquibase ran for " + tenant + " in " + (System.currentTimeMillis() - started) + "ms");
+			} catch (Exception e) {
+				failure = e;
+				log.severe("Liquibase failed for " + tenant + " after " + (System.currentTimeMillis() - started) + "ms: " + e.getMessage(), e);
+			} finally {
+				ran = true;
+			}
+		}
+	}
+
 	
 }
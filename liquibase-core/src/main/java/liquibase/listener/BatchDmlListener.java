@@ -0,0 +1,31 @@
+package liquibase.listener;
+
+/**
+ * Liquibase listener for JDBC batches of data modifying statements, such as the inserts of loadData.
+ */
+public class BatchDmlListener implements LiquibaseListener {
+
+    /**
+     * Called after a batch was sent to the database.
+     *
+     * @param tableName      the table the batch was executed against
+     * @param rowCount       the number of rows in the batch
+     * @param updateCount    the sum of the update counts reported by the database. Rows the database did not report a count for are not included.
+     * @param durationMillis how long the database took to execute the batch
+     */
+    @SuppressWarnings("unused")
+    public void batchExecuted(String tableName, int rowCount, long updateCount, long durationMillis) {
+
+    }
+
+    /**
+     * Called after the rows executed so far were committed before the end of the changeset, because of a commit interval.
+     *
+     * @param tableName the table the rows were executed against
+     * @param rowCount  the number of rows executed against the table so far
+     */
+    @SuppressWarnings("unused")
+    public void batchesCommitted(String tableName, long rowCount) {
+
+    }
+}
@@ -0,0 +1,128 @@
+package liquibase.lockservice;
+
+import liquibase.Scope;
+import liquibase.GlobalConfiguration;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LockException;
+import liquibase.executor.Executor;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.LoggingExecutor;
+
+/**
+ * Base class for {@link LockWaitStrategy}s which use a lock of the database itself, held by the process which holds the
+ * changelog lock. Waiting processes block on that lock and wake up as soon as the holder releases it, instead of
+ * polling the DATABASECHANGELOGLOCK table.
+ * <p>
+ * When nobody holds the database lock even though the table is locked, for example because the holder runs an older
+ * version of Liquibase or died without releasing the table, this falls back to the polling of {@link BackoffLockWaitStrategy}.
+ */
+public abstract class AbstractNativeLockWaitStrategy extends BackoffLockWaitStrategy {
+
+    /**
+     * How long the process which got the changelog lock waits for the database lock, which other processes only hold
+     * for a moment while they wake up.
+     */
+    private static final long ACQUIRE_TIMEOUT_MILLIS = 1000;
+
+    /**
+     * Returns true if this strategy applies to the given database, not taking the configuration into account.
+     */
+    protected abstract boolean supports(Database database);
+
+    /**
+     * Takes the database lock if nobody holds it.
+     */
+    protected abstract boolean tryLock(Database database, Executor executor) throws DatabaseException;
+
+    /**
+     * Takes the database lock, waiting at most the given time for it.
+     */
+    protected abstract boolean lock(Database database, Executor executor, long timeoutMillis) throws DatabaseException;
+
+    protected abstract void unlock(Database database, Executor executor) throws DatabaseException;
+
+    /**
+     * Returns a name for the database lock which is the same for everybody who uses the same changelog lock table.
+     */
+    protected String getLockName(Database database) {
+        return "liquibase:" + database.escapeTableName(database.getLiquibaseCatalogName(),
+                database.getLiquibaseSchemaName(), database.getDatabaseChangeLogLockTableName());
+    }
+
+    @Override
+    public int getPriority(Database database) {
+        if (supports(database) && GlobalConfiguration.CHANGELOGLOCK_NATIVE_WAIT.getCurrentValue()) {
+            return PRIORITY_SPECIALIZED;
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public boolean lockAcquired(Database database) throws LockException {
+        Executor executor = getExecutor(database);
+        if (executor == null) {
+            return false;
+        }
+        try {
+            return lock(database, executor, ACQUIRE_TIMEOUT_MILLIS);
+        } catch (DatabaseException e) {
+            handleError(database, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void lockReleased(Database database) throws LockException {
+        Executor executor = getExecutor(database);
+        if (executor == null) {
+            return;
+        }
+        try {
+            unlock(database, executor);
+        } catch (DatabaseException e) {
+            handleError(database, e);
+        }
+    }
+
+    @Override
+    public void waitForRetry(Database database, int attempt, long waitUntil) throws LockException {
+        Executor executor = getExecutor(database);
+        if (executor != null) {
+            try {
+                if (tryLock(database, executor)) {
+                    // nobody holds the database lock, so there is nothing to wait for
+                    unlock(database, executor);
+                } else {
+                    long timeout = waitUntil - getClock().millis();
+                    if ((timeout > 0) && lock(database, executor, timeout)) {
+                        // the holder released it: give it straight back so other waiters wake up as well
+                        unlock(database, executor);
+                    }
+                    return;
+                }
+            } catch (DatabaseException e) {
+                handleError(database, e);
+            }
+        }
+        super.waitForRetry(database, attempt, waitUntil);
+    }
+
+    private Executor getExecutor(Database database) {
+        Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+        if (executor instanceof LoggingExecutor) {
+            // only generating sql, no other process to wait for
+            return null;
+        }
+        return executor;
+    }
+
+    private void handleError(Database database, DatabaseException e) {
+        Scope.getCurrentScope().getLog(getClass()).fine("Cannot use the database lock " + getLockName(database) + ": " + e.getMessage(), e);
+        try {
+            database.rollback();
+        } catch (DatabaseException ignored) {
+            // the connection is unusable anyway
+        }
+    }
+}
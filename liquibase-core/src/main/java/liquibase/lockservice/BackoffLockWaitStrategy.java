@@ -0,0 +1,67 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.exception.LockException;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default {@link LockWaitStrategy}, which sleeps between attempts. The sleep starts short and doubles with every
+ * attempt, up to the time until the next required check, with random jitter so processes which started waiting
+ * together do not check at the same moments.
+ */
+public class BackoffLockWaitStrategy implements LockWaitStrategy {
+
+    private static final long INITIAL_INTERVAL_MILLIS = 100;
+
+    private final Clock clock;
+
+    public BackoffLockWaitStrategy() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * @param clock the clock the <code>waitUntil</code> time of {@link #waitForRetry(Database, int, long)} is compared with
+     */
+    protected BackoffLockWaitStrategy(Clock clock) {
+        this.clock = clock;
+    }
+
+    protected Clock getClock() {
+        return clock;
+    }
+
+    @Override
+    public int getPriority(Database database) {
+        return PRIORITY_DEFAULT;
+    }
+
+    @Override
+    public boolean lockAcquired(Database database) throws LockException {
+        return false;
+    }
+
+    @Override
+    public void lockReleased(Database database) throws LockException {
+    }
+
+    @Override
+    public void waitForRetry(Database database, int attempt, long waitUntil) throws LockException {
+        long remaining = waitUntil - clock.millis();
+        if (remaining <= 0) {
+            return;
+        }
+        long interval = Math.min(remaining, INITIAL_INTERVAL_MILLIS << Math.min(Math.max(attempt - 1, 0), 20));
+        try {
+            sleep(ThreadLocalRandom.current().nextLong((interval / 2), interval + 1));
+        } catch (InterruptedException e) {
+            // Restore thread interrupt status
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+}
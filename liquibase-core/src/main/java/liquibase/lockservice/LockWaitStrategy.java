@@ -0,0 +1,42 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.exception.LockException;
+import liquibase.plugin.Plugin;
+
+/**
+ * Decides how {@link StandardLockService#waitForLock()} waits between attempts to acquire the changelog lock.
+ * The DATABASECHANGELOGLOCK table always stays the actual lock; a strategy only shortens the time it takes
+ * a waiting process to notice that the lock was released, for example by blocking on a lock of the database
+ * which the holder keeps while it holds the changelog lock.
+ * <p>
+ * Implementations are looked up with {@link LockWaitStrategyFactory} and must not keep state per database.
+ */
+public interface LockWaitStrategy extends Plugin {
+
+    /**
+     * Priority of this strategy for the given database, or {@link #PRIORITY_NOT_APPLICABLE} if it cannot be used with it.
+     * The strategy with the highest priority is used.
+     */
+    int getPriority(Database database);
+
+    /**
+     * Called after the changelog lock was acquired.
+     *
+     * @return true if the strategy took a lock of its own, which must be given back with {@link #lockReleased(Database)}
+     */
+    boolean lockAcquired(Database database) throws LockException;
+
+    /**
+     * Called after the changelog lock was released, if {@link #lockAcquired(Database)} returned true.
+     */
+    void lockReleased(Database database) throws LockException;
+
+    /**
+     * Waits until the changelog lock may be free again, but not longer than until the given time.
+     *
+     * @param attempt      number of failed attempts to acquire the lock so far, starting with 1
+     * @param waitUntil    time in milliseconds since the epoch after which this method must return
+     */
+    void waitForRetry(Database database, int attempt, long waitUntil) throws LockException;
+}
@@ -0,0 +1,27 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.plugin.AbstractPluginFactory;
+
+/**
+ * Singleton for finding the {@link LockWaitStrategy} of a database.
+ */
+public class LockWaitStrategyFactory extends AbstractPluginFactory<LockWaitStrategy> {
+
+    private LockWaitStrategyFactory() {
+    }
+
+    @Override
+    protected Class<LockWaitStrategy> getPluginClass() {
+        return LockWaitStrategy.class;
+    }
+
+    @Override
+    protected int getPriority(LockWaitStrategy obj, Object... args) {
+        return obj.getPriority((Database) args[0]);
+    }
+
+    public LockWaitStrategy getStrategy(Database database) {
+        return getPlugin(database);
+    }
+}
@@ -0,0 +1,53 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.Executor;
+import liquibase.statement.core.RawSqlStatement;
+
+/**
+ * Waits for the changelog lock on MySQL and MariaDB with a named lock, see GET_LOCK.
+ */
+public class MySQLNamedLockWaitStrategy extends AbstractNativeLockWaitStrategy {
+
+    /**
+     * Longest name GET_LOCK accepts.
+     */
+    private static final int MAX_LOCK_NAME_LENGTH = 64;
+
+    @Override
+    protected boolean supports(Database database) {
+        return database instanceof MySQLDatabase;
+    }
+
+    @Override
+    protected String getLockName(Database database) {
+        String name = super.getLockName(database);
+        if (name.length() > MAX_LOCK_NAME_LENGTH) {
+            name = "liquibase:" + Integer.toHexString(name.hashCode());
+        }
+        return name;
+    }
+
+    private String getQuotedLockName(Database database) {
+        return "'" + database.escapeStringForDatabase(getLockName(database)) + "'";
+    }
+
+    @Override
+    protected boolean tryLock(Database database, Executor executor) throws DatabaseException {
+        return lock(database, executor, 0);
+    }
+
+    @Override
+    protected boolean lock(Database database, Executor executor, long timeoutMillis) throws DatabaseException {
+        long timeoutSeconds = (timeoutMillis + 999) / 1000;
+        Integer result = executor.queryForObject(new RawSqlStatement("SELECT GET_LOCK(" + getQuotedLockName(database) + ", " + timeoutSeconds + ")"), Integer.class);
+        return (result != null) && (result == 1);
+    }
+
+    @Override
+    protected void unlock(Database database, Executor executor) throws DatabaseException {
+        executor.queryForObject(new RawSqlStatement("SELECT RELEASE_LOCK(" + getQuotedLockName(database) + ")"), Integer.class);
+    }
+}
@@ -0,0 +1,65 @@
+package liquibase.lockservice;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.Executor;
+import liquibase.statement.core.RawSqlStatement;
+
+/**
+ * Waits for the changelog lock on PostgreSQL with a session level advisory lock, see pg_advisory_lock.
+ * The wait is limited with lock_timeout, which is restored afterwards.
+ * <p>
+ * The lock uses the two key form of the advisory lock functions, with {@link #LOCK_CLASS_ID} as the first key
+ * and a hash of the lock name as the second. PostgreSQL keeps two key locks apart from single bigint key locks,
+ * so the lock cannot collide with advisory locks of an application which uses bigint keys.
+ * <p>
+ * Session level advisory locks do not work reliably behind connection poolers in transaction mode,
+ * in which case set changelogLockNativeWait to false.
+ */
+public class PostgresAdvisoryLockWaitStrategy extends AbstractNativeLockWaitStrategy {
+
+    /**
+     * First key of the advisory lock, the same for every changelog lock. The ASCII codes of "LQBS".
+     */
+    static final int LOCK_CLASS_ID = 0x4C514253;
+
+    @Override
+    protected boolean supports(Database database) {
+        return database instanceof PostgresDatabase;
+    }
+
+    /**
+     * Returns the arguments of the advisory lock functions for the changelog lock of the given database.
+     */
+    private String getLockKeys(Database database) {
+        return LOCK_CLASS_ID + ", " + getLockName(database).hashCode();
+    }
+
+    @Override
+    protected boolean tryLock(Database database, Executor executor) throws DatabaseException {
+        return Boolean.TRUE.equals(executor.queryForObject(new RawSqlStatement("SELECT pg_try_advisory_lock(" + getLockKeys(database) + ")"), Boolean.class));
+    }
+
+    @Override
+    protected boolean lock(Database database, Executor executor, long timeoutMillis) throws DatabaseException {
+        String previousTimeout = executor.queryForObject(new RawSqlStatement("SELECT current_setting('lock_timeout')"), String.class);
+        boolean locked = false;
+        try {
+            executor.queryForObject(new RawSqlStatement("SELECT set_config('lock_timeout', '" + Math.max(timeoutMillis, 1) + "ms', false)"), String.class);
+            executor.queryForObject(new RawSqlStatement("SELECT 1 FROM pg_advisory_lock(" + getLockKeys(database) + ")"), Integer.class);
+            locked = true;
+        } catch (DatabaseException e) {
+            // lock_timeout was reached, which aborts the current transaction
+            database.rollback();
+        } finally {
+            executor.queryForObject(new RawSqlStatement("SELECT set_config('lock_timeout', '" + previousTimeout.replace("'", "''") + "', false)"), String.class);
+        }
+        return locked;
+    }
+
+    @Override
+    protected void unlock(Database database, Executor executor) throws DatabaseException {
+        executor.queryForObject(new RawSqlStatement("SELECT pg_advisory_unlock(" + getLockKeys(database) + ")"), Boolean.class);
+    }
+}
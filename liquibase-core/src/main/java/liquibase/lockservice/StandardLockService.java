@@ -51,6 +51,11 @@ public class StandardLockService implements LockService {
     protected ObjectQuotingStrategy quotingStrategy;
     protected final SecureRandom random = new SecureRandom();
 
+    /**
+     * True while the {@link LockWaitStrategy} holds a lock of its own next to the changelog lock.
+     */
+    protected boolean hasWaitStrategyLock;
+
 
     public StandardLockService() {
     }
@@ -238,21 +243,29 @@ public class StandardLockService implements LockService {
         return hasDatabaseChangeLogLockTable(false);
     }
 
+    /**
+     * Returns the {@link LockWaitStrategy} to use for the database.
+     */
+    protected LockWaitStrategy getLockWaitStrategy() {
+        return Scope.getCurrentScope().getSingleton(LockWaitStrategyFactory.class).getStrategy(database);
+    }
+
     @Override
     public void waitForLock() throws LockException {
 
         boolean locked = false;
         long timeToGiveUp = new Date().getTime() + (getChangeLogLockWaitTime() * 1000 * 60);
+        LockWaitStrategy waitStrategy = getLockWaitStrategy();
+        int attempt = 0;
         while (!locked && (new Date().getTime() < timeToGiveUp)) {
             locked = acquireLock();
             if (!locked) {
-                Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
-                try {
-                    Thread.sleep(getChangeLogLockRecheckTime() * 1000);
-                } catch (InterruptedException e) {
-                    // Restore thread interrupt status
-                    Thread.currentThread().interrupt();
+                attempt++;
+                if (attempt == 1) {
+                    Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
                 }
+                long nextCheck = new Date().getTime() + (getChangeLogLockRecheckTime() * 1000);
+                waitStrategy.waitForRetry(database, attempt, Math.min(nextCheck, timeToGiveUp));
             }
         }
 
@@ -321,6 +334,7 @@ public class StandardLockService implements LockService {
                 Scope.getCurrentScope().getLog(getClass()).info(coreBundle.getString("successfully.acquired.change.log.lock"));
 
                 hasChangeLogLock = true;
+                hasWaitStrategyLock = getLockWaitStrategy().lockAcquired(database);
 
                 database.setCanCacheLiquibaseTableInfo(true);
                 return true;
@@ -393,6 +407,10 @@ public class StandardLockService implements LockService {
         } finally {
             try {
                 hasChangeLogLock = false;
+                if (hasWaitStrategyLock) {
+                    hasWaitStrategyLock = false;
+                    getLockWaitStrategy().lockReleased(database);
+                }
 
                 database.setCanCacheLiquibaseTableInfo(false);
                 Scope.getCurrentScope().getLog(getClass()).info("Successfully released change log lock");
@@ -20,6 +20,14 @@ public interface Logger extends ExtensibleObject, AutoCloseable {
      */
     void log(Level level, String message, Throwable e);
 
+    /**
+     * Returns false if messages at the given level would be discarded, so callers can skip building expensive messages.
+     * The default implementation returns true.
+     */
+    default boolean isLoggable(Level level) {
+        return true;
+    }
+
 
     /**
      * Log that a severe error that occurred.
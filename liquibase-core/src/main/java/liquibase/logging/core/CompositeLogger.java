@@ -40,4 +40,17 @@ public class CompositeLogger extends AbstractLogger {
         }
 
     }
+
+    @Override
+    public boolean isLoggable(Level level) {
+        if (level == Level.OFF) {
+            return false;
+        }
+        for (Logger logger : loggers) {
+            if (logger.isLoggable(level)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -35,4 +35,9 @@ public class JavaLogger extends AbstractLogger {
         }
         logger.logp(level, className, null, message, e);
     }
+
+    @Override
+    public boolean isLoggable(Level level) {
+        return !level.equals(Level.OFF) && logger.isLoggable(level);
+    }
 }
@@ -14,6 +14,8 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<MissingPropertyMode> MISSING_PROPERTY_MODE;
 
     public static final ConfigurationDefinition<ChangelogParseMode> CHANGELOG_PARSE_MODE;
+    public static final ConfigurationDefinition<Integer> CHANGELOG_PARSE_THREADS;
+    public static final ConfigurationDefinition<String> CHANGELOG_PARSE_CACHE_DIRECTORY;
 
 
     static {
@@ -41,6 +43,15 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(ChangelogParseMode.STRICT)
                 .build();
 
+        CHANGELOG_PARSE_THREADS = builder.define("changelogParseThreads", Integer.class)
+                .setDescription("Number of threads used to read and parse files referenced by include and includeAll ahead of time. Changelog properties and changesets are still processed one file at a time in the same order as a serial parse. Values less than 2 parse each file only when it is included.")
+                .setDefaultValue(1)
+                .build();
+
+        CHANGELOG_PARSE_CACHE_DIRECTORY = builder.define("changelogParseCacheDirectory", String.class)
+                .setDescription("Directory to cache parsed changelog files in. Cached entries are keyed by the file content, so changed files are parsed again. Changelog properties are applied after the cached step. If not set, files are parsed every time.")
+                .build();
+
     }
 
     public enum MissingPropertyMode {
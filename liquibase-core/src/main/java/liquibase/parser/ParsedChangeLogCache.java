@@ -0,0 +1,457 @@
+package liquibase.parser;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.ChangeLogParseException;
+import liquibase.logging.Logger;
+import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.LiquibaseUtil;
+import liquibase.util.StreamUtil;
+import liquibase.util.StringUtil;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * On-disk cache of the results of {@link PreParsingChangeLogParser#preParse(String, ResourceAccessor)}.
+ * <p>
+ * Entries are keyed by the file path, a SHA-256 digest of the file content, the parser class, the Liquibase version and the
+ * settings which change how files are read, so a changed file or an upgraded Liquibase never sees an old entry.
+ * Changelog parameters are not part of the key because they are applied after the cached step.
+ * <p>
+ * Only the content of the file itself is part of the key, so nothing is cached when {@link GlobalConfiguration#SECURE_PARSING}
+ * is off and the parsed form could also depend on external entities or DTDs.
+ * <p>
+ * Entries are written in a small tagged binary format rather than with Java serialization so a cache directory shared between
+ * users cannot be used to instantiate arbitrary classes. Results containing values the format does not support are simply not cached.
+ * <p>
+ * A cache created with {@link #createShared()} also keeps its entries in memory, so several Liquibase runs in one JVM only pre-parse each file once.
+ *
+ * @see ChangeLogParserConfiguration#CHANGELOG_PARSE_CACHE_DIRECTORY
+ */
+public class ParsedChangeLogCache {
+
+    /**
+     * Scope key for a cache created with {@link #createShared()}. When set, it is used instead of {@link ChangeLogParserConfiguration#CHANGELOG_PARSE_CACHE_DIRECTORY}.
+     */
+    public static final String SHARED_CACHE_SCOPE_KEY = "ParsedChangeLogCache.shared";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_EXTENSION = ".parsed";
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_BIG_INTEGER = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_FLOAT = 7;
+    private static final byte TYPE_BIG_DECIMAL = 8;
+    private static final byte TYPE_DATE = 9;
+    private static final byte TYPE_BYTES = 10;
+    private static final byte TYPE_LIST = 11;
+    private static final byte TYPE_SET = 12;
+    private static final byte TYPE_MAP = 13;
+    private static final byte TYPE_PARSED_NODE = 14;
+
+    private final File directory;
+
+    /**
+     * Encoded entries by cache key, or null if entries are only kept on disk.
+     * Callers asking for a file another caller is pre-parsing wait for that result.
+     */
+    private final Map<String, FutureTask<byte[]>> memory;
+
+    public ParsedChangeLogCache(File directory) {
+        this(directory, false);
+    }
+
+    private ParsedChangeLogCache(File directory, boolean keepInMemory) {
+        this.directory = directory;
+        this.memory = keepInMemory ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Creates a cache which keeps its entries in memory as well as in {@link ChangeLogParserConfiguration#CHANGELOG_PARSE_CACHE_DIRECTORY}, if configured.
+     * Every caller gets its own copy of the pre-parsed form because loading it into a changelog modifies it.
+     * Runs use the cache when it is set in their scope under {@link #SHARED_CACHE_SCOPE_KEY}.
+     */
+    public static ParsedChangeLogCache createShared() {
+        return new ParsedChangeLogCache(getConfiguredDirectory(), true);
+    }
+
+    /**
+     * Returns the cache set under {@link #SHARED_CACHE_SCOPE_KEY}, otherwise the cache in {@link ChangeLogParserConfiguration#CHANGELOG_PARSE_CACHE_DIRECTORY}.
+     * Returns null if there is neither.
+     */
+    public static ParsedChangeLogCache getConfiguredCache() {
+        ParsedChangeLogCache sharedCache = Scope.getCurrentScope().get(SHARED_CACHE_SCOPE_KEY, ParsedChangeLogCache.class);
+        if (sharedCache != null) {
+            return sharedCache;
+        }
+        File directory = getConfiguredDirectory();
+        if (directory == null) {
+            return null;
+        }
+        return new ParsedChangeLogCache(directory);
+    }
+
+    private static File getConfiguredDirectory() {
+        String directory = StringUtil.trimToNull(ChangeLogParserConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.getCurrentValue());
+        if (directory == null) {
+            return null;
+        }
+        return new File(directory);
+    }
+
+    /**
+     * Parses the given file with the given parser, going through the configured cache if there is one and the parser supports it.
+     */
+    public static DatabaseChangeLog parse(ChangeLogParser parser, String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                          ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        ParsedChangeLogCache cache = getConfiguredCache();
+        if ((cache == null) || !(parser instanceof PreParsingChangeLogParser)) {
+            return parser.parse(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        }
+        return cache.parse((PreParsingChangeLogParser<?>) parser, physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+    }
+
+    private <T> DatabaseChangeLog parse(PreParsingChangeLogParser<T> parser, String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                        ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        return parser.parse(physicalChangeLogLocation, preParse(parser, physicalChangeLogLocation, resourceAccessor), changeLogParameters, resourceAccessor);
+    }
+
+    /**
+     * Returns the cached pre-parsed form of the given file if its content has not changed since it was cached.
+     * Otherwise pre-parses the file and stores the result. Problems reading or writing the cache are logged and otherwise ignored.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T preParse(PreParsingChangeLogParser<T> parser, String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        String key = getKey(parser, physicalChangeLogLocation, resourceAccessor);
+        if (key == null) {
+            return parser.preParse(physicalChangeLogLocation, resourceAccessor);
+        }
+        if (memory == null) {
+            return preParse(parser, physicalChangeLogLocation, resourceAccessor, key);
+        }
+
+        FutureTask<byte[]> newEntry = new FutureTask<>(() -> encode(key, preParse(parser, physicalChangeLogLocation, resourceAccessor, key), physicalChangeLogLocation));
+        FutureTask<byte[]> entry = memory.putIfAbsent(key, newEntry);
+        if (entry == null) {
+            entry = newEntry;
+            entry.run();
+        }
+
+        byte[] bytes;
+        try {
+            bytes = entry.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChangeLogParseException("Interrupted while parsing " + physicalChangeLogLocation, e);
+        } catch (ExecutionException e) {
+            //let the next caller try again
+            memory.remove(key, entry);
+            Throwable cause = e.getCause();
+            if (cause instanceof ChangeLogParseException) {
+                throw (ChangeLogParseException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ChangeLogParseException(cause);
+        }
+
+        if (bytes == null) {
+            return parser.preParse(physicalChangeLogLocation, resourceAccessor);
+        }
+        try {
+            return (T) decode(bytes, key);
+        } catch (IOException | ParsedNodeException e) {
+            throw new ChangeLogParseException("Cannot read parsed changelog cache entry for " + physicalChangeLogLocation + ": " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T preParse(PreParsingChangeLogParser<T> parser, String physicalChangeLogLocation, ResourceAccessor resourceAccessor, String key) throws ChangeLogParseException {
+        if (directory == null) {
+            return parser.preParse(physicalChangeLogLocation, resourceAccessor);
+        }
+        final Logger log = Scope.getCurrentScope().getLog(getClass());
+
+        File cacheFile = new File(directory, digest(key.getBytes(StandardCharsets.UTF_8)) + FILE_EXTENSION);
+        if (cacheFile.exists()) {
+            try {
+                T cached = (T) decode(Files.readAllBytes(cacheFile.toPath()), key);
+                log.fine("Using cached parse of " + physicalChangeLogLocation);
+                return cached;
+            } catch (IOException | ParsedNodeException | RuntimeException e) {
+                log.fine("Cannot read parsed changelog cache entry " + cacheFile.getAbsolutePath() + ": " + e.getMessage(), e);
+            }
+            cacheFile.delete();
+        }
+
+        T preParsed = parser.preParse(physicalChangeLogLocation, resourceAccessor);
+
+        byte[] bytes = encode(key, preParsed, physicalChangeLogLocation);
+        if (bytes != null) {
+            try {
+                write(cacheFile, bytes);
+            } catch (IOException e) {
+                log.fine("Cannot write parsed changelog cache entry " + cacheFile.getAbsolutePath() + ": " + e.getMessage(), e);
+            }
+        }
+        return preParsed;
+    }
+
+    /**
+     * Returns the cache entry for the given pre-parsed form, or null if the format does not support it.
+     */
+    private byte[] encode(String key, Object preParsed, String physicalChangeLogLocation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            writeString(output, key);
+            writeValue(output, preParsed);
+        } catch (IOException e) {
+            //only thrown for values the format does not support, as nothing else can fail when writing to memory
+            Scope.getCurrentScope().getLog(getClass()).fine("Not caching parse of " + physicalChangeLogLocation + ": " + e.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object decode(byte[] entry, String key) throws IOException, ParsedNodeException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(entry))) {
+            if ((input.readInt() != FORMAT_VERSION) || !key.equals(readString(input))) {
+                throw new IOException("Entry was written for a different file or format version");
+            }
+            return readValue(input);
+        }
+    }
+
+    /**
+     * Builds the full cache key, or returns null if the file must not be cached. That is the case when
+     * {@link GlobalConfiguration#SECURE_PARSING} is off, or when the file cannot be read, in which case the parser
+     * should report the problem.
+     */
+    private String getKey(ChangeLogParser parser, String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        if (!Boolean.TRUE.equals(GlobalConfiguration.SECURE_PARSING.getCurrentValue())) {
+            return null;
+        }
+        byte[] content;
+        try (InputStream stream = resourceAccessor.openStream(null, physicalChangeLogLocation)) {
+            if (stream == null) {
+                return null;
+            }
+            content = StreamUtil.readStream(stream);
+        } catch (IOException e) {
+            return null;
+        }
+        return physicalChangeLogLocation + "\n"
+                + digest(content) + "\n"
+                + parser.getClass().getName() + "\n"
+                + LiquibaseUtil.getBuildVersionInfo();
+    }
+
+    private void write(File cacheFile, byte[] bytes) throws IOException {
+        if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+            throw new IOException("Cannot create directory " + directory.getAbsolutePath());
+        }
+        File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", directory);
+        try {
+            Files.write(tempFile.toPath(), bytes);
+            try {
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    private static String digest(byte[] bytes) throws ChangeLogParseException {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new ChangeLogParseException(e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(TYPE_STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(TYPE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(TYPE_INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(TYPE_LONG);
+            output.writeLong((Long) value);
+        } else if (value.getClass() == BigInteger.class) {
+            output.writeByte(TYPE_BIG_INTEGER);
+            writeString(output, value.toString());
+        } else if (value instanceof Double) {
+            output.writeByte(TYPE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(TYPE_FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value.getClass() == BigDecimal.class) {
+            output.writeByte(TYPE_BIG_DECIMAL);
+            writeString(output, value.toString());
+        } else if (value.getClass() == Date.class) {
+            output.writeByte(TYPE_DATE);
+            output.writeLong(((Date) value).getTime());
+        } else if (value instanceof byte[]) {
+            output.writeByte(TYPE_BYTES);
+            output.writeInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else if (value instanceof List) {
+            output.writeByte(TYPE_LIST);
+            writeCollection(output, (List<?>) value);
+        } else if (value instanceof Set) {
+            output.writeByte(TYPE_SET);
+            writeCollection(output, (Set<?>) value);
+        } else if (value instanceof Map) {
+            output.writeByte(TYPE_MAP);
+            Map<?, ?> map = (Map<?, ?>) value;
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(output, entry.getKey());
+                writeValue(output, entry.getValue());
+            }
+        } else if (value.getClass() == ParsedNode.class) {
+            ParsedNode node = (ParsedNode) value;
+            Object nodeValue = node.getValue();
+            if ((nodeValue instanceof Map) || ((nodeValue instanceof Collection) && (((Collection<?>) nodeValue).size() < 2))) {
+                //ParsedNode.setValue would not restore these as they are
+                throw new UnsupportedValueException(nodeValue.getClass());
+            }
+            output.writeByte(TYPE_PARSED_NODE);
+            writeValue(output, node.getNamespace());
+            writeValue(output, node.getName());
+            writeValue(output, nodeValue);
+            writeCollection(output, node.getChildren());
+        } else {
+            throw new UnsupportedValueException(value.getClass());
+        }
+    }
+
+    private static void writeCollection(DataOutputStream output, Collection<?> collection) throws IOException {
+        output.writeInt(collection.size());
+        for (Object item : collection) {
+            writeValue(output, item);
+        }
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException, ParsedNodeException {
+        byte type = input.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(input);
+            case TYPE_BOOLEAN:
+                return input.readBoolean();
+            case TYPE_INTEGER:
+                return input.readInt();
+            case TYPE_LONG:
+                return input.readLong();
+            case TYPE_BIG_INTEGER:
+                return new BigInteger(readString(input));
+            case TYPE_DOUBLE:
+                return input.readDouble();
+            case TYPE_FLOAT:
+                return input.readFloat();
+            case TYPE_BIG_DECIMAL:
+                return new BigDecimal(readString(input));
+            case TYPE_DATE:
+                return new Date(input.readLong());
+            case TYPE_BYTES: {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return bytes;
+            }
+            case TYPE_LIST:
+                return readCollection(input, new ArrayList<>());
+            case TYPE_SET:
+                return readCollection(input, new LinkedHashSet<>());
+            case TYPE_MAP: {
+                int size = input.readInt();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(input), readValue(input));
+                }
+                return map;
+            }
+            case TYPE_PARSED_NODE: {
+                ParsedNode node = new ParsedNode((String) readValue(input), (String) readValue(input));
+                node.setValue(readValue(input));
+                int children = input.readInt();
+                for (int i = 0; i < children; i++) {
+                    node.addChild((ParsedNode) readValue(input));
+                }
+                return node;
+            }
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private static <T extends Collection<Object>> T readCollection(DataInputStream input, T collection) throws IOException, ParsedNodeException {
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(input));
+        }
+        return collection;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class UnsupportedValueException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private UnsupportedValueException(Class<?> type) {
+            super("Unsupported value type " + type.getName());
+        }
+    }
+}
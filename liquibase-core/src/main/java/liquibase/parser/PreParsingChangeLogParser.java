@@ -0,0 +1,35 @@
+package liquibase.parser;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.ChangeLogParseException;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * A {@link ChangeLogParser} which can split parsing into two steps:
+ * <ol>
+ *     <li>{@link #preParse(String, ResourceAccessor)} reads the file into an intermediate form. It must not use
+ *     changelog parameters or any other state shared between files, so it can run on any thread.</li>
+ *     <li>{@link #parse(String, Object, ChangeLogParameters, ResourceAccessor)} turns that form into a {@link DatabaseChangeLog},
+ *     applying changelog parameters. It is always called on the thread loading the changelog, in include order.</li>
+ * </ol>
+ * Used to parse included files concurrently when {@link ChangeLogParserConfiguration#CHANGELOG_PARSE_THREADS} is greater than one.
+ *
+ * @param <T> the intermediate form produced by {@link #preParse(String, ResourceAccessor)}
+ */
+public interface PreParsingChangeLogParser<T> extends ChangeLogParser {
+
+    /**
+     * Reads and parses the given file without applying changelog parameters.
+     *
+     * @throws ChangeLogParseException if the file cannot be read or parsed. The exception is reported when the file is included, as if it was thrown by {@link #parse(String, ChangeLogParameters, ResourceAccessor)}.
+     */
+    T preParse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException;
+
+    /**
+     * Completes parsing of a file previously passed to {@link #preParse(String, ResourceAccessor)}.
+     * Calling this method with the result of preParse must be equivalent to calling {@link #parse(String, ChangeLogParameters, ResourceAccessor)}.
+     */
+    DatabaseChangeLog parse(String physicalChangeLogLocation, T preParsed, ChangeLogParameters changeLogParameters,
+                            ResourceAccessor resourceAccessor) throws ChangeLogParseException;
+}
@@ -13,6 +13,14 @@ public abstract class AbstractChangeLogParser implements ChangeLogParser {
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
                                    ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         ParsedNode parsedNode = parseToNode(physicalChangeLogLocation, changeLogParameters, resourceAccessor);
+        return parse(physicalChangeLogLocation, parsedNode, changeLogParameters, resourceAccessor);
+    }
+
+    /**
+     * Builds the {@link DatabaseChangeLog} from a node returned by {@link #parseToNode(String, ChangeLogParameters, ResourceAccessor)}.
+     */
+    public DatabaseChangeLog parse(String physicalChangeLogLocation, ParsedNode parsedNode, ChangeLogParameters changeLogParameters,
+                                   ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         if (parsedNode == null) {
             return null;
         }
@@ -4,6 +4,7 @@ import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.changelog.ChangeLogParameters;
 import liquibase.exception.ChangeLogParseException;
+import liquibase.parser.PreParsingChangeLogParser;
 import liquibase.parser.core.ParsedNode;
 import liquibase.resource.ResourceAccessor;
 import liquibase.util.BomAwareInputStream;
@@ -17,7 +18,7 @@ import javax.xml.parsers.SAXParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
 
-public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
+public class XMLChangeLogSAXParser extends AbstractChangeLogParser implements PreParsingChangeLogParser<ParsedNode> {
 
     public static final String LIQUIBASE_SCHEMA_VERSION;
     private SAXParserFactory saxParserFactory;
@@ -67,10 +68,22 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
         resolver.setShouldWarnOnMismatchedXsdVersion(shouldWarnOnMismatchedXsdVersion);
     }
 
+    /**
+     * Parses the file into its {@link ParsedNode} tree. Changelog parameters are only applied when the tree is loaded, so none are needed here.
+     */
+    @Override
+    public ParsedNode preParse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        return parseToNode(physicalChangeLogLocation, null, resourceAccessor);
+    }
+
     @Override
     protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         try (InputStream inputStream = resourceAccessor.openStream(null, physicalChangeLogLocation)) {
-            SAXParser parser = saxParserFactory.newSAXParser();
+            SAXParser parser;
+            synchronized (saxParserFactory) {
+                //SAXParserFactory is not guaranteed to be thread-safe, and included files may be parsed concurrently
+                parser = saxParserFactory.newSAXParser();
+            }
             if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
                 try {
                     parser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https"); //need to allow external schemas on http/https to support the liquibase.org xsd files
@@ -6,7 +6,7 @@ import liquibase.changelog.ChangeLogParameters;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.exception.ChangeLogParseException;
 import liquibase.exception.LiquibaseException;
-import liquibase.parser.ChangeLogParser;
+import liquibase.parser.PreParsingChangeLogParser;
 import liquibase.parser.core.ParsedNode;
 import liquibase.resource.ResourceAccessor;
 import org.yaml.snakeyaml.Yaml;
@@ -16,10 +16,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 
-public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
+public class YamlChangeLogParser extends YamlParser implements PreParsingChangeLogParser<Map<String, Object>> {
 
     @Override
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        return parse(physicalChangeLogLocation, preParse(physicalChangeLogLocation, resourceAccessor), changeLogParameters, resourceAccessor);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> preParse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         Yaml yaml = new Yaml(new SafeConstructor());
 
         try (InputStream changeLogStream = resourceAccessor.openStream(null, physicalChangeLogLocation)) {
@@ -32,7 +38,17 @@ public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
             if ((parsedYaml == null) || parsedYaml.isEmpty()) {
                 throw new ChangeLogParseException("Empty file " + physicalChangeLogLocation);
             }
+            return (Map<String, Object>) parsedYaml;
+        } catch (ChangeLogParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ChangeLogParseException("Error parsing "+physicalChangeLogLocation, e);
+        }
+    }
 
+    @Override
+    public DatabaseChangeLog parse(String physicalChangeLogLocation, Map<String, Object> parsedYaml, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        try {
             DatabaseChangeLog changeLog = new DatabaseChangeLog(physicalChangeLogLocation);
 
             Object rootList = parsedYaml.get("databaseChangeLog");
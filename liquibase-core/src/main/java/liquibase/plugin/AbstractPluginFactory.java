@@ -3,10 +3,10 @@ package liquibase.plugin;
 import liquibase.Scope;
 import liquibase.servicelocator.ServiceLocator;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.ServiceLoader;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Convenience base class for all factories that find correct {@link Plugin} implementations.
@@ -86,7 +86,8 @@ public abstract class AbstractPluginFactory<T extends Plugin> implements PluginF
      */
     protected synchronized Collection<T> findAllInstances() {
         if (this.allInstances == null) {
-            this.allInstances = new ArrayList<>();
+            //copied on write, so the instances can be iterated on other threads while plugins are registered
+            this.allInstances = new CopyOnWriteArrayList<>();
 
             ServiceLocator serviceLocator = Scope.getCurrentScope().getServiceLocator();
             this.allInstances.addAll(serviceLocator.findInstances(getPluginClass()));
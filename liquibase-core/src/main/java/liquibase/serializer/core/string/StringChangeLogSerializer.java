@@ -10,6 +10,7 @@ import liquibase.util.StringUtil;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -40,11 +41,50 @@ public class StringChangeLogSerializer implements ChangeLogSerializer {
         return object.getSerializedObjectName() + ":" + serializeObject(object, 1);
     }
 
+    /**
+     * Writes the same text as {@link #serialize(LiquibaseSerializable, boolean)} to the given writer.
+     * The fields of nested objects are still serialized to strings so they can be sorted, but the complete text is never built,
+     * which avoids copying it when it is only used to compute a {@link liquibase.change.CheckSum}.
+     */
+    public void serialize(LiquibaseSerializable object, Writer writer) throws IOException {
+        writer.write(object.getSerializedObjectName());
+        writer.write(":");
+
+        SortedSet<String> values = serializeFields(object, 1);
+        Writer out = new NewlineStandardizingWriter(writer);
+        out.write("[");
+        if (!values.isEmpty()) {
+            out.write("\n");
+            boolean first = true;
+            for (String value : values) {
+                if (!first) {
+                    out.write("\n");
+                }
+                out.write(value);
+                first = false;
+            }
+            out.write("\n");
+        }
+        out.write("]");
+    }
+
     private String serializeObject(LiquibaseSerializable objectToSerialize, int indent) {
-        try {
-            StringBuilder buffer = new StringBuilder();
-            buffer.append("[");
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("[");
 
+        SortedSet<String> values = serializeFields(objectToSerialize, indent);
+
+        if (!values.isEmpty()) {
+            buffer.append("\n");
+            buffer.append(StringUtil.join(values, "\n"));
+            buffer.append("\n");
+        }
+        buffer.append(indent(indent - 1)).append("]");
+        return buffer.toString().replace("\r\n", "\n").replace("\r", "\n"); //standardize all newline chars
+    }
+
+    private SortedSet<String> serializeFields(LiquibaseSerializable objectToSerialize, int indent) {
+        try {
             SortedSet<String> values = new TreeSet<>();
             for (String field : objectToSerialize.getSerializableFields()) {
                 Object value = objectToSerialize.getSerializableFieldValue(field);
@@ -76,18 +116,10 @@ public class StringChangeLogSerializer implements ChangeLogSerializer {
                 }
             }
 
-            if (!values.isEmpty()) {
-                buffer.append("\n");
-                buffer.append(StringUtil.join(values, "\n"));
-                buffer.append("\n");
-            }
-            buffer.append(indent(indent - 1)).append("]");
-            return buffer.toString().replace("\r\n", "\n").replace("\r", "\n"); //standardize all newline chars
-
+            return values;
         } catch (Exception e) {
             throw new UnexpectedLiquibaseException(e);
         }
-
     }
 
     private String indent(int indent) {
@@ -169,6 +201,55 @@ public class StringChangeLogSerializer implements ChangeLogSerializer {
         return PRIORITY_DEFAULT;
     }
 
+    /**
+     * Converts "\r\n" and "\r" to "\n" the same way serializeObject does, without needing the whole text.
+     */
+    private static class NewlineStandardizingWriter extends Writer {
+        private final Writer out;
+        private boolean previousWasCarriageReturn;
+
+        private NewlineStandardizingWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(str.charAt(i));
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (c == '\r') {
+                previousWasCarriageReturn = true;
+                out.write('\n');
+            } else if ((c == '\n') && previousWasCarriageReturn) {
+                previousWasCarriageReturn = false;
+            } else {
+                previousWasCarriageReturn = false;
+                out.write(c);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
     public static class FieldFilter {
         public boolean include(Object obj, String field, Object value) {
             return true;
@@ -4,10 +4,28 @@ import liquibase.Scope;
 import liquibase.exception.ServiceNotFoundException;
 import liquibase.logging.Logger;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Finds services with {@link ServiceLoader}, using the class loader of the current scope.
+ * <p>
+ * The first lookup of a service type in a class loader goes through ServiceLoader, and the names of the classes it
+ * returns are kept. Later lookups create new instances of those classes directly instead of reading the
+ * META-INF/services files again. On an OSGi platform every lookup goes through ServiceLoader, so the bundles
+ * woven by SPI Fly are found as they come and go.
+ */
 public class StandardServiceLocator implements ServiceLocator {
 
+    /**
+     * Names of the provider classes ServiceLoader returned for each service type, by class loader. Empty if a
+     * provider cannot be created without ServiceLoader, for example because it comes from a provider method of a
+     * named module. Only names are kept so the class loaders can still be garbage collected.
+     */
+    private final Map<ClassLoader, Map<String, Optional<List<String>>>> providerNamesByClassLoader = Collections.synchronizedMap(new WeakHashMap<>());
+
     @Override
     public int getPriority() {
         return PRIORITY_DEFAULT;
@@ -15,10 +33,38 @@ public class StandardServiceLocator implements ServiceLocator {
 
     @Override
     public <T> List<T> findInstances(Class<T> interfaceType) throws ServiceNotFoundException {
+        ClassLoader classLoader = Scope.getCurrentScope().getClassLoader(true);
+        if (Boolean.TRUE.equals(Scope.getCurrentScope().get(Scope.Attr.osgiPlatform, Boolean.class))) {
+            return loadInstances(interfaceType, classLoader);
+        }
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+
+        Map<String, Optional<List<String>>> providerNames = providerNamesByClassLoader.computeIfAbsent(classLoader, loader -> new ConcurrentHashMap<>());
+        Optional<List<String>> names = providerNames.get(interfaceType.getName());
+        if (names == null) {
+            List<T> instances = loadInstances(interfaceType, classLoader);
+            providerNames.putIfAbsent(interfaceType.getName(), getProviderNames(instances, classLoader));
+            return instances;
+        }
+        if (!names.isPresent()) {
+            return loadInstances(interfaceType, classLoader);
+        }
+
+        List<T> instances = createInstances(interfaceType, names.get(), classLoader);
+        if (instances == null) {
+            providerNames.put(interfaceType.getName(), Optional.empty());
+            return loadInstances(interfaceType, classLoader);
+        }
+        return instances;
+    }
+
+    private <T> List<T> loadInstances(Class<T> interfaceType, ClassLoader classLoader) {
         List<T> allInstances = new ArrayList<>();
 
         final Logger log = Scope.getCurrentScope().getLog(getClass());
-        final Iterator<T> services = ServiceLoader.load(interfaceType, Scope.getCurrentScope().getClassLoader(true)).iterator();
+        final Iterator<T> services = ServiceLoader.load(interfaceType, classLoader).iterator();
         while (services.hasNext()) {
             try {
                 final T service = services.next();
@@ -31,6 +77,52 @@ public class StandardServiceLocator implements ServiceLocator {
         }
 
         return Collections.unmodifiableList(allInstances);
+    }
+
+    /**
+     * Returns new instances of the given provider classes, or null if one of them cannot be created without
+     * {@link ServiceLoader}. A provider whose constructor fails is skipped, as ServiceLoader would.
+     */
+    private <T> List<T> createInstances(Class<T> interfaceType, List<String> providerNames, ClassLoader classLoader) {
+        List<T> allInstances = new ArrayList<>();
+
+        final Logger log = Scope.getCurrentScope().getLog(getClass());
+        for (String providerName : providerNames) {
+            try {
+                final T service = interfaceType.cast(Class.forName(providerName, false, classLoader).getConstructor().newInstance());
+                log.fine("Loaded "+interfaceType.getName()+" instance "+service.getClass().getName());
+                allInstances.add(service);
+            } catch (InvocationTargetException e) {
+                log.info("Cannot load service: "+interfaceType.getName() + ": Provider " + providerName + " could not be instantiated: " + e.getCause());
+                log.fine(e.getMessage(), e.getCause());
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                log.fine("Cannot create "+providerName+" without ServiceLoader: "+e.getMessage(), e);
+                return null;
+            }
+        }
+
+        return Collections.unmodifiableList(allInstances);
+    }
 
+    /**
+     * Returns the class names of the given instances, or an empty Optional if one of the classes cannot be
+     * instantiated by name from the class loader.
+     */
+    private Optional<List<String>> getProviderNames(List<?> instances, ClassLoader classLoader) {
+        List<String> names = new ArrayList<>();
+        for (Object instance : instances) {
+            Class<?> providerClass = instance.getClass();
+            try {
+                providerClass.getConstructor();
+                if (!Modifier.isPublic(providerClass.getModifiers())
+                        || Class.forName(providerClass.getName(), false, classLoader) != providerClass) {
+                    return Optional.empty();
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return Optional.empty();
+            }
+            names.add(providerClass.getName());
+        }
+        return Optional.of(Collections.unmodifiableList(names));
     }
 }
@@ -25,6 +25,7 @@ import liquibase.util.StringUtil;
 
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class DatabaseSnapshot implements LiquibaseSerializable {
@@ -42,7 +43,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
 
     private Map<String, Object> snapshotScratchPad = new HashMap<>();
 
-    private Map<String, ResultSetCache> resultSetCaches = new HashMap<>();
+    private Map<String, ResultSetCache> resultSetCaches = new ConcurrentHashMap<>();
     private CompareControl.SchemaComparison[] schemaComparisons;
 
     private Map<String, Object> metadata = new HashMap<>();
@@ -263,10 +264,7 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
     }
 
     public ResultSetCache getResultSetCache(String key) {
-        if (!resultSetCaches.containsKey(key)) {
-            resultSetCaches.put(key, new ResultSetCache());
-        }
-        return resultSetCaches.get(key);
+        return resultSetCaches.computeIfAbsent(key, cacheKey -> new ResultSetCache());
     }
 
     /**
@@ -549,6 +547,15 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
         return allFound.get(example, schemaComparisons);
     }
 
+    /**
+     * Returns the object described by the passed example if it is already included in this snapshot, checking the
+     * given object of this snapshot first. Used in a diff, where the example was found by looking up that object in the
+     * other snapshot, so it is most likely the match.
+     */
+    public <DatabaseObjectType extends DatabaseObject> DatabaseObjectType get(DatabaseObjectType example, DatabaseObject likelyMatch) {
+        return allFound.get(example, schemaComparisons, likelyMatch);
+    }
+
     /**
      * Returns all objects of the given type that are already included in this snapshot.
      */
@@ -0,0 +1,181 @@
+package liquibase.snapshot;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.structure.DatabaseObject;
+import liquibase.structure.core.Catalog;
+import liquibase.structure.core.Schema;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes a snapshot of several schemas by splitting them into groups which are snapshotted at the same time, each over
+ * its own connection, and merging the results with {@link DatabaseSnapshot#merge(DatabaseSnapshot)}.
+ * <p>
+ * The first group uses the main connection. The others use additional read-only connections opened with
+ * {@link JdbcConnection#openCopy()}, which are closed again once the snapshot is taken. A {@link SnapshotListener}
+ * on the {@link SnapshotControl} is called from several threads.
+ */
+class ParallelSnapshotCreator {
+
+    private ParallelSnapshotCreator() {
+    }
+
+    /**
+     * Returns a snapshot of the given examples taken over up to {@link GlobalConfiguration#SNAPSHOT_THREADS} connections,
+     * or null if the snapshot should be taken over the main connection only.
+     */
+    static DatabaseSnapshot createSnapshot(DatabaseObject[] examples, Database database, SnapshotControl snapshotControl) throws DatabaseException, InvalidExampleException {
+        Integer threads = GlobalConfiguration.SNAPSHOT_THREADS.getCurrentValue();
+        if ((threads == null) || (threads < 2) || (examples == null) || (examples.length < 2)
+                || !(database.getConnection() instanceof JdbcConnection)) {
+            return null;
+        }
+
+        List<Database> workerDatabases = new ArrayList<>();
+        try {
+            int groupCount = Math.min(threads, examples.length);
+            for (int i = 1; i < groupCount; i++) {
+                Database workerDatabase = openWorkerDatabase(database);
+                if (workerDatabase == null) {
+                    break;
+                }
+                workerDatabases.add(workerDatabase);
+            }
+            if (workerDatabases.isEmpty()) {
+                return null;
+            }
+
+            return createSnapshot(examples, database, workerDatabases, snapshotControl);
+        } finally {
+            for (Database workerDatabase : workerDatabases) {
+                try {
+                    workerDatabase.close();
+                } catch (DatabaseException e) {
+                    Scope.getCurrentScope().getLog(ParallelSnapshotCreator.class).fine("Error closing snapshot connection: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static DatabaseSnapshot createSnapshot(DatabaseObject[] examples, Database database, List<Database> workerDatabases,
+                                                   SnapshotControl snapshotControl) throws DatabaseException, InvalidExampleException {
+        // register the example types up front, so the snapshots only read the shared type list
+        boolean hasSchemas = false;
+        for (DatabaseObject example : examples) {
+            hasSchemas = hasSchemas || (example instanceof Schema);
+            snapshotControl.addType(example.getClass(), database);
+        }
+        if (hasSchemas && database.supportsCatalogs()) {
+            snapshotControl.addType(Catalog.class, database);
+        }
+
+        List<List<DatabaseObject>> groups = new ArrayList<>();
+        for (int i = 0; i <= workerDatabases.size(); i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int i = 0; i < examples.length; i++) {
+            groups.get(i % groups.size()).add(examples[i]);
+        }
+
+        Scope.getCurrentScope().getLog(ParallelSnapshotCreator.class).info("Snapshotting " + examples.length + " objects over " + groups.size() + " connections");
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workerDatabases.size(), runnable -> {
+            Thread thread = new Thread(runnable, "liquibase-snapshot-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Scope scope = Scope.getCurrentScope();
+            List<Future<DatabaseSnapshot>> futures = new ArrayList<>();
+            for (int i = 0; i < workerDatabases.size(); i++) {
+                Database workerDatabase = workerDatabases.get(i);
+                DatabaseObject[] groupExamples = groups.get(i + 1).toArray(new DatabaseObject[0]);
+                futures.add(executor.submit(scope.wrap(() -> new JdbcDatabaseSnapshot(groupExamples, workerDatabase, snapshotControl))));
+            }
+
+            DatabaseSnapshot snapshot = new JdbcDatabaseSnapshot(groups.get(0).toArray(new DatabaseObject[0]), database, snapshotControl);
+            for (Future<DatabaseSnapshot> future : futures) {
+                snapshot.merge(getSnapshot(future));
+            }
+            return snapshot;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DatabaseSnapshot getSnapshot(Future<DatabaseSnapshot> future) throws DatabaseException, InvalidExampleException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("Interrupted while taking snapshot", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseException) {
+                throw (DatabaseException) cause;
+            }
+            if (cause instanceof InvalidExampleException) {
+                throw (InvalidExampleException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DatabaseException(cause);
+        }
+    }
+
+    /**
+     * Opens an additional read-only connection to the same database as the given one, wrapped in a database of the same type
+     * and with the same default catalog, schema and naming settings. Returns null if that is not possible.
+     */
+    private static Database openWorkerDatabase(Database database) {
+        JdbcConnection connection = null;
+        try {
+            connection = ((JdbcConnection) database.getConnection()).openCopy();
+            if (connection == null) {
+                Scope.getCurrentScope().getLog(ParallelSnapshotCreator.class).fine("The connection was not opened by Liquibase and cannot be copied, so the snapshot uses the main connection only");
+                return null;
+            }
+            try {
+                connection.getWrappedConnection().setReadOnly(true);
+            } catch (SQLException e) {
+                Scope.getCurrentScope().getLog(ParallelSnapshotCreator.class).fine("Cannot make snapshot connection read-only: " + e.getMessage(), e);
+            }
+
+            Database workerDatabase = database.getClass().getConstructor().newInstance();
+            workerDatabase.setConnection(connection);
+            workerDatabase.setDefaultCatalogName(database.getDefaultCatalogName());
+            workerDatabase.setDefaultSchemaName(database.getDefaultSchemaName());
+            workerDatabase.setObjectQuotingStrategy(database.getObjectQuotingStrategy());
+            workerDatabase.setOutputDefaultCatalog(database.getOutputDefaultCatalog());
+            workerDatabase.setOutputDefaultSchema(database.getOutputDefaultSchema());
+            workerDatabase.setLiquibaseCatalogName(database.getLiquibaseCatalogName());
+            workerDatabase.setLiquibaseSchemaName(database.getLiquibaseSchemaName());
+            workerDatabase.setDatabaseChangeLogTableName(database.getDatabaseChangeLogTableName());
+            workerDatabase.setDatabaseChangeLogLockTableName(database.getDatabaseChangeLogLockTableName());
+            return workerDatabase;
+        } catch (DatabaseException | ReflectiveOperationException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(ParallelSnapshotCreator.class).warning("Cannot open an additional connection for the snapshot: " + e.getMessage(), e);
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (DatabaseException closeException) {
+                    Scope.getCurrentScope().getLog(ParallelSnapshotCreator.class).fine("Error closing snapshot connection: " + closeException.getMessage(), closeException);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -15,15 +15,29 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.*;
-
+import java.util.concurrent.*;
+
+/**
+ * Caches the rows returned by a metadata query, such as the columns or indexes of a schema, for one {@link DatabaseSnapshot}.
+ * <p>
+ * After a few single-object queries for the same schema a bulk query for the whole schema is run instead, and its rows
+ * are served from the cache from then on.
+ * <p>
+ * The cache is safe to use from multiple threads. Concurrent requests for the same bulk query, or for the same
+ * single-object query, share one fetch instead of each running it. Cached rows are only published once a fetch
+ * has been fully indexed, so readers never see a partially filled schema.
+ */
 class ResultSetCache {
-    private Map<String, Integer> timesSingleQueried = new HashMap<>();
-    private Map<String, Boolean> didBulkQuery = new HashMap<>();
-    private boolean bulkTracking = true;
+    private final Map<String, Integer> timesSingleQueried = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> didBulkQuery = new ConcurrentHashMap<>();
+    private volatile boolean bulkTracking = true;
+
+    private final Map<String, Map<String, List<CachedRow>>> cacheBySchema = new ConcurrentHashMap<>();
 
-    private Map<String, Map<String, List<CachedRow>>> cacheBySchema = new HashMap<>();
+    private final ConcurrentMap<String, FutureTask<Void>> bulkFetches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, FutureTask<List<CachedRow>>> singleFetches = new ConcurrentHashMap<>();
 
-    private Map<String, Object> info = new HashMap<>();
+    private final Map<String, Object> info = new ConcurrentHashMap<>();
 
     public List<CachedRow> get(ResultSetExtractor resultSetExtractor) throws DatabaseException {
         try {
@@ -31,78 +45,124 @@ class ResultSetCache {
 
             String schemaKey = resultSetExtractor.wantedKeyParameters().createSchemaKey(resultSetExtractor.database);
 
-            Map<String, List<CachedRow>> cache = cacheBySchema.get(schemaKey);
-            if (cache == null) {
-                cache = new HashMap<>();
-                cacheBySchema.put(schemaKey, cache);
-            }
-
-            if (cache.containsKey(wantedKey)) {
-                return cache.get(wantedKey);
+            List<CachedRow> cached = getCached(schemaKey, wantedKey);
+            if (cached != null) {
+                return cached;
             }
 
-            if (didBulkQuery.containsKey(schemaKey) && didBulkQuery.get(schemaKey)) {
+            if (Boolean.TRUE.equals(didBulkQuery.get(schemaKey))) {
                 return new ArrayList<>();
             }
 
-            List<CachedRow> results;
-            boolean bulkQueried = false;
             if (resultSetExtractor.shouldBulkSelect(schemaKey, this)) {
+                fetchOnce(bulkFetches, schemaKey, () -> {
+                    publishBulkFetch(resultSetExtractor, schemaKey, resultSetExtractor.bulkFetch());
+                    return null;
+                });
+
+                List<CachedRow> returnList = getCached(schemaKey, wantedKey);
+                if (returnList == null) {
+                    returnList = new ArrayList<>();
+                }
+                return returnList;
+            }
 
-                //remove any existing single fetches that may be duplicated
-                if (resultSetExtractor.bulkContainsSchema(schemaKey)) {
-                    for (Map cachedValue : cacheBySchema.values()) {
-                        cachedValue.clear();
+            // Don't store results in real cache to prevent confusion if later fetching all items.
+            timesSingleQueried.merge(schemaKey, 1, Integer::sum);
+            return fetchOnce(singleFetches, schemaKey + "::" + wantedKey, () -> {
+                Map<String, List<CachedRow>> cache = new HashMap<>();
+                for (CachedRow row : resultSetExtractor.fastFetch()) {
+                    for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
+                        cache.computeIfAbsent(rowKey, key -> new ArrayList<>()).add(row);
                     }
-                } else {
-                    cache.clear();
                 }
-
-                results = resultSetExtractor.bulkFetch();
-                didBulkQuery.put(schemaKey, bulkTracking);
-                bulkQueried = true;
-            } else {
-                // Don't store results in real cache to prevent confusion if later fetching all items.
-                cache = new HashMap<>();
-                Integer previousCount = timesSingleQueried.get(schemaKey);
-                if (previousCount == null) {
-                    previousCount = 0;
+                List<CachedRow> returnList = cache.get(wantedKey);
+                if (returnList == null) {
+                    returnList = new ArrayList<>();
                 }
-                timesSingleQueried.put(schemaKey, previousCount + 1);
-                results = resultSetExtractor.fastFetch();
+                return returnList;
+            });
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    private List<CachedRow> getCached(String schemaKey, String wantedKey) {
+        Map<String, List<CachedRow>> cache = cacheBySchema.get(schemaKey);
+        if (cache == null) {
+            return null;
+        }
+        return cache.get(wantedKey);
+    }
+
+    /**
+     * Indexes the rows of a bulk fetch and replaces the cached rows of the affected schemas with them.
+     * If the bulk query covers all schemas, the rows of every other schema are dropped because they may be duplicated.
+     */
+    private synchronized void publishBulkFetch(ResultSetExtractor resultSetExtractor, String schemaKey, List<CachedRow> results) {
+        boolean containsAllSchemas = resultSetExtractor.bulkContainsSchema(schemaKey);
+
+        Map<String, Map<String, List<CachedRow>>> fetched = new HashMap<>();
+        fetched.put(schemaKey, new HashMap<>());
+        for (CachedRow row : results) {
+            String rowSchema = schemaKey;
+            if (containsAllSchemas) {
+                rowSchema = CatalogAndSchema.CatalogAndSchemaCase.ORIGINAL_CASE.
+                        equals(resultSetExtractor.database.getSchemaAndCatalogCase())?resultSetExtractor.getSchemaKey(row):
+                        resultSetExtractor.getSchemaKey(row).toLowerCase();
             }
+            Map<String, List<CachedRow>> cache = fetched.computeIfAbsent(rowSchema, key -> new HashMap<>());
+            for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
+                cache.computeIfAbsent(rowKey, key -> new ArrayList<>()).add(row);
+            }
+        }
 
-            for (CachedRow row : results) {
-                for (String rowKey : resultSetExtractor.rowKeyParameters(row).getKeyPermutations()) {
-                    if (bulkQueried && resultSetExtractor.bulkContainsSchema(schemaKey)) {
-                        String rowSchema = CatalogAndSchema.CatalogAndSchemaCase.ORIGINAL_CASE.
-                                equals(resultSetExtractor.database.getSchemaAndCatalogCase())?resultSetExtractor.getSchemaKey(row):
-                                resultSetExtractor.getSchemaKey(row).toLowerCase();
-                        cache = cacheBySchema.get(rowSchema);
-                        if (cache == null) {
-                            cache = new HashMap<String, List<CachedRow>>();
-                            cacheBySchema.put(rowSchema, cache);
-                        }
-                    }
-                    if (!cache.containsKey(rowKey)) {
-                        cache.put(rowKey, new ArrayList<CachedRow>());
-                    }
-                    cache.get(rowKey).add(row);
+        if (containsAllSchemas) {
+            for (String cachedSchema : cacheBySchema.keySet()) {
+                if (!fetched.containsKey(cachedSchema)) {
+                    cacheBySchema.put(cachedSchema, new HashMap<>());
                 }
             }
+        }
+        cacheBySchema.putAll(fetched);
+        didBulkQuery.put(schemaKey, bulkTracking);
+    }
 
-            if (bulkQueried) {
-                cache = cacheBySchema.get(schemaKey);
-            }
-            List<CachedRow> returnList = cache.get(wantedKey);
-            if (returnList == null) {
-                returnList = new ArrayList<>();
+    /**
+     * Runs the given fetch unless the same key is already being fetched by another thread, in which case its result is used.
+     */
+    private <T> T fetchOnce(ConcurrentMap<String, FutureTask<T>> inFlight, String key, Callable<T> fetch) throws SQLException, DatabaseException {
+        FutureTask<T> task = new FutureTask<>(fetch);
+        FutureTask<T> existing = inFlight.putIfAbsent(key, task);
+        if (existing == null) {
+            try {
+                task.run();
+            } finally {
+                inFlight.remove(key, task);
             }
-            return returnList;
-
+            existing = task;
+        }
 
-        } catch (SQLException e) {
+        try {
+            return existing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new DatabaseException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof DatabaseException) {
+                throw (DatabaseException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DatabaseException(cause);
         }
     }
 
@@ -111,7 +171,11 @@ class ResultSetCache {
     }
 
     public void putInfo(String key, Object value) {
-        info.put(key, value);
+        if (value == null) {
+            info.remove(key);
+        } else {
+            info.put(key, value);
+        }
     }
 
     private int getTimesSingleQueried(String schemaKey) {
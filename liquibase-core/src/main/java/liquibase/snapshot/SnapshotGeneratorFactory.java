@@ -189,7 +189,9 @@ public class SnapshotGeneratorFactory {
     }
 
     /**
-     * Creates a database snapshot for a given array of DatabaseObjects
+     * Creates a database snapshot for a given array of DatabaseObjects.
+     * If {@link liquibase.GlobalConfiguration#SNAPSHOT_THREADS} is greater than 1, several examples are snapshotted at the same
+     * time over additional connections when possible.
      *
      * @param examples        an array of DatabaseObjects objects
      * @param database        the database to work on
@@ -212,6 +214,10 @@ public class SnapshotGeneratorFactory {
             }
             return snapshot;
         }
+        DatabaseSnapshot parallelSnapshot = ParallelSnapshotCreator.createSnapshot(examples, database, snapshotControl);
+        if (parallelSnapshot != null) {
+            return parallelSnapshot;
+        }
         return new JdbcDatabaseSnapshot(examples, database, snapshotControl);
     }
 
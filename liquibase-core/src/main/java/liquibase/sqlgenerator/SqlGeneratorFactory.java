@@ -15,6 +15,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SqlGeneratorFactory is a singleton registry of SqlGenerators.
@@ -27,8 +28,11 @@ public class SqlGeneratorFactory {
     //caches for expensive reflection based calls that slow down Liquibase initialization: CORE-1207
     private final Map<Class<?>, Type[]> genericInterfacesCache = new HashMap<>();
     private final Map<Class<?>, Type> genericSuperClassCache = new HashMap<>();
-    private List<SqlGenerator> generators = new ArrayList<>();
-    private Map<String, SortedSet<SqlGenerator>> generatorsByKey = new HashMap<>();
+    private final List<SqlGenerator> generators = new ArrayList<>();
+    private final Collection<SqlGenerator> generatorsView = new GeneratorsView();
+    //changed while holding the lock of this factory, after every change to the generators
+    private volatile int generatorsVersion;
+    private volatile DispatchTable dispatchTable = new DispatchTable(generatorsVersion);
 
     private SqlGeneratorFactory() {
         try {
@@ -55,19 +59,18 @@ public class SqlGeneratorFactory {
     }
 
 
-    public void register(SqlGenerator generator) {
-        if (this.generators.size() == 0) {
-            //handle case in tests wher we clear out the generators
-            this.generatorsByKey.clear();
-        }
+    public synchronized void register(SqlGenerator generator) {
         generators.add(generator);
+        generatorsVersion++;
     }
 
-    public void unregister(SqlGenerator generator) {
-        generators.remove(generator);
+    public synchronized void unregister(SqlGenerator generator) {
+        if (generators.remove(generator)) {
+            generatorsVersion++;
+        }
     }
 
-    public void unregister(Class generatorClass) {
+    public synchronized void unregister(Class generatorClass) {
         SqlGenerator toRemove = null;
         for (SqlGenerator existingGenerator : generators) {
             if (existingGenerator.getClass().equals(generatorClass)) {
@@ -78,22 +81,27 @@ public class SqlGeneratorFactory {
     }
 
 
+    /**
+     * Returns the registered generators. Changes made through the returned collection are seen by
+     * {@link #getGenerators(SqlStatement, Database)} like calls to {@link #register(SqlGenerator)} and {@link #unregister(SqlGenerator)}.
+     */
     protected Collection<SqlGenerator> getGenerators() {
-        return generators;
+        return generatorsView;
     }
 
+    /**
+     * Returns the generators which support the given statement on the given database, in the order they are chained.
+     * The result is shared between calls with the same statement class and database type and version,
+     * so it cannot be modified.
+     */
     public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
-        String databaseName = null;
-        if (database == null) {
-            databaseName = "NULL";
-        } else {
-            databaseName = database.getShortName();
-        }
-
+        String databaseName;
         int version;
         if (database == null) {
+            databaseName = "NULL";
             version = 0;
         } else {
+            databaseName = database.getShortName();
             try {
                 version = database.getDatabaseMajorVersion();
             } catch (Exception e) {
@@ -101,15 +109,28 @@ public class SqlGeneratorFactory {
             }
         }
 
-        String key = statement.getClass().getName()+":"+ databaseName+":"+ version;
+        DispatchTable table = dispatchTable;
+        int currentGeneratorsVersion = generatorsVersion;
+        if (table.generatorsVersion != currentGeneratorsVersion) {
+            //the generators were registered, unregistered or modified directly since the table was built
+            table = new DispatchTable(currentGeneratorsVersion);
+            dispatchTable = table;
+        }
+
+        DispatchKey key = new DispatchKey(statement.getClass(), databaseName, version);
+        SortedSet<SqlGenerator> cached = table.generatorsByKey.get(key);
+        if (cached != null) {
+            return cached;
+        }
 
-        if (generatorsByKey.containsKey(key) && !generatorsByKey.get(key).isEmpty()) {
-            SortedSet<SqlGenerator> result = new TreeSet<>(new SqlGeneratorComparator());
-            result.addAll(generatorsByKey.get(key));
-            result.retainAll(getGenerators());
-            return result;
+        SortedSet<SqlGenerator> validGenerators = Collections.unmodifiableSortedSet(findGenerators(statement, database));
+        if (!validGenerators.isEmpty()) {
+            table.generatorsByKey.putIfAbsent(key, validGenerators);
         }
+        return validGenerators;
+    }
 
+    private synchronized SortedSet<SqlGenerator> findGenerators(SqlStatement statement, Database database) {
         SortedSet<SqlGenerator> validGenerators = new TreeSet<>(new SqlGeneratorComparator());
 
         for (SqlGenerator generator : getGenerators()) {
@@ -134,7 +155,6 @@ public class SqlGeneratorFactory {
                 clazz = clazz.getSuperclass();
             }
         }
-        generatorsByKey.put(key, validGenerators);
         return validGenerators;
     }
 
@@ -280,4 +300,92 @@ public class SqlGeneratorFactory {
         }
         return affectedObjects;
     }
+
+    /**
+     * Modifiable view of the registered generators returned by {@link #getGenerators()}. Every add and remove goes through
+     * the lock of the factory and changes {@link #generatorsVersion}, so lookups can tell when the {@link DispatchTable}
+     * is out of date.
+     */
+    private class GeneratorsView extends AbstractCollection<SqlGenerator> {
+
+        @Override
+        public Iterator<SqlGenerator> iterator() {
+            Iterator<SqlGenerator> iterator = generators.iterator();
+            return new Iterator<SqlGenerator>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public SqlGenerator next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    synchronized (SqlGeneratorFactory.this) {
+                        iterator.remove();
+                        generatorsVersion++;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return generators.size();
+        }
+
+        @Override
+        public boolean add(SqlGenerator generator) {
+            register(generator);
+            return true;
+        }
+    }
+
+    /**
+     * Generators found for each statement class and database, for one state of the registered generators.
+     * Entries are never changed once added, and the whole table is replaced when the generators change.
+     */
+    private static class DispatchTable {
+        private final int generatorsVersion;
+        private final Map<DispatchKey, SortedSet<SqlGenerator>> generatorsByKey = new ConcurrentHashMap<>();
+
+        private DispatchTable(int generatorsVersion) {
+            this.generatorsVersion = generatorsVersion;
+        }
+    }
+
+    private static final class DispatchKey {
+        private final Class<?> statementClass;
+        private final String databaseName;
+        private final int databaseVersion;
+        private final int hashCode;
+
+        private DispatchKey(Class<?> statementClass, String databaseName, int databaseVersion) {
+            this.statementClass = statementClass;
+            this.databaseName = databaseName;
+            this.databaseVersion = databaseVersion;
+            this.hashCode = (31 * ((31 * statementClass.hashCode()) + databaseName.hashCode())) + databaseVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DispatchKey)) {
+                return false;
+            }
+            DispatchKey that = (DispatchKey) o;
+            return (statementClass == that.statementClass) && (databaseVersion == that.databaseVersion)
+                    && databaseName.equals(that.databaseName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.BulkLoadStatement;
+
+/**
+ * Dummy SQL generator for ${@link liquibase.statement.BulkLoadStatement}
+ */
+public class BulkLoadGenerator extends AbstractSqlGenerator<BulkLoadStatement>  {
+    @Override
+    public ValidationErrors validate(BulkLoadStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new ValidationErrors();
+    }
+
+    @Override
+    public Sql[] generateSql(BulkLoadStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new Sql[0];
+    }
+}
@@ -0,0 +1,39 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.core.MarkChangeSetRanBatchStatement;
+import liquibase.statement.core.MarkChangeSetRanStatement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates the SQL of a {@link MarkChangeSetRanStatement} for every changeset of a {@link MarkChangeSetRanBatchStatement},
+ * in order. Used as is when the SQL is only logged, and by the statement itself to build its JDBC batch.
+ */
+public class MarkChangeSetRanBatchGenerator extends AbstractSqlGenerator<MarkChangeSetRanBatchStatement> {
+
+    @Override
+    public ValidationErrors validate(MarkChangeSetRanBatchStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("changeSets", statement.getChangeSets());
+
+        return validationErrors;
+    }
+
+    @Override
+    public Sql[] generateSql(MarkChangeSetRanBatchStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        List<Sql> sqls = new ArrayList<>();
+        for (ChangeSet changeSet : statement.getChangeSets()) {
+            sqls.addAll(Arrays.asList(SqlGeneratorFactory.getInstance().generateSql(
+                    new MarkChangeSetRanStatement(changeSet, statement.getExecType()), database)));
+        }
+        return sqls.toArray(new Sql[0]);
+    }
+}
@@ -0,0 +1,22 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.StreamingDmlExecutablePreparedStatement;
+
+/**
+ * Dummy SQL generator for ${@link liquibase.statement.StreamingDmlExecutablePreparedStatement}
+ */
+public class StreamingDmlExecutablePreparedStatementGenerator extends AbstractSqlGenerator<StreamingDmlExecutablePreparedStatement>  {
+    @Override
+    public ValidationErrors validate(StreamingDmlExecutablePreparedStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new ValidationErrors();
+    }
+
+    @Override
+    public Sql[] generateSql(StreamingDmlExecutablePreparedStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new Sql[0];
+    }
+}
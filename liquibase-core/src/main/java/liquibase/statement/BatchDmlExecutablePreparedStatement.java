@@ -1,5 +1,6 @@
 package liquibase.statement;
 
+import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.change.ColumnConfig;
 import liquibase.change.core.LoadDataColumnConfig;
@@ -8,6 +9,7 @@ import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
 import liquibase.logging.Logger;
 import liquibase.resource.ResourceAccessor;
+import liquibase.util.ObjectUtil;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -19,20 +21,39 @@ import java.util.List;
  * executions of DML statements and waits until a certain number of commands has been collected. Then, it sends all
  * of them to the RDBMS in a single call. {@link java.sql.Statement#executeBatch()} saves many round-trips between
  * client and database, often speeding up bulk inserts/updates dramatically if the JDBC driver supports it.
+ * <p>
+ * The statements are sent in batches of {@link #getBatchSize()}, so large loads do not exceed the buffers of the driver.
+ * If a commit interval is set, the rows executed so far are committed every time it is reached. Every batch is reported
+ * to the {@link liquibase.listener.BatchDmlListener}s of the current scope.
  * @see <a href="https://blog.jooq.org/2014/01/16/what-you-didnt-know-about-jdbc-batch/">
  *     Blog entry on "Java Persistence Performance" about batching</a>
  */
 public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedStatementBase {
     private final List<ExecutablePreparedStatementBase> collectedStatements;
+    private final int batchSize;
+    private final int commitInterval;
     private final Logger LOG = Scope.getCurrentScope().getLog(getClass());
 
     public BatchDmlExecutablePreparedStatement(
             Database database, String catalogName, String schemaName, String tableName,
             List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
             List<ExecutablePreparedStatementBase> statements) {
+        this(database, catalogName, schemaName, tableName, columns, changeSet, resourceAccessor, statements, null, null);
+    }
+
+    /**
+     * @param batchSize      the number of statements to send to the database at once, or null to use {@link GlobalConfiguration#LOAD_DATA_BATCH_SIZE}
+     * @param commitInterval the number of statements after which to commit, or null to use {@link GlobalConfiguration#LOAD_DATA_COMMIT_INTERVAL}
+     */
+    public BatchDmlExecutablePreparedStatement(
+            Database database, String catalogName, String schemaName, String tableName,
+            List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
+            List<ExecutablePreparedStatementBase> statements, Integer batchSize, Integer commitInterval) {
         super(database, catalogName, schemaName, tableName, new ArrayList<ColumnConfig>(columns), changeSet,
             resourceAccessor);
         this.collectedStatements = new ArrayList<>(statements);
+        this.batchSize = ObjectUtil.defaultIfNull(batchSize, ObjectUtil.defaultIfNull(GlobalConfiguration.LOAD_DATA_BATCH_SIZE.getCurrentValue(), 0));
+        this.commitInterval = ObjectUtil.defaultIfNull(commitInterval, ObjectUtil.defaultIfNull(GlobalConfiguration.LOAD_DATA_COMMIT_INTERVAL.getCurrentValue(), 0));
     }
 
     /**
@@ -43,13 +64,33 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
         return new ArrayList<>(collectedStatements);
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * Binds the parameters of every collected statement and sends them to the database in batches of {@link #getBatchSize()}.
+     */
     @Override
     protected void attachParams(List<? extends ColumnConfig> ignored, PreparedStatement stmt)
             throws SQLException, DatabaseException {
+        DmlBatch batch = new DmlBatch(database, getTableName(), batchSize, commitInterval);
         for (ExecutablePreparedStatementBase insertStatement : collectedStatements) {
             super.attachParams(insertStatement.getColumns(), stmt);
-            stmt.addBatch();
+            batch.add(stmt);
+            if (batch.isFull()) {
+                batch.execute(stmt);
+                closeResources();
+            }
         }
+        batch.execute(stmt);
+
+        LOG.info(String.format("Executing JDBC DML batch was successful. %d operations were executed in %d batches, %d individual UPDATE events were confirmed by the database.",
+                batch.getRowCount(), batch.getBatchCount(), batch.getUpdateCount()));
     }
 
     @Override
@@ -60,14 +101,8 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
     }
 
     @Override
-    protected void executePreparedStatement(PreparedStatement stmt) throws SQLException {
-        int updateCounts[] = stmt.executeBatch();
-        long sumUpdateCounts = 0;
-        for (int updateCount : updateCounts) {
-            sumUpdateCounts = updateCount;
-        }
-        LOG.info(String.format("Executing JDBC DML batch was successful. %d operations were executed, %d individual UPDATE events were confirmed by the database.",
-                updateCounts.length, sumUpdateCounts));
+    protected void executePreparedStatement(PreparedStatement stmt) {
+        // the batches were already executed while attaching the parameters
     }
 
     @Override
@@ -0,0 +1,136 @@
+package liquibase.statement;
+
+import liquibase.Scope;
+import liquibase.bulkload.BulkLoader;
+import liquibase.change.ColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Loads the rows read from a {@link RowSource} into a table with a {@link BulkLoader}, such as COPY on PostgreSQL,
+ * instead of inserting them one by one. The rows are read again every time the statement is executed.
+ * <p>
+ * If a fallback statement is given, the rows are read once before loading them. If the loader cannot write one of
+ * their values, see {@link BulkLoader#supportsValue(ColumnConfig)}, the fallback statement inserts the rows instead.
+ */
+public class BulkLoadStatement extends AbstractSqlStatement implements ExecutablePreparedStatement {
+
+    private final Database database;
+    private final String catalogName;
+    private final String schemaName;
+    private final String tableName;
+    private final BulkLoader bulkLoader;
+    private final RowSource rowSource;
+    private final ExecutablePreparedStatement fallback;
+
+    public BulkLoadStatement(Database database, String catalogName, String schemaName, String tableName,
+                             BulkLoader bulkLoader, RowSource rowSource) {
+        this(database, catalogName, schemaName, tableName, bulkLoader, rowSource, null);
+    }
+
+    /**
+     * @param fallback the statement inserting the same rows without the bulk loader, or null to fail
+     *                 if the loader cannot write a value
+     */
+    public BulkLoadStatement(Database database, String catalogName, String schemaName, String tableName,
+                             BulkLoader bulkLoader, RowSource rowSource, ExecutablePreparedStatement fallback) {
+        this.database = database;
+        this.catalogName = catalogName;
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        this.bulkLoader = bulkLoader;
+        this.rowSource = rowSource;
+        this.fallback = fallback;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public String getCatalogName() {
+        return catalogName;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public BulkLoader getBulkLoader() {
+        return bulkLoader;
+    }
+
+    public ExecutablePreparedStatement getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Opens a new reader for the rows to load.
+     */
+    public RowReader openRows() throws DatabaseException {
+        return rowSource.open();
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        if (fallback != null) {
+            ColumnConfig unsupported = findUnsupportedValue();
+            if (unsupported != null) {
+                Scope.getCurrentScope().getLog(getClass()).info(String.format("%s cannot load the value %s of column %s, inserting the rows into %s with INSERT statements",
+                        bulkLoader.getClass().getSimpleName(), unsupported.getValueObject(), unsupported.getName(), tableName));
+                fallback.execute(factory);
+                return;
+            }
+        }
+
+        long rowCount = bulkLoader.load(this, factory.getConnection());
+        Scope.getCurrentScope().getLog(getClass()).info(String.format("Bulk loaded %d rows into %s with %s", rowCount,
+                tableName, bulkLoader.getClass().getSimpleName()));
+    }
+
+    /**
+     * Returns the first column of any row whose value the bulk loader cannot write, or null if it can load all rows.
+     */
+    private ColumnConfig findUnsupportedValue() throws DatabaseException {
+        try (RowReader rows = openRows()) {
+            List<? extends ColumnConfig> row;
+            while ((row = rows.readNextRow()) != null) {
+                for (ColumnConfig column : row) {
+                    if ((column.getValueObject() != null) && !bulkLoader.supportsValue(column)) {
+                        return column;
+                    }
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new DatabaseException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a new {@link RowReader} every time the statement is executed.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        RowReader open() throws DatabaseException;
+    }
+
+    /**
+     * Returns the rows to load one after another. All rows contain the same columns, in the same order.
+     */
+    public interface RowReader extends Closeable {
+
+        /**
+         * Returns the columns of the next row with their values, or null if there are no more rows.
+         */
+        List<? extends ColumnConfig> readNextRow() throws DatabaseException;
+    }
+}
@@ -0,0 +1,118 @@
+package liquibase.statement;
+
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.listener.BatchDmlListener;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Keeps track of the rows added to a JDBC batch. Sends them to the database once there are <code>batchSize</code>
+ * of them, commits once at least <code>commitInterval</code> rows were executed since the last commit, and reports
+ * every batch to the {@link BatchDmlListener}s of the current scope.
+ */
+class DmlBatch {
+
+    private final Database database;
+    private final String tableName;
+    private final int batchSize;
+    private final int commitInterval;
+
+    private int pendingRows;
+    private long rowsSinceCommit;
+    private long rowCount;
+    private long updateCount;
+    private int batchCount;
+
+    /**
+     * @param batchSize      the number of rows to send to the database at once. Values less than 1 are treated as 1.
+     * @param commitInterval the number of rows after which to commit. Values less than 1 disable intermediate commits.
+     */
+    DmlBatch(Database database, String tableName, int batchSize, int commitInterval) {
+        this.database = database;
+        this.tableName = tableName;
+        this.batchSize = Math.max(1, batchSize);
+        this.commitInterval = commitInterval;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Adds the parameters currently bound to the statement to the batch.
+     */
+    void add(PreparedStatement stmt) throws SQLException {
+        stmt.addBatch();
+        pendingRows++;
+    }
+
+    boolean isFull() {
+        return pendingRows >= batchSize;
+    }
+
+    /**
+     * Sends the pending rows to the database, if there are any.
+     */
+    void execute(PreparedStatement stmt) throws SQLException, DatabaseException {
+        if (pendingRows == 0) {
+            return;
+        }
+        int rows = pendingRows;
+        pendingRows = 0;
+
+        long start = System.currentTimeMillis();
+        int[] updateCounts = stmt.executeBatch();
+        long duration = System.currentTimeMillis() - start;
+
+        long batchUpdateCount = 0;
+        for (int count : updateCounts) {
+            if (count > 0) {
+                batchUpdateCount += count;
+            }
+        }
+        batchCount++;
+        updateCount += batchUpdateCount;
+
+        Scope.getCurrentScope().getLog(getClass()).fine(String.format("Executed JDBC DML batch %d against %s in %d ms. %d operations were executed, %d individual UPDATE events were confirmed by the database.",
+                batchCount, tableName, duration, rows, batchUpdateCount));
+        for (BatchDmlListener listener : Scope.getCurrentScope().getListeners(BatchDmlListener.class)) {
+            listener.batchExecuted(tableName, rows, batchUpdateCount, duration);
+        }
+
+        executed(rows);
+    }
+
+    /**
+     * Records rows which were executed without a batch, committing if the commit interval is reached.
+     */
+    void executed(int rows) throws DatabaseException {
+        rowCount += rows;
+        if (commitInterval < 1) {
+            return;
+        }
+        rowsSinceCommit += rows;
+        if (rowsSinceCommit >= commitInterval) {
+            database.commit();
+            rowsSinceCommit = 0;
+            Scope.getCurrentScope().getLog(getClass()).fine("Committed " + rowCount + " rows executed against " + tableName);
+            for (BatchDmlListener listener : Scope.getCurrentScope().getListeners(BatchDmlListener.class)) {
+                listener.batchesCommitted(tableName, rowCount);
+            }
+        }
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    long getUpdateCount() {
+        return updateCount;
+    }
+
+    int getBatchCount() {
+        return batchCount;
+    }
+}
@@ -109,13 +109,21 @@ public abstract class ExecutablePreparedStatementBase implements ExecutablePrepa
         } catch (SQLException e) {
             throw new DatabaseException(e);
         } finally {
-            for (Closeable closeable : closeables) {
-                try {
-                    closeable.close();
-                } catch (IOException ignore) {
-                }
+            closeResources();
+        }
+    }
+
+    /**
+     * Closes the LOB streams and readers opened while attaching the parameters of this statement.
+     */
+    protected void closeResources() {
+        for (Closeable closeable : closeables) {
+            try {
+                closeable.close();
+            } catch (IOException ignore) {
             }
         }
+        closeables.clear();
     }
 
     protected PreparedStatement getCachedStatement(String sql) {
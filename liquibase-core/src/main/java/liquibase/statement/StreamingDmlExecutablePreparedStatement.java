@@ -0,0 +1,171 @@
+package liquibase.statement;
+
+import liquibase.Scope;
+import liquibase.change.ColumnConfig;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.listener.SqlListener;
+import liquibase.logging.Logger;
+import liquibase.resource.ResourceAccessor;
+import liquibase.util.JdbcUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes the statements of a DML change one row at a time as they are read from a {@link RowSource}, for example
+ * from a CSV file, instead of collecting all of them up front like {@link BatchDmlExecutablePreparedStatement}.
+ * <p>
+ * Every row is bound to the same {@link PreparedStatement} and added to a JDBC batch, which is sent to the database
+ * once it holds <code>batchSize</code> rows. At most <code>batchSize</code> rows are kept in memory at a time, no matter
+ * how many rows the source returns. If a row needs different SQL than the one before it, for example because of a computed
+ * value, the pending batch is sent and a new prepared statement is created.
+ * <p>
+ * Every batch is reported to the {@link liquibase.listener.BatchDmlListener}s of the current scope. If a commit interval
+ * is set, the rows executed so far are committed every time it is reached.
+ * <p>
+ * The rows are read again every time the statement is executed.
+ */
+public class StreamingDmlExecutablePreparedStatement extends ExecutablePreparedStatementBase {
+
+    private final RowSource rowSource;
+    private final int batchSize;
+    private final int commitInterval;
+    private final boolean useBatches;
+
+    /**
+     * @param batchSize      the number of rows sent to the database at once
+     * @param commitInterval the number of rows after which to commit, or 0 to commit only at the end of the changeset
+     * @param useBatches     if false, every row is executed on its own. The prepared statement is still reused.
+     */
+    public StreamingDmlExecutablePreparedStatement(
+            Database database, String catalogName, String schemaName, String tableName,
+            List<? extends ColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
+            RowSource rowSource, int batchSize, int commitInterval, boolean useBatches) {
+        super(database, catalogName, schemaName, tableName, columns, changeSet, resourceAccessor);
+        this.rowSource = rowSource;
+        this.batchSize = Math.max(1, batchSize);
+        this.commitInterval = commitInterval;
+        this.useBatches = useBatches;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        final Logger log = Scope.getCurrentScope().getLog(getClass());
+
+        DmlBatch batch = new DmlBatch(database, getTableName(), batchSize, commitInterval);
+        List<ExecutablePreparedStatementBase> batchRows = new ArrayList<>(useBatches ? batchSize : 1);
+        PreparedStatement stmt = null;
+        String sql = null;
+        try (RowReader rows = rowSource.open()) {
+            ExecutablePreparedStatementBase row;
+            while ((row = rows.readNext()) != null) {
+                List<ColumnConfig> cols = new ArrayList<>(row.getColumns().size());
+                String rowSql = row.generateSql(cols);
+                if (!rowSql.equals(sql)) {
+                    executeBatch(stmt, batch, batchRows);
+                    JdbcUtil.closeStatement(stmt);
+                    stmt = null;
+
+                    for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
+                        listener.writeSqlWillRun(rowSql);
+                    }
+                    stmt = factory.create(rowSql);
+                    sql = rowSql;
+                }
+
+                row.attachParams(cols, stmt);
+                if (useBatches) {
+                    batch.add(stmt);
+                    batchRows.add(row);
+                    if (batch.isFull()) {
+                        executeBatch(stmt, batch, batchRows);
+                    }
+                } else {
+                    try {
+                        row.executePreparedStatement(stmt);
+                    } finally {
+                        row.closeResources();
+                    }
+                    batch.executed(1);
+                }
+            }
+            executeBatch(stmt, batch, batchRows);
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        } catch (IOException e) {
+            throw new DatabaseException(e.getMessage(), e);
+        } finally {
+            for (ExecutablePreparedStatementBase row : batchRows) {
+                row.closeResources();
+            }
+            JdbcUtil.closeStatement(stmt);
+        }
+        log.info(String.format("Executed %d rows against %s in %d batches", batch.getRowCount(), getTableName(), batch.getBatchCount()));
+    }
+
+    private void executeBatch(PreparedStatement stmt, DmlBatch batch, List<ExecutablePreparedStatementBase> batchRows)
+            throws SQLException, DatabaseException {
+        try {
+            batch.execute(stmt);
+        } finally {
+            for (ExecutablePreparedStatementBase row : batchRows) {
+                row.closeResources();
+            }
+            batchRows.clear();
+        }
+    }
+
+    /**
+     * Returns the SQL of the first row. Like for {@link BatchDmlExecutablePreparedStatement}, the rows are expected to
+     * only differ in their bind values, so this describes the statement. Returns null if the source has no rows.
+     */
+    @Override
+    protected String generateSql(List<ColumnConfig> cols) {
+        try (RowReader rows = rowSource.open()) {
+            ExecutablePreparedStatementBase row = rows.readNext();
+            return (row == null) ? null : row.generateSql(cols);
+        } catch (DatabaseException | IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    @Override
+    public boolean continueOnError() {
+        return false;
+    }
+
+    /**
+     * Opens a new {@link RowReader} every time the statement is executed.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        RowReader open() throws DatabaseException;
+    }
+
+    /**
+     * Returns the statements of the rows to execute one after another.
+     */
+    public interface RowReader extends Closeable {
+
+        /**
+         * Returns the statement of the next row, or null if there are no more rows.
+         */
+        ExecutablePreparedStatementBase readNext() throws DatabaseException;
+    }
+}
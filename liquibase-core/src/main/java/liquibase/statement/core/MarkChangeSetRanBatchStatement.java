@@ -0,0 +1,97 @@
+package liquibase.statement.core;
+
+import liquibase.Scope;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.listener.SqlListener;
+import liquibase.logging.Logger;
+import liquibase.sql.Sql;
+import liquibase.sql.SqlConfiguration;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.AbstractSqlStatement;
+import liquibase.statement.ExecutablePreparedStatement;
+import liquibase.util.JdbcUtil;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Marks several changesets as ran in one JDBC batch instead of one round trip per changeset.
+ * The rows are written in the order of the list, so ORDEREXECUTED follows it as it would with a
+ * {@link MarkChangeSetRanStatement} per changeset.
+ */
+public class MarkChangeSetRanBatchStatement extends AbstractSqlStatement implements ExecutablePreparedStatement {
+
+    private final Database database;
+    private final List<ChangeSet> changeSets;
+    private final ChangeSet.ExecType execType;
+
+    public MarkChangeSetRanBatchStatement(Database database, List<ChangeSet> changeSets, ChangeSet.ExecType execType) {
+        this.database = database;
+        this.changeSets = Collections.unmodifiableList(new ArrayList<>(changeSets));
+        this.execType = execType;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public List<ChangeSet> getChangeSets() {
+        return changeSets;
+    }
+
+    public ChangeSet.ExecType getExecType() {
+        return execType;
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        Sql[] sqls = SqlGeneratorFactory.getInstance().generateSql(this, database);
+        if (sqls.length == 0) {
+            return;
+        }
+
+        Logger log = Scope.getCurrentScope().getLog(getClass());
+        Level sqlLogLevel = SqlConfiguration.SHOW_AT_LOG_LEVEL.getCurrentValue();
+        boolean useBatch = database.supportsBatchUpdates();
+
+        Statement stmt = null;
+        String currentSql = null;
+        try {
+            stmt = factory.getConnection().createStatement();
+            for (Sql sql : sqls) {
+                if (sql.toSql().contains("?")) {
+                    stmt.setEscapeProcessing(false);
+                    break;
+                }
+            }
+
+            for (Sql sql : sqls) {
+                currentSql = sql.toSql();
+                for (SqlListener listener : Scope.getCurrentScope().getListeners(SqlListener.class)) {
+                    listener.writeSqlWillRun(currentSql);
+                }
+                log.log(sqlLogLevel, currentSql, null);
+                if (useBatch) {
+                    stmt.addBatch(currentSql);
+                } else {
+                    stmt.execute(currentSql);
+                }
+            }
+            if (useBatch) {
+                currentSql = null;
+                stmt.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException(e.getMessage() + (currentSql == null ? "" : " [Failed SQL: " + currentSql + "]"), e);
+        } finally {
+            JdbcUtil.closeStatement(stmt);
+        }
+    }
+}
@@ -63,6 +63,19 @@ public class SelectFromDatabaseChangeLogStatement extends AbstractSqlStatement {
 
     }
 
+    public static class ByOrderExecutedGreaterThan implements WhereClause {
+
+        private final int orderExecuted;
+
+        public ByOrderExecutedGreaterThan(int orderExecuted) {
+            this.orderExecuted = orderExecuted;
+        }
+
+        public int getOrderExecuted() {
+            return orderExecuted;
+        }
+    }
+
     public static class ByTag implements WhereClause {
 
         private String tagName;
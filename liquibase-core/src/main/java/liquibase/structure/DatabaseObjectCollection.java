@@ -100,29 +100,25 @@ public class DatabaseObjectCollection implements LiquibaseSerializable {
             return null;
         }
 
-        String[] hashes = DatabaseObjectComparatorFactory.getInstance().hash(example, null, database);
-
-        SortedSet<Set<DatabaseObject>> objectSets = new TreeSet<>(new Comparator<Set<DatabaseObject>>() {
-            @Override
-            public int compare(Set<DatabaseObject> o1, Set<DatabaseObject> o2) {
-                int sizeComparison = Integer.valueOf(o1.size()).compareTo(o2.size());
-                if (sizeComparison == 0) {
-                    return o1.toString().compareTo(o2.toString());
-                }
-                return sizeComparison;
-            }
-        });
+        DatabaseObjectComparatorFactory comparatorFactory = DatabaseObjectComparatorFactory.getInstance();
+        String[] hashes = comparatorFactory.hash(example, null, database);
 
+        List<Set<DatabaseObject>> objectSets = new ArrayList<>(hashes.length);
         for (String hash : hashes) {
             Set<DatabaseObject> databaseObjects = databaseObjectsByHash.get(hash);
-            if (databaseObjects != null) {
+            if ((databaseObjects != null) && !containsSameSet(objectSets, databaseObjects)) {
                 objectSets.add(databaseObjects);
             }
         }
+        if (objectSets.size() > 1) {
+            //check the smallest set first. It is usually the one for the name of the object, with a single object in it
+            objectSets.sort(Comparator.comparingInt(Set::size));
+        }
 
+        //every object in the sets shares a hash with the example, so only the comparators are left to check
         for (Set<DatabaseObject> databaseObjects : objectSets) {
             for (DatabaseObject obj : databaseObjects) {
-                if (DatabaseObjectComparatorFactory.getInstance().isSameObject(obj, example, schemaComparisons, database)) {
+                if (comparatorFactory.isSameObjectWithMatchingHash(obj, example, schemaComparisons, database)) {
                     //noinspection unchecked
                     return (DatabaseObjectType) obj;
                 }
@@ -132,6 +128,29 @@ public class DatabaseObjectCollection implements LiquibaseSerializable {
         return null;
     }
 
+    /**
+     * Same as {@link #get(DatabaseObject, CompareControl.SchemaComparison[])}, but checks the given object first.
+     * The object must be included in this collection and share one of its hashes with the example, as is the case
+     * when the example was found by looking up the object in another collection.
+     */
+    public <DatabaseObjectType extends DatabaseObject> DatabaseObjectType get(DatabaseObjectType example, CompareControl.SchemaComparison[] schemaComparisons, DatabaseObject likelyMatch) {
+        if ((likelyMatch != null) && DatabaseObjectComparatorFactory.getInstance().isSameObjectWithMatchingHash(likelyMatch, example, schemaComparisons, database)) {
+            @SuppressWarnings("unchecked")
+            DatabaseObjectType match = (DatabaseObjectType) likelyMatch;
+            return match;
+        }
+        return get(example, schemaComparisons);
+    }
+
+    private static boolean containsSameSet(List<Set<DatabaseObject>> objectSets, Set<DatabaseObject> databaseObjects) {
+        for (Set<DatabaseObject> objectSet : objectSets) {
+            if (objectSet == databaseObjects) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns all objects of the given type that are already included in this snapshot.
      */
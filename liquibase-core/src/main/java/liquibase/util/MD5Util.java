@@ -3,13 +3,26 @@ package liquibase.util;
 import liquibase.Scope;
 import liquibase.GlobalConfiguration;
 import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.logging.Logger;
 
 import java.io.InputStream;
-import java.security.DigestInputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Level;
 
 /**
  * Generates md5-sums based on a string.
+ * <p>
+ * Strings are encoded straight into the digest in small chunks instead of being copied into a byte array first,
+ * and the {@link MessageDigest} and buffers are reused per thread. Use {@link MD5Writer} to compute an md5-sum of text
+ * which is produced piece by piece.
  */
 public class MD5Util {
 
@@ -21,26 +34,34 @@ public class MD5Util {
            '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
     };
 
+    private static final int MAX_LOGGED_INPUT_LENGTH = 500;
+
+    private static final ThreadLocal<Digester> DIGESTERS = ThreadLocal.withInitial(Digester::new);
+
     public static String computeMD5(String input) {
         if (input == null) {
             return null;
         }
-        MessageDigest digest;
+        String returnString;
+        Digester digester = Digester.borrow();
         try {
-            digest = MessageDigest.getInstance("MD5");
-            digest.update(input.getBytes(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
+            digester.start(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+            digester.update(CharBuffer.wrap(input), true);
+            returnString = digester.finish();
         } catch (Exception e) {
             throw new UnexpectedLiquibaseException(e);
+        } finally {
+            digester.release();
         }
-        byte[] digestBytes = digest.digest();
 
-        String returnString = new String(encodeHex(digestBytes));
-
-        String inputToLog = input;
-        if (inputToLog.length() > 500) {
-            inputToLog = inputToLog.substring(0, 500)+"... [truncated in log]";
+        Logger log = Scope.getCurrentScope().getLog(MD5Util.class);
+        if (log.isLoggable(Level.FINE)) {
+            String inputToLog = input;
+            if (inputToLog.length() > MAX_LOGGED_INPUT_LENGTH) {
+                inputToLog = inputToLog.substring(0, MAX_LOGGED_INPUT_LENGTH) + "... [truncated in log]";
+            }
+            log.fine("Computed checksum for " + inputToLog + " as " + returnString);
         }
-        Scope.getCurrentScope().getLog(MD5Util.class).fine("Computed checksum for "+inputToLog+" as "+returnString);
         return returnString;
 
     }
@@ -50,21 +71,21 @@ public class MD5Util {
             return null;
         }
 
-        MessageDigest digest;
+        String returnString;
+        Digester digester = Digester.borrow();
         try {
-            digest = MessageDigest.getInstance("MD5");
-
-            DigestInputStream digestStream = new DigestInputStream(stream, digest);
-            byte[] buf = new byte[20480];
-            while (digestStream.read(buf) != -1) {
-                ; //digest is updating
+            MessageDigest digest = digester.getDigest();
+            byte[] buf = digester.streamBuffer;
+            int read;
+            while ((read = stream.read(buf)) != -1) {
+                digest.update(buf, 0, read);
             }
+            returnString = new String(encodeHex(digest.digest()));
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            digester.release();
         }
-        byte[] digestBytes = digest.digest();
-
-        String returnString = new String(encodeHex(digestBytes));
 
         Scope.getCurrentScope().getLog(MD5Util.class).fine("Computed checksum for inputStream as "+returnString);
         return returnString;
@@ -94,4 +115,108 @@ public class MD5Util {
         return out;
     }
 
+    /**
+     * Per-thread MD5 digest, charset encoder and buffers.
+     * A thread which needs a second digester while its own one is in use, for example while nesting {@link MD5Writer}s, gets a new one.
+     */
+    static class Digester {
+        private static final int CHAR_BUFFER_SIZE = 1024;
+        private static final int BYTE_BUFFER_SIZE = 4096;
+        private static final int STREAM_BUFFER_SIZE = 20480;
+
+        private MessageDigest digest;
+        private CharsetEncoder encoder;
+        private String encoding;
+        private final ByteBuffer bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+        final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        private final byte[] streamBuffer = new byte[STREAM_BUFFER_SIZE];
+        private boolean inUse;
+        private boolean shared;
+
+        static Digester borrow() {
+            Digester digester = DIGESTERS.get();
+            if (digester.inUse) {
+                digester = new Digester();
+            } else {
+                digester.shared = true;
+            }
+            digester.inUse = true;
+            return digester;
+        }
+
+        void release() {
+            inUse = false;
+            if (!shared) {
+                return;
+            }
+            chars.clear();
+            bytes.clear();
+            if (digest != null) {
+                digest.reset();
+            }
+        }
+
+        MessageDigest getDigest() throws NoSuchAlgorithmException {
+            if (digest == null) {
+                digest = MessageDigest.getInstance("MD5");
+            } else {
+                digest.reset();
+            }
+            return digest;
+        }
+
+        /**
+         * Prepares for {@link #update(CharBuffer, boolean)} calls with text encoded in the given encoding.
+         */
+        void start(String encoding) throws NoSuchAlgorithmException {
+            getDigest();
+            if ((this.encoder == null) || !encoding.equals(this.encoding)) {
+                this.encoder = Charset.forName(encoding).newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                this.encoding = encoding;
+            } else {
+                this.encoder.reset();
+            }
+            chars.clear();
+            bytes.clear();
+        }
+
+        /**
+         * Encodes the given characters into the digest. Unless <code>endOfInput</code> is set, a trailing high surrogate
+         * is left in the buffer to be completed by the next call.
+         */
+        void update(CharBuffer input, boolean endOfInput) throws CharacterCodingException {
+            while (true) {
+                CoderResult result = encoder.encode(input, bytes, endOfInput);
+                if (result.isOverflow()) {
+                    flushBytes();
+                } else if (result.isUnderflow()) {
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        /**
+         * Writes any pending characters and returns the md5-sum of everything passed to {@link #update(CharBuffer, boolean)}.
+         */
+        String finish() throws CharacterCodingException {
+            chars.flip();
+            update(chars, true);
+            chars.clear();
+            while (encoder.flush(bytes).isOverflow()) {
+                flushBytes();
+            }
+            flushBytes();
+            return new String(encodeHex(digest.digest()));
+        }
+
+        private void flushBytes() {
+            bytes.flip();
+            digest.update(bytes);
+            bytes.clear();
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package liquibase.util;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.exception.UnexpectedLiquibaseException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Writer which computes the md5-sum of the text written to it, encoded with {@link GlobalConfiguration#OUTPUT_FILE_ENCODING},
+ * without keeping the text in memory. The result is the same as {@link MD5Util#computeMD5(String)} of the concatenated text.
+ * <p>
+ * Call {@link #getMD5()} once everything is written. Instances are not thread-safe and should be closed when no longer needed.
+ */
+public class MD5Writer extends Writer {
+
+    private MD5Util.Digester digester;
+    private String md5;
+
+    public MD5Writer() {
+        this.digester = MD5Util.Digester.borrow();
+        try {
+            this.digester.start(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+        } catch (Exception e) {
+            this.digester.release();
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        CharBuffer chars = getDigester().chars;
+        if (!chars.hasRemaining()) {
+            drain();
+        }
+        chars.put((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        CharBuffer chars = getDigester().chars;
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        CharBuffer chars = getDigester().chars;
+        while (len > 0) {
+            if (!chars.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(len, chars.remaining());
+            chars.put(str, off, off + count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Finishes the computation and returns the md5-sum of everything written. Further writes are not allowed.
+     */
+    public String getMD5() throws IOException {
+        if (md5 == null) {
+            md5 = getDigester().finish();
+            close();
+            Scope.getCurrentScope().getLog(MD5Util.class).fine("Computed checksum for written text as " + md5);
+        }
+        return md5;
+    }
+
+    @Override
+    public void flush() {
+        //nothing is buffered beyond what the digest needs
+    }
+
+    @Override
+    public void close() {
+        if (digester != null) {
+            digester.release();
+            digester = null;
+        }
+    }
+
+    private void drain() throws IOException {
+        CharBuffer chars = digester.chars;
+        chars.flip();
+        digester.update(chars, false);
+        chars.compact();
+    }
+
+    private MD5Util.Digester getDigester() throws IOException {
+        if (digester == null) {
+            throw new IOException("MD5Writer is closed");
+        }
+        return digester;
+    }
+}
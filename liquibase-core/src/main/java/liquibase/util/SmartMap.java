@@ -9,7 +9,18 @@ import java.util.*;
  */
 public class SmartMap implements Map<String, Object> {
 
-    private SortedMap<String, Object> values = new TreeMap<String, Object>();
+    private final SortedMap<String, Object> values;
+
+    public SmartMap() {
+        this(new TreeMap<>());
+    }
+
+    /**
+     * Creates a SmartMap which keeps its values in the given map, such as a concurrent map when it is shared between threads.
+     */
+    public SmartMap(SortedMap<String, Object> values) {
+        this.values = values;
+    }
 
     @Override
     public int size() {
@@ -0,0 +1,70 @@
+package liquibase
+
+import liquibase.logging.core.LogServiceFactory
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CyclicBarrier
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class ThreadLocalScopeManagerTest extends Specification {
+
+    ExecutorService executor
+
+    def setup() {
+        Scope.setScopeManager(new ThreadLocalScopeManager())
+        executor = Executors.newFixedThreadPool(2)
+    }
+
+    def cleanup() {
+        executor.shutdown()
+        Scope.setScopeManager(new SingletonScopeManager())
+    }
+
+    def "threads have their own child scopes"() {
+        when:
+        def barrier = new CyclicBarrier(2)
+        def results = ["a", "b"].collect { value ->
+            executor.submit({
+                Scope.child([test1: value], {
+                    barrier.await()
+                    def seen = Scope.currentScope.get("test1", String)
+                    barrier.await()
+                    return seen
+                } as Scope.ScopedRunnerWithReturn)
+            } as Callable)
+        }
+
+        then:
+        results*.get() == ["a", "b"]
+        Scope.currentScope.get("test1", String) == null
+    }
+
+    def "other threads see the root scope unless the task is wrapped"() {
+        when:
+        def root = Scope.currentScope
+        def results = Scope.child([test1: "a"], {
+            [
+                    executor.submit({ Scope.currentScope } as Callable).get(),
+                    executor.submit(Scope.currentScope.wrap({ Scope.currentScope.get("test1", String) } as Callable)).get(),
+                    executor.submit({ Scope.currentScope } as Callable).get(),
+            ]
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        results[0].is(root)
+        results[1] == "a"
+        results[2].is(root)
+    }
+
+    def "singletons are shared between threads"() {
+        when:
+        def singletons = (1..4).collect {
+            executor.submit({ Scope.currentScope.getSingleton(LogServiceFactory) } as Callable)
+        }*.get()
+
+        then:
+        singletons.every { it.is(Scope.currentScope.getSingleton(LogServiceFactory)) }
+    }
+}
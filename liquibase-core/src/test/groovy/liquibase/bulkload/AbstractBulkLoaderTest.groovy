@@ -0,0 +1,130 @@
+package liquibase.bulkload
+
+import liquibase.change.ColumnConfig
+import liquibase.database.core.PostgresDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.DatabaseException
+import liquibase.statement.BulkLoadStatement
+import liquibase.statement.DatabaseFunction
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class AbstractBulkLoaderTest extends Specification {
+
+    def "rows are written in the text format"() {
+        when:
+        def text = readAll(TestBulkLoader.TEXT, [
+                [column("id", 1), column("name", "a\tb\\c\nd")],
+                [column("id", new BigDecimal("1E+3")), column("name", null)],
+        ])
+
+        then:
+        text == "1\ta\\tb\\\\c\\nd\n" +
+                "1000\t\\N\n"
+    }
+
+    def "rows are written as comma separated values"() {
+        when:
+        def text = readAll(TestBulkLoader.CSV, [
+                [column("id", 1), column("name", 'say "hi", then leave')],
+                [column("id", 2), column("name", null)],
+                [column("id", 3), column("name", "")],
+        ])
+
+        then:
+        text == '"1","say ""hi"", then leave"\n' +
+                '"2",\n' +
+                '"3",""\n'
+    }
+
+    def "column names come from the first row"() {
+        when:
+        def stream = new AbstractBulkLoader.RowInputStream(statement([[column("id", 1), column("name", "a")]]), TestBulkLoader.TEXT)
+
+        then:
+        stream.getColumnNames() == ["id", "name"]
+        stream.getText(StandardCharsets.UTF_8.name()) == "1\ta\n"
+        stream.getRowCount() == 1
+    }
+
+    def "there are no column names without rows"() {
+        expect:
+        new AbstractBulkLoader.RowInputStream(statement([]), TestBulkLoader.TEXT).getColumnNames() == null
+    }
+
+    def "computed values cannot be bulk loaded"() {
+        given:
+        def stream = new AbstractBulkLoader.RowInputStream(statement([[column("id", new DatabaseFunction("NOW()"))]]), TestBulkLoader.TEXT)
+
+        when:
+        stream.getText(StandardCharsets.UTF_8.name())
+
+        then:
+        thrown(IOException)
+        stream.getFailure() instanceof DatabaseException
+        stream.getFailure().message.contains("NOW()")
+    }
+
+    def "all values but computed ones are supported"() {
+        expect:
+        TestBulkLoader.LOADER.supportsValue(column("id", value)) == expected
+
+        where:
+        value                          | expected
+        1                              | true
+        "a"                            | true
+        new DatabaseFunction("NOW()")  | false
+    }
+
+    private static String readAll(AbstractBulkLoader.RowFormat format, List<List<ColumnConfig>> rows) {
+        def stream = new AbstractBulkLoader.RowInputStream(statement(rows), format)
+        stream.getColumnNames()
+        return stream.getText(StandardCharsets.UTF_8.name())
+    }
+
+    private static BulkLoadStatement statement(List<List<ColumnConfig>> rows) {
+        return new BulkLoadStatement(new PostgresDatabase(), null, null, "test_table", new TestBulkLoader(), {
+            def iterator = rows.iterator()
+            return new BulkLoadStatement.RowReader() {
+                @Override
+                List<? extends ColumnConfig> readNextRow() {
+                    return iterator.hasNext() ? iterator.next() : null
+                }
+
+                @Override
+                void close() {
+                }
+            }
+        } as BulkLoadStatement.RowSource)
+    }
+
+    private static ColumnConfig column(String name, Object value) {
+        def column = new ColumnConfig().setName(name)
+        if (value instanceof Number) {
+            column.setValueNumeric((Number) value)
+        } else if (value instanceof DatabaseFunction) {
+            column.setValueComputed((DatabaseFunction) value)
+        } else {
+            column.setValue((String) value)
+        }
+        return column
+    }
+
+    private static class TestBulkLoader extends AbstractBulkLoader {
+
+        static final TestBulkLoader LOADER = new TestBulkLoader()
+        static final AbstractBulkLoader.RowFormat TEXT = LOADER.&appendTextRow as AbstractBulkLoader.RowFormat
+        static final AbstractBulkLoader.RowFormat CSV = LOADER.&appendCsvRow as AbstractBulkLoader.RowFormat
+
+        @Override
+        int getPriority(liquibase.database.Database database) {
+            return PRIORITY_NOT_APPLICABLE
+        }
+
+        @Override
+        long load(BulkLoadStatement statement, JdbcConnection connection) {
+            return 0
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package liquibase.bulkload.core
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.change.core.LoadDataChange
+import liquibase.change.core.LoadDataColumnConfig
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.PreparedStatementFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.listener.SqlListener
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.statement.BulkLoadStatement
+import liquibase.statement.SqlStatement
+import spock.lang.Specification
+
+import java.sql.Date
+import java.time.LocalDate
+
+class H2CsvReadBulkLoaderTest extends Specification {
+
+    Database database
+    List<String> executedSql = []
+
+    def setup() {
+        def connection = DatabaseFactory.instance.openConnection("jdbc:h2:mem:H2CsvReadBulkLoaderTest;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver", null, null, null, new ClassLoaderResourceAccessor())
+        database = DatabaseFactory.instance.findCorrectDatabaseImplementation(connection)
+        execute("CREATE TABLE BULK_PERSON (ID INT, NAME VARCHAR(50), BIRTHDAY DATE)")
+    }
+
+    def cleanup() {
+        execute("DROP TABLE BULK_PERSON")
+        database?.close()
+    }
+
+    def "is used for embedded H2 databases"() {
+        expect:
+        new H2CsvReadBulkLoader().getPriority(database) == H2CsvReadBulkLoader.PRIORITY_SPECIALIZED
+    }
+
+    def "loadData rows are loaded with CSVREAD"() {
+        when:
+        loadData("liquibase/bulkload/core/people.csv")
+
+        then:
+        executedSql.size() == 1
+        executedSql[0].contains("CSVREAD(")
+        readRows() == [
+                [1, "Bob Johnson", Date.valueOf("1980-01-02")],
+                [2, 'John "JD" Doe', Date.valueOf("1990-03-04")],
+        ]
+    }
+
+    def "loadData falls back to INSERT statements for values the loader cannot write"() {
+        when:
+        loadData("liquibase/bulkload/core/people-with-functions.csv")
+
+        then:
+        executedSql.every { it.startsWith("INSERT INTO") && !it.contains("CSVREAD(") }
+        readRows() == [
+                [1, "Bob Johnson", Date.valueOf("1980-01-02")],
+                [2, "John Doe", Date.valueOf(LocalDate.now())],
+        ]
+    }
+
+    private void loadData(String file) {
+        def change = new LoadDataChange()
+        change.setTableName("BULK_PERSON")
+        change.setFile(file)
+        change.addColumn(column("ID", "NUMERIC"))
+        change.addColumn(column("NAME", "STRING"))
+        change.addColumn(column("BIRTHDAY", "DATE"))
+
+        def listener = new SqlListener() {
+            @Override
+            void writeSqlWillRun(String sql) {
+                executedSql.add(sql)
+            }
+        }
+        Scope.child(listener, [(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true], {
+            SqlStatement[] statements = change.generateStatements(database)
+            assert statements.length == 1
+            assert statements[0] instanceof BulkLoadStatement
+            assert ((BulkLoadStatement) statements[0]).getBulkLoader() instanceof H2CsvReadBulkLoader
+            ((BulkLoadStatement) statements[0]).execute(new PreparedStatementFactory((JdbcConnection) database.getConnection()))
+        } as Scope.ScopedRunner)
+    }
+
+    private static LoadDataColumnConfig column(String name, String type) {
+        def column = new LoadDataColumnConfig()
+        column.setHeader(name)
+        column.setType(type)
+        return column
+    }
+
+    private List<List<Object>> readRows() {
+        def rows = []
+        def statement = ((JdbcConnection) database.getConnection()).createStatement()
+        try {
+            def resultSet = statement.executeQuery("SELECT ID, NAME, BIRTHDAY FROM BULK_PERSON ORDER BY ID")
+            while (resultSet.next()) {
+                rows.add([resultSet.getInt(1), resultSet.getString(2), resultSet.getDate(3)])
+            }
+        } finally {
+            statement.close()
+        }
+        return rows
+    }
+
+    private void execute(String sql) {
+        def statement = ((JdbcConnection) database.getConnection()).createStatement()
+        try {
+            statement.execute(sql)
+        } finally {
+            statement.close()
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package liquibase.change
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.change.core.SQLFileChange
+import liquibase.resource.FileSystemResourceAccessor
+import spock.lang.Specification
+
+class ResourceCheckSumCacheTest extends Specification {
+
+    File directory
+
+    def setup() {
+        ResourceCheckSumCache.clear()
+        directory = File.createTempDir("ResourceCheckSumCacheTest-", "")
+    }
+
+    def cleanup() {
+        ResourceCheckSumCache.clear()
+        directory.deleteDir()
+    }
+
+    def "unchanged files are only read once"() {
+        when:
+        def file = writeFile("test.sql", "select 1;", 10000)
+        def reads = 0
+        def computer = { InputStream stream -> reads++; CheckSum.compute(stream, false) } as ResourceCheckSumCache.ContentCheckSum
+        def first = inScope { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", computer) }
+        def second = inScope { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", computer) }
+
+        then:
+        reads == 1
+        second == first
+
+        when: "the variant differs"
+        inScope { ResourceCheckSumCache.getCheckSum(null, "test.sql", "other", computer) }
+
+        then:
+        reads == 2
+
+        when: "the file changes"
+        file.text = "select 2;"
+        file.setLastModified(System.currentTimeMillis() - 5000)
+        def third = inScope { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", computer) }
+
+        then:
+        reads == 3
+        third != first
+    }
+
+    def "recently modified files are not cached"() {
+        when:
+        writeFile("test.sql", "select 1;", 0)
+        def reads = 0
+        def computer = { InputStream stream -> reads++; CheckSum.compute(stream, false) } as ResourceCheckSumCache.ContentCheckSum
+        inScope { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", computer) }
+        inScope { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", computer) }
+
+        then:
+        reads == 2
+    }
+
+    def "missing files return null"() {
+        expect:
+        inScope { ResourceCheckSumCache.getCheckSum(null, "missing.sql", "test", { InputStream stream -> CheckSum.compute("x") } as ResourceCheckSumCache.ContentCheckSum) } == null
+    }
+
+    def "checksums are read back from the manifest file"() {
+        when:
+        writeFile("test.sql", "select 1;", 10000)
+        def manifest = new File(directory, "manifest/checksums.txt")
+        def reads = 0
+        def computer = { InputStream stream -> reads++; CheckSum.compute(stream, false) } as ResourceCheckSumCache.ContentCheckSum
+        def first = inScope(manifest) { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test\twith\nspecial chars", computer) }
+        ResourceCheckSumCache.clear()
+        def second = inScope(manifest) { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test\twith\nspecial chars", computer) }
+
+        then:
+        manifest.exists()
+        reads == 1
+        second == first
+    }
+
+    def "outdated manifest lines are dropped when the manifest is read"() {
+        when:
+        def file = writeFile("test.sql", "select 1;", 10000)
+        def manifest = new File(directory, "checksums.txt")
+        def computer = { InputStream stream -> CheckSum.compute(stream, false) } as ResourceCheckSumCache.ContentCheckSum
+        inScope(manifest) { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", computer) }
+        file.text = "select 2;"
+        file.setLastModified(System.currentTimeMillis() - 5000)
+        def changed = inScope(manifest) { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", computer) }
+        def linesBeforeRead = manifest.readLines().size()
+
+        ResourceCheckSumCache.clear()
+        def reads = 0
+        def countingComputer = { InputStream stream -> reads++; CheckSum.compute(stream, false) } as ResourceCheckSumCache.ContentCheckSum
+        def readBack = inScope(manifest) { ResourceCheckSumCache.getCheckSum(null, "test.sql", "test", countingComputer) }
+
+        then:
+        linesBeforeRead == 2
+        manifest.readLines().size() == 1
+        reads == 0
+        readBack == changed
+    }
+
+    def "sqlFile checksum matches the checksum of the same inline sql"() {
+        when:
+        writeFile("test.sql", "create table person (id int);\n\ncreate table address (id int);", 10000)
+        def fileChange = new SQLFileChange(path: "test.sql")
+        def inlineChange = new SQLFileChange(path: "test.sql")
+        inlineChange.setSql("create table person (id int);\n\ncreate table address (id int);")
+
+        then:
+        inScope { fileChange.generateCheckSum() } == inScope { inlineChange.generateCheckSum() }
+        inScope { fileChange.generateCheckSum() } == inScope { fileChange.generateCheckSum() }
+    }
+
+    private File writeFile(String name, String content, long ageMillis) {
+        def file = new File(directory, name)
+        file.text = content
+        if (ageMillis > 0) {
+            file.setLastModified(System.currentTimeMillis() - ageMillis)
+        }
+        return file
+    }
+
+    private <T> T inScope(File manifest = null, Closure<T> closure) {
+        Map<String, Object> scopeValues = [(Scope.Attr.resourceAccessor.name()): new FileSystemResourceAccessor(directory)]
+        if (manifest != null) {
+            scopeValues.put(GlobalConfiguration.CHECKSUM_MANIFEST_FILE.getKey(), manifest.getAbsolutePath())
+        }
+        return Scope.child(scopeValues, closure as Scope.ScopedRunnerWithReturn<T>)
+    }
+}
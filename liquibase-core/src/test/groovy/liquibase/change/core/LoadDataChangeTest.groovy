@@ -1,15 +1,19 @@
 package liquibase.change.core
 
+import liquibase.GlobalConfiguration
 import liquibase.Scope
 import liquibase.change.ChangeStatus
+import liquibase.change.ColumnConfig
 import liquibase.change.StandardChangeTest
 import liquibase.changelog.ChangeSet
 import liquibase.changelog.DatabaseChangeLog
 import liquibase.database.Database
 import liquibase.database.DatabaseConnection
 import liquibase.database.DatabaseFactory
+import liquibase.database.PreparedStatementFactory
 import liquibase.database.core.MSSQLDatabase
 import liquibase.database.core.MockDatabase
+import liquibase.database.jvm.JdbcConnection
 import liquibase.exception.ValidationErrors
 import liquibase.parser.core.ParsedNodeException
 import liquibase.resource.ClassLoaderResourceAccessor
@@ -20,6 +24,7 @@ import liquibase.statement.DatabaseFunction
 import liquibase.statement.ExecutablePreparedStatement
 import liquibase.statement.ExecutablePreparedStatementBase
 import liquibase.statement.SqlStatement
+import liquibase.statement.StreamingDmlExecutablePreparedStatement
 import liquibase.statement.core.InsertSetStatement
 import liquibase.statement.core.InsertStatement
 import liquibase.structure.DatabaseObject
@@ -31,7 +36,9 @@ import liquibase.test.TestContext
 import liquibase.util.csv.CSVReader
 import spock.lang.Unroll
 
+import java.sql.Connection
 import java.sql.Date
+import java.sql.PreparedStatement
 import java.sql.Time
 import java.sql.Timestamp
 import java.time.LocalDate
@@ -561,6 +568,69 @@ public class LoadDataChangeTest extends StandardChangeTest {
         "jdoe" == ((InsertStatement) sqlStatements[1]).getColumnValue("username")
     }
 
+    def "loadDataStreaming produces a single streaming statement"() throws Exception {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange();
+        loadDataChange.setSchemaName("SCHEMA_NAME");
+        loadDataChange.setTableName("TABLE_NAME");
+        loadDataChange.setUsePreparedStatements(usePreparedStatements);
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv");
+
+        SqlStatement[] sqlStatement = Scope.child([(GlobalConfiguration.LOAD_DATA_STREAMING.getKey()): true], {
+            return loadDataChange.generateStatements(new MSSQLDatabase() { public boolean supportsBatchUpdates() { return true; } })
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        sqlStatement.length == 1
+        sqlStatement[0].getClass() == expectedClass
+
+        where:
+        usePreparedStatements | expectedClass
+        null                  | StreamingDmlExecutablePreparedStatement
+        Boolean.TRUE          | StreamingDmlExecutablePreparedStatement
+        Boolean.FALSE         | InsertSetStatement
+    }
+
+    def "loadDataStreaming executes rows in batches of loadDataBatchSize"() throws Exception {
+        given:
+        def preparedStatement = Mock(PreparedStatement)
+        def connection = Mock(Connection)
+        connection.prepareStatement(_ as String) >> preparedStatement
+
+        LoadDataChange loadDataChange = new LoadDataChange();
+        loadDataChange.setTableName("TABLE_NAME");
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv");
+
+        when:
+        Scope.child([(GlobalConfiguration.LOAD_DATA_STREAMING.getKey()): true, (GlobalConfiguration.LOAD_DATA_BATCH_SIZE.getKey()): 1], {
+            SqlStatement[] sqlStatement = loadDataChange.generateStatements(new MSSQLDatabase() { public boolean supportsBatchUpdates() { return true; } })
+            ((ExecutablePreparedStatement) sqlStatement[0]).execute(new PreparedStatementFactory(new JdbcConnection(connection)))
+        } as Scope.ScopedRunner)
+
+        then:
+        2 * preparedStatement.addBatch()
+        2 * preparedStatement.executeBatch() >> ([1] as int[])
+        1 * preparedStatement.close()
+    }
+
+    def "loadDataStreaming describes its SQL with the statement of the first row"() throws Exception {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange();
+        loadDataChange.setTableName("TABLE_NAME");
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv");
+
+        def cols = new ArrayList<ColumnConfig>()
+        String sql = Scope.child([(GlobalConfiguration.LOAD_DATA_STREAMING.getKey()): true], {
+            SqlStatement[] sqlStatement = loadDataChange.generateStatements(new MSSQLDatabase() { public boolean supportsBatchUpdates() { return true; } })
+            return ((StreamingDmlExecutablePreparedStatement) sqlStatement[0]).generateSql(cols)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        sql.startsWith("INSERT INTO ")
+        sql.endsWith("VALUES(?, ?)")
+        cols.size() == 2
+    }
+
     Table addColumns(Table table, ColDef... colunms) {
         colunms.each {
             table.addColumn(new Column(Table.class, table.schema.catalogName, table.schema.name, table.name
@@ -2,6 +2,7 @@ package liquibase.changelog
 
 
 import liquibase.Scope
+import liquibase.change.ChangeFactory
 import liquibase.change.CheckSum
 import liquibase.change.core.*
 import liquibase.parser.ChangeLogParserConfiguration
@@ -624,4 +625,35 @@ public class ChangeSetTest extends Specification {
         changeSet.isInheritableIgnore()
     }
 
+    def "generateCheckSum is remembered until the changeSet or its changes are modified"() {
+        when:
+        def changeSet = new ChangeSet("id1", "author1", false, false, "/test.xml", null, null, null)
+        def createTable = new CreateTableChange(tableName: "person")
+        changeSet.addChange(createTable)
+        def original = changeSet.generateCheckSum()
+
+        then:
+        changeSet.generateCheckSum().is(original)
+
+        when:
+        Scope.getCurrentScope().getSingleton(ChangeFactory).getChangeMetaData(createTable).getParameters().get("tableName").setValue(createTable, "address")
+        def afterSetValue = changeSet.generateCheckSum()
+
+        then:
+        afterSetValue != original
+
+        when:
+        changeSet.addChange(new DropTableChange(tableName: "person"))
+
+        then:
+        changeSet.generateCheckSum() != afterSetValue
+
+        when:
+        def beforeVisitor = changeSet.generateCheckSum()
+        changeSet.addSqlVisitor(new ReplaceSqlVisitor(replace: "a", with: "b"))
+
+        then:
+        changeSet.generateCheckSum() != beforeVisitor
+    }
+
 }
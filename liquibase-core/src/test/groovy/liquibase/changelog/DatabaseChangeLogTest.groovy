@@ -2,10 +2,12 @@ package liquibase.changelog
 
 import liquibase.ContextExpression
 import liquibase.Labels
+import liquibase.Scope
 import liquibase.change.core.CreateTableChange
 import liquibase.change.core.RawSQLChange
 import liquibase.exception.SetupException
 import liquibase.exception.UnknownChangeLogParameterException
+import liquibase.parser.ChangeLogParserConfiguration
 import liquibase.parser.core.ParsedNode
 import liquibase.precondition.core.OrPrecondition
 import liquibase.precondition.core.PreconditionContainer
@@ -90,6 +92,30 @@ create view sql_view as select * from sql_table;'''
         changeLog.getChangeSet(path, "auth", "with-dbms-and-context") == null
     }
 
+    def "getChangeSet matches normalized paths and returns the first changeSet in run order"() {
+        def path = "com/example/path.xml"
+        when:
+        def changeLog = new DatabaseChangeLog(path)
+        def last = new ChangeSet("1", "auth", false, false, path, null, null, changeLog)
+        last.setRunOrder("last")
+        def normal = new ChangeSet("1", "auth", false, false, "classpath:" + path, null, null, changeLog)
+        changeLog.addChangeSet(last)
+        changeLog.addChangeSet(normal)
+
+        then:
+        changeLog.getChangeSet(path, "auth", "1").is(normal)
+        changeLog.getChangeSet("classpath:/COM/example/path.xml", "AUTH", "1").is(normal)
+        changeLog.getChangeSet("com\\example\\path.xml", "auth", "1").is(normal)
+        changeLog.getChangeSet(path, "auth", "2") == null
+
+        when: "changeSets list is modified directly"
+        def direct = new ChangeSet("2", "auth", false, false, path, null, null, changeLog)
+        changeLog.getChangeSets().add(direct)
+
+        then:
+        changeLog.getChangeSet(path, "auth", "2").is(direct)
+    }
+
     def "load handles both changes and preconditions"() {
         when:
         def children = [
@@ -401,6 +427,67 @@ create view sql_view as select * from sql_table;'''
         e.message.startsWith("The file com/example/invalid.xml was not found in")
     }
 
+    def "included files parsed on multiple threads are loaded in include order with property scoping"() {
+        when:
+        def files = [:]
+        for (int i = 0; i < 20; i++) {
+            files["com/example/children/test" + String.format("%02d", i) + ".xml"] = test1Xml.replace("person", "\${tablePrefix}person" + i)
+        }
+        files["com/example/other.yaml"] = """
+databaseChangeLog:
+  - changeSet:
+      id: 1
+      author: nvoxland
+      changes:
+        - createTable:
+            tableName: \${tablePrefix}yaml_table
+            columns:
+              - column:
+                  name: id
+                  type: int
+"""
+        def resourceAccessor = new MockResourceAccessor(files)
+
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml")
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+        rootChangeLog.getChangeLogParameters().set("loginUser", "testUser")
+
+        Scope.child(ChangeLogParserConfiguration.CHANGELOG_PARSE_THREADS.getKey(), 4, { ->
+            rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                    .addChildren([property: [name: "tablePrefix", value: "x_"]])
+                    .addChildren([include: [file: "com/example/other.yaml"]])
+                    .addChildren([includeAll: [path: "com/example/children"]])
+                    , resourceAccessor)
+        })
+
+        then:
+        rootChangeLog.changeSets.size() == 21
+        ((CreateTableChange) rootChangeLog.changeSets[0].changes[0]).tableName == "x_yaml_table"
+        (1..20).every { ((CreateTableChange) rootChangeLog.changeSets[it].changes[0]).tableName == "x_person" + (it - 1) }
+        rootChangeLog.changeSets[5].filePath == "com/example/children/test04.xml"
+    }
+
+    def "include parse errors are reported the same way when parsing on multiple threads"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/test1.xml": test1Xml, "com/example/broken.xml": "<databaseChangeLog><changeSet"])
+
+        def rootChangeLog = new DatabaseChangeLog("com/example/root.xml")
+        rootChangeLog.setChangeLogParameters(new ChangeLogParameters())
+
+        Scope.child(ChangeLogParserConfiguration.CHANGELOG_PARSE_THREADS.getKey(), 4, { ->
+            rootChangeLog.load(new ParsedNode(null, "databaseChangeLog")
+                    .addChildren([include: [file: "com/example/test1.xml"]])
+                    .addChildren([include: [file: "com/example/broken.xml"]])
+                    .addChildren([include: [file: "com/example/invalid.xml"]])
+                    , resourceAccessor)
+        })
+
+        then:
+        def e = thrown(SetupException)
+        e.message.contains("com/example/broken.xml")
+        rootChangeLog.changeSets.size() == 1
+    }
+
     @Unroll
     def "normalizePath: #path"() {
         expect:
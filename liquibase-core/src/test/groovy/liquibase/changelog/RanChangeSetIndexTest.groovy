@@ -0,0 +1,79 @@
+package liquibase.changelog
+
+import liquibase.change.CheckSum
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RanChangeSetIndexTest extends Specification {
+
+    @Unroll
+    def "get matches normalized path, id and author case-insensitively: #path #id #author"() {
+        when:
+        def ranChangeSet = ran("classpath:com/example/changelog.xml", "1", "nvoxland")
+        def index = new RanChangeSetIndex([ran("com/example/other.xml", "1", "nvoxland"), ranChangeSet])
+
+        then:
+        index.get(new ChangeSet(id, author, false, false, path, null, null, null)).is(ranChangeSet)
+
+        where:
+        path                                  | id  | author
+        "com/example/changelog.xml"           | "1" | "nvoxland"
+        "classpath:com/example/changelog.xml" | "1" | "nvoxland"
+        "COM/EXAMPLE/changelog.xml"           | "1" | "NVOXLAND"
+        "./com/example/changelog.xml"         | "1" | "nvoxland"
+        "com\\example\\changelog.xml"         | "1" | "nvoxland"
+    }
+
+    def "get returns null when nothing matches"() {
+        when:
+        def index = new RanChangeSetIndex([ran("com/example/changelog.xml", "1", "nvoxland")])
+
+        then:
+        index.get(new ChangeSet("2", "nvoxland", false, false, "com/example/changelog.xml", null, null, null)) == null
+        index.get(new ChangeSet("1", "other", false, false, "com/example/changelog.xml", null, null, null)) == null
+        index.get(new ChangeSet("1", "nvoxland", false, false, "com/example/other.xml", null, null, null)) == null
+    }
+
+    def "first entry wins for duplicates and the next one takes over when it is removed"() {
+        when:
+        def first = ran("com/example/changelog.xml", "1", "nvoxland")
+        def second = ran("classpath:com/example/changelog.xml", "1", "nvoxland")
+        def index = new RanChangeSetIndex([first, second])
+        def changeSet = new ChangeSet("1", "nvoxland", false, false, "com/example/changelog.xml", null, null, null)
+
+        then:
+        index.size() == 2
+        index.get(changeSet).is(first)
+        index.getCandidates(changeSet)*.getChangeLog() == ["com/example/changelog.xml", "classpath:com/example/changelog.xml"]
+
+        when:
+        index.remove(ran("com/example/changelog.xml", "1", "nvoxland"))
+
+        then:
+        index.size() == 1
+        index.get(changeSet).is(second)
+
+        when:
+        index.remove(second)
+
+        then:
+        index.size() == 0
+        index.get(changeSet) == null
+        index.getCandidates(changeSet).isEmpty()
+    }
+
+    def "add appends to the index"() {
+        when:
+        def index = new RanChangeSetIndex()
+        def ranChangeSet = ran("com/example/changelog.xml", "1", "nvoxland")
+        index.add(ranChangeSet)
+
+        then:
+        index.get(new ChangeSet("1", "nvoxland", false, false, "com/example/changelog.xml", null, null, null)).is(ranChangeSet)
+        !index.remove(ran("com/example/changelog.xml", "2", "nvoxland"))
+    }
+
+    private static RanChangeSet ran(String path, String id, String author) {
+        return new RanChangeSet(path, id, author, CheckSum.parse("12345"), new Date(), null, null, null, null, null, null, null)
+    }
+}
@@ -0,0 +1,190 @@
+package liquibase.changelog
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.Database
+import liquibase.database.core.MockDatabase
+import liquibase.executor.Executor
+import liquibase.executor.ExecutorService
+import liquibase.statement.SqlStatement
+import liquibase.statement.core.SelectFromDatabaseChangeLogStatement
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class StandardChangeLogHistoryServiceTest extends Specification {
+
+    private static final String CHECKSUM = "8:d41d8cd98f00b204e9800998ecf8427e"
+    private static final String OTHER_CHECKSUM = "8:0cc175b9c0f1b6a831c399e269772661"
+
+    Database database = new MockDatabase()
+    List<Map<String, ?>> table = []
+    int fullReads
+    int incrementalReads
+    StandardChangeLogHistoryService service
+
+    def setup() {
+        def executor = Stub(Executor) {
+            queryForList(_ as SqlStatement) >> { SqlStatement statement ->
+                def whereClause = ((SelectFromDatabaseChangeLogStatement) statement).getWhereClause()
+                if (whereClause instanceof SelectFromDatabaseChangeLogStatement.ByOrderExecutedGreaterThan) {
+                    incrementalReads++
+                    return sortedRows().findAll { it.ORDEREXECUTED > whereClause.getOrderExecuted() }
+                }
+                fullReads++
+                return sortedRows()
+            }
+            queryForInt(_ as SqlStatement) >> { table.size() }
+        }
+        Scope.currentScope.getSingleton(ExecutorService).setExecutor("jdbc", database, executor)
+
+        service = new StandardChangeLogHistoryService() {
+            @Override
+            boolean hasDatabaseChangeLogTable() {
+                return true
+            }
+        }
+        service.setDatabase(database)
+
+        table.add(row("1", 1, CHECKSUM))
+        table.add(row("2", 2, CHECKSUM))
+    }
+
+    def cleanup() {
+        Scope.currentScope.getSingleton(ExecutorService).clearExecutor("jdbc", database)
+    }
+
+    def "the whole table is read every time by default"() {
+        when:
+        readTwice()
+
+        then:
+        fullReads == 2
+        incrementalReads == 0
+    }
+
+    def "later reads only fetch rows with a higher ORDEREXECUTED"() {
+        when:
+        def ranChangeSets = withIncrementalHistory {
+            service.getRanChangeSets()
+            table.add(row("3", 3, CHECKSUM))
+            service.reset()
+            return service.getRanChangeSets()
+        }
+
+        then:
+        ranChangeSets*.id == ["1", "2", "3"]
+        fullReads == 1
+        incrementalReads == 1
+    }
+
+    def "rows of changesets which ran again replace their old row"() {
+        when:
+        def ranChangeSets = withIncrementalHistory {
+            service.getRanChangeSets()
+            table[0].ORDEREXECUTED = 3
+            table[0].MD5SUM = OTHER_CHECKSUM
+            service.reset()
+            return service.getRanChangeSets()
+        }
+
+        then:
+        ranChangeSets*.id == ["2", "1"]
+        ranChangeSets[1].lastCheckSum.toString() == OTHER_CHECKSUM
+        fullReads == 1
+        incrementalReads == 1
+    }
+
+    def "the whole table is read again when the row count does not match"() {
+        when:
+        def ranChangeSets = withIncrementalHistory {
+            service.getRanChangeSets()
+            table.remove(0)
+            table.add(row("3", 3, CHECKSUM))
+            table.add(row("4", 4, CHECKSUM))
+            service.reset()
+            return service.getRanChangeSets()
+        }
+
+        then:
+        ranChangeSets*.id == ["2", "3", "4"]
+        fullReads == 2
+        incrementalReads == 1
+    }
+
+    @Unroll
+    def "the whole table is read again after #description"() {
+        when:
+        def ranChangeSets = withIncrementalHistory {
+            service.getRanChangeSets()
+            change(service, table)
+            service.reset()
+            return service.getRanChangeSets()
+        }
+
+        then:
+        fullReads == 2
+        incrementalReads == 0
+        check(ranChangeSets)
+
+        where:
+        description         | change                                                             | check
+        "tag"               | { s, t -> s.tag("v1"); t[1].TAG = "v1" }                           | { it[1].tag == "v1" }
+        "clearAllCheckSums" | { s, t -> s.clearAllCheckSums(); t.each { it.MD5SUM = null } }   | { it*.lastCheckSum == [null, null] }
+        "removeFromHistory" | { s, t -> s.removeFromHistory(changeSet("1")); t.remove(0) }     | { it*.id == ["2"] }
+    }
+
+    def "the ran changeset index follows a replaced list of the same size"() {
+        when:
+        List<List<RanChangeSet>> current = [[new RanChangeSet(changeSet("1"), ChangeSet.ExecType.EXECUTED, null, null)]]
+        def replacingService = new StandardChangeLogHistoryService() {
+            @Override
+            List<RanChangeSet> getRanChangeSets() {
+                return current[0]
+            }
+        }
+        def before = replacingService.getRanChangeSet(changeSet("1"))
+        current[0] = [new RanChangeSet(changeSet("2"), ChangeSet.ExecType.EXECUTED, null, null)]
+
+        then:
+        before != null
+        replacingService.getRanChangeSet(changeSet("1")) == null
+        replacingService.getRanChangeSet(changeSet("2")).id == "2"
+    }
+
+    private void readTwice() {
+        service.getRanChangeSets()
+        service.reset()
+        service.getRanChangeSets()
+    }
+
+    private <T> T withIncrementalHistory(Closure<T> closure) {
+        return Scope.child([(GlobalConfiguration.INCREMENTAL_CHANGELOG_HISTORY.key): true], closure as Scope.ScopedRunnerWithReturn<T>)
+    }
+
+    private List<Map<String, ?>> sortedRows() {
+        return table.sort(false) { it.ORDEREXECUTED }.collect { new HashMap<String, Object>(it) }
+    }
+
+    private static ChangeSet changeSet(String id) {
+        return new ChangeSet(id, "example", false, false, "com/example/changelog.xml", null, null, null)
+    }
+
+    private static Map<String, Object> row(String id, int orderExecuted, String checkSum) {
+        return [
+                FILENAME     : "com/example/changelog.xml",
+                AUTHOR       : "example",
+                ID           : id,
+                MD5SUM       : checkSum,
+                DESCRIPTION  : null,
+                COMMENTS     : null,
+                DATEEXECUTED : new Date(),
+                ORDEREXECUTED: orderExecuted,
+                TAG          : null,
+                EXECTYPE     : "EXECUTED",
+                CONTEXTS     : null,
+                LABELS       : null,
+                DEPLOYMENT_ID: null,
+                LIQUIBASE    : null,
+        ]
+    }
+}
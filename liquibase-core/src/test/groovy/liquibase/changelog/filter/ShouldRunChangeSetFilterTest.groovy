@@ -79,6 +79,21 @@ public class ShouldRunChangeSetFilterTest extends Specification {
         assertFalse(filter.accepts(changeSet).isAccepted());
     }
 
+    public void subclass_matching_sees_all_ran_changesets() throws DatabaseException {
+        when:
+        given_a_database_with_two_executed_changesets();
+        ShouldRunChangeSetFilter filter = new ShouldRunChangeSetFilter(database) {
+            @Override
+            protected boolean idsAreEqual(ChangeSet changeSet, RanChangeSet ranChangeSet) {
+                return Integer.parseInt(ranChangeSet.getId()) == Integer.parseInt(changeSet.getId());
+            }
+        };
+
+        then:
+        assertFalse(filter.accepts(new ChangeSet("01", "testAuthor", false, false, "path/changelog", null, null, null)).isAccepted());
+        assertTrue(filter.accepts(new ChangeSet("03", "testAuthor", false, false, "path/changelog", null, null, null)).isAccepted());
+    }
+
 //    public void should_decline_not_changed_changeset_when_has_run_on_change() throws DatabaseException {
 //        when:
 //        given_a_database_with_one_twice_executed_changeset();
@@ -256,6 +256,34 @@ class DataTypeFactoryTest extends Specification {
         "\${invalidParam}"                             | new H2Database()       | "\${INVALIDPARAM}"                             | UnknownType   | false
     }
 
+    def "fromDescription returns a new type for each call of a cached description"() {
+        when:
+        def first = DataTypeFactory.getInstance().fromDescription("varchar(20) identity", new H2Database())
+        first.addParameter("30")
+        first.setAdditionalInformation("modified")
+        def second = DataTypeFactory.getInstance().fromDescription("varchar(20) identity", new H2Database())
+
+        then:
+        !first.is(second)
+        second.getParameters() == ["20"] as Object[]
+        second.getAdditionalInformation() == null
+        second.getRawDefinition() == "varchar(20) identity"
+    }
+
+    def "fromDescription does not cache unparseable embedded information"() {
+        when:
+        DataTypeFactory.getInstance().fromDescription("int{autoIncrement}", new H2Database())
+
+        then:
+        thrown(liquibase.exception.UnexpectedLiquibaseException)
+
+        when:
+        DataTypeFactory.getInstance().fromDescription("int{autoIncrement}", new H2Database())
+
+        then:
+        thrown(liquibase.exception.UnexpectedLiquibaseException)
+    }
+
     @Unroll("#featureName: #object for #database")
     void fromObject() throws Exception {
         when:
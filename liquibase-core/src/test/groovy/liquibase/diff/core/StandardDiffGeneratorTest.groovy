@@ -0,0 +1,81 @@
+package liquibase.diff.core
+
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.core.MockDatabase
+import liquibase.diff.DiffResult
+import liquibase.diff.compare.CompareControl
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.MockDatabaseSnapshot
+import liquibase.snapshot.SnapshotControl
+import liquibase.structure.DatabaseObject
+import liquibase.structure.core.Catalog
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class StandardDiffGeneratorTest extends Specification {
+
+    @Unroll
+    def "compare finds missing and unexpected tables with #threads threads"() {
+        when:
+        def reference = createSnapshot((0..<500).findAll { it % 7 != 0 })
+        def comparison = createSnapshot((0..<500).findAll { it % 5 != 0 })
+        def schema = new CatalogAndSchema("CAT", "PUBLIC")
+        def compareControl = new CompareControl([new CompareControl.SchemaComparison(schema, schema)] as CompareControl.SchemaComparison[], (String) null)
+
+        DiffResult diffResult = Scope.child([(GlobalConfiguration.DIFF_THREADS.getKey()): threads], { ->
+            return new StandardDiffGenerator().compare(reference, comparison, compareControl)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        diffResult.getMissingObjects(Table)*.name.sort() == (0..<500).findAll { it % 5 == 0 && it % 7 != 0 }.collect { "T" + it }.sort()
+        diffResult.getUnexpectedObjects(Table)*.name.sort() == (0..<500).findAll { it % 7 == 0 && it % 5 != 0 }.collect { "T" + it }.sort()
+        diffResult.getChangedObjects(Table).isEmpty()
+
+        where:
+        threads << [1, 4]
+    }
+
+    def "compareObjectType overrides are used when several threads are configured"() {
+        when:
+        def reference = createSnapshot([1, 2])
+        def comparison = createSnapshot([2, 3])
+        def schema = new CatalogAndSchema("CAT", "PUBLIC")
+        def compareControl = new CompareControl([new CompareControl.SchemaComparison(schema, schema)] as CompareControl.SchemaComparison[], (String) null)
+        List<Class> comparedTypes = []
+        def generator = new StandardDiffGenerator() {
+            @Override
+            protected <T extends DatabaseObject> void compareObjectType(Class<T> type, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult) {
+                comparedTypes.add(type)
+                super.compareObjectType(type, referenceSnapshot, comparisonSnapshot, diffResult)
+            }
+        }
+
+        DiffResult diffResult = Scope.child([(GlobalConfiguration.DIFF_THREADS.getKey()): 4], { ->
+            return generator.compare(reference, comparison, compareControl)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        comparedTypes.contains(Table)
+        diffResult.getMissingObjects(Table)*.name == ["T1"]
+        diffResult.getUnexpectedObjects(Table)*.name == ["T3"]
+    }
+
+    private static DatabaseSnapshot createSnapshot(List<Integer> tableNumbers) {
+        def catalog = new Catalog("CAT")
+        def schema = new Schema(catalog, "PUBLIC")
+        List<DatabaseObject> objects = [catalog, schema]
+        for (def number : tableNumbers) {
+            def table = new Table(name: "T" + number)
+            table.setSchema(schema)
+            schema.addDatabaseObject(table)
+            objects.add(table)
+        }
+
+        def database = new MockDatabase()
+        return new MockDatabaseSnapshot(objects, [schema] as DatabaseObject[], database, new SnapshotControl(database, Table, Schema, Catalog))
+    }
+}
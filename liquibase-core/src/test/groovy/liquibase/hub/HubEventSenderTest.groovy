@@ -0,0 +1,126 @@
+package liquibase.hub
+
+import com.sun.net.httpserver.HttpServer
+import liquibase.Scope
+import liquibase.change.ColumnConfig
+import liquibase.change.core.CreateTableChange
+import liquibase.changelog.ChangeSet
+import liquibase.changelog.DatabaseChangeLog
+import liquibase.database.core.H2Database
+import liquibase.hub.core.StandardHubService
+import liquibase.hub.listener.HubChangeExecListener
+import liquibase.hub.model.Operation
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class HubEventSenderTest extends Specification {
+
+    HttpServer server
+    List<String> requests = new CopyOnWriteArrayList<>()
+    CountDownLatch eventsAllowed = new CountDownLatch(0)
+
+    def organizationId = UUID.randomUUID()
+    def projectId = UUID.randomUUID()
+    def changeLogId = UUID.randomUUID()
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0)
+        server.createContext("/", { exchange ->
+            def path = exchange.requestURI.path
+            def requestBody = new String(exchange.requestBody.bytes, StandardCharsets.UTF_8)
+            def responseBody = "{}"
+            if (path == "/api/v1/organizations") {
+                responseBody = """{"content": [{"id": "$organizationId", "name": "Test Org"}]}"""
+            } else if (path == "/api/v1/changelogs/$changeLogId") {
+                responseBody = """{"id": "$changeLogId", "name": "Test Changelog", "status": "ACTIVE", "project": {"id": "$projectId", "name": "Test Project"}}"""
+            } else if (path.endsWith("/change-events")) {
+                eventsAllowed.await(10, TimeUnit.SECONDS)
+                path += " " + (requestBody =~ /"changesetId": ?"([^"]+)"/)[0][1]
+            }
+            requests.add(exchange.requestMethod + " " + path)
+
+            def bytes = responseBody.getBytes(StandardCharsets.UTF_8)
+            exchange.responseHeaders.set("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, bytes.length)
+            exchange.responseBody.write(bytes)
+            exchange.close()
+        })
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    def "changeset events are sent in the background and all arrive on flush"() {
+        when:
+        eventsAllowed = new CountDownLatch(1)
+        def operation = new Operation(id: UUID.randomUUID())
+        def eventsBeforeFlush = runWithHub(100) {
+            def listener = runChangeSets(operation, 3)
+            def sent = listener.getPostCount()
+            eventsAllowed.countDown()
+            Scope.currentScope.getSingleton(HubEventSender).flush(operation)
+            return [sent, listener.getPostCount()]
+        }
+
+        then:
+        eventsBeforeFlush == [0, 3]
+        requests.findAll { it.contains("/changelogs/") }.size() == 1
+        requests.findAll { it.contains("/change-events") }*.replaceFirst("/organizations/[^/]+", "") == (1..3).collect {
+            "POST /api/v1/projects/$projectId/operations/${operation.id}/change-events id$it".toString()
+        }
+    }
+
+    def "events are sent right away when the queue size is 0"() {
+        when:
+        def operation = new Operation(id: UUID.randomUUID())
+        def postCount = runWithHub(0) {
+            return runChangeSets(operation, 2).getPostCount()
+        }
+
+        then:
+        postCount == 2
+        requests.findAll { it.contains("/change-events") }.size() == 2
+    }
+
+    def "flush without queued events does nothing"() {
+        when:
+        Scope.currentScope.getSingleton(HubEventSender).flush(new Operation(id: UUID.randomUUID()))
+        Scope.currentScope.getSingleton(HubEventSender).flush(null)
+
+        then:
+        noExceptionThrown()
+        requests.isEmpty()
+    }
+
+    private <T> T runWithHub(int queueSize, Closure<T> closure) {
+        return Scope.child([
+                (HubConfiguration.LIQUIBASE_HUB_URL.key)             : "http://127.0.0.1:${server.address.port}".toString(),
+                (HubConfiguration.LIQUIBASE_HUB_API_KEY.key)         : "test-api-key",
+                (HubConfiguration.LIQUIBASE_HUB_EVENT_QUEUE_SIZE.key): queueSize,
+        ], closure as Scope.ScopedRunnerWithReturn)
+    }
+
+    private HubChangeExecListener runChangeSets(Operation operation, int count) {
+        def changeLog = new DatabaseChangeLog("com/example/changelog.xml")
+        changeLog.setChangeLogId(changeLogId.toString())
+        def listener = new HubChangeExecListener(operation, null)
+        def hubService = Scope.currentScope.getSingleton(HubServiceFactory).getService()
+        assert hubService instanceof StandardHubService
+
+        (1..count).each {
+            def changeSet = new ChangeSet("id$it", "example", false, false, changeLog.getPhysicalFilePath(), null, null, changeLog)
+            def change = new CreateTableChange(tableName: "table$it")
+            change.addColumn(new ColumnConfig(name: "id", type: "int"))
+            changeSet.addChange(change)
+            changeLog.addChangeSet(changeSet)
+            listener.ran(changeSet, changeLog, new H2Database(), ChangeSet.ExecType.EXECUTED)
+        }
+        return listener
+    }
+}
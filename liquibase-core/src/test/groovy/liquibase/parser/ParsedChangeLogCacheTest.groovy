@@ -0,0 +1,195 @@
+package liquibase.parser
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.changelog.ChangeLogParameters
+import liquibase.exception.ChangeLogParseException
+import liquibase.parser.core.ParsedNode
+import liquibase.parser.core.xml.XMLChangeLogSAXParser
+import liquibase.parser.core.yaml.YamlChangeLogParser
+import liquibase.resource.ResourceAccessor
+import liquibase.sdk.resource.MockResourceAccessor
+import spock.lang.Specification
+
+class ParsedChangeLogCacheTest extends Specification {
+
+    private static final String XML_CHANGELOG = """<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+        xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+        xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd">
+    <property name="tableName" value="person"/>
+    <changeSet id="1" author="example">
+        <createTable tableName="\${tableName}">
+            <column name="id" type="int"/>
+        </createTable>
+    </changeSet>
+</databaseChangeLog>"""
+
+    private static final String YAML_CHANGELOG = """databaseChangeLog:
+  - changeSet:
+      id: 1
+      author: example
+      changes:
+        - createTable:
+            tableName: person
+            columns:
+              - column:
+                  name: id
+                  type: int
+"""
+
+    File cacheDirectory
+
+    def setup() {
+        cacheDirectory = File.createTempDir("ParsedChangeLogCacheTest-", "")
+    }
+
+    def cleanup() {
+        cacheDirectory.deleteDir()
+    }
+
+    def "second parse of an unchanged file uses the cache"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/changelog.xml": XML_CHANGELOG])
+        def parser = new CountingXMLParser()
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        def first = parser.parse("com/example/changelog.xml", cache.preParse(parser, "com/example/changelog.xml", resourceAccessor), new ChangeLogParameters(), resourceAccessor)
+        def second = parser.parse("com/example/changelog.xml", cache.preParse(parser, "com/example/changelog.xml", resourceAccessor), new ChangeLogParameters(), resourceAccessor)
+
+        then:
+        parser.preParses == 1
+        cacheDirectory.listFiles().length == 1
+        first.getChangeSets()*.toString() == second.getChangeSets()*.toString()
+        second.getChangeSets()[0].getChanges()[0].getTableName() == "person"
+        second.getChangeSets()[0].generateCheckSum() == first.getChangeSets()[0].generateCheckSum()
+    }
+
+    def "changed content is parsed again"() {
+        when:
+        def content = ["com/example/changelog.xml": XML_CHANGELOG]
+        def resourceAccessor = new MockResourceAccessor(content)
+        def parser = new CountingXMLParser()
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        cache.preParse(parser, "com/example/changelog.xml", resourceAccessor)
+        content["com/example/changelog.xml"] = XML_CHANGELOG.replace("person", "address")
+        def node = cache.preParse(parser, "com/example/changelog.xml", resourceAccessor)
+
+        then:
+        parser.preParses == 2
+        node.getChild(null, "property").getChildValue(null, "value") == "address"
+    }
+
+    def "nothing is cached when secure parsing is off"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/changelog.xml": XML_CHANGELOG])
+        def parser = new CountingXMLParser()
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        Scope.child([(GlobalConfiguration.SECURE_PARSING.getKey()): false], {
+            cache.preParse(parser, "com/example/changelog.xml", resourceAccessor)
+            cache.preParse(parser, "com/example/changelog.xml", resourceAccessor)
+        } as Scope.ScopedRunner)
+
+        then:
+        parser.preParses == 2
+        cacheDirectory.listFiles().length == 0
+    }
+
+    def "corrupt entries are ignored and replaced"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/changelog.xml": XML_CHANGELOG])
+        def parser = new CountingXMLParser()
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        cache.preParse(parser, "com/example/changelog.xml", resourceAccessor)
+        cacheDirectory.listFiles()[0].bytes = [0, 0, 0, 1, 0] as byte[]
+        def node = cache.preParse(parser, "com/example/changelog.xml", resourceAccessor)
+
+        then:
+        parser.preParses == 2
+        node.getName() == "databaseChangeLog"
+        cache.preParse(parser, "com/example/changelog.xml", resourceAccessor) != null
+        parser.preParses == 2
+    }
+
+    def "yaml files are cached"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/changelog.yaml": YAML_CHANGELOG])
+        def parser = new YamlChangeLogParser()
+        def cache = new ParsedChangeLogCache(cacheDirectory)
+        def first = cache.preParse(parser, "com/example/changelog.yaml", resourceAccessor)
+        def second = cache.preParse(parser, "com/example/changelog.yaml", resourceAccessor)
+
+        then:
+        cacheDirectory.listFiles().length == 1
+        second == first
+        !second.is(first)
+    }
+
+    def "missing files are reported by the parser"() {
+        when:
+        new ParsedChangeLogCache(cacheDirectory).preParse(new XMLChangeLogSAXParser(), "com/example/missing.xml", new MockResourceAccessor())
+
+        then:
+        thrown(ChangeLogParseException)
+        cacheDirectory.listFiles().length == 0
+    }
+
+    def "static parse only uses the cache when a directory is configured"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/changelog.xml": XML_CHANGELOG])
+        ParsedChangeLogCache.parse(new XMLChangeLogSAXParser(), "com/example/changelog.xml", new ChangeLogParameters(), resourceAccessor)
+
+        then:
+        cacheDirectory.listFiles().length == 0
+
+        when:
+        def changeLog = Scope.child([(ChangeLogParserConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.getKey()): cacheDirectory.getAbsolutePath()], { ->
+            return ParsedChangeLogCache.parse(new XMLChangeLogSAXParser(), "com/example/changelog.xml", new ChangeLogParameters(), resourceAccessor)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        cacheDirectory.listFiles().length == 1
+        changeLog.getChangeSets().size() == 1
+    }
+
+    def "shared cache pre-parses a file once and gives every caller its own copy"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/changelog.xml": XML_CHANGELOG])
+        def parser = new CountingXMLParser()
+        def cache = ParsedChangeLogCache.createShared()
+        def tableNames = ["person", "address"].collect { tableName ->
+            def parameters = new ChangeLogParameters()
+            parameters.set("tableName", tableName)
+            def changeLog = parser.parse("com/example/changelog.xml", cache.preParse(parser, "com/example/changelog.xml", resourceAccessor), parameters, resourceAccessor)
+            return changeLog.getChangeSets()[0].getChanges()[0].getTableName()
+        }
+
+        then:
+        parser.preParses == 1
+        tableNames == ["person", "address"]
+        !cache.preParse(parser, "com/example/changelog.xml", resourceAccessor).is(cache.preParse(parser, "com/example/changelog.xml", resourceAccessor))
+    }
+
+    def "static parse uses the shared cache in the scope"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["com/example/changelog.xml": XML_CHANGELOG])
+        def parser = new CountingXMLParser()
+        Scope.child(ParsedChangeLogCache.SHARED_CACHE_SCOPE_KEY, ParsedChangeLogCache.createShared(), {
+            2.times {
+                ParsedChangeLogCache.parse(parser, "com/example/changelog.xml", new ChangeLogParameters(), resourceAccessor)
+            }
+        } as Scope.ScopedRunner)
+
+        then:
+        parser.preParses == 1
+        cacheDirectory.listFiles().length == 0
+    }
+
+    private static class CountingXMLParser extends XMLChangeLogSAXParser {
+        int preParses
+
+        @Override
+        ParsedNode preParse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+            preParses++
+            return super.preParse(physicalChangeLogLocation, resourceAccessor)
+        }
+    }
+}
@@ -239,6 +239,18 @@ public class StringChangeLogSerializerTest extends Specification {
                 "]"
     }
 
+    def "serialize to a writer matches serialize to a string"() {
+        when:
+        def change = new CreateTableChange(tableName: "person", remarks: "with\r\nline\rendings\r")
+        change.addColumn(new ColumnConfig(name: "id", type: "int", remarks: "more\r\n"))
+        def writer = new StringWriter()
+        new StringChangeLogSerializer().serialize(change, writer)
+
+        then:
+        writer.toString() == new StringChangeLogSerializer().serialize(change, false)
+        change.generateCheckSum() == CheckSum.compute(new StringChangeLogSerializer().serialize(change, false))
+    }
+
     def serialized_rawSql() {
         when:
         RawSQLChange change = new RawSQLChange();
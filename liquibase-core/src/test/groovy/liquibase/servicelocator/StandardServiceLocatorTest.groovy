@@ -1,5 +1,6 @@
 package liquibase.servicelocator
 
+import liquibase.Scope
 import liquibase.change.Change
 import liquibase.changelog.ChangeLogHistoryService
 import liquibase.command.CommandStep
@@ -26,6 +27,8 @@ import org.junit.Assume
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.atomic.AtomicInteger
+
 class StandardServiceLocatorTest extends Specification {
 
     @Unroll("#featureName: #type.name")
@@ -71,4 +74,70 @@ class StandardServiceLocatorTest extends Specification {
                 DatabaseConnection.class,
         ]
     }
+
+    @Unroll("#featureName: #type.name")
+    def "findInstances creates new instances of the classes ServiceLoader finds"() {
+        when:
+        def locator = new StandardServiceLocator()
+        def first = locator.findInstances(type)
+        def second = locator.findInstances(type)
+
+        then:
+        first*.class == ServiceLoader.load(type, Thread.currentThread().getContextClassLoader()).collect({ it.class })
+        second*.class == first*.class
+        first.size() > 0
+        !first[0].is(second[0])
+
+        where:
+        type << [
+                Change.class,
+                Database.class,
+                SqlGenerator.class,
+        ]
+    }
+
+    def "later lookups do not read the service files again"() {
+        when:
+        def locator = new StandardServiceLocator()
+        def classLoader = new ServiceFileCountingClassLoader(Database.class)
+        def instances = Scope.child([(Scope.Attr.classLoader.name()): classLoader], {
+            return [locator.findInstances(Database.class), locator.findInstances(Database.class)]
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        classLoader.serviceFileReads.get() == 1
+        instances[1]*.class == instances[0]*.class
+    }
+
+    def "every lookup goes through ServiceLoader on an OSGi platform"() {
+        when:
+        def locator = new StandardServiceLocator()
+        def classLoader = new ServiceFileCountingClassLoader(Database.class)
+        def instances = Scope.child([(Scope.Attr.classLoader.name()): classLoader, (Scope.Attr.osgiPlatform.name()): true], {
+            return [locator.findInstances(Database.class), locator.findInstances(Database.class)]
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        classLoader.serviceFileReads.get() == 2
+        instances[1]*.class == instances[0]*.class
+        instances[0].size() > 0
+    }
+
+    private static class ServiceFileCountingClassLoader extends ClassLoader {
+        private final String serviceFile
+        final AtomicInteger serviceFileReads = new AtomicInteger()
+
+        ServiceFileCountingClassLoader(Class serviceType) {
+            super(StandardServiceLocatorTest.classLoader)
+            this.serviceFile = "META-INF/services/" + serviceType.name
+        }
+
+        @Override
+        Enumeration<URL> getResources(String name) throws IOException {
+            if (name == serviceFile) {
+                serviceFileReads.incrementAndGet()
+            }
+            return super.getResources(name)
+        }
+    }
 }
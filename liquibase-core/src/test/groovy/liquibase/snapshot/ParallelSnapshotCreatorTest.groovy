@@ -0,0 +1,66 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.resource.ClassLoaderResourceAccessor
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+class ParallelSnapshotCreatorTest extends Specification {
+
+    Database database
+
+    def setup() {
+        def connection = DatabaseFactory.instance.openConnection("jdbc:h2:mem:ParallelSnapshotCreatorTest;DB_CLOSE_DELAY=-1", "sa", "", "org.h2.Driver", null, null, null, new ClassLoaderResourceAccessor())
+        database = DatabaseFactory.instance.findCorrectDatabaseImplementation(connection)
+        def statement = ((JdbcConnection) connection).createStatement()
+        try {
+            (1..4).each {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS S$it")
+                statement.execute("CREATE TABLE IF NOT EXISTS S${it}.T$it (ID INT)")
+            }
+        } finally {
+            statement.close()
+        }
+    }
+
+    def cleanup() {
+        database?.close()
+    }
+
+    def "schemas are snapshotted over several connections and merged"() {
+        when:
+        def examples = (1..4).collect { new CatalogAndSchema(null, "S$it") } as CatalogAndSchema[]
+        def snapshot = Scope.child([(GlobalConfiguration.SNAPSHOT_THREADS.key): 3], {
+            SnapshotGeneratorFactory.instance.createSnapshot(examples, database, new SnapshotControl(database))
+        } as Scope.ScopedRunnerWithReturn<DatabaseSnapshot>)
+
+        then:
+        snapshot.get(Table)*.name.sort() == ["T1", "T2", "T3", "T4"]
+        snapshot.get(Schema)*.name.containsAll(["S1", "S2", "S3", "S4"])
+        snapshot.database == database
+    }
+
+    def "openCopy opens a new connection to the same database"() {
+        when:
+        def copy = ((JdbcConnection) database.connection).openCopy()
+
+        then:
+        copy != null
+        !copy.closed
+        copy.wrappedConnection != ((JdbcConnection) database.connection).wrappedConnection
+
+        cleanup:
+        copy?.close()
+    }
+
+    def "connections created outside of Liquibase cannot be copied"() {
+        expect:
+        new JdbcConnection(((JdbcConnection) database.connection).wrappedConnection).openCopy() == null
+    }
+}
@@ -0,0 +1,126 @@
+package liquibase.snapshot
+
+import liquibase.database.Database
+import liquibase.database.core.MockDatabase
+import liquibase.exception.DatabaseException
+import spock.lang.Specification
+
+import java.sql.SQLException
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResultSetCacheTest extends Specification {
+
+    def "concurrent lookups in the same schema share one bulk fetch"() {
+        when:
+        def database = new MockDatabase()
+        def cache = new ResultSetCache()
+        def bulkFetches = new AtomicInteger()
+        def start = new CountDownLatch(1)
+        def executor = Executors.newFixedThreadPool(8)
+        def futures
+        try {
+            futures = (0..<8).collect { i ->
+                executor.submit({
+                    start.await()
+                    cache.get(new TableExtractor(database, "table" + i, true, bulkFetches))
+                } as Callable<List<CachedRow>>)
+            }
+            start.countDown()
+            futures = futures*.get()
+        } finally {
+            executor.shutdown()
+        }
+
+        then:
+        bulkFetches.get() == 1
+        futures.eachWithIndex { List<CachedRow> rows, int i ->
+            assert rows*.getString("TABLE_NAME") == ["table" + i]
+        }
+
+        and: "later lookups are served from the cache"
+        cache.get(new TableExtractor(database, "table3", true, bulkFetches))*.getString("TABLE_NAME") == ["table3"]
+        cache.get(new TableExtractor(database, "missing", true, bulkFetches)) == []
+        bulkFetches.get() == 1
+    }
+
+    def "switches to a bulk fetch after repeated single lookups"() {
+        when:
+        def database = new MockDatabase()
+        def cache = new ResultSetCache()
+        def bulkFetches = new AtomicInteger()
+        def results = (0..<5).collect { i -> cache.get(new TableExtractor(database, "table" + i, false, bulkFetches)) }
+
+        then:
+        bulkFetches.get() == 1
+        results.eachWithIndex { List<CachedRow> rows, int i ->
+            assert rows*.getString("TABLE_NAME") == ["table" + i]
+        }
+    }
+
+    def "fetch errors are passed to every waiting caller"() {
+        when:
+        def database = new MockDatabase()
+        def cache = new ResultSetCache()
+        cache.get(new TableExtractor(database, "table1", true, new AtomicInteger()) {
+            @Override
+            List<CachedRow> bulkFetch() throws SQLException, DatabaseException {
+                throw new SQLException("test failure")
+            }
+        })
+
+        then:
+        def e = thrown(DatabaseException)
+        e.cause instanceof SQLException
+        e.cause.message == "test failure"
+    }
+
+    static class TableExtractor extends ResultSetCache.ResultSetExtractor {
+        private final Database database
+        private final String tableName
+        private final boolean alwaysBulk
+        private final AtomicInteger bulkFetches
+
+        TableExtractor(Database database, String tableName, boolean alwaysBulk, AtomicInteger bulkFetches) {
+            super(database)
+            this.database = database
+            this.tableName = tableName
+            this.alwaysBulk = alwaysBulk
+            this.bulkFetches = bulkFetches
+        }
+
+        @Override
+        boolean bulkContainsSchema(String schemaKey) {
+            return false
+        }
+
+        @Override
+        boolean shouldBulkSelect(String schemaKey, ResultSetCache resultSetCache) {
+            return alwaysBulk || super.shouldBulkSelect(schemaKey, resultSetCache)
+        }
+
+        @Override
+        ResultSetCache.RowData rowKeyParameters(CachedRow row) {
+            return new ResultSetCache.RowData("CAT", "SCH", database, row.getString("TABLE_NAME"))
+        }
+
+        @Override
+        ResultSetCache.RowData wantedKeyParameters() {
+            return new ResultSetCache.RowData("CAT", "SCH", database, tableName)
+        }
+
+        @Override
+        List<CachedRow> fastFetch() throws SQLException, DatabaseException {
+            return [new CachedRow([TABLE_NAME: tableName])]
+        }
+
+        @Override
+        List<CachedRow> bulkFetch() throws SQLException, DatabaseException {
+            bulkFetches.incrementAndGet()
+            Thread.sleep(200)
+            return (0..<8).collect { new CachedRow([TABLE_NAME: "table" + it]) }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package liquibase.statement
+
+import liquibase.Scope
+import liquibase.change.ColumnConfig
+import liquibase.change.core.LoadDataColumnConfig
+import liquibase.database.Database
+import liquibase.database.PreparedStatementFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.listener.BatchDmlListener
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+
+class BatchDmlExecutablePreparedStatementTest extends Specification {
+
+    def "statements are executed in batches of batchSize"() {
+        given:
+        def database = Mock(Database)
+        def preparedStatement = Mock(PreparedStatement)
+        def connection = Mock(Connection)
+        connection.prepareStatement(_ as String) >> preparedStatement
+
+        def executed = []
+        def listener = new BatchDmlListener() {
+            @Override
+            void batchExecuted(String tableName, int rowCount, long updateCount, long durationMillis) {
+                executed.add([tableName, rowCount, updateCount])
+            }
+        }
+
+        def statement = createStatement(database, 5, batchSize, commitInterval)
+
+        when:
+        Scope.child(listener, {
+            statement.execute(new PreparedStatementFactory(new JdbcConnection(connection)))
+        } as Scope.ScopedRunner)
+
+        then:
+        5 * preparedStatement.addBatch()
+        batchSizes.size() * preparedStatement.executeBatch() >>> batchSizes.collect { ([1] * it) as int[] }
+        commits * database.commit()
+        executed == batchSizes.collect { ["TABLE_NAME", it, (long) it] }
+
+        where:
+        batchSize | commitInterval | batchSizes | commits
+        10        | 0              | [5]        | 0
+        2         | 0              | [2, 2, 1]  | 0
+        2         | 3              | [2, 2, 1]  | 1
+        1         | 1              | [1] * 5    | 5
+    }
+
+    def "update counts without information are not summed"() {
+        given:
+        def database = Mock(Database)
+        def preparedStatement = Mock(PreparedStatement)
+        def connection = Mock(Connection)
+        connection.prepareStatement(_ as String) >> preparedStatement
+
+        long updateCount = -1
+        def listener = new BatchDmlListener() {
+            @Override
+            void batchExecuted(String tableName, int rowCount, long count, long durationMillis) {
+                updateCount = count
+            }
+        }
+
+        when:
+        Scope.child(listener, {
+            createStatement(database, 3, 10, 0).execute(new PreparedStatementFactory(new JdbcConnection(connection)))
+        } as Scope.ScopedRunner)
+
+        then:
+        1 * preparedStatement.executeBatch() >> ([2, java.sql.Statement.SUCCESS_NO_INFO, 3] as int[])
+        updateCount == 5
+    }
+
+    private static BatchDmlExecutablePreparedStatement createStatement(Database database, int rows, Integer batchSize, Integer commitInterval) {
+        def columns = [new LoadDataColumnConfig(name: "id")]
+        def statements = (1..rows).collect {
+            new InsertExecutablePreparedStatement(database, null, null, "TABLE_NAME", [new ColumnConfig().setName("id").setValue(String.valueOf(it))], null, null) as ExecutablePreparedStatementBase
+        }
+        return new BatchDmlExecutablePreparedStatement(database, null, null, "TABLE_NAME", columns, null, null, statements, batchSize, commitInterval)
+    }
+}
@@ -0,0 +1,58 @@
+package liquibase.structure
+
+import liquibase.database.core.MockDatabase
+import liquibase.structure.core.Column
+import liquibase.structure.core.Index
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+class DatabaseObjectCollectionTest extends Specification {
+
+    def "get finds the column of the right table among columns with the same name"() {
+        when:
+        def collection = new DatabaseObjectCollection(new MockDatabase())
+        def schema = new Schema("CAT", "PUBLIC")
+        def columns = (1..50).collect { createColumn(schema, "TABLE_" + it, "ID") }
+        columns.each { collection.add(it) }
+
+        then:
+        collection.get(createColumn(schema, "TABLE_17", "ID"), null).is(columns[16])
+        collection.get(createColumn(schema, "table_17", "id"), null).is(columns[16])
+        collection.get(createColumn(schema, "TABLE_51", "ID"), null) == null
+    }
+
+    def "get finds an index by name or by its table"() {
+        when:
+        def collection = new DatabaseObjectCollection(new MockDatabase())
+        def indexes = (1..5).collect { new Index("IDX_" + it, null, null, "PERSON", new Column("COL_" + it)) }
+        indexes.each { collection.add(it) }
+
+        then:
+        collection.get(new Index("IDX_3", null, null, "PERSON", new Column("COL_3")), null).is(indexes[2])
+        collection.get(new Index("IDX_6", null, null, "PERSON", new Column("COL_6")), null) == null
+    }
+
+    def "get with a likely match returns it only if it is the same object"() {
+        when:
+        def collection = new DatabaseObjectCollection(new MockDatabase())
+        def schema = new Schema("CAT", "PUBLIC")
+        def first = createColumn(schema, "TABLE_1", "ID")
+        def second = createColumn(schema, "TABLE_2", "ID")
+        collection.add(first)
+        collection.add(second)
+
+        then:
+        collection.get(createColumn(schema, "TABLE_1", "ID"), null, first).is(first)
+        collection.get(createColumn(schema, "TABLE_1", "ID"), null, second).is(first)
+        collection.get(createColumn(schema, "TABLE_3", "ID"), null, second) == null
+    }
+
+    private static Column createColumn(Schema schema, String tableName, String columnName) {
+        def table = new Table(name: tableName)
+        table.setSchema(schema)
+        def column = new Column(columnName)
+        column.setRelation(table)
+        return column
+    }
+}
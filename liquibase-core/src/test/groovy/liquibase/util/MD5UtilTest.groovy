@@ -21,4 +21,36 @@ class MD5UtilTest extends Specification {
         "bbb"               | "08f8e0260c64418510cefb2b06eee5cd"
         "foo".multiply(500) | "7d66efd792402b14bf5a1dd4fa7d5417"
     }
+
+    @Unroll
+    def "MD5Writer matches computeMD5 when written in chunks of #chunkSize"() {
+        when:
+        def input = "foo \uD83D\uDE00 bar \u00e9 ".multiply(1000)
+        def writer = new MD5Writer()
+        for (int i = 0; i < input.length(); i += chunkSize) {
+            writer.write(input, i, Math.min(chunkSize, input.length() - i))
+        }
+
+        then:
+        writer.getMD5() == MD5Util.computeMD5(input)
+        writer.getMD5() == MD5Util.computeMD5(new ByteArrayInputStream(input.getBytes("UTF-8")))
+
+        where:
+        chunkSize << [1, 7, 1023, 1024, 5000, 100000]
+    }
+
+    def "nested MD5Writers do not share state"() {
+        when:
+        def outer = new MD5Writer()
+        outer.write("outer")
+        def inner = new MD5Writer()
+        inner.write("inner")
+        def innerMD5 = inner.getMD5()
+        def computed = MD5Util.computeMD5("other")
+
+        then:
+        outer.getMD5() == MD5Util.computeMD5("outer")
+        innerMD5 == MD5Util.computeMD5("inner")
+        computed == MD5Util.computeMD5("other")
+    }
 }
@@ -99,4 +99,22 @@ public class CheckSumTest {
         assertEquals(checkSum, CheckSum.compute(new ByteArrayInputStream("a string\r\rwith\r\rlines".getBytes()), true).toString());
         assertEquals(checkSum, CheckSum.compute(new ByteArrayInputStream("a string\r\n\r\nwith\r\n\r\nlines".getBytes()), true).toString());
     }
+
+    @Test
+    public void compute_normalizesUnicode() {
+        assertEquals(CheckSum.compute("caf\u00e9 \u00c5"), CheckSum.compute("cafe\u0301 A\u030a"));
+        assertEquals(CheckSum.compute("unknown char"), CheckSum.compute("unknown\uFFFD char"));
+        assertEquals(CheckSum.compute("a\n\nb"), CheckSum.compute("a\r\uFFFD\nb"));
+    }
+
+    @Test
+    public void checkSumWriter_matchesComputeWhenWrittenInPieces() throws Exception {
+        String value = "a string\r\nwith cafe\u0301\r\rlines \uD83D\uDE00 and \uFFFD unknown chars\r";
+        try (CheckSumWriter writer = new CheckSumWriter()) {
+            for (int i = 0; i < value.length(); i += 3) {
+                writer.write(value, i, Math.min(3, value.length() - i));
+            }
+            assertEquals(CheckSum.compute(value), writer.getCheckSum());
+        }
+    }
 }
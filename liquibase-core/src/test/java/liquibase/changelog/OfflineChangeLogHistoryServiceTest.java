@@ -15,7 +15,9 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -78,6 +80,62 @@ public class OfflineChangeLogHistoryServiceTest {
         assertFalse(new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV + ".new").exists());
     }
 
+    /**
+     * Test that updates are written to the journal and compacted into the changelogCsv on close
+     */
+    @Test
+    public void testUpdatesAreCompactedOnClose() throws Exception {
+        // Given
+        StringWriter writer = new StringWriter();
+        OfflineChangeLogHistoryService service = createService(writer, "none");
+        ChangeSet changeSet = createChangeSet();
+        File journal = new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV + ".journal");
+
+        // When
+        service.init();
+        service.setExecType(changeSet, ChangeSet.ExecType.EXECUTED);
+        assertFalse(journal.exists());
+        service.setExecType(changeSet, ChangeSet.ExecType.RERAN);
+        service.tag("1.0");
+
+        // Assert
+        assertTrue(journal.exists());
+        assertEquals(ChangeSet.ExecType.RERAN, service.getRanChangeSets().get(0).getExecType());
+        service.close();
+        assertFalse(journal.exists());
+
+        List<RanChangeSet> ranChangeSets = service.getRanChangeSets();
+        assertEquals(1, ranChangeSets.size());
+        assertEquals(ChangeSet.ExecType.RERAN, ranChangeSets.get(0).getExecType());
+        assertEquals("1.0", ranChangeSets.get(0).getTag());
+    }
+
+    /**
+     * Test that a journal which was not compacted is applied the next time the changelogCsv is read
+     */
+    @Test
+    public void testJournalIsAppliedOnLoad() throws Exception {
+        // Given
+        StringWriter writer = new StringWriter();
+        OfflineChangeLogHistoryService service = createService(writer, "none");
+        ChangeSet changeSet = createChangeSet();
+        service.init();
+        service.setExecType(changeSet, ChangeSet.ExecType.EXECUTED);
+        service.setExecType(createChangeSet("id2"), ChangeSet.ExecType.EXECUTED);
+        service.removeFromHistory(changeSet);
+
+        // When
+        File changeLogCsvFile = new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV);
+        OfflineChangeLogHistoryService reopened = new OfflineChangeLogHistoryService(service.getDatabase(), changeLogCsvFile, false, false);
+        List<RanChangeSet> ranChangeSets = reopened.getRanChangeSets();
+
+        // Assert
+        assertEquals(1, ranChangeSets.size());
+        assertEquals("id2", ranChangeSets.get(0).getId());
+        assertEquals(3, reopened.getNextSequenceValue());
+        assertFalse(new File(temporaryFolder.getRoot(), CHANGE_LOG_CSV + ".journal").exists());
+    }
+
     /**
      * Test ChangeLog table update SQL generation with outputLiquibaseSql=true and outputLiquibaseSql=data_only
      */
@@ -122,8 +180,12 @@ public class OfflineChangeLogHistoryServiceTest {
      * Create ChangeLog and ChangeSet
      */
     private ChangeSet createChangeSet() {
+        return createChangeSet("id");
+    }
+
+    private ChangeSet createChangeSet(String id) {
         DatabaseChangeLog databaseChangeLog = new DatabaseChangeLog("/patch/changeLog.xml");
-        ChangeSet changeSet = new ChangeSet("id", "author", false, false, "/path/changeSet.xml", "", "", databaseChangeLog);
+        ChangeSet changeSet = new ChangeSet(id, "author", false, false, "/path/changeSet.xml", "", "", databaseChangeLog);
         databaseChangeLog.addChangeSet(changeSet);
         return changeSet;
     }
@@ -1,11 +1,24 @@
 package liquibase.changelog.visitor;
 
+import liquibase.changelog.ChangeLogHistoryService;
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.filter.ChangeSetFilterResult;
+import liquibase.database.Database;
+import liquibase.exception.LiquibaseException;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
 
 
 public class ChangeLogSyncVisitorTest {
@@ -18,6 +31,11 @@ public class ChangeLogSyncVisitorTest {
         databaseChangeLog = new DatabaseChangeLog();
     }
 
+    @After
+    public void tearDown() {
+        ChangeLogHistoryServiceFactory.reset();
+    }
+
 //    @Test
 //    public void testVisitDatabaseConstructor() throws LiquibaseException {
 //        Database mockDatabase = mock(Database.class);
@@ -35,4 +53,65 @@ public class ChangeLogSyncVisitorTest {
 //        verify(mockDatabase).markChangeSetExecStatus(changeSet, ChangeSet.ExecType.EXECUTED);
 //        verify(mockListener).markedRan(changeSet, databaseChangeLog, mockDatabase);
 //    }
+
+    @Test
+    public void testVisitWithBatchSizeOneMarksEachChangeSet() throws LiquibaseException {
+        Database mockDatabase = Mockito.mock(Database.class);
+        ChangeLogSyncListener mockListener = Mockito.mock(ChangeLogSyncListener.class);
+        ChangeLogSyncVisitor visitor = new ChangeLogSyncVisitor(mockDatabase, mockListener, 1);
+
+        visitor.visit(changeSet, databaseChangeLog, mockDatabase, Collections.<ChangeSetFilterResult>emptySet());
+
+        Mockito.verify(mockDatabase).markChangeSetExecStatus(changeSet, ChangeSet.ExecType.EXECUTED);
+        Mockito.verify(mockListener).markedRan(changeSet, databaseChangeLog, mockDatabase);
+    }
+
+    @Test
+    public void testVisitWritesFullBatchesAndFlushWritesTheRest() throws LiquibaseException {
+        Database mockDatabase = Mockito.mock(Database.class);
+        ChangeLogSyncListener mockListener = Mockito.mock(ChangeLogSyncListener.class);
+        List<List<ChangeSet>> writtenBatches = mockHistoryService(mockDatabase);
+        ChangeLogSyncVisitor visitor = new ChangeLogSyncVisitor(mockDatabase, mockListener, 2);
+
+        ChangeSet changeSet2 = new ChangeSet("2", "testAuthor", false, false, "path/changelog", null, null, null);
+        ChangeSet changeSet3 = new ChangeSet("3", "testAuthor", false, false, "path/changelog", null, null, null);
+
+        visitor.visit(changeSet, databaseChangeLog, mockDatabase, Collections.<ChangeSetFilterResult>emptySet());
+        assertEquals(0, writtenBatches.size());
+        Mockito.verifyNoInteractions(mockListener);
+
+        visitor.visit(changeSet2, databaseChangeLog, mockDatabase, Collections.<ChangeSetFilterResult>emptySet());
+        visitor.visit(changeSet3, databaseChangeLog, mockDatabase, Collections.<ChangeSetFilterResult>emptySet());
+        assertEquals(Collections.singletonList(Arrays.asList(changeSet, changeSet2)), writtenBatches);
+
+        visitor.flush();
+        visitor.flush();
+        assertEquals(Arrays.asList(Arrays.asList(changeSet, changeSet2), Collections.singletonList(changeSet3)), writtenBatches);
+
+        InOrder inOrder = Mockito.inOrder(mockListener);
+        inOrder.verify(mockListener).markedRan(changeSet, databaseChangeLog, mockDatabase);
+        inOrder.verify(mockListener).markedRan(changeSet2, databaseChangeLog, mockDatabase);
+        inOrder.verify(mockListener).markedRan(changeSet3, databaseChangeLog, mockDatabase);
+        Mockito.verifyNoMoreInteractions(mockListener);
+        Mockito.verify(mockDatabase, Mockito.never()).markChangeSetExecStatus(Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * Returns the batches passed to {@link ChangeLogHistoryService#setExecType(List, ChangeSet.ExecType)}.
+     * The visitor reuses its list, so each batch is copied when it is written.
+     */
+    private List<List<ChangeSet>> mockHistoryService(Database database) throws LiquibaseException {
+        List<List<ChangeSet>> writtenBatches = new ArrayList<>();
+        ChangeLogHistoryService historyService = Mockito.mock(ChangeLogHistoryService.class);
+        Mockito.doAnswer(invocation -> {
+            List<ChangeSet> batch = invocation.getArgument(0);
+            writtenBatches.add(new ArrayList<>(batch));
+            return null;
+        }).when(historyService).setExecType(Mockito.anyList(), Mockito.eq(ChangeSet.ExecType.EXECUTED));
+
+        ChangeLogHistoryServiceFactory historyServiceFactory = Mockito.mock(ChangeLogHistoryServiceFactory.class);
+        Mockito.when(historyServiceFactory.getChangeLogService(database)).thenReturn(historyService);
+        ChangeLogHistoryServiceFactory.setInstance(historyServiceFactory);
+        return writtenBatches;
+    }
 }
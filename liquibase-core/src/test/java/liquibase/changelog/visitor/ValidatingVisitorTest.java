@@ -1,5 +1,8 @@
 package liquibase.changelog.visitor;
 
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.change.CheckSum;
 import liquibase.change.ColumnConfig;
 import liquibase.change.core.CreateTableChange;
 import liquibase.changelog.ChangeSet;
@@ -13,7 +16,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -129,4 +134,59 @@ public class ValidatingVisitorTest {
 
         assertTrue(handler.validationPassed());
     }
+
+    @Test
+    public void generateCheckSums_onlyGeneratesExecutedChangeSetsOnce() throws Exception {
+        final AtomicInteger checkSums = new AtomicInteger();
+        ChangeSet changeSet3 = new ChangeSet("3", "testAuthor", false, false, "path/changelog", null, null, null);
+        for (ChangeSet changeSet : Arrays.asList(changeSet1, changeSet2, changeSet3)) {
+            CreateTableChange change = new CreateTableChange() {
+                @Override
+                public CheckSum generateCheckSum() {
+                    checkSums.incrementAndGet();
+                    return super.generateCheckSum();
+                }
+            };
+            change.setTableName("table" + changeSet.getId());
+            ColumnConfig column = new ColumnConfig();
+            change.addColumn(column);
+            column.setName("id");
+            column.setType("int");
+            changeSet.addChange(change);
+        }
+
+        List<RanChangeSet> ran = new ArrayList<RanChangeSet>();
+        ran.add(new RanChangeSet(changeSet1));
+        ran.add(new RanChangeSet(changeSet2));
+        changeSet1.clearCheckSum();
+        changeSet2.clearCheckSum();
+        checkSums.set(0);
+        final ValidatingVisitor handler = new ValidatingVisitor(ran);
+
+        Scope.child(GlobalConfiguration.CHECKSUM_THREADS.getKey(), 4, () -> handler.generateCheckSums(Arrays.asList(changeSet1, changeSet2, changeSet3)));
+        assertEquals(2, checkSums.get());
+
+        handler.visit(changeSet1, new DatabaseChangeLog(), new MockDatabase(), null);
+        handler.visit(changeSet2, new DatabaseChangeLog(), new MockDatabase(), null);
+        handler.visit(changeSet3, new DatabaseChangeLog(), new MockDatabase(), null);
+        assertEquals(2, checkSums.get());
+        assertTrue(handler.validationPassed());
+    }
+
+    @Test
+    public void visit_findsRanChangeSetIgnoringCase() throws Exception {
+        RanChangeSet ranChangeSet = new RanChangeSet("PATH/changelog", "1", "TESTAUTHOR", CheckSum.parse("8:d41d8cd98f00b204e9800998ecf8427e"), null, null, null, null, null, null, null, null);
+        ChangeSet changeSet3 = new ChangeSet("1", "testAuthor", false, false, "path/changelog", null, null, null);
+
+        ValidatingVisitor handler = new ValidatingVisitor(Arrays.asList(ranChangeSet));
+        handler.visit(changeSet1, new DatabaseChangeLog(), new MockDatabase(), null);
+        assertEquals(ranChangeSet.getLastCheckSum(), changeSet1.getStoredCheckSum());
+
+        final ValidatingVisitor prePassHandler = new ValidatingVisitor(Arrays.asList(ranChangeSet));
+        Scope.child(GlobalConfiguration.CHECKSUM_THREADS.getKey(), 4, () -> prePassHandler.generateCheckSums(Arrays.asList(changeSet2, changeSet3)));
+        prePassHandler.visit(changeSet2, new DatabaseChangeLog(), new MockDatabase(), null);
+        prePassHandler.visit(changeSet3, new DatabaseChangeLog(), new MockDatabase(), null);
+        assertNull(changeSet2.getStoredCheckSum());
+        assertEquals(ranChangeSet.getLastCheckSum(), changeSet3.getStoredCheckSum());
+    }
 }
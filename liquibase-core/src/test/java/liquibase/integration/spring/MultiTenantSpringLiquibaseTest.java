@@ -0,0 +1,168 @@
+package liquibase.integration.spring;
+
+import liquibase.Scope;
+import liquibase.ScopeManager;
+import liquibase.SingletonScopeManager;
+import liquibase.ThreadLocalScopeManager;
+import liquibase.exception.LiquibaseException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs {@link MultiTenantSpringLiquibase} with stub {@link SpringLiquibase} instances, one per schema, so no Spring
+ * context or database is needed.
+ */
+public class MultiTenantSpringLiquibaseTest {
+
+    private ScopeManager originalScopeManager;
+    private final List<String> ranSchemas = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        originalScopeManager = Scope.getScopeManager();
+    }
+
+    @After
+    public void tearDown() {
+        Scope.setScopeManager(originalScopeManager);
+    }
+
+    @Test
+    public void tenantsRunConcurrentlyWithThreadLocalScopeManager() throws Exception {
+        Scope.setScopeManager(new ThreadLocalScopeManager());
+        CountDownLatch allStarted = new CountDownLatch(3);
+        MultiTenantSpringLiquibase liquibase = multiTenant(schema -> {
+            allStarted.countDown();
+            if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                throw new LiquibaseException("Tenants did not run at the same time");
+            }
+        }, "a", "b", "c");
+        liquibase.setParallelism(3);
+
+        liquibase.afterPropertiesSet();
+
+        assertEquals(Arrays.asList("a", "b", "c"), sorted(ranSchemas));
+    }
+
+    @Test
+    public void tenantsRunOneAtATimeWithoutThreadLocalScopeManager() throws Exception {
+        Scope.setScopeManager(new SingletonScopeManager());
+        ScopeManager scopeManager = Scope.getScopeManager();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        MultiTenantSpringLiquibase liquibase = multiTenant(schema -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+        }, "a", "b", "c");
+        liquibase.setParallelism(3);
+
+        liquibase.afterPropertiesSet();
+
+        assertEquals(Arrays.asList("a", "b", "c"), ranSchemas);
+        assertEquals(1, maxRunning.get());
+        assertSame(scopeManager, Scope.getScopeManager());
+    }
+
+    @Test
+    public void failFastStopsStartingTenantsAndRethrowsTheFailure() throws Exception {
+        LiquibaseException failure = new LiquibaseException("b failed");
+        MultiTenantSpringLiquibase liquibase = multiTenant(schema -> {
+            if (schema.equals("b")) {
+                throw failure;
+            }
+        }, "a", "b", "c");
+
+        try {
+            liquibase.afterPropertiesSet();
+            fail("Expected the failure of tenant b");
+        } catch (LiquibaseException e) {
+            assertSame(failure, e);
+        }
+        assertEquals(Arrays.asList("a", "b"), ranSchemas);
+    }
+
+    @Test
+    public void withoutFailFastAllTenantsRunAndFailuresAreCombined() throws Exception {
+        Scope.setScopeManager(new ThreadLocalScopeManager());
+        LiquibaseException failureA = new LiquibaseException("a failed");
+        LiquibaseException failureC = new LiquibaseException("c failed");
+        MultiTenantSpringLiquibase liquibase = multiTenant(schema -> {
+            if (schema.equals("a")) {
+                throw failureA;
+            }
+            if (schema.equals("c")) {
+                throw failureC;
+            }
+        }, "a", "b", "c", "d");
+        liquibase.setFailFast(false);
+        liquibase.setParallelism(2);
+
+        try {
+            liquibase.afterPropertiesSet();
+            fail("Expected the failures of tenants a and c");
+        } catch (LiquibaseException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Liquibase failed for 2 of 4 tenants:"));
+            assertTrue(e.getMessage(), e.getMessage().contains("schema a: a failed"));
+            assertTrue(e.getMessage(), e.getMessage().contains("schema c: c failed"));
+            assertSame(failureA, e.getCause());
+            assertEquals(Collections.singletonList(failureC), Arrays.asList(e.getSuppressed()));
+        }
+        assertEquals(Arrays.asList("a", "b", "c", "d"), sorted(ranSchemas));
+    }
+
+    private MultiTenantSpringLiquibase multiTenant(TenantRun run, String... schemas) {
+        MultiTenantSpringLiquibase liquibase = new MultiTenantSpringLiquibase() {
+            @Override
+            protected SpringLiquibase getSpringLiquibase(DataSource dataSource) {
+                return new StubSpringLiquibase(run);
+            }
+        };
+        liquibase.setDataSource(Mockito.mock(DataSource.class));
+        liquibase.setSchemas(Arrays.asList(schemas));
+        return liquibase;
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private interface TenantRun {
+        void run(String schema) throws Exception;
+    }
+
+    private class StubSpringLiquibase extends SpringLiquibase {
+        private final TenantRun run;
+
+        private StubSpringLiquibase(TenantRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void afterPropertiesSet() throws LiquibaseException {
+            ranSchemas.add(getDefaultSchema());
+            try {
+                run.run(getDefaultSchema());
+            } catch (LiquibaseException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new LiquibaseException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package liquibase.lockservice;
+
+import liquibase.Scope;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.executor.Executor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LockWaitStrategyTest {
+
+    private LockWaitStrategyFactory getFactory() {
+        return Scope.getCurrentScope().getSingleton(LockWaitStrategyFactory.class);
+    }
+
+    @Test
+    public void getStrategy() {
+        assertEquals(PostgresAdvisoryLockWaitStrategy.class, getFactory().getStrategy(new PostgresDatabase()).getClass());
+        assertEquals(MySQLNamedLockWaitStrategy.class, getFactory().getStrategy(new MySQLDatabase()).getClass());
+        assertEquals(BackoffLockWaitStrategy.class, getFactory().getStrategy(new H2Database()).getClass());
+    }
+
+    @Test
+    public void getStrategy_nativeWaitDisabled() throws Exception {
+        Scope.child(Collections.singletonMap("liquibase.changelogLockNativeWait", false), () ->
+                assertEquals(BackoffLockWaitStrategy.class, getFactory().getStrategy(new PostgresDatabase()).getClass()));
+    }
+
+    @Test
+    public void backoffDoesNotWaitPastDeadline() throws Exception {
+        MutableClock clock = new MutableClock(1_000_000);
+        List<Long> sleeps = new ArrayList<>();
+        BackoffLockWaitStrategy strategy = new BackoffLockWaitStrategy(clock) {
+            @Override
+            protected void sleep(long millis) {
+                sleeps.add(millis);
+                clock.advance(millis);
+            }
+        };
+        assertFalse(strategy.lockAcquired(new H2Database()));
+
+        strategy.waitForRetry(new H2Database(), 20, clock.millis() - 1);
+        assertEquals(Collections.emptyList(), sleeps);
+
+        long waitUntil = clock.millis() + 200;
+        strategy.waitForRetry(new H2Database(), 20, waitUntil);
+        assertEquals(1, sleeps.size());
+        assertTrue(sleeps.get(0) >= 100);
+        assertTrue(clock.millis() <= waitUntil);
+    }
+
+    @Test
+    public void backoffDoublesTheInterval() throws Exception {
+        MutableClock clock = new MutableClock(1_000_000);
+        List<Long> sleeps = new ArrayList<>();
+        BackoffLockWaitStrategy strategy = new BackoffLockWaitStrategy(clock) {
+            @Override
+            protected void sleep(long millis) {
+                sleeps.add(millis);
+            }
+        };
+
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            strategy.waitForRetry(new H2Database(), attempt, clock.millis() + 60_000);
+        }
+        assertEquals(3, sleeps.size());
+        assertTrue((sleeps.get(0) >= 50) && (sleeps.get(0) <= 100));
+        assertTrue((sleeps.get(1) >= 100) && (sleeps.get(1) <= 200));
+        assertTrue((sleeps.get(2) >= 200) && (sleeps.get(2) <= 400));
+    }
+
+    @Test
+    public void postgresAdvisoryLockUsesTwoKeys() throws Exception {
+        PostgresDatabase database = new PostgresDatabase();
+        Executor executor = Mockito.mock(Executor.class);
+        Mockito.when(executor.queryForObject(Mockito.any(SqlStatement.class), Mockito.eq(Boolean.class))).thenReturn(true);
+
+        assertTrue(new PostgresAdvisoryLockWaitStrategy().tryLock(database, executor));
+
+        ArgumentCaptor<SqlStatement> statement = ArgumentCaptor.forClass(SqlStatement.class);
+        Mockito.verify(executor).queryForObject(statement.capture(), Mockito.eq(Boolean.class));
+        String lockName = new PostgresAdvisoryLockWaitStrategy().getLockName(database);
+        assertEquals("SELECT pg_try_advisory_lock(" + PostgresAdvisoryLockWaitStrategy.LOCK_CLASS_ID + ", " + lockName.hashCode() + ")",
+                ((RawSqlStatement) statement.getValue()).getSql());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(long millis) {
+            this.millis += millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
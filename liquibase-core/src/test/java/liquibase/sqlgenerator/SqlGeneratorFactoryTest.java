@@ -185,6 +185,15 @@ public class SqlGeneratorFactoryTest {
         assertEquals(1, allGenerators.size());        
     }
 
+    @Test
+    public void getGeneratorsIsCachedUntilGeneratorsChange() {
+        SortedSet<SqlGenerator> generators = factory.getGenerators(statement, database);
+        assertSame(generators, factory.getGenerators(statement, database));
+
+        factory.getGenerators().clear();
+        assertEquals(0, factory.getGenerators(statement, database).size());
+    }
+
     @LiquibaseService(skip = true)
     private class CustomAddAutoIncrementGeneratorHsqlH2 extends AddAutoIncrementGeneratorHsqlH2 {
 
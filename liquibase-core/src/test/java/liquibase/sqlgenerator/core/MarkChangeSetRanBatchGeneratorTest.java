@@ -0,0 +1,55 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.changelog.ChangeSet;
+import liquibase.database.core.MockDatabase;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.AbstractSqlGeneratorTest;
+import liquibase.sqlgenerator.MockSqlGeneratorChain;
+import liquibase.statement.core.MarkChangeSetRanBatchStatement;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MarkChangeSetRanBatchGeneratorTest extends AbstractSqlGeneratorTest<MarkChangeSetRanBatchStatement> {
+
+    public MarkChangeSetRanBatchGeneratorTest() throws Exception {
+        super(new MarkChangeSetRanBatchGenerator());
+    }
+
+    @Override
+    protected MarkChangeSetRanBatchStatement createSampleSqlStatement() {
+        return new MarkChangeSetRanBatchStatement(new MockDatabase(),
+                Collections.singletonList(new ChangeSet("1", "a", false, false, "c", null, null, null)), ChangeSet.ExecType.EXECUTED);
+    }
+
+    @Test
+    public void generateSql_keepsOrder() {
+        MockDatabase database = new MockDatabase();
+        MarkChangeSetRanBatchStatement statement = new MarkChangeSetRanBatchStatement(database, Arrays.asList(
+                new ChangeSet("1", "a", false, false, "c", null, null, null),
+                new ChangeSet("2", "a", false, false, "c", null, null, null),
+                new ChangeSet("3", "a", false, false, "c", null, null, null)), ChangeSet.ExecType.MARK_RAN);
+
+        Sql[] sqls = new MarkChangeSetRanBatchGenerator().generateSql(statement, database, new MockSqlGeneratorChain());
+
+        assertEquals(3, sqls.length);
+        for (int i = 0; i < sqls.length; i++) {
+            assertTrue(sqls[i].toSql(), sqls[i].toSql().contains("VALUES ('" + (i + 1) + "', 'a', 'c'"));
+            assertTrue(sqls[i].toSql(), sqls[i].toSql().contains("MARK_RAN"));
+        }
+    }
+
+    @Test
+    public void generateSql_skipsFailed() {
+        MockDatabase database = new MockDatabase();
+        MarkChangeSetRanBatchStatement statement = new MarkChangeSetRanBatchStatement(database, Arrays.asList(
+                new ChangeSet("1", "a", false, false, "c", null, null, null),
+                new ChangeSet("2", "a", false, false, "c", null, null, null)), ChangeSet.ExecType.FAILED);
+
+        assertEquals(0, new MarkChangeSetRanBatchGenerator().generateSql(statement, database, new MockSqlGeneratorChain()).length);
+    }
+}
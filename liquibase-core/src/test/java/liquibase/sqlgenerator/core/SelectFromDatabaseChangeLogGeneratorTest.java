@@ -1,7 +1,14 @@
 package liquibase.sqlgenerator.core;
 
+import liquibase.change.ColumnConfig;
+import liquibase.database.core.MockDatabase;
+import liquibase.sql.Sql;
 import liquibase.sqlgenerator.AbstractSqlGeneratorTest;
+import liquibase.sqlgenerator.MockSqlGeneratorChain;
 import liquibase.statement.core.SelectFromDatabaseChangeLogStatement;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
 
 public class SelectFromDatabaseChangeLogGeneratorTest extends AbstractSqlGeneratorTest<SelectFromDatabaseChangeLogStatement> {
     public SelectFromDatabaseChangeLogGeneratorTest() throws Exception {
@@ -12,4 +19,15 @@ public class SelectFromDatabaseChangeLogGeneratorTest extends AbstractSqlGenerat
     protected SelectFromDatabaseChangeLogStatement createSampleSqlStatement() {
         return new SelectFromDatabaseChangeLogStatement("ID");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void generateSql_byOrderExecutedGreaterThan() {
+        SelectFromDatabaseChangeLogStatement statement = new SelectFromDatabaseChangeLogStatement(
+                new SelectFromDatabaseChangeLogStatement.ByOrderExecutedGreaterThan(42),
+                new ColumnConfig().setName("*").setComputed(true)).setOrderBy("ORDEREXECUTED ASC");
+
+        Sql[] sqls = new SelectFromDatabaseChangeLogGenerator().generateSql(statement, new MockDatabase(), new MockSqlGeneratorChain());
+
+        assertEquals("SELECT * FROM DATABASECHANGELOG WHERE ORDEREXECUTED > 42 ORDER BY ORDEREXECUTED ASC", sqls[0].toSql());
+    }
+}